@@ -2,6 +2,15 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.0"
     id("io.spring.dependency-management") version "1.1.6"
+    id("org.graalvm.buildtools.native") version "0.10.6" apply false
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+// ./gradlew bootJar -PfastStart runs Spring AOT processing and packages the generated bean
+// definitions into the jar. The generated definitions freeze @ConditionalOnProperty beans at build
+// time, so the jar still starts without AOT unless -Dspring.aot.enabled=true is passed (see Dockerfile).
+if (providers.gradleProperty("fastStart").isPresent) {
+    apply(plugin = "org.graalvm.buildtools.native")
 }
 
 group = "com.forrestgump.leadapi"
@@ -19,10 +28,12 @@ repositories {
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-webflux")
     implementation("software.amazon.awssdk:sqs:2.28.22")
+    implementation("software.amazon.awssdk:dynamodb:2.28.22")
     implementation("io.github.resilience4j:resilience4j-spring-boot3:2.2.0")
     implementation("io.github.resilience4j:resilience4j-retry:2.2.0")
     implementation("io.github.resilience4j:resilience4j-reactor:2.2.0")
     implementation("io.github.resilience4j:resilience4j-ratelimiter:2.2.0")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("io.micrometer:micrometer-registry-prometheus:1.15.0")
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310:2.18.0")
@@ -33,6 +44,13 @@ dependencies {
     testImplementation("io.projectreactor:reactor-test:3.7.0")
 }
 
+// ./gradlew jmh runs the benchmarks under src/jmh; -Pjmh.includes=<regex> picks a subset.
+jmh {
+    jmhVersion.set("1.37")
+    profilers.add("gc")
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.add(it) }
+}
+
 tasks.named<JavaCompile>("compileJava") {
     options.encoding = "UTF-8"
     options.compilerArgs.add("-parameters")
@@ -43,4 +61,8 @@ tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar") {
     layered {
         isEnabled = false
     }
-}
\ No newline at end of file
+}
+
+tasks.named<Test>("test") {
+    useJUnitPlatform()
+}
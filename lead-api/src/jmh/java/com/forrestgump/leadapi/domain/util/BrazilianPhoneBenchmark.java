@@ -0,0 +1,93 @@
+package com.forrestgump.leadapi.domain.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadapi.domain.model.LeadSubmission;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of phone normalization next to work every submission already does: hashing the CPF into
+ * the lead ID and serializing the submission for SQS. Inputs cycle through the formats leads
+ * arrive in, including ones that are not Brazilian numbers. Run with
+ * {@code ./gradlew jmh -Pjmh.includes=BrazilianPhone}; the gc profiler's {@code gc.alloc.rate.norm}
+ * shows {@code parse} allocates nothing and {@code normalize} only what building the E.164
+ * string takes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BrazilianPhoneBenchmark {
+
+    private static final String[] PHONES = {
+            "+55 (11) 98765-4321",
+            "11987654321",
+            "(21) 2345-6789",
+            "5511987654321",
+            "0 21 11 98765-4321",
+            "(31) 8765-4321",
+            "+55 68 3224-1234",
+            "+1 415 555 0100",
+    };
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private LeadSubmission submission;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        submission = new LeadSubmission(UUID.randomUUID(), "lead-id", "52998224725", "c2FsdHNhbHRzYWx0c2FsdA==",
+                "Maria da Silva", PHONES[0], "maria.silva@example.com", Instant.now(), "default",
+                "+5511987654321", "SP", "Sudeste");
+    }
+
+    private String nextPhone() {
+        String phone = PHONES[next];
+        next = (next + 1) % PHONES.length;
+        return phone;
+    }
+
+    @Benchmark
+    public long parse() {
+        return BrazilianPhone.parse(nextPhone());
+    }
+
+    @Benchmark
+    public void normalize(Blackhole blackhole) {
+        long phone = BrazilianPhone.parse(nextPhone());
+        if (phone != BrazilianPhone.INVALID) {
+            blackhole.consume(BrazilianPhone.e164(phone));
+            blackhole.consume(BrazilianPhone.state(phone));
+            blackhole.consume(BrazilianPhone.region(phone));
+        }
+    }
+
+    @Benchmark
+    public String leadIdHash() throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = digest.digest((submission.cpf() + submission.salt()).getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hash);
+    }
+
+    @Benchmark
+    public String serialize() throws Exception {
+        return objectMapper.writeValueAsString(submission);
+    }
+}
@@ -0,0 +1,22 @@
+package com.forrestgump.leadapi.application.usecase;
+
+import com.forrestgump.leadapi.domain.model.LeadStatus;
+import com.forrestgump.leadapi.infrastructure.status.LeadStatusCache;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Service
+public class GetLeadStatusUseCase {
+
+    private final LeadStatusCache leadStatusCache;
+
+    public GetLeadStatusUseCase(LeadStatusCache leadStatusCache) {
+        this.leadStatusCache = leadStatusCache;
+    }
+
+    public Mono<LeadStatus> execute(UUID eventId) {
+        return leadStatusCache.lookup(eventId);
+    }
+}
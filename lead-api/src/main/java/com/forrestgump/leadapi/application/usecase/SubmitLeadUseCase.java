@@ -2,7 +2,11 @@ package com.forrestgump.leadapi.application.usecase;
 
 import com.forrestgump.leadapi.domain.model.Lead;
 import com.forrestgump.leadapi.domain.model.LeadSubmission;
+import com.forrestgump.leadapi.infrastructure.messaging.ShadowMirror;
 import com.forrestgump.leadapi.infrastructure.messaging.SqsLeadPublisher;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import com.forrestgump.leadapi.infrastructure.profiling.StageEvents;
+import com.forrestgump.leadapi.infrastructure.status.LeadStatusCache;
 import com.forrestgump.leadapi.interfaces.rest.dto.LeadRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,29 +20,35 @@ public class SubmitLeadUseCase {
 
     private static final Logger logger = LoggerFactory.getLogger(SubmitLeadUseCase.class);
     private final SqsLeadPublisher leadPublisher;
+    private final LeadStatusCache leadStatusCache;
+    private final ShadowMirror shadowMirror;
+    private final MetricsPublisher metricsPublisher;
 
-    public SubmitLeadUseCase(SqsLeadPublisher leadPublisher) {
+    public SubmitLeadUseCase(SqsLeadPublisher leadPublisher, LeadStatusCache leadStatusCache, ShadowMirror shadowMirror,
+                             MetricsPublisher metricsPublisher) {
         this.leadPublisher = leadPublisher;
+        this.leadStatusCache = leadStatusCache;
+        this.shadowMirror = shadowMirror;
+        this.metricsPublisher = metricsPublisher;
     }
 
-    public Mono<Void> execute(LeadRequest request, String correlationId) {
-        // Gerar salt e hash do CPF
-        String salt = generateSalt();
-        String leadId = generateLeadId(request.cpf(), salt);
-
-        Lead lead = Lead.fromRequest(request.cpf(), request.name(), request.phone(), request.email(), leadId, salt);
-        LeadSubmission submission = new LeadSubmission(
-                UUID.randomUUID(),
-                lead.leadId(),
-                request.cpf(),
-                lead.salt(),
-                lead.name(),
-                lead.phone(),
-                lead.email(),
-                lead.createdAt());
-
-        logger.info("Submitting lead, correlationId: {}, leadId: {}", correlationId, lead.leadId());
-        return leadPublisher.publish(submission);
+    public Mono<Void> execute(LeadRequest request, String correlationId, UUID eventId, String campaignId, String priority) {
+        return Mono.fromCallable(() -> StageEvents.measure("hash", eventId, () -> {
+                    // Gerar salt e hash do CPF
+                    String salt = generateSalt();
+                    String leadId = generateLeadId(request.cpf(), salt);
+
+                    Lead lead = Lead.fromRequest(request.cpf(), request.name(), request.phone(), request.email(), leadId, salt);
+                    LeadSubmission submission = LeadSubmission.of(eventId, lead, request.cpf(), campaignId);
+                    metricsPublisher.incrementPhoneNormalization(submission.phoneE164() != null ? "normalized" : "unrecognized");
+                    return submission;
+                }, null))
+                .flatMap(submission -> {
+                    logger.info("Submitting lead, correlationId: {}, leadId: {}, campaign: {}", correlationId, submission.leadId(), submission.campaignId());
+                    return StageEvents.around("publish", leadPublisher.publish(submission, correlationId, priority))
+                            .doOnSuccess(v -> shadowMirror.mirror(submission, correlationId));
+                })
+                .doOnSuccess(v -> leadStatusCache.markQueued(eventId));
     }
 
     private String generateSalt() {
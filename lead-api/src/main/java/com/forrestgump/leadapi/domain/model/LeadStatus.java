@@ -0,0 +1,11 @@
+package com.forrestgump.leadapi.domain.model;
+
+public enum LeadStatus {
+    QUEUED,
+    PERSISTED,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this != QUEUED;
+    }
+}
@@ -1,9 +1,19 @@
 package com.forrestgump.leadapi.domain.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.forrestgump.leadapi.domain.util.BrazilianPhone;
 import java.time.Instant;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
+/**
+ * Lead as published to the queue. {@code campaignId} tags the campaign or source the lead came
+ * from so the processor can share its capacity fairly between campaigns; leads without a valid
+ * tag fall into {@link #DEFAULT_CAMPAIGN}. {@code phone} is kept as submitted; {@code phoneE164},
+ * {@code phoneState} and {@code phoneRegion} are its canonical form and the state and region of its
+ * DDD, null when it is not a recognisable Brazilian number.
+ */
 public record LeadSubmission(
         @JsonProperty("event_id") UUID eventId,
         @JsonProperty("lead_id") String leadId,
@@ -12,8 +22,15 @@ public record LeadSubmission(
         String name,
         String phone,
         String email,
-        @JsonProperty("created_at") Instant createdAt
+        @JsonProperty("created_at") Instant createdAt,
+        @JsonProperty("campaign_id") String campaignId,
+        @JsonProperty("phone_e164") String phoneE164,
+        @JsonProperty("phone_state") String phoneState,
+        @JsonProperty("phone_region") String phoneRegion
 ) {
+    public static final String DEFAULT_CAMPAIGN = "default";
+    private static final Pattern CAMPAIGN_ID = Pattern.compile("[a-z0-9][a-z0-9_-]{0,63}");
+
     public LeadSubmission {
         if (eventId == null) {
             eventId = UUID.randomUUID();
@@ -21,5 +38,35 @@ public record LeadSubmission(
         if (createdAt == null) {
             createdAt = Instant.now();
         }
+        campaignId = normalizeCampaign(campaignId);
+    }
+
+    /**
+     * Submission for {@code lead}, with its phone canonicalized by {@link BrazilianPhone}.
+     */
+    public static LeadSubmission of(UUID eventId, Lead lead, String cpf, String campaignId) {
+        long phone = BrazilianPhone.parse(lead.phone());
+        boolean normalized = phone != BrazilianPhone.INVALID;
+        return new LeadSubmission(
+                eventId,
+                lead.leadId(),
+                cpf,
+                lead.salt(),
+                lead.name(),
+                lead.phone(),
+                lead.email(),
+                lead.createdAt(),
+                campaignId,
+                normalized ? BrazilianPhone.e164(phone) : null,
+                normalized ? BrazilianPhone.state(phone) : null,
+                normalized ? BrazilianPhone.region(phone) : null);
+    }
+
+    public static String normalizeCampaign(String campaignId) {
+        if (campaignId == null) {
+            return DEFAULT_CAMPAIGN;
+        }
+        String normalized = campaignId.trim().toLowerCase(Locale.ROOT);
+        return CAMPAIGN_ID.matcher(normalized).matches() ? normalized : DEFAULT_CAMPAIGN;
     }
 }
\ No newline at end of file
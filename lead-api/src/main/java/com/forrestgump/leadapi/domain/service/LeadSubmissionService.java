@@ -20,16 +20,9 @@ public class LeadSubmissionService {
 
     public Mono<Void> submitLead(Lead lead) {
         logger.info("Submitting lead with leadId: {}", lead.leadId());
-        return Mono.just(new LeadSubmission(
-                        null, // eventId will be generated if null
-                        lead.leadId(),
-                        "", // CPF will be provided by SubmitLeadUseCase
-                        lead.salt(),
-                        lead.name(),
-                        lead.phone(),
-                        lead.email(),
-                        lead.createdAt()))
-                .flatMap(leadPublisher::publish)
+        // eventId is generated when null; the CPF is provided by SubmitLeadUseCase
+        return Mono.just(LeadSubmission.of(null, lead, "", null))
+                .flatMap(submission -> leadPublisher.publish(submission, null))
                 .doOnSuccess(v -> logger.info("Lead submitted successfully: {}", lead.leadId()));
     }
 }
\ No newline at end of file
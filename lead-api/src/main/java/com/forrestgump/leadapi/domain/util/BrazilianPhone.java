@@ -0,0 +1,189 @@
+package com.forrestgump.leadapi.domain.util;
+
+/**
+ * Canonicalizes Brazilian phone numbers to E.164 and maps their DDD area code to state and region.
+ *
+ * <p>{@link #parse} walks the input once, classifying each character through a 128-entry table
+ * and accumulating digits into a {@code long}, the national number; the DDD then indexes straight
+ * into arrays built when the class loads. No regex runs, and nothing is allocated except to build
+ * the E.164 string.
+ *
+ * <p>Accepted: an optional {@code +55} or {@code 55} country code, an optional {@code 0} trunk
+ * prefix with or without a two-digit carrier code, and spaces, dots, dashes, slashes and
+ * parentheses anywhere. Eleven-digit national numbers must be mobiles (ninth digit 9); ten-digit
+ * ones are landlines when the subscriber part starts with 2 to 5, and mobiles written without the
+ * ninth digit when it starts with 6 to 9, which get it added. Anything else, including foreign
+ * numbers and unassigned DDDs, is {@link #INVALID}.
+ */
+public final class BrazilianPhone {
+
+    /**
+     * Returned by {@link #parse} for anything that is not a Brazilian number.
+     */
+    public static final long INVALID = -1;
+    private static final byte OTHER = 0;
+    private static final byte DIGIT = 1;
+    private static final byte SEPARATOR = 2;
+    private static final byte PLUS = 3;
+    private static final int MAX_DIGITS = 15;
+    private static final byte[] CHAR_CLASS = new byte[128];
+    private static final long[] POW10 = new long[MAX_DIGITS + 1];
+    private static final String[] REGIONS = {null, "Norte", "Nordeste", "Centro-Oeste", "Sudeste", "Sul"};
+    private static final byte NORTE = 1;
+    private static final byte NORDESTE = 2;
+    private static final byte CENTRO_OESTE = 3;
+    private static final byte SUDESTE = 4;
+    private static final byte SUL = 5;
+    private static final String[] STATES = new String[28];
+    private static final byte[] STATE_REGION = new byte[28];
+    private static final byte[] DDD_STATE = new byte[100];
+    private static int states;
+
+    static {
+        for (char c = '0'; c <= '9'; c++) {
+            CHAR_CLASS[c] = DIGIT;
+        }
+        for (char c : new char[] {' ', '\t', '-', '.', '/', '(', ')'}) {
+            CHAR_CLASS[c] = SEPARATOR;
+        }
+        CHAR_CLASS['+'] = PLUS;
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+        define("AC", NORTE, 68);
+        define("AL", NORDESTE, 82);
+        define("AM", NORTE, 92, 97);
+        define("AP", NORTE, 96);
+        define("BA", NORDESTE, 71, 73, 74, 75, 77);
+        define("CE", NORDESTE, 85, 88);
+        define("DF", CENTRO_OESTE, 61);
+        define("ES", SUDESTE, 27, 28);
+        define("GO", CENTRO_OESTE, 62, 64);
+        define("MA", NORDESTE, 98, 99);
+        define("MG", SUDESTE, 31, 32, 33, 34, 35, 37, 38);
+        define("MS", CENTRO_OESTE, 67);
+        define("MT", CENTRO_OESTE, 65, 66);
+        define("PA", NORTE, 91, 93, 94);
+        define("PB", NORDESTE, 83);
+        define("PE", NORDESTE, 81, 87);
+        define("PI", NORDESTE, 86, 89);
+        define("PR", SUL, 41, 42, 43, 44, 45, 46);
+        define("RJ", SUDESTE, 21, 22, 24);
+        define("RN", NORDESTE, 84);
+        define("RO", NORTE, 69);
+        define("RR", NORTE, 95);
+        define("RS", SUL, 51, 53, 54, 55);
+        define("SC", SUL, 47, 48, 49);
+        define("SE", NORDESTE, 79);
+        define("SP", SUDESTE, 11, 12, 13, 14, 15, 16, 17, 18, 19);
+        define("TO", NORTE, 63);
+    }
+
+    private BrazilianPhone() {
+    }
+
+    private static void define(String code, byte region, int... ddds) {
+        byte index = (byte) ++states;
+        STATES[index] = code;
+        STATE_REGION[index] = region;
+        for (int ddd : ddds) {
+            DDD_STATE[ddd] = index;
+        }
+    }
+
+    /**
+     * Returns the national number (DDD followed by the subscriber number, 10 or 11 digits), or
+     * {@link #INVALID}.
+     */
+    public static long parse(CharSequence phone) {
+        if (phone == null) {
+            return INVALID;
+        }
+        long digits = 0;
+        int count = 0;
+        boolean plus = false;
+        for (int i = 0, length = phone.length(); i < length; i++) {
+            char c = phone.charAt(i);
+            byte type = c < CHAR_CLASS.length ? CHAR_CLASS[c] : OTHER;
+            if (type == DIGIT) {
+                if (++count > MAX_DIGITS) {
+                    return INVALID;
+                }
+                digits = digits * 10 + (c - '0');
+            } else if (type == PLUS) {
+                if (plus || count > 0) {
+                    return INVALID;
+                }
+                plus = true;
+            } else if (type != SEPARATOR) {
+                return INVALID;
+            }
+        }
+        if (plus || count >= 12 && leading(digits, count, 2) == 55) {
+            if (count < 12 || leading(digits, count, 2) != 55) {
+                return INVALID;
+            }
+            count -= 2;
+            digits %= POW10[count];
+        } else if (count >= 11 && leading(digits, count, 1) == 0) {
+            // Trunk prefix 0, followed by a two-digit carrier code when the number is long enough.
+            int prefix = count >= 13 ? 3 : 1;
+            count -= prefix;
+            digits %= POW10[count];
+        }
+        if (count != 10 && count != 11) {
+            return INVALID;
+        }
+        int ddd = (int) leading(digits, count, 2);
+        if (DDD_STATE[ddd] == 0) {
+            return INVALID;
+        }
+        int first = (int) (digits / POW10[count - 3] % 10);
+        if (count == 11) {
+            return first == 9 ? digits : INVALID;
+        }
+        if (first >= 2 && first <= 5) {
+            return digits;
+        }
+        if (first >= 6) {
+            return ddd * POW10[9] + 9 * POW10[8] + digits % POW10[8];
+        }
+        return INVALID;
+    }
+
+    /**
+     * Formats a national number returned by {@link #parse} as {@code +55} followed by its digits.
+     */
+    public static String e164(long national) {
+        int count = national >= POW10[10] ? 11 : 10;
+        char[] chars = new char[3 + count];
+        chars[0] = '+';
+        chars[1] = '5';
+        chars[2] = '5';
+        for (int i = chars.length - 1; i >= 3; i--) {
+            chars[i] = (char) ('0' + national % 10);
+            national /= 10;
+        }
+        return new String(chars);
+    }
+
+    public static int ddd(long national) {
+        return (int) (national / (national >= POW10[10] ? POW10[9] : POW10[8]));
+    }
+
+    /**
+     * Two-letter code of the state the number's DDD belongs to.
+     */
+    public static String state(long national) {
+        return STATES[DDD_STATE[ddd(national)]];
+    }
+
+    public static String region(long national) {
+        return REGIONS[STATE_REGION[DDD_STATE[ddd(national)]]];
+    }
+
+    private static long leading(long digits, int count, int width) {
+        return digits / POW10[count - width];
+    }
+}
@@ -0,0 +1,79 @@
+package com.forrestgump.leadapi.infrastructure.abuse;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size count-min sketch with conservative update and multiplicative decay, so counts
+ * reflect recent activity and memory stays at {@code width * depth} floats however many distinct
+ * keys are seen. Estimates never undercount; with width {@code w} they overcount by at most
+ * about {@code e / w} of the total decayed count, with probability {@code 1 - e^-depth}, which
+ * {@link #errorBound()} reports.
+ * Not thread-safe; callers synchronize.
+ */
+final class CountMinSketch {
+
+    private final int width;
+    private final float[][] counts;
+    private double total;
+
+    CountMinSketch(int width, int depth) {
+        this.width = width;
+        this.counts = new float[depth][width];
+    }
+
+    /**
+     * Adds one occurrence of {@code hash} and returns its new estimate. Only the rows at the
+     * current minimum are raised, which keeps collisions from inflating the estimate further.
+     */
+    float add(long hash) {
+        float estimate = estimate(hash);
+        float updated = estimate + 1;
+        total++;
+        for (int row = 0; row < counts.length; row++) {
+            int column = column(hash, row);
+            if (counts[row][column] < updated) {
+                counts[row][column] = updated;
+            }
+        }
+        return updated;
+    }
+
+    float estimate(long hash) {
+        float min = Float.MAX_VALUE;
+        for (int row = 0; row < counts.length; row++) {
+            min = Math.min(min, counts[row][column(hash, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * The overcount an estimate may carry: {@code e / width} of the decayed total.
+     */
+    float errorBound() {
+        return (float) (Math.E / width * total);
+    }
+
+    void decay(float factor) {
+        total *= factor;
+        for (float[] row : counts) {
+            for (int column = 0; column < row.length; column++) {
+                row[column] *= factor;
+            }
+        }
+    }
+
+    void clear() {
+        total = 0;
+        for (float[] row : counts) {
+            Arrays.fill(row, 0f);
+        }
+    }
+
+    /**
+     * Derives each row's column from the two halves of one 64-bit hash.
+     */
+    private int column(long hash, int row) {
+        int combined = (int) hash + row * (int) (hash >>> 32);
+        return Math.floorMod(combined, width);
+    }
+}
@@ -0,0 +1,359 @@
+package com.forrestgump.leadapi.infrastructure.abuse;
+
+import com.forrestgump.leadapi.infrastructure.config.AbuseConfig;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming heavy-hitter detection over submission contact details, so bots that rotate IPs but
+ * reuse emails, phones or CPFs are caught before validation, hashing and the SQS publish. Each
+ * dimension keeps a decaying {@link CountMinSketch} and the top-K keys by estimate; memory is
+ * fixed by {@code width}, {@code depth} and {@code topK}, never by the number of distinct values.
+ * Values are keyed by a hash with a per-process seed, and only masked forms are kept for display.
+ */
+@Component
+public class HeavyHitterDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeavyHitterDetector.class);
+    private final AbuseConfig config;
+    private final MetricsPublisher metricsPublisher;
+    private final long seed = new SecureRandom().nextLong();
+    private final Map<Dimension, Tracker> trackers = new EnumMap<>(Dimension.class);
+    private volatile long lastDecayNanos = System.nanoTime();
+
+    public HeavyHitterDetector(AbuseConfig config, MetricsPublisher metricsPublisher) {
+        this.config = config;
+        this.metricsPublisher = metricsPublisher;
+        for (Dimension dimension : Dimension.values()) {
+            AbuseConfig.Threshold threshold = config.thresholds().getOrDefault(dimension.key(), new AbuseConfig.Threshold(0, 0));
+            trackers.put(dimension, new Tracker(new CountMinSketch(config.width(), config.depth()), threshold, config.topK()));
+        }
+    }
+
+    public enum Dimension {
+        EMAIL("email"), EMAIL_DOMAIN("email-domain"), PHONE("phone"), CPF("cpf");
+
+        private final String key;
+
+        Dimension(String key) {
+            this.key = key;
+        }
+
+        public String key() {
+            return key;
+        }
+    }
+
+    public enum Action { ALLOW, FLAG, REJECT }
+
+    public record Verdict(Action action, Dimension dimension, double estimate) {
+        static final Verdict ALLOW = new Verdict(Action.ALLOW, null, 0);
+    }
+
+    public record HeavyHitter(String value, double estimate, Action action) {}
+
+    /**
+     * Counts one submission in every dimension and returns the most severe verdict.
+     */
+    public Verdict inspect(String email, String phone, String cpf) {
+        if (!config.enabled()) {
+            return Verdict.ALLOW;
+        }
+        String normalizedEmail = normalizeEmail(email);
+        String domain = normalizedEmail.substring(normalizedEmail.indexOf('@') + 1);
+        String phoneDigits = normalizePhone(phone);
+        String cpfDigits = digits(cpf);
+        Verdict verdict = Verdict.ALLOW;
+        verdict = worst(verdict, record(Dimension.EMAIL, normalizedEmail, maskEmail(normalizedEmail)));
+        verdict = worst(verdict, record(Dimension.EMAIL_DOMAIN, domain, domain));
+        verdict = worst(verdict, record(Dimension.PHONE, phoneDigits, maskDigits(phoneDigits)));
+        verdict = worst(verdict, record(Dimension.CPF, cpfDigits, null));
+        if (verdict.action() != Action.ALLOW) {
+            metricsPublisher.incrementAbuseVerdict(verdict.dimension().key(), verdict.action().name().toLowerCase());
+        }
+        return verdict;
+    }
+
+    public Map<String, List<HeavyHitter>> topK() {
+        Map<String, List<HeavyHitter>> top = new LinkedHashMap<>();
+        trackers.forEach((dimension, tracker) -> top.put(dimension.key(), tracker.top()));
+        return top;
+    }
+
+    public void reset() {
+        trackers.values().forEach(Tracker::clear);
+        logger.info("Heavy-hitter counts reset");
+    }
+
+    /**
+     * Decays every count by the half-life over the time since the previous decay.
+     */
+    @Scheduled(fixedDelayString = "${lead.abuse.decay-interval-ms:30000}")
+    public void decay() {
+        long now = System.nanoTime();
+        double halfLives = (double) (now - lastDecayNanos) / config.halfLife().toNanos();
+        lastDecayNanos = now;
+        float factor = (float) Math.pow(0.5, halfLives);
+        trackers.values().forEach(tracker -> tracker.decay(factor));
+    }
+
+    private Verdict record(Dimension dimension, String value, String label) {
+        if (value.isEmpty()) {
+            return Verdict.ALLOW;
+        }
+        long hash = hash(value);
+        Tracker tracker = trackers.get(dimension);
+        Count count = tracker.add(hash, label != null ? label : "#" + Long.toHexString(hash));
+        Action action = tracker.actionFor(count);
+        return action == Action.ALLOW ? Verdict.ALLOW : new Verdict(action, dimension, count.estimate());
+    }
+
+    private static Verdict worst(Verdict current, Verdict candidate) {
+        return candidate.action().ordinal() > current.action().ordinal() ? candidate : current;
+    }
+
+    /**
+     * Seeded FNV-1a with a final avalanche step, so colliding values cannot be precomputed.
+     */
+    private long hash(String value) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Lower-cases the address and drops {@code +tags}; for Gmail also drops the dots it ignores.
+     */
+    static String normalizeEmail(String email) {
+        String normalized = email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+        int at = normalized.lastIndexOf('@');
+        if (at <= 0) {
+            return normalized;
+        }
+        String local = normalized.substring(0, at);
+        String domain = normalized.substring(at + 1);
+        int plus = local.indexOf('+');
+        if (plus > 0) {
+            local = local.substring(0, plus);
+        }
+        if (domain.equals("gmail.com") || domain.equals("googlemail.com")) {
+            local = local.replace(".", "");
+            domain = "gmail.com";
+        }
+        return local + "@" + domain;
+    }
+
+    /**
+     * Digits only, without the Brazilian country code, so formatting variants count together.
+     */
+    static String normalizePhone(String phone) {
+        String digits = digits(phone);
+        return digits.startsWith("55") && digits.length() >= 12 ? digits.substring(2) : digits;
+    }
+
+    private static String digits(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private static String maskEmail(String email) {
+        int at = email.indexOf('@');
+        return at <= 0 ? "***" : email.charAt(0) + "***" + email.substring(at);
+    }
+
+    private static String maskDigits(String digits) {
+        return digits.length() <= 4 ? "***" : "***" + digits.substring(digits.length() - 4);
+    }
+
+    /**
+     * A key's sketch estimate and a lower bound on its true decayed count: the larger of the
+     * estimate minus the sketch's error bound and the exact count held while the key is in the top-K.
+     */
+    private record Count(float estimate, float lowerBound) {}
+
+    /**
+     * One dimension's sketch plus its top-K keys. The top-K keys sit in a min-heap on estimate with
+     * each hitter's heap slot indexed, so admitting a key or raising an estimate is O(log K). A new
+     * key only enters by displacing the current minimum, and from then on its occurrences are also
+     * counted exactly. FLAG may fire on the raw estimate, but REJECT needs the lower bound, so
+     * collisions in the sketch can never reject a legitimate contact on their own.
+     */
+    private static final class Tracker {
+
+        private final CountMinSketch sketch;
+        private final AbuseConfig.Threshold threshold;
+        private final Map<Long, Hitter> top;
+        private final Hitter[] heap;
+        private int size;
+
+        Tracker(CountMinSketch sketch, AbuseConfig.Threshold threshold, int capacity) {
+            this.sketch = sketch;
+            this.threshold = threshold;
+            this.top = new HashMap<>(capacity * 2);
+            this.heap = new Hitter[capacity];
+        }
+
+        synchronized Count add(long hash, String label) {
+            float estimate = sketch.add(hash);
+            Hitter hitter = top.get(hash);
+            if (hitter != null) {
+                hitter.estimate = estimate;
+                hitter.exact++;
+                siftDown(hitter.index);
+            } else if (size < heap.length) {
+                hitter = new Hitter(hash, label, estimate);
+                top.put(hash, hitter);
+                heap[size] = hitter;
+                hitter.index = size++;
+                siftUp(hitter.index);
+            } else if (estimate > heap[0].estimate) {
+                top.remove(heap[0].hash);
+                hitter = new Hitter(hash, label, estimate);
+                top.put(hash, hitter);
+                heap[0] = hitter;
+                siftDown(0);
+            }
+            return count(estimate, hitter);
+        }
+
+        Action actionFor(Count count) {
+            if (threshold.reject() > 0 && count.lowerBound() >= threshold.reject()) {
+                return Action.REJECT;
+            }
+            if (threshold.flag() > 0 && count.estimate() >= threshold.flag()) {
+                return Action.FLAG;
+            }
+            return Action.ALLOW;
+        }
+
+        synchronized List<HeavyHitter> top() {
+            List<HeavyHitter> hitters = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                Hitter hitter = heap[i];
+                hitters.add(new HeavyHitter(hitter.label, hitter.estimate, actionFor(count(hitter.estimate, hitter))));
+            }
+            hitters.sort(Comparator.comparingDouble(HeavyHitter::estimate).reversed());
+            return hitters;
+        }
+
+        /**
+         * Scaling every estimate by one factor keeps the heap order, so only keys that decayed
+         * below one occurrence are dropped and the heap is rebuilt around them.
+         */
+        synchronized void decay(float factor) {
+            sketch.decay(factor);
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                Hitter hitter = heap[i];
+                hitter.estimate *= factor;
+                hitter.exact *= factor;
+                if (hitter.estimate < 1) {
+                    top.remove(hitter.hash);
+                } else {
+                    heap[kept] = hitter;
+                    hitter.index = kept++;
+                }
+            }
+            Arrays.fill(heap, kept, size, null);
+            size = kept;
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        synchronized void clear() {
+            sketch.clear();
+            top.clear();
+            Arrays.fill(heap, null);
+            size = 0;
+        }
+
+        private Count count(float estimate, Hitter hitter) {
+            float lowerBound = Math.max(0, estimate - sketch.errorBound());
+            if (hitter != null) {
+                lowerBound = Math.max(lowerBound, hitter.exact);
+            }
+            return new Count(estimate, lowerBound);
+        }
+
+        private void siftUp(int index) {
+            Hitter hitter = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (heap[parent].estimate <= hitter.estimate) {
+                    break;
+                }
+                place(heap[parent], index);
+                index = parent;
+            }
+            place(hitter, index);
+        }
+
+        private void siftDown(int index) {
+            Hitter hitter = heap[index];
+            int half = size >>> 1;
+            while (index < half) {
+                int child = 2 * index + 1;
+                if (child + 1 < size && heap[child + 1].estimate < heap[child].estimate) {
+                    child++;
+                }
+                if (hitter.estimate <= heap[child].estimate) {
+                    break;
+                }
+                place(heap[child], index);
+                index = child;
+            }
+            place(hitter, index);
+        }
+
+        private void place(Hitter hitter, int index) {
+            heap[index] = hitter;
+            hitter.index = index;
+        }
+    }
+
+    private static final class Hitter {
+
+        final long hash;
+        final String label;
+        float estimate;
+        float exact = 1;
+        int index;
+
+        Hitter(long hash, String label, float estimate) {
+            this.hash = hash;
+            this.label = label;
+            this.estimate = estimate;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.forrestgump.leadapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Heavy-hitter detection over submission contact details. Thresholds are decayed submission
+ * counts per dimension ({@code email}, {@code email-domain}, {@code phone}, {@code cpf}); a
+ * threshold of zero disables that action for the dimension.
+ *
+ * <p>Unless {@code width} is set explicitly it is sized from the traffic: at {@code expected-rate}
+ * submissions per second the decayed total settles near {@code rate * half-life / ln 2}, and the
+ * sketch overcounts by up to {@code e / width} of that total, so the width is the next power of two
+ * that keeps the overcount within {@code error-target}.
+ */
+@ConfigurationProperties(prefix = "lead.abuse")
+public record AbuseConfig(
+        boolean enabled,
+        int width,
+        int depth,
+        int topK,
+        Duration halfLife,
+        double expectedRate,
+        double errorTarget,
+        Map<String, Threshold> thresholds
+) {
+    public record Threshold(
+            double flag,
+            double reject
+    ) {}
+
+    public AbuseConfig {
+        if (depth <= 0) {
+            depth = 4;
+        }
+        if (topK <= 0) {
+            topK = 20;
+        }
+        if (halfLife == null) {
+            halfLife = Duration.ofMinutes(1);
+        }
+        if (expectedRate <= 0) {
+            expectedRate = 100;
+        }
+        if (errorTarget <= 0) {
+            errorTarget = 2;
+        }
+        if (width <= 0) {
+            width = widthFor(expectedRate, halfLife, errorTarget);
+        }
+        Map<String, Threshold> merged = new HashMap<>(Map.of(
+                "email", new Threshold(10, 30),
+                "email-domain", new Threshold(2000, 0),
+                "phone", new Threshold(10, 30),
+                "cpf", new Threshold(5, 15)));
+        if (thresholds != null) {
+            merged.putAll(thresholds);
+        }
+        thresholds = Map.copyOf(merged);
+    }
+
+    static int widthFor(double expectedRate, Duration halfLife, double errorTarget) {
+        double decayedTotal = expectedRate * halfLife.toMillis() / 1000.0 / Math.log(2);
+        long needed = (long) Math.ceil(Math.E * decayedTotal / errorTarget);
+        return (int) Math.min(1 << 24, Math.max(1024, Long.highestOneBit(Math.max(1, needed - 1)) << 1));
+    }
+}
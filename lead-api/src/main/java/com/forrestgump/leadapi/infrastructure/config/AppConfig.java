@@ -2,13 +2,19 @@ package com.forrestgump.leadapi.infrastructure.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 @Configuration
+@EnableConfigurationProperties({StatusCacheConfig.class, SheddingConfig.class, TracingConfig.class,
+        StartupConfig.class, SurgeConfig.class, AbuseConfig.class, ProfilingConfig.class,
+        ShadowConfig.class, EnvelopeConfig.class, QuotaConfig.class, ShardingConfig.class})
+@EnableScheduling
 public class AppConfig {
 
     @Bean
@@ -0,0 +1,45 @@
+package com.forrestgump.leadapi.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
+
+import java.net.URI;
+
+@Configuration
+public class DynamoConfig {
+
+    @Value("${aws.region}")
+    private String region;
+
+    @Value("${aws.endpoint-url:#{null}}")
+    private String endpointUrl;
+
+    @Value("${aws.access-key-id:#{null}}")
+    private String accessKeyId;
+
+    @Value("${aws.secret-access-key:#{null}}")
+    private String secretAccessKey;
+
+    @Bean
+    public DynamoDbAsyncClient dynamoDbAsyncClient() {
+        DynamoDbAsyncClientBuilder builder = DynamoDbAsyncClient.builder()
+                .region(Region.of(region));
+
+        if (endpointUrl != null) {
+            builder.endpointOverride(URI.create(endpointUrl));
+        }
+
+        if (accessKeyId != null && secretAccessKey != null) {
+            builder.credentialsProvider(StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create(accessKeyId, secretAccessKey)));
+        }
+
+        return builder.build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.forrestgump.leadapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Envelope mode, off by default: submissions for the same queue and campaign are packed into one
+ * SQS message of up to {@code maxEntries} leads and {@code maxBytes} of body. {@code maxLinger} is
+ * the most packing may delay a lead, on top of the send batching delay.
+ */
+@ConfigurationProperties(prefix = "lead.envelope")
+public record EnvelopeConfig(
+        boolean enabled,
+        int maxEntries,
+        int maxBytes,
+        Duration maxLinger
+) {
+    private static final int MAX_MESSAGE_BYTES = 256 * 1024;
+
+    public EnvelopeConfig {
+        if (maxEntries <= 0) {
+            maxEntries = 100;
+        }
+        if (maxBytes <= 0 || maxBytes > MAX_MESSAGE_BYTES - 8 * 1024) {
+            maxBytes = 200 * 1024;
+        }
+        if (maxLinger == null) {
+            maxLinger = Duration.ofMillis(100);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.forrestgump.leadapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "lead.profiling")
+public record ProfilingConfig(
+        String directory,
+        Duration defaultDuration,
+        Duration maxDuration,
+        long maxSizeBytes,
+        int keepRecordings
+) {
+    public ProfilingConfig {
+        if (directory == null || directory.isBlank()) {
+            directory = "profiling";
+        }
+        if (defaultDuration == null) {
+            defaultDuration = Duration.ofSeconds(60);
+        }
+        if (maxDuration == null) {
+            maxDuration = Duration.ofMinutes(10);
+        }
+        if (maxSizeBytes <= 0) {
+            maxSizeBytes = 100L * 1024 * 1024;
+        }
+        if (keepRecordings <= 0) {
+            keepRecordings = 5;
+        }
+    }
+}
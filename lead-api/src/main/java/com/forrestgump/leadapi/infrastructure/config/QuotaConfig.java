@@ -0,0 +1,72 @@
+package com.forrestgump.leadapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Cluster-wide per-client quotas, off by default, in place of {@code leadApiRateLimiter}. Each
+ * client may submit {@code limit} leads per {@code period} across all instances, or the value in
+ * {@code limits} for that client. Instances take {@code leaseSize} units at a time from the shared
+ * {@code store} ({@code memory} or {@code dynamo}), asking for the next lease once fewer than
+ * {@code refillAt} remain and for the next window's first lease {@code prefetch} before the window
+ * ends (a quarter of the period unless set; zero turns it off). Before a window's first lease
+ * arrives an instance may admit up to {@code overdraft} requests per client (one lease's worth
+ * unless set; zero turns it off), except for a client that spent its quota in the previous window.
+ * With {@code failOpen}, a lease the store could not answer is granted locally instead of refused.
+ *
+ * <p>Requests are charged to the authenticated principal when there is one, and otherwise to the
+ * client address: the connection's remote address, or with {@code trustedProxies} proxies in front
+ * of the service, the {@code X-Forwarded-For} entry the outermost of them appended.
+ */
+@ConfigurationProperties(prefix = "lead.quota")
+public record QuotaConfig(
+        boolean enabled,
+        String store,
+        String tableName,
+        long limit,
+        Duration period,
+        long leaseSize,
+        long refillAt,
+        Long overdraft,
+        Duration prefetch,
+        boolean failOpen,
+        int trustedProxies,
+        Map<String, Long> limits
+) {
+    public QuotaConfig {
+        if (store == null || store.isBlank()) {
+            store = "memory";
+        }
+        if (tableName == null || tableName.isBlank()) {
+            tableName = "LeadQuotas";
+        }
+        if (limit <= 0) {
+            limit = 100;
+        }
+        if (period == null || period.toMillis() <= 0) {
+            period = Duration.ofSeconds(1);
+        }
+        if (leaseSize <= 0) {
+            leaseSize = 10;
+        }
+        if (refillAt < 0 || refillAt >= leaseSize) {
+            refillAt = leaseSize / 2;
+        }
+        if (overdraft == null || overdraft < 0) {
+            overdraft = leaseSize;
+        }
+        if (prefetch == null || prefetch.isNegative() || prefetch.compareTo(period) >= 0) {
+            prefetch = period.dividedBy(4);
+        }
+        if (trustedProxies < 0) {
+            trustedProxies = 0;
+        }
+        limits = limits != null ? Map.copyOf(limits) : Map.of();
+    }
+
+    public long limitFor(String client) {
+        return limits.getOrDefault(client, limit);
+    }
+}
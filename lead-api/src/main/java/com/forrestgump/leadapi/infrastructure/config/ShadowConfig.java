@@ -0,0 +1,33 @@
+package com.forrestgump.leadapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Shadow mirroring, off by default: a {@code sampleRate} fraction of accepted submissions is
+ * copied to {@code queueName} with a synthetic CPF. {@code bufferSize} bounds how many copies may
+ * wait to be sent and {@code maxInFlightBatches} how many send calls may be outstanding; copies
+ * that do not fit are dropped.
+ */
+@ConfigurationProperties(prefix = "lead.shadow")
+public record ShadowConfig(
+        boolean enabled,
+        String queueName,
+        double sampleRate,
+        int bufferSize,
+        int maxInFlightBatches
+) {
+    public ShadowConfig {
+        if (queueName == null || queueName.isBlank()) {
+            queueName = "lead-queue-shadow";
+        }
+        if (sampleRate < 0 || sampleRate > 1) {
+            sampleRate = 0.01;
+        }
+        if (bufferSize <= 0) {
+            bufferSize = 1000;
+        }
+        if (maxInFlightBatches <= 0) {
+            maxInFlightBatches = 4;
+        }
+    }
+}
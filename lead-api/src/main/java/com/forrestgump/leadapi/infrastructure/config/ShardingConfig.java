@@ -0,0 +1,37 @@
+package com.forrestgump.leadapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spreads submissions over the lead queues in {@code queues}, or only {@code aws.sqs.queue-name}
+ * when none are listed. {@code strategy} picks the queue from a hash of the lead ID, from a hash
+ * of the campaign, or from {@code priorities}, which maps {@code X-Lead-Priority} values to a
+ * queue in {@code queues}; priorities it does not map fall back to the lead ID hash.
+ */
+@ConfigurationProperties(prefix = "lead.sharding")
+public record ShardingConfig(
+        List<String> queues,
+        Strategy strategy,
+        Map<String, String> priorities
+) {
+    public enum Strategy {
+        LEAD_ID,
+        CAMPAIGN,
+        PRIORITY
+    }
+
+    public ShardingConfig {
+        if (queues == null) {
+            queues = List.of();
+        }
+        if (strategy == null) {
+            strategy = Strategy.LEAD_ID;
+        }
+        if (priorities == null) {
+            priorities = Map.of();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.forrestgump.leadapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "lead.shedding")
+public record SheddingConfig(
+        boolean enabled,
+        long lowPriorityDepthThreshold,
+        long rejectDepthThreshold,
+        Duration lowPriorityDelayThreshold,
+        Duration rejectDelayThreshold,
+        double drainRatePerSecond,
+        Duration maxStaleness,
+        Duration maxRetryAfter
+) {
+    public SheddingConfig {
+        if (lowPriorityDepthThreshold <= 0) {
+            lowPriorityDepthThreshold = 50_000;
+        }
+        if (rejectDepthThreshold <= 0) {
+            rejectDepthThreshold = 200_000;
+        }
+        if (lowPriorityDelayThreshold == null) {
+            lowPriorityDelayThreshold = Duration.ofMinutes(10);
+        }
+        if (rejectDelayThreshold == null) {
+            rejectDelayThreshold = Duration.ofMinutes(30);
+        }
+        if (drainRatePerSecond <= 0) {
+            drainRatePerSecond = 500;
+        }
+        if (maxStaleness == null) {
+            maxStaleness = Duration.ofSeconds(30);
+        }
+        if (maxRetryAfter == null) {
+            maxRetryAfter = Duration.ofMinutes(5);
+        }
+    }
+}
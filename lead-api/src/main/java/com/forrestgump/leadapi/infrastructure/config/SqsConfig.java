@@ -12,12 +12,9 @@ import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
-import software.amazon.awssdk.services.sqs.batchmanager.SqsAsyncBatchManager;
 
 import java.net.URI;
 import java.time.Duration;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 
 @Configuration
 public class SqsConfig {
@@ -51,20 +48,6 @@ public class SqsConfig {
         return builder.build();
     }
 
-    @Bean
-    public SqsAsyncBatchManager sqsAsyncBatchManager(SqsAsyncClient sqsAsyncClient) {
-        ScheduledExecutorService scheduledExecutor = Executors.newScheduledThreadPool(2);
-        return SqsAsyncBatchManager.builder()
-                .client(sqsAsyncClient)
-                .scheduledExecutor(scheduledExecutor)
-                .overrideConfiguration(builder -> builder
-                        .maxBatchSize(10)
-                        .sendRequestFrequency(Duration.ofSeconds(1))
-                        .receiveMessageMinWaitDuration(Duration.ofSeconds(10))
-                        .receiveMessageVisibilityTimeout(Duration.ofSeconds(20)))
-                .build();
-    }
-
     @Bean(name = "sqsCircuitBreaker")
     public CircuitBreaker sqsCircuitBreaker() {
         CircuitBreakerConfig config = CircuitBreakerConfig.custom()
@@ -0,0 +1,24 @@
+package com.forrestgump.leadapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "lead.status-cache")
+public record StatusCacheConfig(
+        long maxSize,
+        Duration ttl,
+        Duration queuedRefreshInterval
+) {
+    public StatusCacheConfig {
+        if (maxSize <= 0) {
+            maxSize = 100_000;
+        }
+        if (ttl == null) {
+            ttl = Duration.ofMinutes(30);
+        }
+        if (queuedRefreshInterval == null) {
+            queuedRefreshInterval = Duration.ofSeconds(2);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.forrestgump.leadapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "lead.surge")
+public record SurgeConfig(
+        boolean enabled,
+        String calendar,
+        Duration leadTime,
+        Duration cooldown,
+        int prewarmConnections,
+        Profile baseline,
+        Profile surge
+) {
+    /**
+     * A {@code rateLimitPerSecond} of zero keeps the limit configured for {@code leadApiRateLimiter}.
+     * {@code maxLinger} is the most publish batching may delay a lead.
+     */
+    public record Profile(
+            int rateLimitPerSecond,
+            int maxBatchSize,
+            Duration maxLinger
+    ) {
+        public Profile {
+            if (maxBatchSize <= 0 || maxBatchSize > 10) {
+                maxBatchSize = 10;
+            }
+            if (maxLinger == null) {
+                maxLinger = Duration.ofMillis(50);
+            }
+        }
+    }
+
+    public SurgeConfig {
+        if (calendar == null || calendar.isBlank()) {
+            calendar = "classpath:surge/campaign-calendar.json";
+        }
+        if (leadTime == null) {
+            leadTime = Duration.ofMinutes(10);
+        }
+        if (cooldown == null) {
+            cooldown = Duration.ofMinutes(20);
+        }
+        if (prewarmConnections <= 0) {
+            prewarmConnections = 20;
+        }
+        if (baseline == null) {
+            baseline = new Profile(0, 10, Duration.ofMillis(50));
+        }
+        if (surge == null) {
+            surge = new Profile(0, 10, Duration.ofMillis(100));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.forrestgump.leadapi.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "lead.tracing")
+public record TracingConfig(
+        boolean enabled,
+        double sampleRate,
+        Duration slowThreshold,
+        int ringBufferSize,
+        String exportDirectory,
+        boolean fileExport,
+        long fileMaxBytes,
+        int fileMaxFiles,
+        String zipkinUrl
+) {
+    public TracingConfig {
+        if (sampleRate < 0 || sampleRate > 1) {
+            sampleRate = 0.01;
+        }
+        if (slowThreshold == null) {
+            slowThreshold = Duration.ofMillis(500);
+        }
+        if (ringBufferSize <= 0) {
+            ringBufferSize = 8192;
+        }
+        if (exportDirectory == null || exportDirectory.isBlank()) {
+            exportDirectory = "tracing";
+        }
+        if (fileMaxBytes <= 0) {
+            fileMaxBytes = 64L * 1024 * 1024;
+        }
+        if (fileMaxFiles <= 0) {
+            fileMaxFiles = 5;
+        }
+        if (zipkinUrl != null && zipkinUrl.isBlank()) {
+            zipkinUrl = null;
+        }
+    }
+}
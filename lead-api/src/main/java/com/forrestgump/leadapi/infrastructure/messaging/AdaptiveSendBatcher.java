@@ -0,0 +1,257 @@
+package com.forrestgump.leadapi.infrastructure.messaging;
+
+import com.forrestgump.leadapi.infrastructure.config.SurgeConfig;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Batches publishes into {@code SendMessageBatch} calls, one open batch per queue. The first entry
+ * of a batch sets how long it may linger, from {@link LingerPolicy}: a lone lead at quiet times goes
+ * out immediately, while under load the batch is sent as soon as it is full or its linger runs out.
+ * Fill ratio, linger and per-entry latency are published as histograms.
+ */
+@Component
+public class AdaptiveSendBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveSendBatcher.class);
+    private static final String OPERATION = "send";
+    private static final int MAX_BATCH_BYTES = 256 * 1024;
+    private final SqsAsyncClient sqsAsyncClient;
+    private final MetricsPublisher metricsPublisher;
+    private final LingerPolicy policy;
+    private final LongSupplier nanoTime;
+    private final ScheduledExecutorService lingerTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sqs-send-linger");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Batch> open = new HashMap<>();
+
+    @Autowired
+    public AdaptiveSendBatcher(SqsAsyncClient sqsAsyncClient, MetricsPublisher metricsPublisher, SurgeConfig surgeConfig) {
+        this(sqsAsyncClient, metricsPublisher, surgeConfig, System::nanoTime);
+    }
+
+    AdaptiveSendBatcher(SqsAsyncClient sqsAsyncClient, MetricsPublisher metricsPublisher, SurgeConfig surgeConfig,
+                        LongSupplier nanoTime) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.nanoTime = nanoTime;
+        this.metricsPublisher = metricsPublisher;
+        this.policy = new LingerPolicy(surgeConfig.baseline().maxBatchSize(), surgeConfig.baseline().maxLinger());
+        metricsPublisher.registerGauge("sqs.batch.linger.target_ms", () -> policy.linger().toNanos() / 1_000_000.0,
+                "operation", OPERATION);
+    }
+
+    public int maxBatchSize() {
+        return policy.maxBatchSize();
+    }
+
+    public Duration maxLinger() {
+        return policy.maxLinger();
+    }
+
+    public void reconfigure(int maxBatchSize, Duration maxLinger) {
+        policy.reconfigure(Math.min(maxBatchSize, 10), maxLinger);
+        logger.info("SQS send batching reconfigured, maxBatchSize: {}, maxLinger: {}", maxBatchSize, maxLinger);
+    }
+
+    public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+        Entry entry = new Entry(request, nanoTime.getAsLong());
+        List<Batch> ready = new ArrayList<>(2);
+        synchronized (this) {
+            policy.recordArrival(entry.enqueuedNanos);
+            Batch batch = open.get(request.queueUrl());
+            if (batch != null && batch.bytes + entry.bytes > MAX_BATCH_BYTES) {
+                ready.add(close(batch));
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new Batch(request.queueUrl(), entry.enqueuedNanos);
+                Duration linger = policy.linger();
+                if (!linger.isZero()) {
+                    Batch lingering = batch;
+                    batch.timer = lingerTimer.schedule(() -> expire(lingering), linger.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                open.put(batch.queueUrl, batch);
+            }
+            batch.add(entry);
+            if (batch.timer == null || batch.entries.size() >= policy.maxBatchSize()) {
+                ready.add(close(batch));
+            }
+        }
+        ready.forEach(this::send);
+        return entry.result;
+    }
+
+    private void expire(Batch batch) {
+        synchronized (this) {
+            if (open.get(batch.queueUrl) != batch) {
+                return;
+            }
+            close(batch);
+        }
+        send(batch);
+    }
+
+    /**
+     * Must be called holding the lock.
+     */
+    private Batch close(Batch batch) {
+        open.remove(batch.queueUrl, batch);
+        if (batch.timer != null) {
+            batch.timer.cancel(false);
+        }
+        return batch;
+    }
+
+    private void send(Batch batch) {
+        long sentNanos = nanoTime.getAsLong();
+        metricsPublisher.recordBatch(OPERATION, batch.entries.size(), policy.maxBatchSize(),
+                Duration.ofNanos(sentNanos - batch.openedNanos));
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(batch.entries.size());
+        for (int i = 0; i < batch.entries.size(); i++) {
+            SendMessageRequest request = batch.entries.get(i).request;
+            entries.add(SendMessageBatchRequestEntry.builder()
+                    .id(Integer.toString(i))
+                    .messageBody(request.messageBody())
+                    .messageAttributes(request.messageAttributes())
+                    .delaySeconds(request.delaySeconds())
+                    .messageGroupId(request.messageGroupId())
+                    .messageDeduplicationId(request.messageDeduplicationId())
+                    .build());
+        }
+        sqsAsyncClient.sendMessageBatch(SendMessageBatchRequest.builder()
+                        .queueUrl(batch.queueUrl)
+                        .entries(entries)
+                        .build())
+                .whenComplete((response, error) -> complete(batch, response, error));
+    }
+
+    private void complete(Batch batch, SendMessageBatchResponse response, Throwable error) {
+        if (error != null) {
+            batch.entries.forEach(entry -> finish(entry, null, error));
+            return;
+        }
+        Map<String, SendMessageBatchResultEntry> succeeded = new HashMap<>();
+        response.successful().forEach(result -> succeeded.put(result.id(), result));
+        Map<String, BatchResultErrorEntry> failed = new HashMap<>();
+        response.failed().forEach(result -> failed.put(result.id(), result));
+        for (int i = 0; i < batch.entries.size(); i++) {
+            String id = Integer.toString(i);
+            SendMessageBatchResultEntry result = succeeded.get(id);
+            if (result != null) {
+                finish(batch.entries.get(i), SendMessageResponse.builder()
+                        .messageId(result.messageId())
+                        .md5OfMessageBody(result.md5OfMessageBody())
+                        .md5OfMessageAttributes(result.md5OfMessageAttributes())
+                        .sequenceNumber(result.sequenceNumber())
+                        .build(), null);
+            } else {
+                finish(batch.entries.get(i), null, entryFailure(failed.get(id)));
+            }
+        }
+    }
+
+    private void finish(Entry entry, SendMessageResponse response, Throwable error) {
+        metricsPublisher.recordBatchEntryLatency(OPERATION, error == null ? "success" : "error",
+                Duration.ofNanos(nanoTime.getAsLong() - entry.enqueuedNanos));
+        if (error == null) {
+            entry.result.complete(response);
+        } else {
+            entry.result.completeExceptionally(error);
+        }
+    }
+
+    private SqsException entryFailure(BatchResultErrorEntry failure) {
+        if (failure == null) {
+            return (SqsException) SqsException.builder()
+                    .message("Batch entry missing from SendMessageBatch response")
+                    .statusCode(500)
+                    .build();
+        }
+        return (SqsException) SqsException.builder()
+                .message(failure.message())
+                .statusCode(Boolean.TRUE.equals(failure.senderFault()) ? 400 : 500)
+                .awsErrorDetails(AwsErrorDetails.builder()
+                        .errorCode(failure.code())
+                        .errorMessage(failure.message())
+                        .serviceName("Sqs")
+                        .build())
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        List<Batch> remaining;
+        synchronized (this) {
+            remaining = new ArrayList<>(open.values());
+            remaining.forEach(this::close);
+        }
+        remaining.forEach(this::send);
+        lingerTimer.shutdown();
+    }
+
+    private static final class Batch {
+
+        final String queueUrl;
+        final long openedNanos;
+        final List<Entry> entries = new ArrayList<>(10);
+        int bytes;
+        ScheduledFuture<?> timer;
+
+        Batch(String queueUrl, long openedNanos) {
+            this.queueUrl = queueUrl;
+            this.openedNanos = openedNanos;
+        }
+
+        void add(Entry entry) {
+            entries.add(entry);
+            bytes += entry.bytes;
+        }
+    }
+
+    private static final class Entry {
+
+        final SendMessageRequest request;
+        final long enqueuedNanos;
+        final int bytes;
+        final CompletableFuture<SendMessageResponse> result = new CompletableFuture<>();
+
+        Entry(SendMessageRequest request, long enqueuedNanos) {
+            this.request = request;
+            this.enqueuedNanos = enqueuedNanos;
+            this.bytes = request.messageBody().getBytes(StandardCharsets.UTF_8).length
+                    + request.messageAttributes().entrySet().stream()
+                    .mapToInt(attribute -> attribute.getKey().length() + attribute.getValue().dataType().length()
+                            + (attribute.getValue().stringValue() != null ? attribute.getValue().stringValue().length() : 0))
+                    .sum();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.forrestgump.leadapi.infrastructure.messaging;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadapi.infrastructure.config.EnvelopeConfig;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Packs submissions into envelope messages, one open envelope per queue and campaign, so that a
+ * single SQS message (one send slot, one receive slot, one delete) carries many leads. The body is
+ * {@code {"version":1,"entries":[...]}}, each entry holding the lead as published today plus its
+ * own correlation id and {@code traceparent}; the {@code X-Envelope} attribute carries the entry
+ * count and marks the message for the consumer, and the campaign stays a message attribute so the
+ * consumer can still schedule by campaign without decoding the body.
+ *
+ * <p>Envelopes close when full, when the next entry would push the body past {@code maxBytes}, or
+ * when their linger runs out. Linger follows {@link LingerPolicy} over all arrivals, so at quiet
+ * times a lead goes out alone straight away and under load an envelope waits at most
+ * {@code maxLinger}. Closed envelopes go through {@link AdaptiveSendBatcher} like any other message,
+ * and every lead in an envelope completes or fails with its send.
+ */
+@Component
+public class EnvelopePacker {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnvelopePacker.class);
+    static final String ENVELOPE_ATTRIBUTE = "X-Envelope";
+    static final int VERSION = 1;
+    private static final String OPERATION = "envelope";
+    private static final String PREFIX = "{\"version\":" + VERSION + ",\"entries\":[";
+    private static final String SUFFIX = "]}";
+    private final AdaptiveSendBatcher batcher;
+    private final ObjectMapper objectMapper;
+    private final MetricsPublisher metricsPublisher;
+    private final EnvelopeConfig config;
+    private final LingerPolicy policy;
+    private final LongSupplier nanoTime;
+    private final ScheduledExecutorService lingerTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sqs-envelope-linger");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Envelope> open = new HashMap<>();
+
+    @Autowired
+    public EnvelopePacker(AdaptiveSendBatcher batcher, ObjectMapper objectMapper, MetricsPublisher metricsPublisher,
+                          EnvelopeConfig config) {
+        this(batcher, objectMapper, metricsPublisher, config, System::nanoTime);
+    }
+
+    EnvelopePacker(AdaptiveSendBatcher batcher, ObjectMapper objectMapper, MetricsPublisher metricsPublisher,
+                   EnvelopeConfig config, LongSupplier nanoTime) {
+        this.batcher = batcher;
+        this.nanoTime = nanoTime;
+        this.objectMapper = objectMapper;
+        this.metricsPublisher = metricsPublisher;
+        this.config = config;
+        this.policy = new LingerPolicy(config.maxEntries(), config.maxLinger());
+        metricsPublisher.registerGauge("sqs.batch.linger.target_ms", () -> policy.linger().toNanos() / 1_000_000.0,
+                "operation", OPERATION);
+        if (config.enabled()) {
+            logger.info("Envelope mode enabled, maxEntries: {}, maxBytes: {}, maxLinger: {}",
+                    config.maxEntries(), config.maxBytes(), config.maxLinger());
+        }
+    }
+
+    public boolean enabled() {
+        return config.enabled();
+    }
+
+    /**
+     * Adds a serialized submission to its queue and campaign's open envelope. The returned future
+     * completes when the envelope carrying it has been sent.
+     */
+    public CompletableFuture<Void> add(String queueUrl, String campaignId, String correlationId, String traceparent,
+                                       String lead) {
+        Entry entry;
+        try {
+            entry = new Entry(encode(correlationId, traceparent, lead), nanoTime.getAsLong());
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        String key = queueUrl + '\n' + campaignId;
+        List<Envelope> ready = new ArrayList<>(2);
+        synchronized (this) {
+            policy.recordArrival(entry.enqueuedNanos);
+            Envelope envelope = open.get(key);
+            if (envelope != null && envelope.bytes + 1 + entry.bytes > config.maxBytes()) {
+                ready.add(close(envelope));
+                envelope = null;
+            }
+            if (envelope == null) {
+                envelope = new Envelope(key, queueUrl, campaignId, entry.enqueuedNanos);
+                Duration linger = policy.linger();
+                if (!linger.isZero()) {
+                    Envelope lingering = envelope;
+                    envelope.timer = lingerTimer.schedule(() -> expire(lingering), linger.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                open.put(key, envelope);
+            }
+            envelope.add(entry);
+            if (envelope.timer == null || envelope.entries.size() >= policy.maxBatchSize()) {
+                ready.add(close(envelope));
+            }
+        }
+        ready.forEach(this::send);
+        return entry.result;
+    }
+
+    private String encode(String correlationId, String traceparent, String lead) throws IOException {
+        StringWriter writer = new StringWriter(lead.length() + 128);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.writeStartObject();
+            if (correlationId != null) {
+                generator.writeStringField("correlation_id", correlationId);
+            }
+            if (traceparent != null) {
+                generator.writeStringField("traceparent", traceparent);
+            }
+            generator.writeFieldName("lead");
+            generator.writeRawValue(lead);
+            generator.writeEndObject();
+        }
+        return writer.toString();
+    }
+
+    private void expire(Envelope envelope) {
+        synchronized (this) {
+            if (open.get(envelope.key) != envelope) {
+                return;
+            }
+            close(envelope);
+        }
+        send(envelope);
+    }
+
+    /**
+     * Must be called holding the lock.
+     */
+    private Envelope close(Envelope envelope) {
+        open.remove(envelope.key, envelope);
+        if (envelope.timer != null) {
+            envelope.timer.cancel(false);
+        }
+        return envelope;
+    }
+
+    private void send(Envelope envelope) {
+        metricsPublisher.recordBatch(OPERATION, envelope.entries.size(), policy.maxBatchSize(),
+                Duration.ofNanos(nanoTime.getAsLong() - envelope.openedNanos));
+        StringBuilder body = new StringBuilder(envelope.bytes + PREFIX.length() + SUFFIX.length()).append(PREFIX);
+        for (int i = 0; i < envelope.entries.size(); i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(envelope.entries.get(i).json);
+        }
+        body.append(SUFFIX);
+        batcher.sendMessage(SendMessageRequest.builder()
+                        .queueUrl(envelope.queueUrl)
+                        .messageBody(body.toString())
+                        .messageAttributes(Map.of(
+                                ENVELOPE_ATTRIBUTE, stringAttribute(Integer.toString(envelope.entries.size())),
+                                SqsLeadPublisher.CAMPAIGN_ID_ATTRIBUTE, stringAttribute(envelope.campaignId)))
+                        .build())
+                .whenComplete((response, error) -> envelope.entries.forEach(entry -> finish(entry, error)));
+    }
+
+    private void finish(Entry entry, Throwable error) {
+        metricsPublisher.recordBatchEntryLatency(OPERATION, error == null ? "success" : "error",
+                Duration.ofNanos(nanoTime.getAsLong() - entry.enqueuedNanos));
+        if (error == null) {
+            entry.result.complete(null);
+        } else {
+            entry.result.completeExceptionally(error);
+        }
+    }
+
+    private static MessageAttributeValue stringAttribute(String value) {
+        return MessageAttributeValue.builder()
+                .dataType("String")
+                .stringValue(value)
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        List<Envelope> remaining;
+        synchronized (this) {
+            remaining = new ArrayList<>(open.values());
+            remaining.forEach(this::close);
+        }
+        remaining.forEach(this::send);
+        lingerTimer.shutdown();
+    }
+
+    private static final class Envelope {
+
+        final String key;
+        final String queueUrl;
+        final String campaignId;
+        final long openedNanos;
+        final List<Entry> entries = new ArrayList<>();
+        int bytes = PREFIX.length() + SUFFIX.length();
+        ScheduledFuture<?> timer;
+
+        Envelope(String key, String queueUrl, String campaignId, long openedNanos) {
+            this.key = key;
+            this.queueUrl = queueUrl;
+            this.campaignId = campaignId;
+            this.openedNanos = openedNanos;
+        }
+
+        void add(Entry entry) {
+            bytes += (entries.isEmpty() ? 0 : 1) + entry.bytes;
+            entries.add(entry);
+        }
+    }
+
+    private static final class Entry {
+
+        final String json;
+        final long enqueuedNanos;
+        final int bytes;
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        Entry(String json, long enqueuedNanos) {
+            this.json = json;
+            this.enqueuedNanos = enqueuedNanos;
+            this.bytes = json.getBytes(StandardCharsets.UTF_8).length;
+        }
+    }
+}
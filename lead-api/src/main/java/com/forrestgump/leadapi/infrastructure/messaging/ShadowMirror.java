@@ -0,0 +1,202 @@
+package com.forrestgump.leadapi.infrastructure.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadapi.domain.model.LeadSubmission;
+import com.forrestgump.leadapi.infrastructure.config.ShadowConfig;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copies a sample of accepted submissions to the shadow queue, so a candidate processor build can
+ * be run against real traffic shapes before a campaign.
+ *
+ * <p>{@link #mirror} only rolls the sample and offers the submission to a bounded buffer; it never
+ * blocks and never fails the request. A dedicated thread swaps in a synthetic CPF (see
+ * {@link SyntheticCpf}), a fresh salt, lead ID and event ID, so shadow processing cannot touch
+ * real leads or their status, and sends batches of up to ten with a bounded number of sends
+ * outstanding. When the shadow queue falls behind, the buffer fills and copies are dropped and
+ * counted. Comparing {@code shadow.candidates.count} with {@code shadow.sent.count} and
+ * {@code shadow.dropped.count} shows whether the sample that arrived is still representative.
+ */
+@Component
+public class ShadowMirror {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShadowMirror.class);
+    static final String SHADOW_ATTRIBUTE = "X-Shadow";
+    private static final int MAX_BATCH_SIZE = 10;
+    private final SqsAsyncClient sqsAsyncClient;
+    private final ObjectMapper objectMapper;
+    private final ShadowConfig config;
+    private final MetricsPublisher metricsPublisher;
+    private final SyntheticCpf syntheticCpf = new SyntheticCpf();
+    private final ArrayBlockingQueue<Copy> buffer;
+    private final Semaphore inFlightBatches;
+    private final Thread sender;
+    private volatile boolean running = true;
+    private volatile String queueUrl;
+
+    public ShadowMirror(SqsAsyncClient sqsAsyncClient, ObjectMapper objectMapper, ShadowConfig config,
+                        MetricsPublisher metricsPublisher) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.objectMapper = objectMapper;
+        this.config = config;
+        this.metricsPublisher = metricsPublisher;
+        this.buffer = new ArrayBlockingQueue<>(config.bufferSize());
+        this.inFlightBatches = new Semaphore(config.maxInFlightBatches());
+        metricsPublisher.registerGauge("shadow.buffered", buffer::size);
+        metricsPublisher.registerGauge("shadow.sample_rate", () -> config.enabled() ? config.sampleRate() : 0);
+        this.sender = Thread.ofPlatform().name("shadow-mirror").daemon().unstarted(this::run);
+        if (config.enabled()) {
+            sender.start();
+            logger.info("Shadow mirroring enabled, queue: {}, sampleRate: {}", config.queueName(), config.sampleRate());
+        }
+    }
+
+    private record Copy(LeadSubmission submission, String correlationId) {}
+
+    public void mirror(LeadSubmission submission, String correlationId) {
+        if (!config.enabled()) {
+            return;
+        }
+        if (ThreadLocalRandom.current().nextDouble() >= config.sampleRate()) {
+            metricsPublisher.incrementShadowCandidate("skipped");
+            return;
+        }
+        metricsPublisher.incrementShadowCandidate("sampled");
+        if (!buffer.offer(new Copy(submission, correlationId))) {
+            metricsPublisher.incrementShadowDropped("buffer_full", 1);
+        }
+    }
+
+    private void run() {
+        List<Copy> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running) {
+            try {
+                Copy first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, MAX_BATCH_SIZE - 1);
+                inFlightBatches.acquire();
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                inFlightBatches.release();
+                metricsPublisher.incrementShadowDropped("error", batch.size());
+                logger.warn("Failed to mirror shadow batch, dropped: {}, error: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<Copy> batch) {
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Copy copy = batch.get(i);
+            try {
+                entries.add(SendMessageBatchRequestEntry.builder()
+                        .id(Integer.toString(i))
+                        .messageBody(objectMapper.writeValueAsString(synthetic(copy.submission())))
+                        .messageAttributes(attributes(copy))
+                        .build());
+            } catch (JsonProcessingException e) {
+                metricsPublisher.incrementShadowDropped("serialize", 1);
+            }
+        }
+        if (entries.isEmpty()) {
+            inFlightBatches.release();
+            return;
+        }
+        String url = resolveQueueUrl();
+        sqsAsyncClient.sendMessageBatch(SendMessageBatchRequest.builder()
+                        .queueUrl(url)
+                        .entries(entries)
+                        .build())
+                .whenComplete((response, error) -> {
+                    inFlightBatches.release();
+                    if (error != null) {
+                        queueUrl = null;
+                        metricsPublisher.incrementShadowDropped("send_error", entries.size());
+                        logger.warn("Failed to send shadow batch, dropped: {}, error: {}", entries.size(), error.getMessage());
+                        return;
+                    }
+                    metricsPublisher.incrementShadowSent(response.successful().size());
+                    if (!response.failed().isEmpty()) {
+                        metricsPublisher.incrementShadowDropped("send_error", response.failed().size());
+                    }
+                });
+    }
+
+    private LeadSubmission synthetic(LeadSubmission submission) {
+        String cpf = syntheticCpf.replace(submission.cpf());
+        String salt = SqsLeadPublisher.generateSalt();
+        return new LeadSubmission(
+                UUID.randomUUID(),
+                SqsLeadPublisher.generateLeadId(cpf, salt),
+                cpf,
+                salt,
+                submission.name(),
+                submission.phone(),
+                submission.email(),
+                submission.createdAt(),
+                submission.campaignId(),
+                submission.phoneE164(),
+                submission.phoneState(),
+                submission.phoneRegion());
+    }
+
+    private Map<String, MessageAttributeValue> attributes(Copy copy) {
+        return Map.of(
+                SqsLeadPublisher.CAMPAIGN_ID_ATTRIBUTE, stringAttribute(copy.submission().campaignId()),
+                SqsLeadPublisher.CORRELATION_ID_ATTRIBUTE, stringAttribute(copy.correlationId() != null ? copy.correlationId() : "shadow"),
+                SHADOW_ATTRIBUTE, stringAttribute("true"));
+    }
+
+    private String resolveQueueUrl() {
+        String url = queueUrl;
+        if (url == null) {
+            url = sqsAsyncClient.getQueueUrl(GetQueueUrlRequest.builder()
+                            .queueName(config.queueName())
+                            .build())
+                    .join()
+                    .queueUrl();
+            queueUrl = url;
+        }
+        return url;
+    }
+
+    private static MessageAttributeValue stringAttribute(String value) {
+        return MessageAttributeValue.builder()
+                .dataType("String")
+                .stringValue(value)
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        sender.interrupt();
+    }
+}
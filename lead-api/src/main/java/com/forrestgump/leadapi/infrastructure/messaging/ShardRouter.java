@@ -0,0 +1,86 @@
+package com.forrestgump.leadapi.infrastructure.messaging;
+
+import com.forrestgump.leadapi.infrastructure.config.ShardingConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks the lead queue a submission is published to and resolves queue URLs once per queue.
+ *
+ * <p>Hashing the lead ID spreads load evenly, since lead IDs are SHA-256 digests. Hashing the
+ * campaign keeps each campaign on one queue, so a hot campaign only slows its own shard, at the
+ * cost of uneven shards when few campaigns are live. Routing by priority gives bulk backfills and
+ * retries queues of their own that live traffic never waits behind.
+ */
+@Component
+public class ShardRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRouter.class);
+    private final SqsAsyncClient sqsAsyncClient;
+    private final List<String> queues;
+    private final ShardingConfig.Strategy strategy;
+    private final Map<String, String> priorities = new HashMap<>();
+    private final Map<String, String> queueUrls = new ConcurrentHashMap<>();
+
+    public ShardRouter(SqsAsyncClient sqsAsyncClient, ShardingConfig config,
+                       @Value("${aws.sqs.queue-name}") String queueName) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queues = config.queues().isEmpty() ? List.of(queueName) : List.copyOf(config.queues());
+        this.strategy = config.strategy();
+        config.priorities().forEach((priority, queue) -> {
+            if (!queues.contains(queue)) {
+                throw new IllegalArgumentException("Priority " + priority + " mapped to " + queue
+                        + ", which is not in lead.sharding.queues");
+            }
+            priorities.put(priority.toLowerCase(), queue);
+        });
+        if (queues.size() > 1) {
+            logger.info("Sharded publishing enabled, strategy: {}, queues: {}", strategy, queues);
+        }
+    }
+
+    public List<String> queues() {
+        return queues;
+    }
+
+    public String route(String leadId, String campaignId, String priority) {
+        if (queues.size() == 1) {
+            return queues.get(0);
+        }
+        return switch (strategy) {
+            case CAMPAIGN -> shard(campaignId);
+            case PRIORITY -> {
+                String queue = priority != null ? priorities.get(priority.toLowerCase()) : null;
+                yield queue != null ? queue : shard(leadId);
+            }
+            case LEAD_ID -> shard(leadId);
+        };
+    }
+
+    private String shard(String key) {
+        return queues.get(Math.floorMod(key != null ? key.hashCode() : 0, queues.size()));
+    }
+
+    public Mono<String> queueUrl(String queueName) {
+        String cached = queueUrls.get(queueName);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.fromFuture(() -> sqsAsyncClient.getQueueUrl(GetQueueUrlRequest.builder()
+                        .queueName(queueName)
+                        .build()))
+                .map(GetQueueUrlResponse::queueUrl)
+                .doOnNext(queueUrl -> queueUrls.put(queueName, queueUrl));
+    }
+}
@@ -4,51 +4,74 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.forrestgump.leadapi.domain.model.LeadSubmission;
 import com.forrestgump.leadapi.infrastructure.exception.InfrastructureException;
 import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import com.forrestgump.leadapi.infrastructure.profiling.StageEvents;
+import com.forrestgump.leadapi.infrastructure.tracing.Span;
+import com.forrestgump.leadapi.infrastructure.tracing.TraceContext;
+import com.forrestgump.leadapi.infrastructure.tracing.Tracer;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
 import io.github.resilience4j.reactor.retry.RetryOperator;
 import io.github.resilience4j.retry.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
-import software.amazon.awssdk.services.sqs.SqsAsyncClient;
-import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
-import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
-import software.amazon.awssdk.services.sqs.batchmanager.SqsAsyncBatchManager;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Component
 public class SqsLeadPublisher {
 
     private static final Logger logger = LoggerFactory.getLogger(SqsLeadPublisher.class);
-    private final SqsAsyncClient sqsAsyncClient;
-    private final SqsAsyncBatchManager sqsAsyncBatchManager;
+    static final String CORRELATION_ID_ATTRIBUTE = "X-Correlation-Id";
+    static final String CAMPAIGN_ID_ATTRIBUTE = "X-Campaign-Id";
+    private final AdaptiveSendBatcher batcher;
+    private final EnvelopePacker envelopePacker;
     private final ObjectMapper objectMapper;
-    private final String queueName;
+    private final ShardRouter shardRouter;
     private final MetricsPublisher metricsPublisher;
     private final CircuitBreaker sqsCircuitBreaker;
     private final Retry sqsRetry;
+    private final Tracer tracer;
 
-    public SqsLeadPublisher(SqsAsyncClient sqsAsyncClient, SqsAsyncBatchManager sqsAsyncBatchManager,
-                            ObjectMapper objectMapper, @Value("${aws.sqs.queue-name}") String queueName,
-                            MetricsPublisher metricsPublisher, CircuitBreaker sqsCircuitBreaker, Retry sqsRetry) {
-        this.sqsAsyncClient = sqsAsyncClient;
-        this.sqsAsyncBatchManager = sqsAsyncBatchManager;
+    public SqsLeadPublisher(AdaptiveSendBatcher batcher, EnvelopePacker envelopePacker,
+                            ObjectMapper objectMapper, ShardRouter shardRouter,
+                            MetricsPublisher metricsPublisher, CircuitBreaker sqsCircuitBreaker, Retry sqsRetry,
+                            Tracer tracer) {
+        this.batcher = batcher;
+        this.envelopePacker = envelopePacker;
         this.objectMapper = objectMapper;
-        this.queueName = queueName;
+        this.shardRouter = shardRouter;
         this.metricsPublisher = metricsPublisher;
         this.sqsCircuitBreaker = sqsCircuitBreaker;
         this.sqsRetry = sqsRetry;
+        this.tracer = tracer;
     }
 
-    public Mono<Void> publish(LeadSubmission event) {
+    /**
+     * Publishes the submission with the correlation id, campaign and the publish span's
+     * {@code traceparent} as message attributes, so the consumer continues the same trace and can
+     * schedule the message by campaign without decoding its body. In envelope mode the
+     * submission is packed with others by {@link EnvelopePacker} instead, carrying the same
+     * correlation id and {@code traceparent} inside its entry.
+     */
+    public Mono<Void> publish(LeadSubmission event, String correlationId) {
+        return publish(event, correlationId, null);
+    }
+
+    /**
+     * As {@link #publish(LeadSubmission, String)}, to the lead queue {@link ShardRouter} picks for
+     * the submission's lead ID, campaign or {@code priority}.
+     */
+    public Mono<Void> publish(LeadSubmission event, String correlationId, String priority) {
         // Gerar salt e hash do CPF
         String salt = generateSalt();
         String leadId = generateLeadId(event.cpf(), salt);
@@ -62,23 +85,26 @@ public class SqsLeadPublisher {
                 event.name(),
                 event.phone(),
                 event.email(),
-                event.createdAt());
+                event.createdAt(),
+                event.campaignId(),
+                event.phoneE164(),
+                event.phoneState(),
+                event.phoneRegion());
+        String queue = shardRouter.route(leadId, updatedEvent.campaignId(), priority);
 
-        return Mono.fromCallable(() -> objectMapper.writeValueAsString(updatedEvent))
-                .flatMap(message -> Mono.fromFuture(sqsAsyncClient.getQueueUrl(GetQueueUrlRequest.builder()
-                                .queueName(queueName)
-                                .build()))
-                        .map(GetQueueUrlResponse::queueUrl)
-                        .flatMap(queueUrl -> Mono.fromFuture(sqsAsyncBatchManager.sendMessage(SendMessageRequest.builder()
-                                .queueUrl(queueUrl)
-                                .messageBody(message)
-                                .build()))))
+        return tracer.trace("sqs.publish", Span.Kind.PRODUCER, Mono.fromCallable(() -> StageEvents.measure("serialize", event.eventId(),
+                        () -> objectMapper.writeValueAsString(updatedEvent), String::length))
+                .flatMap(message -> shardRouter.queueUrl(queue)
+                        .flatMap(queueUrl -> StageEvents.around("sqs.send", Mono.deferContextual(context -> Mono.fromFuture(
+                                send(queueUrl, message, correlationId, updatedEvent.campaignId(), tracer.current(context).orElse(null))))))))
                 .doOnSuccess(response -> {
                     metricsPublisher.incrementSqsPublish("success");
+                    metricsPublisher.incrementShardPublish(queue, "success");
                     logger.info("Lead published successfully in batch, eventId: {}", event.eventId());
                 })
                 .doOnError(e -> {
                     metricsPublisher.incrementSqsPublish("error");
+                    metricsPublisher.incrementShardPublish(queue, "error");
                     logger.error("Failed to publish lead in batch, eventId: {}, error: {}", event.eventId(), e.getMessage());
                 })
                 .onErrorMap(e -> new InfrastructureException("Failed to publish to SQS", e))
@@ -87,13 +113,44 @@ public class SqsLeadPublisher {
                 .then();
     }
 
-    private String generateSalt() {
+    private CompletableFuture<?> send(String queueUrl, String message, String correlationId, String campaignId, Span span) {
+        if (envelopePacker.enabled()) {
+            return envelopePacker.add(queueUrl, campaignId, correlationId,
+                    span != null ? span.context().traceparent() : null, message);
+        }
+        return batcher.sendMessage(SendMessageRequest.builder()
+                .queueUrl(queueUrl)
+                .messageBody(message)
+                .messageAttributes(messageAttributes(correlationId, campaignId, span))
+                .build());
+    }
+
+    private Map<String, MessageAttributeValue> messageAttributes(String correlationId, String campaignId, Span span) {
+        Map<String, MessageAttributeValue> attributes = new HashMap<>();
+        attributes.put(CAMPAIGN_ID_ATTRIBUTE, stringAttribute(campaignId));
+        if (correlationId != null) {
+            attributes.put(CORRELATION_ID_ATTRIBUTE, stringAttribute(correlationId));
+        }
+        if (span != null) {
+            attributes.put(TraceContext.TRACEPARENT, stringAttribute(span.context().traceparent()));
+        }
+        return attributes;
+    }
+
+    private MessageAttributeValue stringAttribute(String value) {
+        return MessageAttributeValue.builder()
+                .dataType("String")
+                .stringValue(value)
+                .build();
+    }
+
+    static String generateSalt() {
         byte[] saltBytes = new byte[16];
         new SecureRandom().nextBytes(saltBytes);
         return Base64.getEncoder().encodeToString(saltBytes);
     }
 
-    private String generateLeadId(String cpf, String salt) {
+    static String generateLeadId(String cpf, String salt) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             String combined = cpf + salt;
@@ -0,0 +1,74 @@
+package com.forrestgump.leadapi.infrastructure.messaging;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Replaces real CPFs with valid synthetic ones for shadow traffic. The base digits come from an
+ * HMAC of the real CPF under a key generated at startup and never stored, so the same CPF maps to
+ * the same synthetic CPF for the life of the process (repeat submitters still look like repeat
+ * submitters) while the mapping cannot be reversed or reproduced elsewhere. Check digits are
+ * computed, so the result passes CPF validation.
+ */
+final class SyntheticCpf {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private final SecretKeySpec key;
+
+    SyntheticCpf() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+    }
+
+    String replace(String cpf) {
+        byte[] hash = hmac(cpf != null ? cpf : "");
+        int[] digits = new int[11];
+        for (int i = 0; i < 9; i++) {
+            digits[i] = (hash[i] & 0xff) % 10;
+        }
+        // All-equal digit sequences are valid by checksum but rejected as CPFs.
+        if (allEqual(digits)) {
+            digits[8] = (digits[8] + 1) % 10;
+        }
+        digits[9] = checkDigit(digits, 9);
+        digits[10] = checkDigit(digits, 10);
+        StringBuilder synthetic = new StringBuilder(11);
+        for (int digit : digits) {
+            synthetic.append(digit);
+        }
+        return synthetic.toString();
+    }
+
+    private byte[] hmac(String value) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HMAC unavailable for synthetic CPFs", e);
+        }
+    }
+
+    private static int checkDigit(int[] digits, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += digits[i] * (length + 1 - i);
+        }
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+
+    private static boolean allEqual(int[] digits) {
+        for (int i = 1; i < 9; i++) {
+            if (digits[i] != digits[0]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,8 +1,14 @@
 package com.forrestgump.leadapi.infrastructure.metrics;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.function.Supplier;
+
 @Component
 public class MetricsPublisher {
 
@@ -16,7 +22,106 @@ public class MetricsPublisher {
         meterRegistry.counter("sqs.publish.count", "status", status).increment();
     }
 
+    public void incrementShardPublish(String queue, String status) {
+        meterRegistry.counter("sqs.shard.publish.count", "queue", queue, "status", status).increment();
+    }
+
     public void incrementRateLimit() {
         meterRegistry.counter("api.rate_limit.count").increment();
     }
+
+    public void incrementShed(String priority) {
+        meterRegistry.counter("api.shed.count", "priority", priority).increment();
+    }
+
+    public void incrementStatusLookup(String result) {
+        meterRegistry.counter("lead.status.lookup.count", "result", result).increment();
+    }
+
+    public void recordStatusBackingRead(Duration latency) {
+        meterRegistry.timer("lead.status.backing_read").record(latency);
+    }
+
+    public void incrementTraceDecision(String decision) {
+        meterRegistry.counter("tracing.traces", "decision", decision).increment();
+    }
+
+    public void incrementDroppedSpans(long count) {
+        meterRegistry.counter("tracing.spans.dropped").increment(count);
+    }
+
+    public void recordWarmUp(String target, String outcome, Duration duration) {
+        meterRegistry.timer("startup.warmup", "target", target, "outcome", outcome).record(duration);
+    }
+
+    public void incrementSurgeTransition(String mode) {
+        meterRegistry.counter("surge.transitions", "to", mode).increment();
+    }
+
+    public void incrementAbuseVerdict(String dimension, String action) {
+        meterRegistry.counter("abuse.verdicts", "dimension", dimension, "action", action).increment();
+    }
+
+    public void recordBatch(String operation, int entries, int maxBatchSize, Duration linger) {
+        DistributionSummary.builder("sqs.batch.fill.ratio")
+                .tag("operation", operation)
+                .serviceLevelObjectives(0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9, 1.0)
+                .register(meterRegistry)
+                .record((double) entries / maxBatchSize);
+        Timer.builder("sqs.batch.linger")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(linger);
+    }
+
+    public void recordBatchEntryLatency(String operation, String outcome, Duration latency) {
+        Timer.builder("sqs.batch.entry.latency")
+                .tags("operation", operation, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(latency);
+    }
+
+    public void incrementShadowCandidate(String decision) {
+        meterRegistry.counter("shadow.candidates.count", "decision", decision).increment();
+    }
+
+    public void incrementShadowSent(int messages) {
+        meterRegistry.counter("shadow.sent.count").increment(messages);
+    }
+
+    public void incrementShadowDropped(String reason, int messages) {
+        meterRegistry.counter("shadow.dropped.count", "reason", reason).increment(messages);
+    }
+
+    public void incrementPhoneNormalization(String outcome) {
+        meterRegistry.counter("lead.phone.normalization.count", "outcome", outcome).increment();
+    }
+
+    public void incrementQuotaDecision(String decision) {
+        meterRegistry.counter("quota.decisions.count", "decision", decision).increment();
+    }
+
+    public void recordQuotaLease(String outcome, Duration latency) {
+        Timer.builder("quota.lease.refresh")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(latency);
+    }
+
+    public void recordQuotaError(String direction, long requests, long limit) {
+        meterRegistry.counter("quota.enforcement.error", "direction", direction).increment(requests);
+        DistributionSummary.builder("quota.enforcement.error.ratio")
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .record((double) requests / limit);
+    }
+
+    public void registerGauge(String name, Supplier<Number> value, String... tags) {
+        Gauge.builder(name, value)
+                .tags(tags)
+                .register(meterRegistry);
+    }
 }
\ No newline at end of file
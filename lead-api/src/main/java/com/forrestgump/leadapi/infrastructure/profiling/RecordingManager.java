@@ -0,0 +1,160 @@
+package com.forrestgump.leadapi.infrastructure.profiling;
+
+import com.forrestgump.leadapi.infrastructure.config.ProfilingConfig;
+import com.forrestgump.leadapi.infrastructure.exception.InfrastructureException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs at most one bounded JFR recording at a time, with {@link LeadStageEvent} enabled on top
+ * of a JDK settings profile. Recordings stop on their own after their duration and are written
+ * to {@code lead.profiling.directory}, keeping only the newest {@code keepRecordings} files.
+ */
+@Component
+public class RecordingManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordingManager.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final String SUFFIX = ".jfr";
+    private final ProfilingConfig config;
+    private final Path directory;
+    private Recording active;
+    private String activeId;
+
+    public RecordingManager(ProfilingConfig config) {
+        this.config = config;
+        this.directory = Path.of(config.directory());
+    }
+
+    public record RecordingInfo(String id, long sizeBytes, Instant modifiedAt) {}
+
+    public record Status(String activeId, String state, Instant startedAt, Duration duration, List<RecordingInfo> recordings) {}
+
+    /**
+     * Starts a recording; {@code settings} is a JDK settings name such as {@code default} (about
+     * 1% overhead) or {@code profile}.
+     */
+    public synchronized Status start(Duration duration, String settings) {
+        if (active != null && active.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("Recording " + activeId + " is already running");
+        }
+        Duration bounded = duration == null ? config.defaultDuration()
+                : duration.compareTo(config.maxDuration()) > 0 ? config.maxDuration() : duration;
+        try {
+            Files.createDirectories(directory);
+            Recording recording = new Recording(Configuration.getConfiguration(settings == null ? "default" : settings));
+            recording.enable(LeadStageEvent.NAME).withoutThreshold();
+            recording.setName("lead-stages");
+            recording.setDuration(bounded);
+            recording.setMaxSize(config.maxSizeBytes());
+            recording.setToDisk(true);
+            String id = "lead-api-" + FILE_TIMESTAMP.format(Instant.now());
+            recording.setDestination(directory.resolve(id + SUFFIX));
+            recording.start();
+            active = recording;
+            activeId = id;
+            logger.info("JFR recording {} started for {} with {} settings", id, bounded, settings == null ? "default" : settings);
+            prune();
+            return status();
+        } catch (IOException | ParseException e) {
+            throw new InfrastructureException("Failed to start JFR recording", e);
+        }
+    }
+
+    /**
+     * Stops the running recording, if any, and returns the per-stage summary of the newest file.
+     */
+    public synchronized List<StageSummarizer.StageSummary> stop() {
+        String id = activeId;
+        if (active != null) {
+            if (active.getState() == RecordingState.RUNNING) {
+                active.stop();
+            }
+            active.close();
+            active = null;
+            logger.info("JFR recording {} stopped", id);
+        }
+        return id == null ? List.of() : summary(id);
+    }
+
+    public synchronized Status status() {
+        Recording recording = active;
+        return new Status(activeId,
+                recording != null ? recording.getState().name() : null,
+                recording != null ? recording.getStartTime() : null,
+                recording != null ? recording.getDuration() : null,
+                recordings());
+    }
+
+    public Path file(String id) {
+        Path file = directory.resolve(id + SUFFIX).normalize();
+        if (!file.getParent().equals(directory.normalize()) || !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("No recording " + id);
+        }
+        return file;
+    }
+
+    public List<StageSummarizer.StageSummary> summary(String id) {
+        try {
+            return StageSummarizer.summarize(file(id));
+        } catch (IOException e) {
+            throw new InfrastructureException("Failed to read JFR recording " + id, e);
+        }
+    }
+
+    private List<RecordingInfo> recordings() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .map(this::info)
+                    .sorted(Comparator.comparing(RecordingInfo::modifiedAt).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new InfrastructureException("Failed to list JFR recordings", e);
+        }
+    }
+
+    private RecordingInfo info(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return new RecordingInfo(name.substring(0, name.length() - SUFFIX.length()), Files.size(file),
+                    Files.getLastModifiedTime(file).toInstant());
+        } catch (IOException e) {
+            throw new InfrastructureException("Failed to read JFR recording " + file, e);
+        }
+    }
+
+    private void prune() throws IOException {
+        List<RecordingInfo> recordings = recordings();
+        for (RecordingInfo old : recordings.subList(Math.min(recordings.size(), config.keepRecordings()), recordings.size())) {
+            Files.deleteIfExists(directory.resolve(old.id() + SUFFIX));
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (active != null) {
+            active.close();
+            active = null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.forrestgump.leadapi.infrastructure.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns the {@link LeadStageEvent}s in a recording into per-stage latency and allocation
+ * figures. Runnable on its own for recordings copied off a host:
+ * {@code java -cp lead-api.jar -Dloader.main=com.forrestgump.leadapi.infrastructure.profiling.StageSummarizer
+ * org.springframework.boot.loader.launch.PropertiesLauncher recording.jfr}.
+ */
+public final class StageSummarizer {
+
+    private StageSummarizer() {
+    }
+
+    /**
+     * Allocation figures are averaged over the events that measured them; stages with none
+     * report -1.
+     */
+    public record StageSummary(
+            String stage,
+            long count,
+            long errors,
+            double p50Ms,
+            double p95Ms,
+            double p99Ms,
+            double maxMs,
+            long allocatedBytesPerCall,
+            long payloadBytesPerCall
+    ) {}
+
+    public static List<StageSummary> summarize(Path recording) throws IOException {
+        Map<String, Accumulator> stages = new TreeMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (!LeadStageEvent.NAME.equals(event.getEventType().getName())) {
+                    continue;
+                }
+                stages.computeIfAbsent(event.getString("stage"), stage -> new Accumulator())
+                        .add(event.getDuration().toNanos(), "on_error".equals(event.getString("outcome")),
+                                event.getLong("allocated"), event.getLong("bytes"));
+            }
+        }
+        List<StageSummary> summaries = new ArrayList<>(stages.size());
+        stages.forEach((stage, accumulator) -> summaries.add(accumulator.summary(stage)));
+        return summaries;
+    }
+
+    public static String table(List<StageSummary> summaries) {
+        StringBuilder table = new StringBuilder(String.format("%-20s %8s %7s %9s %9s %9s %9s %12s %10s%n",
+                "stage", "count", "errors", "p50 ms", "p95 ms", "p99 ms", "max ms", "alloc/call", "bytes/call"));
+        for (StageSummary summary : summaries) {
+            table.append(String.format("%-20s %8d %7d %9.2f %9.2f %9.2f %9.2f %12s %10s%n",
+                    summary.stage(), summary.count(), summary.errors(), summary.p50Ms(), summary.p95Ms(),
+                    summary.p99Ms(), summary.maxMs(), orDash(summary.allocatedBytesPerCall()),
+                    orDash(summary.payloadBytesPerCall())));
+        }
+        return table.toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: StageSummarizer <recording.jfr>");
+            System.exit(2);
+        }
+        System.out.print(table(summarize(Path.of(args[0]))));
+    }
+
+    private static String orDash(long value) {
+        return value < 0 ? "-" : Long.toString(value);
+    }
+
+    private static final class Accumulator {
+
+        private long[] durations = new long[256];
+        private int count;
+        private long errors;
+        private long allocated;
+        private long allocatedCount;
+        private long bytes;
+        private long bytesCount;
+
+        void add(long durationNanos, boolean error, long allocatedBytes, long payloadBytes) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = durationNanos;
+            if (error) {
+                errors++;
+            }
+            if (allocatedBytes >= 0) {
+                allocated += allocatedBytes;
+                allocatedCount++;
+            }
+            if (payloadBytes >= 0) {
+                bytes += payloadBytes;
+                bytesCount++;
+            }
+        }
+
+        StageSummary summary(String stage) {
+            long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            return new StageSummary(stage, count, errors, percentileMs(sorted, 0.50), percentileMs(sorted, 0.95),
+                    percentileMs(sorted, 0.99), sorted[count - 1] / 1e6,
+                    allocatedCount > 0 ? allocated / allocatedCount : -1,
+                    bytesCount > 0 ? bytes / bytesCount : -1);
+        }
+
+        private static double percentileMs(long[] sorted, double percentile) {
+            return sorted[(int) Math.min(sorted.length - 1, Math.floor(percentile * sorted.length))] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.forrestgump.leadapi.infrastructure.quota;
+
+import com.forrestgump.leadapi.infrastructure.config.QuotaConfig;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enforces each client's cluster-wide quota from leases held by this instance, so admitting a
+ * request never waits on the network.
+ *
+ * <p>Quotas are counted in fixed windows of {@code period} aligned to the epoch, which assumes
+ * instance clocks agree to well within a period. For each active client the instance holds a
+ * lease of units taken from the {@link QuotaStore} for the current window; requests spend it
+ * locally, and once fewer than {@code refillAt} remain the next lease is requested in the
+ * background, one request per client at a time. A client still active in the last
+ * {@code prefetch} of a window has its first lease for the next window requested ahead of time,
+ * so busy clients cross the boundary with units in hand. Until the first lease of a window
+ * arrives, requests may run up to {@code overdraft} units into debt, which the lease pays back
+ * first, but not for a client that used up its quota in the previous window: at the limit every
+ * instance would otherwise admit its overdraft again each window. A partial or empty lease means
+ * the window's quota is spent, and the client is refused here until the next window.
+ *
+ * <p>The error against the global limit is exported per closed lease: debt the store could no
+ * longer cover was admitted over the limit, and units still unspent in a lease after the quota
+ * ran out were refused to other instances' requests under it. Neither is visible without the
+ * other instances' view, so {@code quota.enforcement.error} is a lower bound summed across
+ * instances.
+ */
+@Component
+public class DistributedQuota {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistributedQuota.class);
+    private final QuotaStore store;
+    private final QuotaConfig config;
+    private final MetricsPublisher metricsPublisher;
+    private final Clock clock;
+    private final long periodMillis;
+    private final long prefetchMillis;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DistributedQuota(QuotaStore store, QuotaConfig config, MetricsPublisher metricsPublisher) {
+        this(store, config, metricsPublisher, Clock.systemUTC());
+    }
+
+    DistributedQuota(QuotaStore store, QuotaConfig config, MetricsPublisher metricsPublisher, Clock clock) {
+        this.store = store;
+        this.config = config;
+        this.metricsPublisher = metricsPublisher;
+        this.clock = clock;
+        this.periodMillis = config.period().toMillis();
+        this.prefetchMillis = config.prefetch().toMillis();
+        metricsPublisher.registerGauge("quota.leases.active", leases::size);
+        if (config.enabled()) {
+            logger.info("Distributed quotas enabled, store: {}, limit: {} per {}, leaseSize: {}",
+                    config.store(), config.limit(), config.period(), config.leaseSize());
+        }
+    }
+
+    public enum Decision {
+        LEASE,
+        OVERDRAFT,
+        REJECTED
+    }
+
+    public static class QuotaExceededException extends RuntimeException {
+
+        public QuotaExceededException(String client) {
+            super("Quota exceeded for client: " + client);
+        }
+    }
+
+    public boolean enabled() {
+        return config.enabled();
+    }
+
+    public boolean tryAcquire(String client) {
+        long now = clock.millis();
+        long window = now / periodMillis;
+        Lease lease = leases.compute(client, (key, current) -> current != null && current.window == window
+                ? current
+                : rollOver(key, current, window));
+        Decision decision;
+        boolean refill;
+        Lease prefetch = null;
+        synchronized (lease) {
+            decision = lease.take();
+            refill = !lease.refilling && !lease.exhausted && lease.remaining <= config.refillAt();
+            lease.refilling |= refill;
+            if (lease.next == null && prefetchMillis > 0 && now - window * periodMillis >= periodMillis - prefetchMillis) {
+                prefetch = new Lease(client, window + 1, lease.limit, 0);
+                prefetch.refilling = true;
+                lease.next = prefetch;
+            }
+        }
+        if (refill) {
+            refill(lease);
+        }
+        if (prefetch != null) {
+            acquire(prefetch, config.leaseSize());
+        }
+        metricsPublisher.incrementQuotaDecision(decision.name().toLowerCase());
+        return decision != Decision.REJECTED;
+    }
+
+    /**
+     * Replaces a client's lease from an earlier window: with the prefetched lease when it is for
+     * this window, or else a fresh one. Either may overdraft unless the previous window ended
+     * with the client's quota spent.
+     */
+    private Lease rollOver(String client, Lease current, long window) {
+        if (current == null) {
+            return new Lease(client, window, config.limitFor(client), config.overdraft());
+        }
+        Lease next;
+        boolean spent;
+        synchronized (current) {
+            next = current.next;
+            current.next = null;
+            spent = current.window == window - 1 && current.exhausted;
+        }
+        close(current);
+        long overdraft = spent ? 0 : config.overdraft();
+        if (next != null && next.window == window) {
+            synchronized (next) {
+                next.overdraft = overdraft;
+            }
+            return next;
+        }
+        if (next != null) {
+            close(next);
+        }
+        return new Lease(client, window, config.limitFor(client), overdraft);
+    }
+
+    private void refill(Lease lease) {
+        long requested;
+        synchronized (lease) {
+            requested = config.leaseSize() + lease.owed;
+        }
+        acquire(lease, requested);
+    }
+
+    private void acquire(Lease lease, long requested) {
+        long startedNanos = System.nanoTime();
+        store.acquire(lease.client, lease.window, requested, lease.limit)
+                .subscribe(
+                        granted -> granted(lease, requested, granted, startedNanos),
+                        error -> failed(lease, error, startedNanos));
+    }
+
+    private void granted(Lease lease, long requested, long granted, long startedNanos) {
+        synchronized (lease) {
+            long repaid = Math.min(granted, lease.owed);
+            lease.owed -= repaid;
+            lease.remaining += granted - repaid;
+            lease.exhausted = granted < requested;
+            lease.refilling = false;
+            if (lease.closed) {
+                account(lease);
+            }
+        }
+        metricsPublisher.recordQuotaLease(granted == requested ? "granted" : granted > 0 ? "partial" : "exhausted",
+                Duration.ofNanos(System.nanoTime() - startedNanos));
+    }
+
+    private void failed(Lease lease, Throwable error, long startedNanos) {
+        synchronized (lease) {
+            if (config.failOpen()) {
+                lease.owed = 0;
+                lease.remaining += config.leaseSize();
+            }
+            lease.refilling = false;
+            if (lease.closed) {
+                account(lease);
+            }
+        }
+        metricsPublisher.recordQuotaLease(config.failOpen() ? "fail_open" : "error",
+                Duration.ofNanos(System.nanoTime() - startedNanos));
+        logger.warn("Failed to lease quota, client: {}, failOpen: {}, error: {}", lease.client, config.failOpen(), error.getMessage());
+    }
+
+    /**
+     * Drops leases of windows that have ended, accounting for their error, so idle clients do not
+     * hold memory.
+     */
+    @Scheduled(fixedRate = 5000)
+    public void sweep() {
+        long window = clock.millis() / periodMillis;
+        leases.forEach((client, lease) -> {
+            if (lease.window < window) {
+                leases.computeIfPresent(client, (key, current) -> current == lease ? sweep(lease, window) : current);
+            }
+        });
+    }
+
+    /**
+     * Keeps a prefetched lease for the current window in place of the ended one it hangs off, and
+     * drops everything else.
+     */
+    private Lease sweep(Lease lease, long window) {
+        Lease next;
+        synchronized (lease) {
+            next = lease.next;
+        }
+        if (next != null && next.window == window) {
+            return rollOver(lease.client, lease, window);
+        }
+        close(lease);
+        if (next != null) {
+            close(next);
+        }
+        return null;
+    }
+
+    /**
+     * A lease closed while its refill is still outstanding is accounted for when the refill
+     * completes, since the grant may still pay back its debt.
+     */
+    private void close(Lease lease) {
+        synchronized (lease) {
+            lease.closed = true;
+            if (!lease.refilling) {
+                account(lease);
+            }
+        }
+    }
+
+    /**
+     * Must be called holding the lease's lock.
+     */
+    private void account(Lease lease) {
+        if (lease.owed > 0) {
+            metricsPublisher.recordQuotaError("over", lease.owed, lease.limit);
+        }
+        if (lease.exhausted && lease.remaining > 0) {
+            metricsPublisher.recordQuotaError("under", lease.remaining, lease.limit);
+        }
+        lease.owed = 0;
+        lease.remaining = 0;
+    }
+
+    private static final class Lease {
+
+        final String client;
+        final long window;
+        final long limit;
+        long remaining;
+        long overdraft;
+        long owed;
+        boolean exhausted;
+        boolean refilling;
+        boolean closed;
+        Lease next;
+
+        Lease(String client, long window, long limit, long overdraft) {
+            this.client = client;
+            this.window = window;
+            this.limit = limit;
+            this.overdraft = overdraft;
+        }
+
+        Decision take() {
+            if (remaining > 0) {
+                remaining--;
+                return Decision.LEASE;
+            }
+            if (overdraft > 0 && !exhausted) {
+                overdraft--;
+                owed++;
+                return Decision.OVERDRAFT;
+            }
+            return Decision.REJECTED;
+        }
+    }
+}
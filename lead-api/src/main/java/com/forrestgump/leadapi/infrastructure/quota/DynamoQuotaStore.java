@@ -0,0 +1,76 @@
+package com.forrestgump.leadapi.infrastructure.quota;
+
+import com.forrestgump.leadapi.infrastructure.config.QuotaConfig;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Keeps the counters in a DynamoDB table keyed by client and window. A lease is one conditional
+ * {@code ADD} that only succeeds while the whole lease still fits under the limit; when it does
+ * not, the remainder is read back and taken instead, so the last lease of a window is partial
+ * rather than lost. Items expire through the table's TTL on {@code expiresAt}.
+ */
+@Component
+@ConditionalOnProperty(name = "lead.quota.store", havingValue = "dynamo")
+public class DynamoQuotaStore implements QuotaStore {
+
+    private static final Duration RETENTION = Duration.ofHours(1);
+    private final DynamoDbAsyncClient dynamoDbClient;
+    private final String tableName;
+
+    public DynamoQuotaStore(DynamoDbAsyncClient dynamoDbClient, QuotaConfig config) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = config.tableName();
+    }
+
+    @Override
+    public Mono<Long> acquire(String client, long window, long requested, long limit) {
+        String key = client + "#" + window;
+        return add(key, requested, limit)
+                .onErrorResume(ConditionalCheckFailedException.class, e -> handedOut(key)
+                        .flatMap(used -> {
+                            long remaining = limit - used;
+                            if (remaining <= 0) {
+                                return Mono.just(0L);
+                            }
+                            return add(key, Math.min(requested, remaining), limit)
+                                    .onErrorResume(ConditionalCheckFailedException.class, retry -> Mono.just(0L));
+                        }));
+    }
+
+    private Mono<Long> add(String key, long units, long limit) {
+        return Mono.fromFuture(() -> dynamoDbClient.updateItem(UpdateItemRequest.builder()
+                        .tableName(tableName)
+                        .key(Map.of("quotaKey", AttributeValue.fromS(key)))
+                        .updateExpression("SET expiresAt = if_not_exists(expiresAt, :expires) ADD handedOut :units")
+                        .conditionExpression("attribute_not_exists(handedOut) OR handedOut <= :max")
+                        .expressionAttributeValues(Map.of(
+                                ":units", AttributeValue.fromN(Long.toString(units)),
+                                ":max", AttributeValue.fromN(Long.toString(limit - units)),
+                                ":expires", AttributeValue.fromN(Long.toString(Instant.now().plus(RETENTION).getEpochSecond()))))
+                        .build()))
+                .thenReturn(units);
+    }
+
+    private Mono<Long> handedOut(String key) {
+        return Mono.fromFuture(() -> dynamoDbClient.getItem(GetItemRequest.builder()
+                        .tableName(tableName)
+                        .key(Map.of("quotaKey", AttributeValue.fromS(key)))
+                        .consistentRead(true)
+                        .projectionExpression("handedOut")
+                        .build()))
+                .map(response -> response.hasItem() && response.item().containsKey("handedOut")
+                        ? Long.parseLong(response.item().get("handedOut").n())
+                        : 0L);
+    }
+}
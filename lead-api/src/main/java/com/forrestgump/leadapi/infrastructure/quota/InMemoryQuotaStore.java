@@ -0,0 +1,39 @@
+package com.forrestgump.leadapi.infrastructure.quota;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the counters in this process, for a single instance, local runs and tests. Counters for
+ * windows older than the latest one seen are dropped as new windows start.
+ */
+@Component
+@ConditionalOnProperty(name = "lead.quota.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryQuotaStore implements QuotaStore {
+
+    private final Map<Key, Long> handedOut = new ConcurrentHashMap<>();
+    private volatile long latestWindow;
+
+    private record Key(String client, long window) {}
+
+    @Override
+    public Mono<Long> acquire(String client, long window, long requested, long limit) {
+        return Mono.fromSupplier(() -> {
+            if (window > latestWindow) {
+                latestWindow = window;
+                handedOut.keySet().removeIf(key -> key.window() < window - 1);
+            }
+            long[] granted = new long[1];
+            handedOut.compute(new Key(client, window), (key, used) -> {
+                long current = used != null ? used : 0;
+                granted[0] = Math.max(0, Math.min(requested, limit - current));
+                return current + granted[0];
+            });
+            return granted[0];
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.forrestgump.leadapi.infrastructure.quota;
+
+import com.forrestgump.leadapi.infrastructure.config.QuotaConfig;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Names the client a request is charged to under {@link DistributedQuota}. Headers a caller can
+ * set freely, such as a client id or the left end of {@code X-Forwarded-For}, would let anyone
+ * pick a fresh quota per request, so only the authenticated principal or an address a trusted
+ * proxy vouched for is used.
+ */
+@Component
+public class QuotaClientResolver {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+    private final int trustedProxies;
+
+    public QuotaClientResolver(QuotaConfig config) {
+        this.trustedProxies = config.trustedProxies();
+    }
+
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .filter(name -> !name.isBlank())
+                .switchIfEmpty(Mono.fromSupplier(() -> address(exchange.getRequest())));
+    }
+
+    /**
+     * Each proxy appends the address it received the request from, so with {@code n} trusted
+     * proxies the {@code n}th entry from the right is the one the outermost of them saw. A request
+     * with fewer entries did not come through all of them and is charged to its remote address.
+     */
+    String address(ServerHttpRequest request) {
+        if (trustedProxies > 0) {
+            List<String> forwarded = request.getHeaders().getValuesAsList(FORWARDED_FOR);
+            if (forwarded.size() >= trustedProxies) {
+                String hop = forwarded.get(forwarded.size() - trustedProxies).trim();
+                if (!hop.isEmpty()) {
+                    return hop;
+                }
+            }
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null) {
+            return "unknown";
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+}
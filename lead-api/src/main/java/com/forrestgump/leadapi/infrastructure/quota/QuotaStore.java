@@ -0,0 +1,17 @@
+package com.forrestgump.leadapi.infrastructure.quota;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Shared counter of how much of each client's quota has been handed out per window, the only
+ * state instances have to agree on.
+ */
+public interface QuotaStore {
+
+    /**
+     * Atomically takes up to {@code requested} units of {@code client}'s quota for
+     * {@code window}, never letting the total handed out for that window pass {@code limit}.
+     * Emits the units granted, less than requested (possibly zero) once the quota runs out.
+     */
+    Mono<Long> acquire(String client, long window, long requested, long limit);
+}
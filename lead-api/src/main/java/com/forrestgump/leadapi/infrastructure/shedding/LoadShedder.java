@@ -0,0 +1,80 @@
+package com.forrestgump.leadapi.infrastructure.shedding;
+
+import com.forrestgump.leadapi.infrastructure.config.SheddingConfig;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Decides, from the cached queue backlog, whether a submission should be turned away.
+ *
+ * <p>Shedding is progressive. Past the low-priority thresholds only {@code low} and {@code bulk}
+ * submissions are rejected. Past the reject thresholds everything is rejected with a
+ * {@code Retry-After} equal to the time the fleet needs to drain back under the reject threshold.
+ */
+@Component
+public class LoadShedder {
+
+    public enum Level {
+        NORMAL,
+        SHED_LOW_PRIORITY,
+        SHED_ALL
+    }
+
+    private final QueueBacklogMonitor backlogMonitor;
+    private final SheddingConfig config;
+    private final MetricsPublisher metricsPublisher;
+
+    public LoadShedder(QueueBacklogMonitor backlogMonitor, SheddingConfig config, MetricsPublisher metricsPublisher) {
+        this.backlogMonitor = backlogMonitor;
+        this.config = config;
+        this.metricsPublisher = metricsPublisher;
+        metricsPublisher.registerGauge("api.shed.level", () -> level().ordinal());
+        metricsPublisher.registerGauge("api.shed.threshold", config::lowPriorityDepthThreshold, "threshold", "low_priority_depth");
+        metricsPublisher.registerGauge("api.shed.threshold", config::rejectDepthThreshold, "threshold", "reject_depth");
+        metricsPublisher.registerGauge("api.shed.threshold", () -> config.lowPriorityDelayThreshold().toSeconds(),
+                "threshold", "low_priority_delay_seconds");
+        metricsPublisher.registerGauge("api.shed.threshold", () -> config.rejectDelayThreshold().toSeconds(),
+                "threshold", "reject_delay_seconds");
+    }
+
+    public Level level() {
+        if (!config.enabled()) {
+            return Level.NORMAL;
+        }
+        QueueBacklogMonitor.Backlog backlog = backlogMonitor.current();
+        if (backlog.depth() >= config.rejectDepthThreshold()
+                || backlog.estimatedDelay().compareTo(config.rejectDelayThreshold()) >= 0) {
+            return Level.SHED_ALL;
+        }
+        if (backlog.depth() >= config.lowPriorityDepthThreshold()
+                || backlog.estimatedDelay().compareTo(config.lowPriorityDelayThreshold()) >= 0) {
+            return Level.SHED_LOW_PRIORITY;
+        }
+        return Level.NORMAL;
+    }
+
+    /**
+     * Returns the {@code Retry-After} to send if the submission must be shed, or empty to accept it.
+     */
+    public Optional<Duration> shouldShed(String priority) {
+        Level level = level();
+        boolean lowPriority = "low".equalsIgnoreCase(priority) || "bulk".equalsIgnoreCase(priority);
+        if (level == Level.NORMAL || (level == Level.SHED_LOW_PRIORITY && !lowPriority)) {
+            return Optional.empty();
+        }
+        metricsPublisher.incrementShed(lowPriority ? "low" : "normal");
+        return Optional.of(retryAfter());
+    }
+
+    private Duration retryAfter() {
+        long depth = backlogMonitor.current().depth();
+        long threshold = Math.min(config.rejectDepthThreshold(),
+                (long) (config.rejectDelayThreshold().toSeconds() * config.drainRatePerSecond()));
+        long excess = Math.max(depth - threshold, 0);
+        Duration drainTime = Duration.ofSeconds(Math.max(1, (long) Math.ceil(excess / config.drainRatePerSecond())));
+        return drainTime.compareTo(config.maxRetryAfter()) > 0 ? config.maxRetryAfter() : drainTime;
+    }
+}
@@ -0,0 +1,28 @@
+package com.forrestgump.leadapi.infrastructure.shedding;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the current shedding level as a detail of {@code /actuator/health}, always UP.
+ *
+ * <p>The level comes from the shared queue backlog, so every instance reaches {@code SHED_ALL} at
+ * the same moment; failing health or readiness on it would pull the whole fleet from the load
+ * balancer, and clients would get its bare 502/503 instead of the shed 503 with
+ * {@code Retry-After} that {@code LeadController} answers.
+ */
+@Component
+public class LoadSheddingHealthIndicator implements HealthIndicator {
+
+    private final LoadShedder loadShedder;
+
+    public LoadSheddingHealthIndicator(LoadShedder loadShedder) {
+        this.loadShedder = loadShedder;
+    }
+
+    @Override
+    public Health health() {
+        return Health.up().withDetail("level", loadShedder.level().name()).build();
+    }
+}
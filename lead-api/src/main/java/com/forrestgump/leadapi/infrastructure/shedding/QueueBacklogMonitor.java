@@ -0,0 +1,86 @@
+package com.forrestgump.leadapi.infrastructure.shedding;
+
+import com.forrestgump.leadapi.infrastructure.config.SheddingConfig;
+import com.forrestgump.leadapi.infrastructure.messaging.ShardRouter;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a cached view of the lead-queue backlog, summed over every queue {@link ShardRouter}
+ * publishes to, refreshed on a schedule and never on the request path.
+ *
+ * <p>GetQueueAttributes reports depth but not the age of the oldest message (that is only a
+ * CloudWatch metric), so the delay a new lead would see is estimated as depth divided by
+ * {@code lead.shedding.drain-rate-per-second}, the sustained throughput of the processor fleet.
+ */
+@Component
+public class QueueBacklogMonitor {
+
+    public record Backlog(long depth, Duration estimatedDelay, long observedAtNanos) {
+        static final Backlog UNKNOWN = new Backlog(0, Duration.ZERO, 0);
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueBacklogMonitor.class);
+    private final SqsAsyncClient sqsAsyncClient;
+    private final ShardRouter shardRouter;
+    private final SheddingConfig config;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private volatile Backlog backlog = Backlog.UNKNOWN;
+
+    public QueueBacklogMonitor(SqsAsyncClient sqsAsyncClient, ShardRouter shardRouter,
+                               SheddingConfig config, MetricsPublisher metricsPublisher) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.shardRouter = shardRouter;
+        this.config = config;
+        metricsPublisher.registerGauge("sqs.queue.depth", () -> backlog.depth());
+        metricsPublisher.registerGauge("sqs.queue.estimated_delay_seconds", () -> backlog.estimatedDelay().toSeconds());
+    }
+
+    /**
+     * Returns the last observed backlog, or {@link Backlog#UNKNOWN} if it is older than
+     * {@code lead.shedding.max-staleness}, so a monitoring outage never sheds traffic on its own.
+     */
+    public Backlog current() {
+        Backlog current = backlog;
+        if (current.observedAtNanos() == 0
+                || System.nanoTime() - current.observedAtNanos() > config.maxStaleness().toNanos()) {
+            return Backlog.UNKNOWN;
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${lead.shedding.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (!config.enabled() || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        Flux.fromIterable(shardRouter.queues())
+                .flatMap(queue -> shardRouter.queueUrl(queue).flatMap(this::depth))
+                .reduce(0L, Long::sum)
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe(depth -> backlog = new Backlog(depth,
+                                Duration.ofMillis((long) (depth * 1000 / config.drainRatePerSecond())),
+                                System.nanoTime()),
+                        e -> logger.warn("Failed to refresh queue backlog: {}", e.getMessage()));
+    }
+
+    private Mono<Long> depth(String queueUrl) {
+        return Mono.fromFuture(() -> sqsAsyncClient.getQueueAttributes(GetQueueAttributesRequest.builder()
+                        .queueUrl(queueUrl)
+                        .attributeNames(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES)
+                        .build()))
+                .map(response -> Long.parseLong(response.attributes()
+                        .getOrDefault(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, "0")));
+    }
+}
@@ -0,0 +1,86 @@
+package com.forrestgump.leadapi.infrastructure.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadapi.domain.model.LeadSubmission;
+import com.forrestgump.leadapi.domain.util.BrazilianPhone;
+import com.forrestgump.leadapi.infrastructure.config.StartupConfig;
+import com.forrestgump.leadapi.infrastructure.messaging.ShardRouter;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+
+import java.time.Duration;
+
+/**
+ * Touches the SQS and DynamoDB clients and the JSON mapper before the application reports ready,
+ * so the first request does not pay for SDK class loading, endpoint resolution, credential lookup,
+ * TLS handshakes and serializer construction. Readiness only flips to accepting traffic after
+ * application runners complete.
+ *
+ * <p>Failures are logged and ignored: the publisher's retries and breaker handle a dependency that
+ * is still down once traffic starts.
+ */
+@Component
+public class ClientWarmup implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientWarmup.class);
+    private final ShardRouter shardRouter;
+    private final DynamoDbAsyncClient dynamoDbClient;
+    private final ObjectMapper objectMapper;
+    private final MetricsPublisher metricsPublisher;
+    private final StartupConfig config;
+    private final String statusTableName;
+
+    public ClientWarmup(ShardRouter shardRouter, DynamoDbAsyncClient dynamoDbClient, ObjectMapper objectMapper,
+                        MetricsPublisher metricsPublisher, StartupConfig config,
+                        @Value("${aws.dynamodb.status-table-name:LeadStatus}") String statusTableName) {
+        this.shardRouter = shardRouter;
+        this.dynamoDbClient = dynamoDbClient;
+        this.objectMapper = objectMapper;
+        this.metricsPublisher = metricsPublisher;
+        this.config = config;
+        this.statusTableName = statusTableName;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!config.warmUp()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Flux.merge(
+                        warm("jackson", Mono.fromCallable(() -> objectMapper.writeValueAsString(new LeadSubmission(
+                                null, "warmup", "00000000000", "", "warmup", "", "warmup@example.com", null, null, null, null, null)))),
+                        warm("phone", Mono.fromCallable(() -> BrazilianPhone.parse("+55 11 99999-9999"))),
+                        warm("sqs.queue", Flux.fromIterable(shardRouter.queues())
+                                .flatMap(shardRouter::queueUrl)
+                                .then()),
+                        warm("dynamodb.status", Mono.fromFuture(() -> dynamoDbClient.describeTable(DescribeTableRequest.builder()
+                                .tableName(statusTableName)
+                                .build()))))
+                .then()
+                .block(config.warmUpTimeout().plusSeconds(1));
+        logger.info("Client warm-up finished in {} ms", Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private Mono<Void> warm(String target, Mono<?> call) {
+        long start = System.nanoTime();
+        return call
+                .timeout(config.warmUpTimeout())
+                .doOnSuccess(v -> metricsPublisher.recordWarmUp(target, "success", Duration.ofNanos(System.nanoTime() - start)))
+                .then()
+                .onErrorResume(e -> {
+                    metricsPublisher.recordWarmUp(target, "error", Duration.ofNanos(System.nanoTime() - start));
+                    logger.warn("Warm-up of {} failed, continuing startup: {}", target, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,42 @@
+package com.forrestgump.leadapi.infrastructure.status;
+
+import com.forrestgump.leadapi.domain.model.LeadStatus;
+import com.forrestgump.leadapi.infrastructure.exception.InfrastructureException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads the status item lead-processor writes once a lead is persisted or dead-lettered.
+ */
+@Component
+public class DynamoLeadStatusReader {
+
+    private final DynamoDbAsyncClient dynamoDbClient;
+    private final String statusTableName;
+
+    public DynamoLeadStatusReader(DynamoDbAsyncClient dynamoDbClient,
+                                  @Value("${aws.dynamodb.status-table-name:LeadStatus}") String statusTableName) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.statusTableName = statusTableName;
+    }
+
+    public Mono<LeadStatus> read(UUID eventId) {
+        return Mono.fromFuture(() -> dynamoDbClient.getItem(GetItemRequest.builder()
+                        .tableName(statusTableName)
+                        .key(Map.of("eventId", AttributeValue.fromS(eventId.toString())))
+                        .consistentRead(true)
+                        .projectionExpression("#status")
+                        .expressionAttributeNames(Map.of("#status", "status"))
+                        .build()))
+                .filter(response -> response.hasItem() && response.item().containsKey("status"))
+                .map(response -> LeadStatus.valueOf(response.item().get("status").s()))
+                .onErrorMap(e -> new InfrastructureException("Failed to read lead status", e));
+    }
+}
@@ -0,0 +1,63 @@
+package com.forrestgump.leadapi.infrastructure.status;
+
+import com.forrestgump.leadapi.domain.model.LeadStatus;
+import com.forrestgump.leadapi.infrastructure.config.StatusCacheConfig;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Bounded near cache in front of the status table.
+ *
+ * <p>Entries are written as {@code QUEUED} when a lead is published. Terminal statuses are served
+ * from the cache until they expire. {@code QUEUED} entries are re-checked against the table at most
+ * once per {@code lead.status-cache.queued-refresh-interval}, which is how the processor's
+ * completion signal reaches the cache. A miss does a consistent read, and an eventId that is in
+ * neither place is unknown.
+ */
+@Component
+public class LeadStatusCache {
+
+    private record Entry(LeadStatus status, long cachedAtNanos) {}
+
+    private final Cache<UUID, Entry> cache;
+    private final DynamoLeadStatusReader statusReader;
+    private final MetricsPublisher metricsPublisher;
+    private final long queuedRefreshNanos;
+
+    public LeadStatusCache(DynamoLeadStatusReader statusReader, MetricsPublisher metricsPublisher,
+                           StatusCacheConfig config) {
+        this.statusReader = statusReader;
+        this.metricsPublisher = metricsPublisher;
+        this.queuedRefreshNanos = config.queuedRefreshInterval().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.maxSize())
+                .expireAfterWrite(config.ttl())
+                .build();
+        metricsPublisher.registerGauge("lead.status.cache.size", cache::estimatedSize);
+    }
+
+    public void markQueued(UUID eventId) {
+        cache.put(eventId, new Entry(LeadStatus.QUEUED, System.nanoTime()));
+    }
+
+    public Mono<LeadStatus> lookup(UUID eventId) {
+        Entry cached = cache.getIfPresent(eventId);
+        if (cached != null && (cached.status().isTerminal()
+                || System.nanoTime() - cached.cachedAtNanos() < queuedRefreshNanos)) {
+            metricsPublisher.incrementStatusLookup("hit");
+            return Mono.just(cached.status());
+        }
+        metricsPublisher.incrementStatusLookup(cached == null ? "miss" : "refresh");
+        long start = System.nanoTime();
+        return statusReader.read(eventId)
+                .doOnTerminate(() -> metricsPublisher.recordStatusBackingRead(Duration.ofNanos(System.nanoTime() - start)))
+                .switchIfEmpty(Mono.defer(() -> cached == null ? Mono.empty() : Mono.just(LeadStatus.QUEUED)))
+                .doOnNext(status -> cache.put(eventId, new Entry(status, System.nanoTime())));
+    }
+}
@@ -0,0 +1,45 @@
+package com.forrestgump.leadapi.infrastructure.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The spans one trace produces in this service, held until the local root span ends.
+ */
+final class LocalTrace {
+
+    private final Tracer tracer;
+    private final List<SpanData> spans = new ArrayList<>();
+    private Span root;
+    private Boolean kept;
+
+    LocalTrace(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    synchronized void root(Span root) {
+        this.root = root;
+    }
+
+    void finished(Span span, SpanData data) {
+        List<SpanData> completed = null;
+        synchronized (this) {
+            if (kept != null) {
+                // Late span after the decision, e.g. a fire-and-forget write that outlived the root.
+                if (kept) {
+                    tracer.publish(List.of(data));
+                }
+                return;
+            }
+            spans.add(data);
+            if (span == root) {
+                kept = tracer.decide(spans, data, root.context().sampled());
+                completed = kept ? List.copyOf(spans) : null;
+                spans.clear();
+            }
+        }
+        if (completed != null) {
+            tracer.publish(completed);
+        }
+    }
+}
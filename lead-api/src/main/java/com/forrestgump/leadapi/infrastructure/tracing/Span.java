@@ -0,0 +1,71 @@
+package com.forrestgump.leadapi.infrastructure.tracing;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An in-progress span. Spans are buffered per local trace until its root ends, when
+ * {@link Tracer} makes the tail sampling decision for the whole trace.
+ */
+public final class Span {
+
+    public enum Kind {SERVER, CLIENT, PRODUCER, CONSUMER}
+
+    private final LocalTrace localTrace;
+    private final TraceContext context;
+    private final String parentId;
+    private final String name;
+    private final Kind kind;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private final Map<String, String> tags = new LinkedHashMap<>();
+    private final AtomicBoolean ended = new AtomicBoolean();
+    private volatile boolean error;
+
+    Span(LocalTrace localTrace, TraceContext context, String parentId, String name, Kind kind) {
+        this.localTrace = localTrace;
+        this.context = context;
+        this.parentId = parentId;
+        this.name = name;
+        this.kind = kind;
+        Instant now = Instant.now();
+        this.startEpochMicros = TimeUnit.SECONDS.toMicros(now.getEpochSecond()) + now.getNano() / 1000;
+        this.startNanos = System.nanoTime();
+    }
+
+    public TraceContext context() {
+        return context;
+    }
+
+    public synchronized Span tag(String key, String value) {
+        if (value != null) {
+            tags.put(key, value);
+        }
+        return this;
+    }
+
+    public Span error(Throwable failure) {
+        error = true;
+        return tag("error", failure.getClass().getSimpleName() + ": " + failure.getMessage());
+    }
+
+    public void end() {
+        if (!ended.compareAndSet(false, true)) {
+            return;
+        }
+        long durationMicros = Math.max(1, (System.nanoTime() - startNanos) / 1000);
+        SpanData data;
+        synchronized (this) {
+            data = new SpanData(context.traceId(), context.spanId(), parentId, name, kind,
+                    startEpochMicros, durationMicros, error, Map.copyOf(tags));
+        }
+        localTrace.finished(this, data);
+    }
+
+    LocalTrace localTrace() {
+        return localTrace;
+    }
+}
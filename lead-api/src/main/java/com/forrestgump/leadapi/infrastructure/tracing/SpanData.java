@@ -0,0 +1,22 @@
+package com.forrestgump.leadapi.infrastructure.tracing;
+
+import java.util.Map;
+
+/**
+ * A finished span, in the shape of a Zipkin v2 span.
+ */
+public record SpanData(
+        String traceId,
+        String id,
+        String parentId,
+        String name,
+        Span.Kind kind,
+        long timestamp,
+        long duration,
+        boolean error,
+        Map<String, String> tags
+) {
+    long end() {
+        return timestamp + duration;
+    }
+}
@@ -0,0 +1,20 @@
+package com.forrestgump.leadapi.infrastructure.tracing;
+
+import java.util.List;
+
+/**
+ * Per-stage latency breakdown of one trace, offsets relative to its earliest span.
+ */
+public record TraceSummary(
+        String traceId,
+        double durationMs,
+        boolean error,
+        List<Stage> stages
+) {
+    public record Stage(
+            String name,
+            double offsetMs,
+            double durationMs,
+            boolean error
+    ) {}
+}
@@ -0,0 +1,62 @@
+package com.forrestgump.leadapi.infrastructure.tuning;
+
+import com.forrestgump.leadapi.infrastructure.config.SurgeConfig;
+import com.forrestgump.leadapi.infrastructure.messaging.AdaptiveSendBatcher;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Submission knobs that can change while the API runs: the {@code leadApiRateLimiter} limit and
+ * the SQS publish batching settings.
+ */
+@Component
+public class RuntimeTuning {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuntimeTuning.class);
+    private final RateLimiter rateLimiter;
+    private final AdaptiveSendBatcher batcher;
+    private final int configuredRateLimit;
+
+    public RuntimeTuning(@Qualifier("leadApiRateLimiter") RateLimiter rateLimiter,
+                         AdaptiveSendBatcher batcher, MetricsPublisher metricsPublisher) {
+        this.rateLimiter = rateLimiter;
+        this.batcher = batcher;
+        this.configuredRateLimit = rateLimiter.getRateLimiterConfig().getLimitForPeriod();
+        metricsPublisher.registerGauge("tuning.rate_limit", () -> rateLimiter.getRateLimiterConfig().getLimitForPeriod());
+        metricsPublisher.registerGauge("tuning.batch.max_size", batcher::maxBatchSize);
+        metricsPublisher.registerGauge("tuning.batch.max_linger_ms", () -> batcher.maxLinger().toMillis());
+    }
+
+    public record State(int rateLimitPerSecond, int maxBatchSize, Duration maxLinger) {}
+
+    public synchronized void apply(SurgeConfig.Profile profile) {
+        update(profile.rateLimitPerSecond() > 0 ? profile.rateLimitPerSecond() : configuredRateLimit,
+                profile.maxBatchSize(), profile.maxLinger());
+    }
+
+    public synchronized State update(Integer rateLimitPerSecond, Integer maxBatchSize, Duration maxLinger) {
+        if (rateLimitPerSecond != null && rateLimitPerSecond > 0) {
+            rateLimiter.changeLimitForPeriod(rateLimitPerSecond);
+        }
+        if ((maxBatchSize != null && maxBatchSize > 0) || maxLinger != null) {
+            batcher.reconfigure(
+                    maxBatchSize != null && maxBatchSize > 0 ? Math.min(maxBatchSize, 10) : batcher.maxBatchSize(),
+                    maxLinger != null ? maxLinger : batcher.maxLinger());
+        }
+        State state = state();
+        logger.info("Runtime tuning updated, rateLimitPerSecond: {}, maxBatchSize: {}, maxLinger: {}",
+                state.rateLimitPerSecond(), state.maxBatchSize(), state.maxLinger());
+        return state;
+    }
+
+    public State state() {
+        return new State(rateLimiter.getRateLimiterConfig().getLimitForPeriod(),
+                batcher.maxBatchSize(), batcher.maxLinger());
+    }
+}
@@ -0,0 +1,31 @@
+package com.forrestgump.leadapi.interfaces.actuator;
+
+import com.forrestgump.leadapi.infrastructure.abuse.HeavyHitterDetector;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "abuse")
+public class AbuseEndpoint {
+
+    private final HeavyHitterDetector detector;
+
+    public AbuseEndpoint(HeavyHitterDetector detector) {
+        this.detector = detector;
+    }
+
+    @ReadOperation
+    public Map<String, List<HeavyHitterDetector.HeavyHitter>> topK() {
+        return detector.topK();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        detector.reset();
+    }
+}
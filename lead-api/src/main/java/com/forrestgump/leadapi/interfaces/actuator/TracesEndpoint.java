@@ -0,0 +1,27 @@
+package com.forrestgump.leadapi.interfaces.actuator;
+
+import com.forrestgump.leadapi.infrastructure.tracing.TraceSummary;
+import com.forrestgump.leadapi.infrastructure.tracing.Tracer;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private final Tracer tracer;
+
+    public TracesEndpoint(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @ReadOperation
+    public List<TraceSummary> slowest(@Nullable Integer limit) {
+        return tracer.slowestTraces(limit != null && limit > 0 ? limit : DEFAULT_LIMIT);
+    }
+}
@@ -1,20 +1,35 @@
 package com.forrestgump.leadapi.interfaces.rest.controller;
 
+import com.forrestgump.leadapi.application.usecase.GetLeadStatusUseCase;
 import com.forrestgump.leadapi.application.usecase.SubmitLeadUseCase;
+import com.forrestgump.leadapi.domain.model.LeadSubmission;
+import com.forrestgump.leadapi.infrastructure.abuse.HeavyHitterDetector;
 import com.forrestgump.leadapi.interfaces.rest.dto.LeadRequest;
 import com.forrestgump.leadapi.interfaces.rest.dto.LeadResponse;
+import com.forrestgump.leadapi.interfaces.rest.dto.LeadStatusResponse;
 import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import com.forrestgump.leadapi.infrastructure.profiling.StageEvents;
+import com.forrestgump.leadapi.infrastructure.quota.DistributedQuota;
+import com.forrestgump.leadapi.infrastructure.quota.QuotaClientResolver;
+import com.forrestgump.leadapi.infrastructure.shedding.LoadShedder;
+import com.forrestgump.leadapi.infrastructure.tracing.Span;
+import com.forrestgump.leadapi.infrastructure.tracing.TraceContext;
+import com.forrestgump.leadapi.infrastructure.tracing.Tracer;
 import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import jakarta.validation.Valid;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -25,31 +40,113 @@ public class LeadController {
     private final SubmitLeadUseCase submitLeadUseCase;
     private final MetricsPublisher metricsPublisher;
     private final RateLimiter rateLimiter;
+    private final GetLeadStatusUseCase getLeadStatusUseCase;
+    private final LoadShedder loadShedder;
+    private final Tracer tracer;
+    private final HeavyHitterDetector heavyHitterDetector;
+    private final DistributedQuota distributedQuota;
+    private final QuotaClientResolver quotaClientResolver;
 
     public LeadController(SubmitLeadUseCase submitLeadUseCase, MetricsPublisher metricsPublisher,
-                          @Qualifier("leadApiRateLimiter") RateLimiter rateLimiter) {
+                          @Qualifier("leadApiRateLimiter") RateLimiter rateLimiter,
+                          GetLeadStatusUseCase getLeadStatusUseCase, LoadShedder loadShedder, Tracer tracer,
+                          HeavyHitterDetector heavyHitterDetector, DistributedQuota distributedQuota,
+                          QuotaClientResolver quotaClientResolver) {
         this.submitLeadUseCase = submitLeadUseCase;
         this.metricsPublisher = metricsPublisher;
         this.rateLimiter = rateLimiter;
+        this.getLeadStatusUseCase = getLeadStatusUseCase;
+        this.loadShedder = loadShedder;
+        this.tracer = tracer;
+        this.heavyHitterDetector = heavyHitterDetector;
+        this.distributedQuota = distributedQuota;
+        this.quotaClientResolver = quotaClientResolver;
     }
 
-    @PostMapping
+    /**
+     * Queues a lead. The campaign comes from the path on {@code /leads/campaigns/{campaignId}}
+     * or from the {@code X-Campaign-Id} header, falling back to the default campaign. With
+     * distributed quotas on, the client is resolved by {@link QuotaClientResolver}.
+     */
+    @PostMapping({"", "/campaigns/{campaignId}"})
     public Mono<ResponseEntity<LeadResponse>> register(
             @Valid @RequestBody Mono<LeadRequest> requestMono,
+            @PathVariable(required = false) String campaignId,
+            @RequestHeader(value = "X-Campaign-Id", required = false) String campaignHeader,
             @RequestHeader(value = "X-Correlation-Id", defaultValue = "") String correlationId,
-            @RequestHeader(value = "X-Forwarded-For", defaultValue = "unknown") String clientIp) {
+            @RequestHeader(value = "X-Forwarded-For", defaultValue = "unknown") String clientIp,
+            @RequestHeader(value = "X-Lead-Priority", defaultValue = "normal") String priority,
+            @RequestHeader(value = TraceContext.TRACEPARENT, required = false) String traceparent,
+            ServerWebExchange exchange) {
         String effectiveCorrelationId = correlationId.isEmpty() ? UUID.randomUUID().toString() : correlationId;
         UUID eventId = UUID.randomUUID();
-        return requestMono
-                .transformDeferred(RateLimiterOperator.of(rateLimiter))
-                .flatMap(request -> submitLeadUseCase.execute(request, effectiveCorrelationId))
-                .then(Mono.fromCallable(() -> ResponseEntity.ok(new LeadResponse(eventId.toString(), "Lead queued successfully"))))
+        String campaign = LeadSubmission.normalizeCampaign(campaignId != null ? campaignId : campaignHeader);
+        Optional<Duration> shedRetryAfter = loadShedder.shouldShed(priority);
+        if (shedRetryAfter.isPresent()) {
+            logger.warn("Shedding {} priority lead, queue backlog too high, correlationId: {}", priority, effectiveCorrelationId);
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(shedRetryAfter.get().toSeconds()))
+                    .body(new LeadResponse(eventId.toString(), "Service overloaded, retry later")));
+        }
+        Span span = tracer.startRoot("POST /leads", Span.Kind.SERVER, TraceContext.parse(traceparent));
+        if (span != null) {
+            span.tag("event_id", eventId.toString())
+                    .tag("correlation_id", effectiveCorrelationId)
+                    .tag("priority", priority)
+                    .tag("campaign_id", campaign);
+        }
+        return tracer.inSpan(span, tracer.trace("validate", requestMono)
+                .transformDeferred(request -> limit(request, exchange))
+                .flatMap(request -> {
+                    // Checked before hashing and publishing, so repeat offenders cost as little as possible.
+                    HeavyHitterDetector.Verdict verdict = heavyHitterDetector.inspect(request.email(), request.phone(), request.cpf());
+                    if (verdict.action() != HeavyHitterDetector.Action.ALLOW) {
+                        logger.warn("Heavy hitter {}, dimension: {}, estimate: {}, clientIp: {}, correlationId: {}",
+                                verdict.action(), verdict.dimension().key(), Math.round(verdict.estimate()), clientIp, effectiveCorrelationId);
+                        if (span != null) {
+                            span.tag("abuse." + verdict.dimension().key(), verdict.action().name().toLowerCase());
+                        }
+                    }
+                    if (verdict.action() == HeavyHitterDetector.Action.REJECT) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                                .body(new LeadResponse(eventId.toString(), "Too many submissions for the same contact details")));
+                    }
+                    return submitLeadUseCase.execute(request, effectiveCorrelationId, eventId, campaign, priority)
+                            .then(Mono.fromCallable(() -> ResponseEntity.ok(new LeadResponse(eventId.toString(), "Lead queued successfully"))));
+                })
                 .defaultIfEmpty(ResponseEntity.badRequest().build())
                 .onErrorResume(e -> {
                     metricsPublisher.incrementRateLimit();
                     logger.warn("Rate limit exceeded for client IP: {}, correlationId: {}", clientIp, effectiveCorrelationId);
+                    if (span != null) {
+                        span.error(e);
+                    }
                     return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
                             .body(new LeadResponse(eventId.toString(), "Too many requests")));
-                });
+                })
+                .contextWrite(StageEvents.eventId(eventId)));
+    }
+
+    private <T> Mono<T> limit(Mono<T> request, ServerWebExchange exchange) {
+        if (!distributedQuota.enabled()) {
+            return request.transformDeferred(RateLimiterOperator.of(rateLimiter));
+        }
+        return quotaClientResolver.resolve(exchange)
+                .flatMap(client -> distributedQuota.tryAcquire(client)
+                        ? request
+                        : Mono.error(new DistributedQuota.QuotaExceededException(client)));
+    }
+
+    @GetMapping("/{eventId}/status")
+    public Mono<ResponseEntity<LeadStatusResponse>> status(@PathVariable String eventId) {
+        UUID parsedEventId;
+        try {
+            parsedEventId = UUID.fromString(eventId);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().body(new LeadStatusResponse(eventId, "INVALID_EVENT_ID")));
+        }
+        return getLeadStatusUseCase.execute(parsedEventId)
+                .map(status -> ResponseEntity.ok(new LeadStatusResponse(eventId, status.name())))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(new LeadStatusResponse(eventId, "UNKNOWN")));
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.forrestgump.leadapi.interfaces.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+
+public record LeadStatusResponse(
+        @JsonProperty("eventId") String eventId,
+        @JsonProperty("status") String status,
+        @JsonProperty("timestamp") Instant timestamp
+) {
+    public LeadStatusResponse(String eventId, String status) {
+        this(eventId, status, Instant.now());
+    }
+}
@@ -0,0 +1,79 @@
+package com.forrestgump.leadapi.domain.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BrazilianPhoneTest {
+
+    @Test
+    void mapsAssignedDddsToStateAndRegion() {
+        long saoPaulo = BrazilianPhone.parse("11987654321");
+        long acre = BrazilianPhone.parse("6832241234");
+
+        assertThat(BrazilianPhone.e164(saoPaulo)).isEqualTo("+5511987654321");
+        assertThat(BrazilianPhone.state(saoPaulo)).isEqualTo("SP");
+        assertThat(BrazilianPhone.region(saoPaulo)).isEqualTo("Sudeste");
+        assertThat(BrazilianPhone.ddd(acre)).isEqualTo(68);
+        assertThat(BrazilianPhone.state(acre)).isEqualTo("AC");
+        assertThat(BrazilianPhone.region(acre)).isEqualTo("Norte");
+    }
+
+    @Test
+    void rejectsUnassignedDdds() {
+        assertThat(BrazilianPhone.parse("20987654321")).isEqualTo(BrazilianPhone.INVALID);
+        assertThat(BrazilianPhone.parse("5023456789")).isEqualTo(BrazilianPhone.INVALID);
+        assertThat(BrazilianPhone.parse("90987654321")).isEqualTo(BrazilianPhone.INVALID);
+    }
+
+    @Test
+    void acceptsElevenDigitMobilesOnly() {
+        assertThat(BrazilianPhone.parse("11987654321")).isEqualTo(11987654321L);
+        assertThat(BrazilianPhone.parse("11887654321")).isEqualTo(BrazilianPhone.INVALID);
+        assertThat(BrazilianPhone.parse("11234567890")).isEqualTo(BrazilianPhone.INVALID);
+    }
+
+    @Test
+    void keepsTenDigitLandlinesAndAddsTheNinthDigitToOldMobiles() {
+        assertThat(BrazilianPhone.parse("2123456789")).isEqualTo(2123456789L);
+        assertThat(BrazilianPhone.parse("3187654321")).isEqualTo(31987654321L);
+        assertThat(BrazilianPhone.e164(BrazilianPhone.parse("3187654321"))).isEqualTo("+5531987654321");
+        assertThat(BrazilianPhone.parse("2113456789")).isEqualTo(BrazilianPhone.INVALID);
+    }
+
+    @Test
+    void rejectsOtherLengths() {
+        assertThat(BrazilianPhone.parse("212345678")).isEqualTo(BrazilianPhone.INVALID);
+        assertThat(BrazilianPhone.parse("119876543210")).isEqualTo(BrazilianPhone.INVALID);
+        assertThat(BrazilianPhone.parse("")).isEqualTo(BrazilianPhone.INVALID);
+        assertThat(BrazilianPhone.parse(null)).isEqualTo(BrazilianPhone.INVALID);
+    }
+
+    @Test
+    void stripsTheCountryCode() {
+        assertThat(BrazilianPhone.parse("+5511987654321")).isEqualTo(11987654321L);
+        assertThat(BrazilianPhone.parse("5511987654321")).isEqualTo(11987654321L);
+        assertThat(BrazilianPhone.parse("+55 21 2345-6789")).isEqualTo(2123456789L);
+        assertThat(BrazilianPhone.parse("+1 415 555 0100")).isEqualTo(BrazilianPhone.INVALID);
+        assertThat(BrazilianPhone.parse("+11987654321")).isEqualTo(BrazilianPhone.INVALID);
+    }
+
+    @Test
+    void stripsTheTrunkPrefixWithOrWithoutCarrierCode() {
+        assertThat(BrazilianPhone.parse("011987654321")).isEqualTo(11987654321L);
+        assertThat(BrazilianPhone.parse("0 21 2345-6789")).isEqualTo(2123456789L);
+        assertThat(BrazilianPhone.parse("0 21 11 98765-4321")).isEqualTo(11987654321L);
+        assertThat(BrazilianPhone.parse("0 15 21 2345-6789")).isEqualTo(2123456789L);
+        assertThat(BrazilianPhone.parse("0 20 98765-4321")).isEqualTo(BrazilianPhone.INVALID);
+    }
+
+    @Test
+    void ignoresPunctuationButNotOtherCharacters() {
+        assertThat(BrazilianPhone.parse("(11) 98765-4321")).isEqualTo(11987654321L);
+        assertThat(BrazilianPhone.parse("11.98765.4321")).isEqualTo(11987654321L);
+        assertThat(BrazilianPhone.parse("11/98765\t4321")).isEqualTo(11987654321L);
+        assertThat(BrazilianPhone.parse("11 98765-4321 ramal 2")).isEqualTo(BrazilianPhone.INVALID);
+        assertThat(BrazilianPhone.parse("11 98765+4321")).isEqualTo(BrazilianPhone.INVALID);
+        assertThat(BrazilianPhone.parse("++5511987654321")).isEqualTo(BrazilianPhone.INVALID);
+    }
+}
@@ -0,0 +1,73 @@
+package com.forrestgump.leadapi.infrastructure.abuse;
+
+import com.forrestgump.leadapi.infrastructure.config.AbuseConfig;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeavyHitterDetectorTest {
+
+    @Test
+    void rejectsAContactOnceItsExactCountReachesTheThreshold() {
+        HeavyHitterDetector detector = detector(0, 20);
+
+        for (int i = 0; i < 29; i++) {
+            assertThat(detector.inspect("bot@example.com", null, null).action())
+                    .isNotEqualTo(HeavyHitterDetector.Action.REJECT);
+        }
+
+        HeavyHitterDetector.Verdict verdict = detector.inspect("bot@example.com", null, null);
+        assertThat(verdict.action()).isEqualTo(HeavyHitterDetector.Action.REJECT);
+        assertThat(verdict.dimension()).isEqualTo(HeavyHitterDetector.Dimension.EMAIL);
+    }
+
+    @Test
+    void collisionsInAnUndersizedSketchNeverReject() {
+        // 64 columns for 5000 distinct contacts: raw estimates climb far past the reject
+        // threshold, but each contact was only seen once.
+        HeavyHitterDetector detector = detector(64, 20);
+
+        for (int i = 0; i < 5000; i++) {
+            assertThat(detector.inspect("user" + i + "@example" + i + ".com", "1199" + (1000000 + i), null).action())
+                    .isNotEqualTo(HeavyHitterDetector.Action.REJECT);
+        }
+    }
+
+    @Test
+    void topKKeepsTheHeaviestKeysInOrder() {
+        HeavyHitterDetector detector = detector(0, 3);
+        for (int count = 1; count <= 5; count++) {
+            for (int i = 0; i < count; i++) {
+                detector.inspect("user" + count + "@example.com", null, null);
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            detector.inspect("once" + i + "@example.com", null, null);
+        }
+
+        List<HeavyHitterDetector.HeavyHitter> top = detector.topK().get("email");
+        assertThat(top).extracting(HeavyHitterDetector.HeavyHitter::value)
+                .containsExactly("u***@example.com", "u***@example.com", "u***@example.com");
+        assertThat(top).extracting(HeavyHitterDetector.HeavyHitter::estimate)
+                .containsExactly(5.0, 4.0, 3.0);
+    }
+
+    @Test
+    void widthCoversTheDecayedTotalWithinTheErrorTarget() {
+        int width = new AbuseConfig(true, 0, 4, 20, Duration.ofMinutes(1), 100, 2, null).width();
+
+        double decayedTotal = 100 * 60 / Math.log(2);
+        assertThat(Math.E * decayedTotal / width).isLessThanOrEqualTo(2);
+        assertThat(Integer.bitCount(width)).isEqualTo(1);
+    }
+
+    private static HeavyHitterDetector detector(int width, int topK) {
+        AbuseConfig config = new AbuseConfig(true, width, 4, topK, Duration.ofMinutes(1), 100, 2, null);
+        return new HeavyHitterDetector(config, new MetricsPublisher(new SimpleMeterRegistry()));
+    }
+}
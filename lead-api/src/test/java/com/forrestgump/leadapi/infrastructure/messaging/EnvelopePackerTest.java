@@ -0,0 +1,156 @@
+package com.forrestgump.leadapi.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadapi.infrastructure.config.EnvelopeConfig;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EnvelopePackerTest {
+
+    private static final String QUEUE_URL = "http://localhost:4566/000000000000/lead-queue";
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AdaptiveSendBatcher batcher = mock(AdaptiveSendBatcher.class);
+    private final List<SendMessageRequest> sent = new CopyOnWriteArrayList<>();
+    private volatile CompletableFuture<SendMessageResponse> sendResult =
+            CompletableFuture.completedFuture(SendMessageResponse.builder().messageId("m").build());
+    private EnvelopePacker packer;
+
+    EnvelopePackerTest() {
+        when(batcher.sendMessage(any())).thenAnswer(invocation -> {
+            sent.add(invocation.getArgument(0));
+            return sendResult;
+        });
+    }
+
+    @AfterEach
+    void close() {
+        if (packer != null) {
+            packer.close();
+        }
+    }
+
+    @Test
+    void closesAnEnvelopeOnceItHoldsMaxEntries() throws Exception {
+        packer = packer(3, 0, Duration.ofSeconds(30));
+
+        // The first lead has no arrival history, so it goes out alone; the rest arrive back to back.
+        List<CompletableFuture<Void>> results = add(7, "campaign-1");
+
+        assertThat(sent).extracting(this::entryCount).containsExactly(1, 3, 3);
+        assertThat(sent).allSatisfy(request -> assertThat(request.messageAttributes().get(SqsLeadPublisher.CAMPAIGN_ID_ATTRIBUTE).stringValue())
+                .isEqualTo("campaign-1"));
+        assertThat(entries(sent.get(1))).extracting(entry -> entry.get("correlation_id").asText())
+                .containsExactly("correlation-1", "correlation-2", "correlation-3");
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get();
+    }
+
+    @Test
+    void closesAnEnvelopeBeforeTheNextEntryWouldPassMaxBytes() {
+        int maxBytes = 600;
+        packer = packer(100, maxBytes, Duration.ofSeconds(30));
+
+        add(10, "campaign-1");
+        packer.close();
+
+        assertThat(sent).allSatisfy(request ->
+                assertThat(request.messageBody().getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(maxBytes));
+        assertThat(sent).hasSizeGreaterThan(2);
+        assertThat(sent.stream().mapToInt(this::entryCount).sum()).isEqualTo(10);
+    }
+
+    @Test
+    void keepsCampaignsInSeparateEnvelopes() {
+        packer = packer(2, 0, Duration.ofSeconds(30));
+
+        add(1, "campaign-0");
+        for (int i = 0; i < 4; i++) {
+            packer.add(QUEUE_URL, "campaign-" + (i % 2 + 1), "c" + i, null, lead(i));
+        }
+
+        assertThat(sent.subList(1, sent.size())).extracting(this::entryCount).containsExactly(2, 2);
+        assertThat(sent.subList(1, sent.size())).extracting(request ->
+                request.messageAttributes().get(SqsLeadPublisher.CAMPAIGN_ID_ATTRIBUTE).stringValue())
+                .containsExactly("campaign-1", "campaign-2");
+    }
+
+    @Test
+    void lingerClosesAPartlyFilledEnvelope() {
+        packer = packer(100, 0, Duration.ofMillis(50));
+
+        List<CompletableFuture<Void>> results = add(3, "campaign-1");
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> sent.size() == 2);
+        assertThat(sent).extracting(this::entryCount).containsExactly(1, 2);
+        await().atMost(Duration.ofSeconds(5)).until(() -> results.stream().allMatch(CompletableFuture::isDone));
+    }
+
+    @Test
+    void aFailedSendFailsEveryEntryInTheEnvelope() {
+        packer = packer(2, 0, Duration.ofSeconds(30));
+        add(1, "campaign-1");
+        sendResult = CompletableFuture.failedFuture(new IllegalStateException("sqs unavailable"));
+
+        List<CompletableFuture<Void>> results = add(2, "campaign-1");
+
+        assertThat(entryCount(sent.get(1))).isEqualTo(2);
+        assertThat(results).allSatisfy(result -> assertThatThrownBy(result::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("sqs unavailable"));
+    }
+
+    private EnvelopePacker packer(int maxEntries, int maxBytes, Duration maxLinger) {
+        return new EnvelopePacker(batcher, objectMapper, new MetricsPublisher(new SimpleMeterRegistry()),
+                new EnvelopeConfig(true, maxEntries, maxBytes, maxLinger));
+    }
+
+    private List<CompletableFuture<Void>> add(int leads, String campaign) {
+        List<CompletableFuture<Void>> results = new ArrayList<>(leads);
+        for (int i = 0; i < leads; i++) {
+            results.add(packer.add(QUEUE_URL, campaign, "correlation-" + i, null, lead(i)));
+        }
+        return results;
+    }
+
+    private int entryCount(SendMessageRequest request) {
+        int count = Integer.parseInt(request.messageAttributes().get(EnvelopePacker.ENVELOPE_ATTRIBUTE).stringValue());
+        assertThat(entries(request)).hasSize(count);
+        return count;
+    }
+
+    private List<JsonNode> entries(SendMessageRequest request) {
+        try {
+            JsonNode body = objectMapper.readTree(request.messageBody());
+            assertThat(body.get("version").asInt()).isEqualTo(EnvelopePacker.VERSION);
+            List<JsonNode> entries = new ArrayList<>();
+            body.get("entries").forEach(entries::add);
+            return entries;
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static String lead(int i) {
+        return "{\"event_id\":\"00000000-0000-0000-0000-00000000000" + (i % 10) + "\",\"name\":\"Maria da Silva\""
+                + ",\"email\":\"maria.silva@example.com\",\"campaign_id\":\"campaign\"}";
+    }
+}
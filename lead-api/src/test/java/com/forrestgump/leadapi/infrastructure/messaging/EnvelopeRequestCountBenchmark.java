@@ -0,0 +1,197 @@
+package com.forrestgump.leadapi.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadapi.domain.model.LeadSubmission;
+import com.forrestgump.leadapi.infrastructure.config.EnvelopeConfig;
+import com.forrestgump.leadapi.infrastructure.config.ShardingConfig;
+import com.forrestgump.leadapi.infrastructure.config.SurgeConfig;
+import com.forrestgump.leadapi.infrastructure.config.TracingConfig;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import com.forrestgump.leadapi.infrastructure.tracing.Tracer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SQS requests per 1,000 leads, one message per lead versus envelope mode. Leads go through the
+ * real {@link SqsLeadPublisher}, {@link EnvelopePacker} and {@link AdaptiveSendBatcher} into a stub
+ * client that counts every call; a consumer then drains the stub queue at its best case of ten
+ * messages per receive, deleting each receive's messages in one batch. Arrivals are one second
+ * apart on a fake clock across five campaigns, with linger budgets long enough that batches and
+ * envelopes only close when full or at shutdown, so the counts do not depend on timing. Receives
+ * include the last one, which finds the queue drained.
+ */
+class EnvelopeRequestCountBenchmark {
+
+    private static final int LEADS = 1000;
+    private static final int CAMPAIGNS = 5;
+    private static final String QUEUE_NAME = "lead-queue";
+    private static final Duration MAX_LINGER = Duration.ofHours(1);
+    private static final Instant CREATED_AT = Instant.parse("2026-10-19T12:00:00Z");
+
+    @Test
+    void envelopesCutRequestsPerThousandLeads() throws Exception {
+        Count single = run(false);
+        Count envelope = run(true);
+
+        assertThat(single.leads()).isEqualTo(LEADS);
+        assertThat(envelope.leads()).isEqualTo(LEADS);
+        assertThat(envelope.sends()).isLessThan(single.sends());
+        assertThat(envelope.receives()).isLessThan(single.receives());
+        assertThat(envelope.deletes()).isLessThan(single.deletes());
+        assertThat(envelope.total()).isLessThan(single.total());
+    }
+
+    private Count run(boolean envelopes) throws Exception {
+        StubSqs sqs = new StubSqs();
+        SqsAsyncClient client = sqs.client();
+        AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1));
+        MetricsPublisher metrics = new MetricsPublisher(new SimpleMeterRegistry());
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        SurgeConfig.Profile profile = new SurgeConfig.Profile(0, 10, MAX_LINGER);
+        AdaptiveSendBatcher batcher = new AdaptiveSendBatcher(client, metrics,
+                new SurgeConfig(false, null, null, null, 0, profile, profile), clock::get);
+        EnvelopePacker packer = new EnvelopePacker(batcher, objectMapper, metrics,
+                new EnvelopeConfig(envelopes, 0, 0, MAX_LINGER), clock::get);
+        SqsLeadPublisher publisher = new SqsLeadPublisher(batcher, packer, objectMapper,
+                new ShardRouter(client, new ShardingConfig(null, null, null), QUEUE_NAME), metrics,
+                CircuitBreaker.ofDefaults("sqs"), Retry.ofDefaults("sqs"),
+                new Tracer(new TracingConfig(false, 0, null, 0, null, false, 0, 0, null), metrics));
+
+        List<CompletableFuture<Void>> published = new ArrayList<>(LEADS);
+        for (int i = 0; i < LEADS; i++) {
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            published.add(publisher.publish(lead("campaign-" + (i % CAMPAIGNS)), "correlation-" + i).toFuture());
+        }
+        packer.close();
+        batcher.close();
+        CompletableFuture.allOf(published.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        String queueUrl = sqs.queueUrl(QUEUE_NAME);
+        int leads = 0;
+        while (true) {
+            List<Message> messages = client.receiveMessage(ReceiveMessageRequest.builder()
+                    .queueUrl(queueUrl)
+                    .maxNumberOfMessages(10)
+                    .build()).get().messages();
+            if (messages.isEmpty()) {
+                break;
+            }
+            for (Message message : messages) {
+                leads += entryCount(message);
+            }
+            client.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                    .queueUrl(queueUrl)
+                    .entries(messages.stream()
+                            .map(message -> DeleteMessageBatchRequestEntry.builder()
+                                    .id(message.messageId())
+                                    .receiptHandle(message.receiptHandle())
+                                    .build())
+                            .toList())
+                    .build()).get();
+        }
+        return new Count(leads, sqs.sends, sqs.receives, sqs.deletes);
+    }
+
+    private static LeadSubmission lead(String campaign) {
+        return new LeadSubmission(UUID.randomUUID(), null, "52998224725", null, "Maria da Silva",
+                "+55 (11) 98765-4321", "maria.silva@example.com", CREATED_AT, campaign,
+                "+5511987654321", "SP", "Sudeste");
+    }
+
+    private static int entryCount(Message message) {
+        MessageAttributeValue envelope = message.messageAttributes().get(EnvelopePacker.ENVELOPE_ATTRIBUTE);
+        return envelope != null ? Integer.parseInt(envelope.stringValue()) : 1;
+    }
+
+    private record Count(int leads, int sends, int receives, int deletes) {
+
+        int total() {
+            return sends + receives + deletes;
+        }
+    }
+
+    /**
+     * A single in-memory queue behind an {@link SqsAsyncClient} that counts sends, receives and
+     * deletes. Everything completes synchronously.
+     */
+    private static final class StubSqs {
+
+        final Deque<Message> queue = new ArrayDeque<>();
+        int sends;
+        int receives;
+        int deletes;
+
+        String queueUrl(String name) {
+            return "http://localhost:4566/000000000000/" + name;
+        }
+
+        SqsAsyncClient client() {
+            return (SqsAsyncClient) Proxy.newProxyInstance(SqsAsyncClient.class.getClassLoader(),
+                    new Class<?>[] {SqsAsyncClient.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "getQueueUrl" -> CompletableFuture.completedFuture(
+                                GetQueueUrlResponse.builder().queueUrl(queueUrl(QUEUE_NAME)).build());
+                        case "sendMessageBatch" -> sendMessageBatch((SendMessageBatchRequest) args[0]);
+                        case "receiveMessage" -> receiveMessage((ReceiveMessageRequest) args[0]);
+                        case "deleteMessageBatch" -> {
+                            deletes++;
+                            yield CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build());
+                        }
+                        case "close" -> null;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        private synchronized CompletableFuture<SendMessageBatchResponse> sendMessageBatch(SendMessageBatchRequest request) {
+            sends++;
+            List<SendMessageBatchResultEntry> results = new ArrayList<>(request.entries().size());
+            request.entries().forEach(entry -> {
+                String messageId = UUID.randomUUID().toString();
+                queue.add(Message.builder()
+                        .messageId(messageId)
+                        .receiptHandle(messageId)
+                        .body(entry.messageBody())
+                        .messageAttributes(entry.messageAttributes())
+                        .build());
+                results.add(SendMessageBatchResultEntry.builder().id(entry.id()).messageId(messageId).build());
+            });
+            return CompletableFuture.completedFuture(SendMessageBatchResponse.builder().successful(results).build());
+        }
+
+        private synchronized CompletableFuture<ReceiveMessageResponse> receiveMessage(ReceiveMessageRequest request) {
+            receives++;
+            List<Message> messages = new ArrayList<>(request.maxNumberOfMessages());
+            while (messages.size() < request.maxNumberOfMessages() && !queue.isEmpty()) {
+                messages.add(queue.poll());
+            }
+            return CompletableFuture.completedFuture(ReceiveMessageResponse.builder().messages(messages).build());
+        }
+    }
+}
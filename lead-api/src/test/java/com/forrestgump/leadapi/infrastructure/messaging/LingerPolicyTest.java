@@ -0,0 +1,42 @@
+package com.forrestgump.leadapi.infrastructure.messaging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LingerPolicyTest {
+
+    private static final long START = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void sendsAtOnceUntilArrivalsAreKnown() {
+        LingerPolicy policy = new LingerPolicy(10, Duration.ofMillis(200));
+
+        policy.recordArrival(START);
+
+        assertThat(policy.linger()).isZero();
+    }
+
+    @Test
+    void sendsAtOnceWhenOnlyOneMoreEntryIsExpectedWithinTheLinger() {
+        LingerPolicy policy = policyWithGap(Duration.ofMillis(150));
+
+        assertThat(policy.linger()).isZero();
+    }
+
+    @Test
+    void waitsWhenTwoOrMoreEntriesAreExpectedWithinTheLinger() {
+        assertThat(policyWithGap(Duration.ofMillis(100)).linger()).isEqualTo(Duration.ofMillis(200));
+        assertThat(policyWithGap(Duration.ofMillis(10)).linger()).isEqualTo(Duration.ofMillis(90));
+    }
+
+    private static LingerPolicy policyWithGap(Duration gap) {
+        LingerPolicy policy = new LingerPolicy(10, Duration.ofMillis(200));
+        for (int i = 0; i < 5; i++) {
+            policy.recordArrival(START + i * gap.toNanos());
+        }
+        return policy;
+    }
+}
@@ -0,0 +1,211 @@
+package com.forrestgump.leadapi.infrastructure.quota;
+
+import com.forrestgump.leadapi.infrastructure.config.QuotaConfig;
+import com.forrestgump.leadapi.infrastructure.metrics.MetricsPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DistributedQuotaTest {
+
+    private static final String CLIENT = "client-a";
+    private final MutableClock clock = new MutableClock(10_000);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void spendsLeasesRefillsAndStopsAtTheLimit() {
+        RecordingStore store = new RecordingStore(new InMemoryQuotaStore());
+        DistributedQuota quota = quota(store, config(25, 10, 5, 0L, Duration.ZERO, false));
+
+        // No overdraft: the first request only triggers the first lease.
+        assertThat(quota.tryAcquire(CLIENT)).isFalse();
+        assertThat(admitted(quota, 40)).isEqualTo(25);
+        // 10 + 10 + a partial 5; once a lease comes back short, no further refills are asked for.
+        assertThat(store.requests).containsExactly(10L, 10L, 10L);
+    }
+
+    @Test
+    void startsAFreshLeaseWhenTheWindowRollsOver() {
+        DistributedQuota quota = quota(new InMemoryQuotaStore(), config(5, 5, 2, 0L, Duration.ZERO, false));
+        quota.tryAcquire(CLIENT);
+        assertThat(admitted(quota, 10)).isEqualTo(5);
+
+        clock.advance(Duration.ofSeconds(1));
+
+        assertThat(quota.tryAcquire(CLIENT)).isFalse();
+        assertThat(admitted(quota, 10)).isEqualTo(5);
+    }
+
+    @Test
+    void prefetchesTheNextWindowsLeaseBeforeTheBoundary() {
+        RecordingStore store = new RecordingStore(new InMemoryQuotaStore());
+        DistributedQuota quota = quota(store, config(100, 10, 5, 0L, Duration.ofMillis(250), false));
+        clock.set(10_800);
+        quota.tryAcquire(CLIENT);
+        assertThat(admitted(quota, 3)).isEqualTo(3);
+
+        clock.set(11_000);
+
+        assertThat(quota.tryAcquire(CLIENT)).isTrue();
+        assertThat(store.windows).containsExactly(10L, 11L);
+    }
+
+    @Test
+    void repaysOverdraftFromTheFirstLease() {
+        PendingStore store = new PendingStore();
+        DistributedQuota quota = quota(store, config(100, 10, 5, 3L, Duration.ZERO, false));
+
+        assertThat(admitted(quota, 3)).isEqualTo(3);
+        assertThat(quota.tryAcquire(CLIENT)).isFalse();
+        // Asked for one lease plus the first overdrawn unit, the debt at the time of asking.
+        assertThat(store.requests).containsExactly(11L);
+
+        store.grant(0, 11);
+
+        // 11 granted less 3 owed leaves 8, and the overdraft is used up for this window.
+        assertThat(admitted(quota, 20)).isEqualTo(8);
+        assertThat(registry.find("quota.enforcement.error").counter()).isNull();
+    }
+
+    @Test
+    void givesNoOverdraftAfterAWindowThatSpentTheQuota() {
+        DistributedQuota quota = quota(new InMemoryQuotaStore(), config(5, 5, 2, 2L, Duration.ZERO, false));
+        assertThat(admitted(quota, 10)).isEqualTo(5);
+
+        clock.advance(Duration.ofSeconds(1));
+
+        assertThat(quota.tryAcquire(CLIENT)).isFalse();
+        assertThat(admitted(quota, 10)).isEqualTo(5);
+    }
+
+    @Test
+    void failOpenGrantsALeaseLocallyWhenTheStoreFails() {
+        QuotaStore failing = (client, window, requested, limit) -> Mono.error(new IllegalStateException("store down"));
+
+        DistributedQuota open = quota(failing, config(100, 10, 5, 0L, Duration.ZERO, true));
+        assertThat(open.tryAcquire(CLIENT)).isFalse();
+        assertThat(admitted(open, 10)).isEqualTo(10);
+
+        DistributedQuota closed = quota(failing, config(100, 10, 5, 0L, Duration.ZERO, false));
+        assertThat(admitted(closed, 10)).isZero();
+    }
+
+    @Test
+    void partialGrantPaysDebtFirstAndCountsTheShortfallAsOverAdmission() {
+        PendingStore store = new PendingStore();
+        DistributedQuota quota = quota(store, config(2, 10, 5, 4L, Duration.ZERO, false));
+        assertThat(admitted(quota, 4)).isEqualTo(4);
+
+        store.grant(0, 2);
+
+        assertThat(quota.tryAcquire(CLIENT)).isFalse();
+        clock.advance(Duration.ofSeconds(1));
+        quota.sweep();
+        // Four admitted against a limit of two, and the grant could only pay back two of them.
+        assertThat(registry.get("quota.enforcement.error").tag("direction", "over").counter().count()).isEqualTo(2);
+    }
+
+    private DistributedQuota quota(QuotaStore store, QuotaConfig config) {
+        return new DistributedQuota(store, config, new MetricsPublisher(registry), clock);
+    }
+
+    private static QuotaConfig config(long limit, long leaseSize, long refillAt, Long overdraft, Duration prefetch,
+                                      boolean failOpen) {
+        return new QuotaConfig(true, "memory", null, limit, Duration.ofSeconds(1), leaseSize, refillAt, overdraft,
+                prefetch, failOpen, 0, null);
+    }
+
+    private static int admitted(DistributedQuota quota, int requests) {
+        int admitted = 0;
+        for (int i = 0; i < requests; i++) {
+            if (quota.tryAcquire(CLIENT)) {
+                admitted++;
+            }
+        }
+        return admitted;
+    }
+
+    private static final class RecordingStore implements QuotaStore {
+
+        final List<Long> requests = new CopyOnWriteArrayList<>();
+        final List<Long> windows = new CopyOnWriteArrayList<>();
+        private final QuotaStore delegate;
+
+        RecordingStore(QuotaStore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Mono<Long> acquire(String client, long window, long requested, long limit) {
+            requests.add(requested);
+            windows.add(window);
+            return delegate.acquire(client, window, requested, limit);
+        }
+    }
+
+    private static final class PendingStore implements QuotaStore {
+
+        final List<Long> requests = new CopyOnWriteArrayList<>();
+        private final List<Sinks.One<Long>> grants = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Mono<Long> acquire(String client, long window, long requested, long limit) {
+            Sinks.One<Long> grant = Sinks.one();
+            requests.add(requested);
+            grants.add(grant);
+            return grant.asMono();
+        }
+
+        void grant(int request, long units) {
+            grants.get(request).tryEmitValue(units);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void set(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
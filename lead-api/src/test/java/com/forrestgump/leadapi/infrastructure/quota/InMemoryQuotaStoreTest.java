@@ -0,0 +1,27 @@
+package com.forrestgump.leadapi.infrastructure.quota;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryQuotaStoreTest {
+
+    private final InMemoryQuotaStore store = new InMemoryQuotaStore();
+
+    @Test
+    void grantsInFullUntilTheLimitThenPartlyThenNothing() {
+        assertThat(store.acquire("client-a", 1, 10, 25).block()).isEqualTo(10);
+        assertThat(store.acquire("client-a", 1, 10, 25).block()).isEqualTo(10);
+        assertThat(store.acquire("client-a", 1, 10, 25).block()).isEqualTo(5);
+        assertThat(store.acquire("client-a", 1, 10, 25).block()).isZero();
+    }
+
+    @Test
+    void countsClientsAndWindowsSeparately() {
+        assertThat(store.acquire("client-a", 1, 10, 10).block()).isEqualTo(10);
+
+        assertThat(store.acquire("client-b", 1, 10, 10).block()).isEqualTo(10);
+        assertThat(store.acquire("client-a", 2, 10, 10).block()).isEqualTo(10);
+        assertThat(store.acquire("client-a", 1, 10, 10).block()).isZero();
+    }
+}
@@ -0,0 +1,77 @@
+package com.forrestgump.leadapi.infrastructure.quota;
+
+import com.forrestgump.leadapi.infrastructure.config.QuotaConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuotaClientResolverTest {
+
+    private static final InetSocketAddress PROXY = new InetSocketAddress("10.0.0.7", 443);
+
+    @Test
+    void ignoresForwardedForWithoutTrustedProxies() {
+        MockServerHttpRequest request = MockServerHttpRequest.post("/leads")
+                .remoteAddress(PROXY)
+                .header("X-Forwarded-For", "203.0.113.9")
+                .build();
+
+        assertThat(resolver(0).address(request)).isEqualTo("10.0.0.7");
+    }
+
+    @Test
+    void takesTheEntryAppendedByTheOutermostTrustedProxy() {
+        // The caller made up the first entry; the load balancer appended the second.
+        MockServerHttpRequest request = MockServerHttpRequest.post("/leads")
+                .remoteAddress(PROXY)
+                .header("X-Forwarded-For", "198.51.100.1, 203.0.113.9")
+                .build();
+
+        assertThat(resolver(1).address(request)).isEqualTo("203.0.113.9");
+    }
+
+    @Test
+    void fallsBackToTheRemoteAddressWhenTheRequestBypassedTheProxies() {
+        MockServerHttpRequest request = MockServerHttpRequest.post("/leads")
+                .remoteAddress(PROXY)
+                .header("X-Forwarded-For", "203.0.113.9")
+                .build();
+
+        assertThat(resolver(2).address(request)).isEqualTo("10.0.0.7");
+    }
+
+    @Test
+    void prefersTheAuthenticatedPrincipal() {
+        Principal principal = () -> "partner-42";
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/leads")
+                        .remoteAddress(PROXY)
+                        .header("X-Forwarded-For", "203.0.113.9"))
+                .mutate()
+                .principal(Mono.just(principal))
+                .build();
+
+        assertThat(resolver(1).resolve(exchange).block()).isEqualTo("partner-42");
+    }
+
+    @Test
+    void resolvesTheAddressWithoutAPrincipal() {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/leads")
+                .remoteAddress(PROXY)
+                .header("X-Forwarded-For", "203.0.113.9"));
+
+        assertThat(resolver(1).resolve(exchange).block()).isEqualTo("203.0.113.9");
+    }
+
+    private static QuotaClientResolver resolver(int trustedProxies) {
+        return new QuotaClientResolver(new QuotaConfig(true, null, null, 0, null, 0, 0, null, Duration.ZERO,
+                false, trustedProxies, null));
+    }
+}
@@ -2,6 +2,14 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.0"
     id("io.spring.dependency-management") version "1.1.6"
+    id("org.graalvm.buildtools.native") version "0.10.6" apply false
+}
+
+// ./gradlew bootJar -PfastStart runs Spring AOT processing and packages the generated bean
+// definitions into the jar. The generated definitions freeze @ConditionalOnProperty beans at build
+// time, so the jar still starts without AOT unless -Dspring.aot.enabled=true is passed (see Dockerfile).
+if (providers.gradleProperty("fastStart").isPresent) {
+    apply(plugin = "org.graalvm.buildtools.native")
 }
 
 group = "com.forrestgump.leadprocessor"
@@ -43,4 +51,8 @@ tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar") {
     layered {
         isEnabled = false
     }
-}
\ No newline at end of file
+}
+
+tasks.named<Test>("test") {
+    useJUnitPlatform()
+}
@@ -2,15 +2,16 @@ package com.forrestgump.leadprocessor.application.usecase;
 
 import com.forrestgump.leadprocessor.domain.exception.LeadValidationException;
 import com.forrestgump.leadprocessor.domain.model.Lead;
+import com.forrestgump.leadprocessor.domain.model.LeadStatus;
 import com.forrestgump.leadprocessor.domain.model.LeadSubmission;
 import com.forrestgump.leadprocessor.domain.service.LeadProcessingService;
 import com.forrestgump.leadprocessor.infrastructure.exception.InfrastructureException;
 import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
-import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import com.forrestgump.leadprocessor.infrastructure.persistence.LeadStatusRecorder;
+import com.forrestgump.leadprocessor.infrastructure.sink.PersistedLead;
+import com.forrestgump.leadprocessor.infrastructure.sink.SinkFanOut;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
@@ -20,13 +21,15 @@ public class ProcessLeadUseCase {
     private static final Logger logger = LoggerFactory.getLogger(ProcessLeadUseCase.class);
     private final LeadProcessingService leadProcessingService;
     private final MetricsPublisher metricsPublisher;
-    private final CircuitBreaker dynamoCircuitBreaker;
+    private final LeadStatusRecorder leadStatusRecorder;
+    private final SinkFanOut sinkFanOut;
 
     public ProcessLeadUseCase(LeadProcessingService leadProcessingService, MetricsPublisher metricsPublisher,
-                              @Qualifier("dynamoCircuitBreaker") CircuitBreaker dynamoCircuitBreaker) {
+                              LeadStatusRecorder leadStatusRecorder, SinkFanOut sinkFanOut) {
         this.leadProcessingService = leadProcessingService;
         this.metricsPublisher = metricsPublisher;
-        this.dynamoCircuitBreaker = dynamoCircuitBreaker;
+        this.leadStatusRecorder = leadStatusRecorder;
+        this.sinkFanOut = sinkFanOut;
     }
 
     public Mono<Void> execute(LeadSubmission event, String correlationId) {
@@ -38,10 +41,15 @@ public class ProcessLeadUseCase {
                         event.name(),
                         event.phone(),
                         event.email(),
-                        event.createdAt()))
+                        event.createdAt(),
+                        event.phoneE164(),
+                        event.phoneState(),
+                        event.phoneRegion()))
                 .doOnNext(lead -> logger.info("Processing lead, eventId: {}, correlationId: {}, leadId: {}",
                         event.eventId(), correlationId, lead.getLeadId()))
                 .flatMap(leadProcessingService::processLead)
+                .flatMap(persisted -> leadStatusRecorder.record(event.eventId(), event.leadId(), LeadStatus.PERSISTED)
+                        .then(Mono.defer(() -> sinkFanOut.publish(PersistedLead.of(event, persisted)))))
                 .doOnSuccess(v -> {
                     metricsPublisher.incrementLeadProcessing("success");
                     logger.info("Lead processed successfully, eventId: {}, correlationId: {}", event.eventId(), correlationId);
@@ -58,7 +66,6 @@ public class ProcessLeadUseCase {
                             event.eventId(), correlationId, e.getMessage());
                     return new InfrastructureException("Failed to process lead", e);
                 })
-                .transformDeferred(CircuitBreakerOperator.of(dynamoCircuitBreaker))
                 .then();
     }
 }
\ No newline at end of file
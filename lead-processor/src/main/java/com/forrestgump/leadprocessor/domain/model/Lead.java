@@ -16,12 +16,16 @@ public class Lead {
     private String phone;
     private String email;
     private Instant createdAt;
+    private String phoneE164; // Canonical phone and its DDD's state and region, derived by lead-api
+    private String phoneState;
+    private String phoneRegion;
 
     // Default constructor required by DynamoDb Enhanced Client
     public Lead() {
     }
 
-    public Lead(String leadId, String cpf, String encryptedCpf, String salt, String name, String phone, String email, Instant createdAt) {
+    public Lead(String leadId, String cpf, String encryptedCpf, String salt, String name, String phone, String email, Instant createdAt,
+                String phoneE164, String phoneState, String phoneRegion) {
         this.leadId = leadId;
         this.cpf = cpf;
         this.encryptedCpf = encryptedCpf;
@@ -30,6 +34,9 @@ public class Lead {
         this.phone = phone;
         this.email = email;
         this.createdAt = createdAt;
+        this.phoneE164 = phoneE164;
+        this.phoneState = phoneState;
+        this.phoneRegion = phoneRegion;
     }
 
     @DynamoDbPartitionKey
@@ -104,4 +111,31 @@ public class Lead {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    @DynamoDbAttribute("phoneE164")
+    public String getPhoneE164() {
+        return phoneE164;
+    }
+
+    public void setPhoneE164(String phoneE164) {
+        this.phoneE164 = phoneE164;
+    }
+
+    @DynamoDbAttribute("phoneState")
+    public String getPhoneState() {
+        return phoneState;
+    }
+
+    public void setPhoneState(String phoneState) {
+        this.phoneState = phoneState;
+    }
+
+    @DynamoDbAttribute("phoneRegion")
+    public String getPhoneRegion() {
+        return phoneRegion;
+    }
+
+    public void setPhoneRegion(String phoneRegion) {
+        this.phoneRegion = phoneRegion;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.forrestgump.leadprocessor.domain.model;
+
+public enum LeadStatus {
+    PERSISTED,
+    FAILED
+}
@@ -1,15 +1,28 @@
 package com.forrestgump.leadprocessor.domain.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.Instant;
 import java.util.UUID;
 
 public record LeadSubmission(
-        UUID eventId,
-        String leadId,
+        @JsonProperty("event_id") UUID eventId,
+        @JsonProperty("lead_id") String leadId,
         String cpf,
         String salt,
         String name,
         String phone,
         String email,
-        Instant createdAt
-) {}
\ No newline at end of file
+        @JsonProperty("created_at") Instant createdAt,
+        @JsonProperty("campaign_id") String campaignId,
+        @JsonProperty("phone_e164") String phoneE164,
+        @JsonProperty("phone_state") String phoneState,
+        @JsonProperty("phone_region") String phoneRegion
+) {
+    public static final String DEFAULT_CAMPAIGN = "default";
+
+    public LeadSubmission {
+        if (campaignId == null || campaignId.isBlank()) {
+            campaignId = DEFAULT_CAMPAIGN;
+        }
+    }
+}
\ No newline at end of file
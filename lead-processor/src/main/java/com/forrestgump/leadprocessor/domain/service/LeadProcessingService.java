@@ -1,7 +1,10 @@
 package com.forrestgump.leadprocessor.domain.service;
 
+import com.forrestgump.leadprocessor.domain.exception.LeadValidationException;
 import com.forrestgump.leadprocessor.domain.model.Lead;
 import com.forrestgump.leadprocessor.infrastructure.persistence.DynamoLeadRepository;
+import com.forrestgump.leadprocessor.infrastructure.pipeline.StagedPipeline;
+import com.forrestgump.leadprocessor.infrastructure.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -12,14 +15,41 @@ public class LeadProcessingService {
 
     private static final Logger logger = LoggerFactory.getLogger(LeadProcessingService.class);
     private final DynamoLeadRepository leadRepository;
+    private final Tracer tracer;
+    private final StagedPipeline pipeline;
 
-    public LeadProcessingService(DynamoLeadRepository leadRepository) {
+    public LeadProcessingService(DynamoLeadRepository leadRepository, Tracer tracer, StagedPipeline pipeline) {
         this.leadRepository = leadRepository;
+        this.tracer = tracer;
+        this.pipeline = pipeline;
     }
 
-    public Mono<Void> processLead(Lead lead) {
-        logger.info("Persisting lead with leadId: {}", lead.getLeadId());
-        return leadRepository.save(lead)
+    /**
+     * Runs the lead through the validate, encrypt and persist stages in turn, returning the lead
+     * as written, with its CPF encrypted.
+     */
+    public Mono<Lead> processLead(Lead lead) {
+        return pipeline.stage(StagedPipeline.VALIDATE).submit(() -> tracer.trace("validate", Mono.fromRunnable(() -> validate(lead))))
+                .then(pipeline.stage(StagedPipeline.ENCRYPT).submit(() -> leadRepository.encrypt(lead)))
+                .flatMap(encryptedLead -> pipeline.stage(StagedPipeline.PERSIST).submit(() -> {
+                    logger.info("Persisting lead with leadId: {}", lead.getLeadId());
+                    return leadRepository.persist(encryptedLead).thenReturn(encryptedLead);
+                }))
                 .doOnSuccess(v -> logger.info("Lead persisted successfully: {}", lead.getLeadId()));
     }
+
+    public void validate(Lead lead) {
+        if (lead.getLeadId() == null || lead.getLeadId().isBlank()) {
+            throw new LeadValidationException("Lead ID (hash) is required");
+        }
+        if (lead.getCpf() == null || lead.getCpf().length() != 11) {
+            throw new LeadValidationException("CPF must be an 11-digit number");
+        }
+        if (lead.getName() == null || lead.getName().isBlank()) {
+            throw new LeadValidationException("Name is required");
+        }
+        if (lead.getEmail() == null || lead.getEmail().isBlank()) {
+            throw new LeadValidationException("Email is required");
+        }
+    }
 }
\ No newline at end of file
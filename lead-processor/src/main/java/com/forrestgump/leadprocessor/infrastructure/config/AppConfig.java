@@ -1,33 +1,69 @@
 package com.forrestgump.leadprocessor.infrastructure.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.forrestgump.leadprocessor.infrastructure.faults.FaultInjectionInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
 import software.amazon.awssdk.services.kms.KmsAsyncClient;
+import software.amazon.awssdk.services.kms.KmsAsyncClientBuilder;
+
+import java.net.URI;
 
 @Configuration
-@EnableConfigurationProperties(AwsConfig.class)
-@ComponentScan(basePackages = "com.forrestgump.leadprocessor.infrastructure")
+@EnableConfigurationProperties({AwsConfig.class, RedriveConfig.class, ConsumerConfig.class, RetryBudgetConfig.class,
+        ExportConfig.class, FaultsConfig.class, TracingConfig.class,
+        StartupConfig.class, SurgeConfig.class, CampaignConfig.class, BatchingConfig.class,
+        WritePacingConfig.class, HedgingConfig.class, ProfilingConfig.class, PipelineConfig.class,
+        SinkConfig.class, ReplayConfig.class, ShardingConfig.class})
+@EnableScheduling
 public class AppConfig {
 
     private final AwsConfig awsConfig;
+    private final ObjectProvider<FaultInjectionInterceptor> faultInjector;
+
+    @Value("${aws.endpoint-url:#{null}}")
+    private String endpointUrl;
+
+    @Value("${aws.access-key-id:#{null}}")
+    private String accessKeyId;
 
-    public AppConfig(AwsConfig awsConfig) {
+    @Value("${aws.secret-access-key:#{null}}")
+    private String secretAccessKey;
+
+    public AppConfig(AwsConfig awsConfig, ObjectProvider<FaultInjectionInterceptor> faultInjector) {
         this.awsConfig = awsConfig;
+        this.faultInjector = faultInjector;
     }
 
     @Bean
     public DynamoDbAsyncClient dynamoDbClient() {
-        return DynamoDbAsyncClient.builder()
+        DynamoDbAsyncClientBuilder builder = DynamoDbAsyncClient.builder()
                 .region(Region.of(awsConfig.region()))
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build();
+                .credentialsProvider(credentialsProvider())
+                .overrideConfiguration(override -> {
+                    override.retryStrategy(AwsRetryStrategy.doNotRetry());
+                    faultInjector.ifAvailable(override::addExecutionInterceptor);
+                });
+
+        if (endpointUrl != null) {
+            builder.endpointOverride(URI.create(endpointUrl));
+        }
+
+        return builder.build();
     }
 
     @Bean
@@ -39,14 +75,32 @@ public class AppConfig {
 
     @Bean
     public KmsAsyncClient kmsClient() {
-        return KmsAsyncClient.builder()
+        KmsAsyncClientBuilder builder = KmsAsyncClient.builder()
                 .region(Region.of(awsConfig.region()))
-                .credentialsProvider(DefaultCredentialsProvider.create())
-                .build();
+                .credentialsProvider(credentialsProvider())
+                .overrideConfiguration(override -> {
+                    override.retryStrategy(AwsRetryStrategy.doNotRetry());
+                    faultInjector.ifAvailable(override::addExecutionInterceptor);
+                });
+
+        if (endpointUrl != null) {
+            builder.endpointOverride(URI.create(endpointUrl));
+        }
+
+        return builder.build();
+    }
+
+    private AwsCredentialsProvider credentialsProvider() {
+        if (accessKeyId != null && secretAccessKey != null) {
+            return StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKeyId, secretAccessKey));
+        }
+        return DefaultCredentialsProvider.create();
     }
 
     @Bean
     public ObjectMapper objectMapper() {
-        return new ObjectMapper();
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        return mapper;
     }
 }
\ No newline at end of file
@@ -17,8 +17,15 @@ public record AwsConfig(
     ) {}
 
     public record Dynamodb(
-             String tableName
-    ) {}
+             String tableName,
+             String statusTableName
+    ) {
+        public Dynamodb {
+            if (statusTableName == null || statusTableName.isBlank()) {
+                statusTableName = "LeadStatus";
+            }
+        }
+    }
 
     public record Kms(
              String keyAlias
@@ -0,0 +1,23 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Batching for message deletes. {@code maxLinger} is the most batching may delay a delete.
+ */
+@ConfigurationProperties(prefix = "lead.batching")
+public record BatchingConfig(
+        int maxBatchSize,
+        Duration maxLinger
+) {
+    public BatchingConfig {
+        if (maxBatchSize <= 0 || maxBatchSize > 10) {
+            maxBatchSize = 10;
+        }
+        if (maxLinger == null) {
+            maxLinger = Duration.ofMillis(200);
+        }
+    }
+}
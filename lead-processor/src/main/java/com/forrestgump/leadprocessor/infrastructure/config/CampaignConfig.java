@@ -0,0 +1,46 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "lead.campaigns")
+public record CampaignConfig(
+        double defaultWeight,
+        int defaultMaxInFlight,
+        int maxBuffered,
+        Duration deferral,
+        int maxDeferredReceives,
+        int maxTracked,
+        Map<String, Campaign> overrides
+) {
+    public record Campaign(
+            Double weight,
+            Integer maxInFlight
+    ) {}
+
+    public CampaignConfig {
+        if (defaultWeight <= 0) {
+            defaultWeight = 1.0;
+        }
+        if (defaultMaxInFlight <= 0) {
+            defaultMaxInFlight = 20;
+        }
+        if (maxBuffered <= 0) {
+            maxBuffered = 20;
+        }
+        if (deferral == null) {
+            deferral = Duration.ofSeconds(5);
+        }
+        if (maxDeferredReceives <= 0) {
+            maxDeferredReceives = 1;
+        }
+        if (maxTracked <= 0) {
+            maxTracked = 100;
+        }
+        if (overrides == null) {
+            overrides = Map.of();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * {@code envelopeConcurrency} bounds how many entries of one envelope message are processed at
+ * once, and {@code maxEnvelopeAttempts} how many times transiently failed entries are re-sent in a
+ * smaller envelope before they are dead-lettered.
+ */
+@ConfigurationProperties(prefix = "lead.consumer")
+public record ConsumerConfig(
+        Duration transientBaseDelay,
+        Duration transientMaxDelay,
+        int maxBatchSize,
+        int probeBatchSize,
+        int envelopeConcurrency,
+        int maxEnvelopeAttempts
+) {
+    public ConsumerConfig {
+        if (transientBaseDelay == null) {
+            transientBaseDelay = Duration.ofSeconds(2);
+        }
+        if (transientMaxDelay == null) {
+            transientMaxDelay = Duration.ofMinutes(5);
+        }
+        if (maxBatchSize <= 0 || maxBatchSize > 10) {
+            maxBatchSize = 10;
+        }
+        if (probeBatchSize <= 0) {
+            probeBatchSize = 1;
+        }
+        if (envelopeConcurrency <= 0) {
+            envelopeConcurrency = 10;
+        }
+        if (maxEnvelopeAttempts <= 0) {
+            maxEnvelopeAttempts = 5;
+        }
+    }
+}
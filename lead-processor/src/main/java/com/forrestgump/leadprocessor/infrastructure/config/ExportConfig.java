@@ -0,0 +1,31 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "lead.export")
+public record ExportConfig(
+        boolean onStartup,
+        int segments,
+        int maxReadCapacityPerSecond,
+        int pageSize,
+        String outputDirectory,
+        long rollBytes
+) {
+    public ExportConfig {
+        if (segments <= 0) {
+            segments = 4;
+        }
+        if (maxReadCapacityPerSecond <= 0) {
+            maxReadCapacityPerSecond = 100;
+        }
+        if (pageSize <= 0) {
+            pageSize = 500;
+        }
+        if (outputDirectory == null || outputDirectory.isBlank()) {
+            outputDirectory = "export";
+        }
+        if (rollBytes <= 0) {
+            rollBytes = 256L * 1024 * 1024;
+        }
+    }
+}
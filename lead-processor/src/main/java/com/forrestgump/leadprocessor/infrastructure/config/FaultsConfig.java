@@ -0,0 +1,16 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "lead.faults")
+public record FaultsConfig(
+        boolean enabled,
+        String scenario,
+        long seed
+) {
+    public FaultsConfig {
+        if (scenario != null && scenario.isBlank()) {
+            scenario = null;
+        }
+    }
+}
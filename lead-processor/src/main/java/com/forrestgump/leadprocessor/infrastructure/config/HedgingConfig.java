@@ -0,0 +1,54 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Request hedging for idempotent calls, off by default. {@code dependencies} names which calls
+ * hedge when enabled ({@code kms}, {@code dynamodb}).
+ */
+@ConfigurationProperties(prefix = "lead.hedging")
+public record HedgingConfig(
+        boolean enabled,
+        Set<String> dependencies,
+        double percentile,
+        Duration minDelay,
+        Duration maxDelay,
+        int sampleSize,
+        int minSamples,
+        double budgetRatio,
+        int minHedgesPerSecond,
+        Duration budgetWindow
+) {
+    public HedgingConfig {
+        if (dependencies == null) {
+            dependencies = Set.of("kms", "dynamodb");
+        }
+        if (percentile <= 0 || percentile >= 1) {
+            percentile = 0.95;
+        }
+        if (minDelay == null) {
+            minDelay = Duration.ofMillis(10);
+        }
+        if (maxDelay == null) {
+            maxDelay = Duration.ofSeconds(1);
+        }
+        if (sampleSize <= 0) {
+            sampleSize = 1024;
+        }
+        if (minSamples <= 0) {
+            minSamples = 100;
+        }
+        if (budgetRatio <= 0) {
+            budgetRatio = 0.05;
+        }
+        if (minHedgesPerSecond <= 0) {
+            minHedgesPerSecond = 1;
+        }
+        if (budgetWindow == null) {
+            budgetWindow = Duration.ofSeconds(10);
+        }
+    }
+}
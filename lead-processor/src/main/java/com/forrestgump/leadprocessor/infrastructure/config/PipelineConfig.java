@@ -0,0 +1,45 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-stage settings for the processing pipeline ({@code decode}, {@code validate},
+ * {@code encrypt}, {@code persist}, {@code ack}). {@code concurrency} is how many messages the
+ * stage works on at once, {@code capacity} how many may wait for it, and {@code threads} the size
+ * of its scheduler. Stages left out of {@code stages} use the defaults below.
+ */
+@ConfigurationProperties(prefix = "lead.pipeline")
+public record PipelineConfig(
+        Map<String, Stage> stages
+) {
+    private static final int CPUS = Runtime.getRuntime().availableProcessors();
+    private static final Map<String, Stage> DEFAULTS = Map.of(
+            "decode", new Stage(CPUS, 200, CPUS),
+            "validate", new Stage(CPUS, 200, CPUS),
+            "encrypt", new Stage(64, 200, 2),
+            "persist", new Stage(64, 200, 2),
+            "ack", new Stage(64, 200, 2));
+
+    public record Stage(
+            Integer concurrency,
+            Integer capacity,
+            Integer threads
+    ) {}
+
+    public PipelineConfig {
+        Map<String, Stage> merged = new HashMap<>(DEFAULTS);
+        if (stages != null) {
+            stages.forEach((name, stage) -> {
+                Stage fallback = DEFAULTS.getOrDefault(name, new Stage(CPUS, 200, CPUS));
+                merged.put(name, new Stage(
+                        stage.concurrency() != null && stage.concurrency() > 0 ? stage.concurrency() : fallback.concurrency(),
+                        stage.capacity() != null && stage.capacity() > 0 ? stage.capacity() : fallback.capacity(),
+                        stage.threads() != null && stage.threads() > 0 ? stage.threads() : fallback.threads()));
+            });
+        }
+        stages = Map.copyOf(merged);
+    }
+}
@@ -0,0 +1,45 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "lead.redrive")
+public record RedriveConfig(
+        boolean onStartup,
+        int receivers,
+        int concurrencyPerReceiver,
+        int maxRatePerSecond,
+        int waitTimeSeconds,
+        int emptyReceivesToStop,
+        long liveBacklogThreshold,
+        Duration liveBacklogPause,
+        String parkingDirectory
+) {
+    public RedriveConfig {
+        if (receivers <= 0) {
+            receivers = 4;
+        }
+        if (concurrencyPerReceiver <= 0) {
+            concurrencyPerReceiver = 10;
+        }
+        if (maxRatePerSecond <= 0) {
+            maxRatePerSecond = 50;
+        }
+        if (waitTimeSeconds <= 0) {
+            waitTimeSeconds = 2;
+        }
+        if (emptyReceivesToStop <= 0) {
+            emptyReceivesToStop = 3;
+        }
+        if (liveBacklogThreshold <= 0) {
+            liveBacklogThreshold = 1000;
+        }
+        if (liveBacklogPause == null) {
+            liveBacklogPause = Duration.ofSeconds(5);
+        }
+        if (parkingDirectory == null || parkingDirectory.isBlank()) {
+            parkingDirectory = "parking";
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * File replay for backfills: {@code file} is read in chunks of {@code chunkBytes}, split across
+ * {@code workers}, with at most {@code maxConcurrency} leads processing at once. A checkpoint is
+ * written every {@code checkpointEvery} leads per chunk. {@code format} is {@code auto},
+ * {@code ndjson} or {@code binary}.
+ */
+@ConfigurationProperties(prefix = "lead.replay")
+public record ReplayConfig(
+        boolean onStartup,
+        String file,
+        String format,
+        int workers,
+        long chunkBytes,
+        int maxConcurrency,
+        int checkpointEvery,
+        boolean dedup,
+        String checkpointDirectory
+) {
+    public ReplayConfig {
+        if (format == null || format.isBlank()) {
+            format = "auto";
+        }
+        if (workers <= 0) {
+            workers = 4;
+        }
+        if (chunkBytes <= 0 || chunkBytes > Integer.MAX_VALUE) {
+            chunkBytes = 64L * 1024 * 1024;
+        }
+        if (maxConcurrency <= 0) {
+            maxConcurrency = 32;
+        }
+        if (checkpointEvery <= 0) {
+            checkpointEvery = 1000;
+        }
+        if (checkpointDirectory == null || checkpointDirectory.isBlank()) {
+            checkpointDirectory = "replay";
+        }
+    }
+}
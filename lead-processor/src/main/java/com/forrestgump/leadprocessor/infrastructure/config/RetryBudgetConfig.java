@@ -0,0 +1,36 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "lead.retry")
+public record RetryBudgetConfig(
+        double budgetRatio,
+        int minRetriesPerSecond,
+        Duration budgetWindow,
+        int maxAttempts,
+        Duration baseDelay,
+        Duration maxDelay
+) {
+    public RetryBudgetConfig {
+        if (budgetRatio <= 0) {
+            budgetRatio = 0.1;
+        }
+        if (minRetriesPerSecond <= 0) {
+            minRetriesPerSecond = 1;
+        }
+        if (budgetWindow == null) {
+            budgetWindow = Duration.ofSeconds(10);
+        }
+        if (maxAttempts <= 0) {
+            maxAttempts = 3;
+        }
+        if (baseDelay == null) {
+            baseDelay = Duration.ofMillis(50);
+        }
+        if (maxDelay == null) {
+            maxDelay = Duration.ofSeconds(2);
+        }
+    }
+}
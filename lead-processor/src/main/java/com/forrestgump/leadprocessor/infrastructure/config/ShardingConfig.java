@@ -0,0 +1,40 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The lead queues to consume, keyed by name, or only {@code aws.sqs.queue-name} when none are
+ * listed. Each queue's {@code weight} (default 1) sets its share of this instance's polls; the
+ * queues in {@code affinity} have theirs multiplied by {@code affinityWeight}, so an instance
+ * mostly drains its own shards but keeps polling the rest. A queue last seen empty keeps only
+ * {@code idleWeight} of its weight, enough for an occasional probe poll to notice new messages.
+ */
+@ConfigurationProperties(prefix = "lead.sharding")
+public record ShardingConfig(
+        Map<String, Queue> queues,
+        List<String> affinity,
+        double affinityWeight,
+        double idleWeight
+) {
+    public record Queue(
+            Double weight
+    ) {}
+
+    public ShardingConfig {
+        if (queues == null) {
+            queues = Map.of();
+        }
+        if (affinity == null) {
+            affinity = List.of();
+        }
+        if (affinityWeight <= 0) {
+            affinityWeight = 4.0;
+        }
+        if (idleWeight <= 0 || idleWeight > 1) {
+            idleWeight = 0.05;
+        }
+    }
+}
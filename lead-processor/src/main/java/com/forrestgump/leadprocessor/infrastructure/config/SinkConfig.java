@@ -0,0 +1,81 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Secondary sinks that receive a copy of every persisted lead. {@code channels} holds the
+ * buffering settings per sink name; sinks without an entry use the defaults from
+ * {@link #channel(String)}. {@code file} configures the rolling gzip file sink.
+ */
+@ConfigurationProperties(prefix = "lead.sinks")
+public record SinkConfig(
+        String spillDirectory,
+        Map<String, Channel> channels,
+        File file
+) {
+    public enum Overflow {
+        /** Drop the lead and count it. */
+        DROP,
+        /** Append the lead to a local spill file, replayed once the sink catches up. */
+        SPILL,
+        /** Hold the caller for up to {@code blockTimeout}, then drop. Delays the SQS ack. */
+        BLOCK
+    }
+
+    public record Channel(
+            Boolean enabled,
+            Integer capacity,
+            Integer batchSize,
+            Duration maxLinger,
+            Overflow overflow,
+            Duration blockTimeout
+    ) {}
+
+    public record File(
+            boolean enabled,
+            String directory,
+            long rollBytes
+    ) {
+        public File {
+            if (directory == null || directory.isBlank()) {
+                directory = "sinks/file";
+            }
+            if (rollBytes <= 0) {
+                rollBytes = 256L * 1024 * 1024;
+            }
+        }
+    }
+
+    public SinkConfig {
+        if (spillDirectory == null || spillDirectory.isBlank()) {
+            spillDirectory = "sinks/spill";
+        }
+        if (channels == null) {
+            channels = Map.of();
+        }
+        if (file == null) {
+            file = new File(false, null, 0);
+        }
+    }
+
+    /**
+     * Settings for the named sink with defaults filled in: enabled, 10000 buffered leads,
+     * batches of 500 lingering up to 1s, spilling on overflow, 100ms block timeout.
+     */
+    public Channel channel(String name) {
+        Channel channel = channels.get(name);
+        if (channel == null) {
+            channel = new Channel(null, null, null, null, null, null);
+        }
+        return new Channel(
+                channel.enabled() == null || channel.enabled(),
+                channel.capacity() != null && channel.capacity() > 0 ? channel.capacity() : 10_000,
+                channel.batchSize() != null && channel.batchSize() > 0 ? channel.batchSize() : 500,
+                channel.maxLinger() != null ? channel.maxLinger() : Duration.ofSeconds(1),
+                channel.overflow() != null ? channel.overflow() : Overflow.SPILL,
+                channel.blockTimeout() != null ? channel.blockTimeout() : Duration.ofMillis(100));
+    }
+}
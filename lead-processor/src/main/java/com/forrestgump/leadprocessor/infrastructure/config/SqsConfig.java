@@ -2,20 +2,29 @@ package com.forrestgump.leadprocessor.infrastructure.config;
 
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
-import io.github.resilience4j.retry.Retry;
-import io.github.resilience4j.retry.RetryConfig;
+import com.forrestgump.leadprocessor.infrastructure.faults.FaultInjectionInterceptor;
+import com.forrestgump.leadprocessor.infrastructure.messaging.FailureClassifier;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import com.forrestgump.leadprocessor.infrastructure.resilience.AimdRateController;
+import com.forrestgump.leadprocessor.infrastructure.resilience.BudgetedRetry;
+import com.forrestgump.leadprocessor.infrastructure.resilience.HedgedCall;
+import com.forrestgump.leadprocessor.infrastructure.resilience.RetryBudget;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
 import software.amazon.awssdk.services.sqs.batchmanager.SqsAsyncBatchManager;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 
 import java.net.URI;
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -23,6 +32,8 @@ import java.util.concurrent.ScheduledExecutorService;
 public class SqsConfig {
 
     private final AwsConfig awsConfig;
+    private final RetryBudgetConfig retryBudgetConfig;
+    private final ObjectProvider<FaultInjectionInterceptor> faultInjector;
 
     @Value("${aws.endpoint-url:#{null}}")
     private String endpointUrl;
@@ -33,14 +44,21 @@ public class SqsConfig {
     @Value("${aws.secret-access-key:#{null}}")
     private String secretAccessKey;
 
-    public SqsConfig(AwsConfig awsConfig) {
+    public SqsConfig(AwsConfig awsConfig, RetryBudgetConfig retryBudgetConfig,
+                     ObjectProvider<FaultInjectionInterceptor> faultInjector) {
         this.awsConfig = awsConfig;
+        this.retryBudgetConfig = retryBudgetConfig;
+        this.faultInjector = faultInjector;
     }
 
     @Bean
     public SqsAsyncClient sqsAsyncClient() {
         SqsAsyncClientBuilder builder = SqsAsyncClient.builder()
-                .region(Region.of(awsConfig.region()));
+                .region(Region.of(awsConfig.region()))
+                .overrideConfiguration(override -> {
+                    override.retryStrategy(AwsRetryStrategy.doNotRetry());
+                    faultInjector.ifAvailable(override::addExecutionInterceptor);
+                });
 
         if (endpointUrl != null) {
             builder.endpointOverride(URI.create(endpointUrl));
@@ -64,7 +82,9 @@ public class SqsConfig {
                         .maxBatchSize(10)
                         .sendRequestFrequency(Duration.ofSeconds(1))
                         .receiveMessageMinWaitDuration(Duration.ofSeconds(10))
-                        .receiveMessageVisibilityTimeout(Duration.ofSeconds(20)))
+                        .receiveMessageVisibilityTimeout(Duration.ofSeconds(20))
+                        .receiveMessageAttributeNames(List.of("All"))
+                        .receiveMessageSystemAttributeNames(List.of(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT)))
                 .build();
     }
 
@@ -80,31 +100,62 @@ public class SqsConfig {
     }
 
     @Bean(name = "sqsRetry")
-    public Retry sqsRetry() {
-        RetryConfig config = RetryConfig.custom()
-                .maxAttempts(3)
-                .waitDuration(Duration.ofSeconds(1))
-                .build();
-        return Retry.of("sqsRetry", config);
+    public BudgetedRetry sqsRetry(FailureClassifier failureClassifier, MetricsPublisher metricsPublisher) {
+        return budgetedRetry("sqs", failureClassifier, metricsPublisher);
     }
 
     @Bean(name = "dynamoCircuitBreaker")
-    public CircuitBreaker dynamoCircuitBreaker() {
-        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+    public CircuitBreaker dynamoCircuitBreaker(FailureClassifier failureClassifier) {
+        return CircuitBreaker.of("dynamoCircuitBreaker", dynamoCircuitBreakerConfig(failureClassifier));
+    }
+
+    /**
+     * Throttling is left to {@code dynamoWriteRate}, so it never counts towards opening the breaker.
+     * While the breaker is open the consumer stops polling and no call reaches it, so it must move
+     * to half-open on its own once the wait is over; otherwise nothing would ever probe Dynamo again.
+     */
+    public static CircuitBreakerConfig dynamoCircuitBreakerConfig(FailureClassifier failureClassifier) {
+        return CircuitBreakerConfig.custom()
+                .ignoreException(failureClassifier::isThrottle)
                 .slidingWindowSize(10)
                 .failureRateThreshold(50)
                 .waitDurationInOpenState(Duration.ofSeconds(15))
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
                 .permittedNumberOfCallsInHalfOpenState(5)
                 .build();
-        return CircuitBreaker.of("dynamoCircuitBreaker", config);
+    }
+
+    @Bean(name = "dynamoWriteRate")
+    public AimdRateController dynamoWriteRate(WritePacingConfig writePacingConfig, MetricsPublisher metricsPublisher) {
+        return new AimdRateController("dynamodb", writePacingConfig, metricsPublisher);
     }
 
     @Bean(name = "dynamoRetry")
-    public Retry dynamoRetry() {
-        RetryConfig config = RetryConfig.custom()
-                .maxAttempts(2)
-                .waitDuration(Duration.ofMillis(500))
-                .build();
-        return Retry.of("dynamoRetry", config);
+    public BudgetedRetry dynamoRetry(FailureClassifier failureClassifier, MetricsPublisher metricsPublisher) {
+        return budgetedRetry("dynamodb", failureClassifier, metricsPublisher);
+    }
+
+    @Bean(name = "kmsRetry")
+    public BudgetedRetry kmsRetry(FailureClassifier failureClassifier, MetricsPublisher metricsPublisher) {
+        return budgetedRetry("kms", failureClassifier, metricsPublisher);
+    }
+
+    @Bean(name = "kmsHedge")
+    public HedgedCall kmsHedge(HedgingConfig hedgingConfig, MetricsPublisher metricsPublisher) {
+        return new HedgedCall("kms", hedgingConfig, metricsPublisher);
+    }
+
+    @Bean(name = "dynamoHedge")
+    public HedgedCall dynamoHedge(HedgingConfig hedgingConfig, MetricsPublisher metricsPublisher) {
+        return new HedgedCall("dynamodb", hedgingConfig, metricsPublisher);
+    }
+
+    private BudgetedRetry budgetedRetry(String dependency, FailureClassifier failureClassifier,
+                                        MetricsPublisher metricsPublisher) {
+        RetryBudget budget = new RetryBudget(retryBudgetConfig.budgetRatio(),
+                retryBudgetConfig.minRetriesPerSecond(), retryBudgetConfig.budgetWindow());
+        return new BudgetedRetry(dependency, budget, retryBudgetConfig.maxAttempts(),
+                retryBudgetConfig.baseDelay(), retryBudgetConfig.maxDelay(),
+                failureClassifier::isRetryable, metricsPublisher);
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "lead.startup")
+public record StartupConfig(
+        boolean warmUp,
+        Duration warmUpTimeout
+) {
+    public StartupConfig {
+        if (warmUpTimeout == null) {
+            warmUpTimeout = Duration.ofSeconds(10);
+        }
+    }
+}
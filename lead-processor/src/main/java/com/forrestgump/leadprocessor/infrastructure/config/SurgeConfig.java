@@ -0,0 +1,42 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "lead.surge")
+public record SurgeConfig(
+        boolean enabled,
+        String calendar,
+        Duration leadTime,
+        Duration cooldown,
+        int prewarmConnections,
+        Profile baseline,
+        Profile surge
+) {
+    public record Profile(
+            int pollers,
+            int maxInFlight
+    ) {}
+
+    public SurgeConfig {
+        if (calendar == null || calendar.isBlank()) {
+            calendar = "classpath:surge/campaign-calendar.json";
+        }
+        if (leadTime == null) {
+            leadTime = Duration.ofMinutes(10);
+        }
+        if (cooldown == null) {
+            cooldown = Duration.ofMinutes(20);
+        }
+        if (prewarmConnections <= 0) {
+            prewarmConnections = 20;
+        }
+        if (baseline == null) {
+            baseline = new Profile(1, 50);
+        }
+        if (surge == null) {
+            surge = new Profile(4, 200);
+        }
+    }
+}
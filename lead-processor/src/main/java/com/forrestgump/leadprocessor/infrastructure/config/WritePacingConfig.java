@@ -0,0 +1,45 @@
+package com.forrestgump.leadprocessor.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "lead.write-pacing")
+public record WritePacingConfig(
+        boolean enabled,
+        double initialRatePerSecond,
+        double minRatePerSecond,
+        double maxRatePerSecond,
+        double additiveIncrease,
+        double multiplicativeDecrease,
+        Duration increaseInterval,
+        Duration decreaseCooldown,
+        Duration receiveHorizon
+) {
+    public WritePacingConfig {
+        if (initialRatePerSecond <= 0) {
+            initialRatePerSecond = 100;
+        }
+        if (minRatePerSecond <= 0) {
+            minRatePerSecond = 5;
+        }
+        if (maxRatePerSecond <= 0) {
+            maxRatePerSecond = 2000;
+        }
+        if (additiveIncrease <= 0) {
+            additiveIncrease = 5;
+        }
+        if (multiplicativeDecrease <= 0 || multiplicativeDecrease >= 1) {
+            multiplicativeDecrease = 0.5;
+        }
+        if (increaseInterval == null) {
+            increaseInterval = Duration.ofSeconds(1);
+        }
+        if (decreaseCooldown == null) {
+            decreaseCooldown = Duration.ofSeconds(1);
+        }
+        if (receiveHorizon == null) {
+            receiveHorizon = Duration.ofSeconds(5);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.forrestgump.leadprocessor.infrastructure.export;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadprocessor.infrastructure.exception.InfrastructureException;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Persists per-segment scan positions so an interrupted export can resume where it stopped.
+ *
+ * <p>The file is rewritten through a temporary file and an atomic move, so it is always either
+ * the previous or the new checkpoint, never a partial one.
+ */
+class ExportCheckpointStore {
+
+    record SegmentCheckpoint(Map<String, Map<String, String>> lastKey, long rows, boolean done) {}
+
+    record Checkpoint(int totalSegments, Map<Integer, SegmentCheckpoint> segments) {}
+
+    private static final TypeReference<Checkpoint> CHECKPOINT_TYPE = new TypeReference<>() {};
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final Map<Integer, SegmentCheckpoint> segments = new TreeMap<>();
+    private final int totalSegments;
+
+    ExportCheckpointStore(ObjectMapper objectMapper, Path file, int totalSegments) {
+        this.objectMapper = objectMapper;
+        this.file = file;
+        this.totalSegments = totalSegments;
+    }
+
+    /**
+     * Loads an existing checkpoint. Returns false, and starts from scratch, when there is none or it
+     * was written with a different segment count, because the segment boundaries would not line up.
+     */
+    synchronized boolean load() {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try {
+            Checkpoint checkpoint = objectMapper.readValue(file.toFile(), CHECKPOINT_TYPE);
+            if (checkpoint.totalSegments() != totalSegments) {
+                return false;
+            }
+            segments.putAll(checkpoint.segments());
+            return true;
+        } catch (IOException e) {
+            throw new InfrastructureException("Failed to read export checkpoint " + file, e);
+        }
+    }
+
+    synchronized void reset() {
+        segments.clear();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new InfrastructureException("Failed to delete export checkpoint " + file, e);
+        }
+    }
+
+    synchronized SegmentCheckpoint get(int segment) {
+        return segments.getOrDefault(segment, new SegmentCheckpoint(null, 0, false));
+    }
+
+    synchronized void save(int segment, Map<String, AttributeValue> lastKey, long rows, boolean done) {
+        segments.put(segment, new SegmentCheckpoint(encode(lastKey), rows, done));
+        try {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), new Checkpoint(totalSegments, segments));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new InfrastructureException("Failed to write export checkpoint " + file, e);
+        }
+    }
+
+    static Map<String, AttributeValue> decode(Map<String, Map<String, String>> key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+        Map<String, AttributeValue> decoded = new HashMap<>();
+        key.forEach((name, value) -> {
+            if (value.containsKey("S")) {
+                decoded.put(name, AttributeValue.fromS(value.get("S")));
+            } else if (value.containsKey("N")) {
+                decoded.put(name, AttributeValue.fromN(value.get("N")));
+            } else if (value.containsKey("B")) {
+                decoded.put(name, AttributeValue.fromB(SdkBytes.fromByteArray(
+                        Base64.getDecoder().decode(value.get("B")))));
+            }
+        });
+        return decoded;
+    }
+
+    private static Map<String, Map<String, String>> encode(Map<String, AttributeValue> key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+        Map<String, Map<String, String>> encoded = new HashMap<>();
+        key.forEach((name, value) -> {
+            if (value.s() != null) {
+                encoded.put(name, Map.of("S", value.s()));
+            } else if (value.n() != null) {
+                encoded.put(name, Map.of("N", value.n()));
+            } else if (value.b() != null) {
+                encoded.put(name, Map.of("B", Base64.getEncoder().encodeToString(value.b().asByteArray())));
+            }
+        });
+        return encoded;
+    }
+}
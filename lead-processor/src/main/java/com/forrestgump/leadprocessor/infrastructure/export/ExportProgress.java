@@ -0,0 +1,21 @@
+package com.forrestgump.leadprocessor.infrastructure.export;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ExportProgress(
+        boolean running,
+        Instant startedAt,
+        Instant finishedAt,
+        long rows,
+        double rowsPerSecond,
+        double consumedCapacity,
+        List<Segment> segments
+) {
+    public record Segment(
+            int segment,
+            long rows,
+            double rowsPerSecond,
+            boolean done
+    ) {}
+}
@@ -0,0 +1,354 @@
+package com.forrestgump.leadprocessor.infrastructure.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadprocessor.infrastructure.config.AwsConfig;
+import com.forrestgump.leadprocessor.infrastructure.config.ExportConfig;
+import com.forrestgump.leadprocessor.infrastructure.exception.InfrastructureException;
+import com.forrestgump.leadprocessor.infrastructure.io.RollingNdjsonWriter;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import com.forrestgump.leadprocessor.infrastructure.resilience.BudgetedRetry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Streams the Leads table to gzip NDJSON files with a parallel {@code Scan}.
+ *
+ * <p>Each of {@code lead.export.segments} segments scans its slice of the table into its own
+ * rolling file set, so segments never contend on a writer. Pages are charged against a shared
+ * read-capacity budget of {@code lead.export.max-read-capacity-per-second}, using the capacity
+ * DynamoDB reports for the page, so the export cannot starve live writes. After a page is
+ * flushed to disk the segment's {@code LastEvaluatedKey} is checkpointed; a resumed export
+ * continues from there and may repeat at most the page that was in flight. A fresh export first
+ * removes the part files a previous one left in the output directory.
+ *
+ * <p>The plaintext {@code cpf} attribute is never exported; only {@code encryptedCpf} and
+ * {@code salt} leave the table.
+ */
+@Component
+public class LeadTableExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadTableExporter.class);
+    private static final String CHECKPOINT_FILE = "checkpoint.json";
+    private static final String PART_PREFIX = "leads-seg";
+    private static final String EXCLUDED_ATTRIBUTE = "cpf";
+    private static final Duration CAPACITY_TIMEOUT = Duration.ofMinutes(5);
+
+    private final DynamoDbAsyncClient dynamoDbAsyncClient;
+    private final ObjectMapper objectMapper;
+    private final MetricsPublisher metricsPublisher;
+    private final BudgetedRetry dynamoRetry;
+    private final ExportConfig config;
+    private final String tableName;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final DoubleAdder consumedCapacity = new DoubleAdder();
+    private volatile AtomicLongArray segmentRows = new AtomicLongArray(0);
+    private volatile AtomicLongArray segmentResumedRows = new AtomicLongArray(0);
+    private volatile AtomicLongArray segmentFinishedNanos = new AtomicLongArray(0);
+    private volatile long startedNanos;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile Disposable subscription;
+
+    public LeadTableExporter(DynamoDbAsyncClient dynamoDbAsyncClient, ObjectMapper objectMapper,
+                             MetricsPublisher metricsPublisher, @Qualifier("dynamoRetry") BudgetedRetry dynamoRetry,
+                             ExportConfig config, AwsConfig awsConfig) {
+        this.dynamoDbAsyncClient = dynamoDbAsyncClient;
+        this.objectMapper = objectMapper;
+        this.metricsPublisher = metricsPublisher;
+        this.dynamoRetry = dynamoRetry;
+        this.config = config;
+        this.tableName = awsConfig.dynamodb().tableName();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnBoot() {
+        if (config.onStartup()) {
+            logger.info("Export on startup enabled, resuming from checkpoint if present");
+            start(true);
+        }
+    }
+
+    public synchronized ExportProgress start(boolean resume) {
+        if (running.get()) {
+            logger.warn("Export already running, ignoring start request");
+            return progress();
+        }
+        int segments = config.segments();
+        Path directory = Path.of(config.outputDirectory());
+        ExportCheckpointStore checkpoints = new ExportCheckpointStore(
+                objectMapper, directory.resolve(CHECKPOINT_FILE), segments);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new InfrastructureException("Failed to create export directory " + directory, e);
+        }
+        if (!resume || !checkpoints.load()) {
+            checkpoints.reset();
+            clearPreviousParts(directory);
+        }
+
+        segmentRows = new AtomicLongArray(segments);
+        segmentResumedRows = new AtomicLongArray(segments);
+        segmentFinishedNanos = new AtomicLongArray(segments);
+        consumedCapacity.reset();
+        startedNanos = System.nanoTime();
+        startedAt = Instant.now();
+        finishedAt = null;
+        running.set(true);
+
+        RateLimiter capacityLimiter = RateLimiter.of("leadExport", RateLimiterConfig.custom()
+                .limitForPeriod(config.maxReadCapacityPerSecond())
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(CAPACITY_TIMEOUT)
+                .build());
+
+        logger.info("Starting export of {}, segments: {}, maxReadCapacityPerSecond: {}, directory: {}",
+                tableName, segments, config.maxReadCapacityPerSecond(), directory.toAbsolutePath());
+        subscription = Flux.range(0, segments)
+                .flatMap(segment -> exportSegment(segment, segments, directory, checkpoints, capacityLimiter), segments)
+                .doFinally(signal -> {
+                    running.set(false);
+                    finishedAt = Instant.now();
+                    ExportProgress progress = progress();
+                    logger.info("Export of {} finished ({}), rows: {}, rowsPerSecond: {}",
+                            tableName, signal, progress.rows(), String.format("%.1f", progress.rowsPerSecond()));
+                })
+                .subscribe(v -> { }, e -> logger.error("Export of {} aborted: {}", tableName, e.getMessage()));
+        return progress();
+    }
+
+    public synchronized ExportProgress stop() {
+        Disposable current = subscription;
+        if (current != null && !current.isDisposed()) {
+            logger.info("Stopping export on request, progress is kept in the checkpoint");
+            current.dispose();
+        }
+        return progress();
+    }
+
+    public ExportProgress progress() {
+        long now = System.nanoTime();
+        AtomicLongArray rows = segmentRows;
+        List<ExportProgress.Segment> segments = new ArrayList<>(rows.length());
+        long total = 0;
+        for (int i = 0; i < rows.length(); i++) {
+            long exported = rows.get(i) - segmentResumedRows.get(i);
+            long finished = segmentFinishedNanos.get(i);
+            segments.add(new ExportProgress.Segment(i, rows.get(i),
+                    perSecond(exported, (finished != 0 ? finished : now) - startedNanos), finished != 0));
+            total += exported;
+        }
+        long elapsed = (finishedAt != null ? maxFinished(segmentFinishedNanos, now) : now) - startedNanos;
+        return new ExportProgress(running.get(), startedAt, finishedAt, total,
+                startedAt == null ? 0 : perSecond(total, elapsed), consumedCapacity.sum(), segments);
+    }
+
+    /**
+     * Removes the part files of an earlier export, since {@link RollingNdjsonWriter} numbers new
+     * parts after existing ones and a fresh export would otherwise be mixed into them.
+     */
+    private void clearPreviousParts(Path directory) {
+        try (var files = Files.list(directory)) {
+            List<Path> parts = files
+                    .filter(path -> path.getFileName().toString().startsWith(PART_PREFIX))
+                    .toList();
+            for (Path part : parts) {
+                Files.delete(part);
+            }
+            if (!parts.isEmpty()) {
+                logger.info("Fresh export, removed {} part files of the previous export from {}", parts.size(), directory);
+            }
+        } catch (IOException e) {
+            throw new InfrastructureException("Failed to clear previous export from " + directory, e);
+        }
+    }
+
+    private Mono<Void> exportSegment(int segment, int totalSegments, Path directory,
+                                     ExportCheckpointStore checkpoints, RateLimiter capacityLimiter) {
+        ExportCheckpointStore.SegmentCheckpoint checkpoint = checkpoints.get(segment);
+        segmentRows.set(segment, checkpoint.rows());
+        segmentResumedRows.set(segment, checkpoint.rows());
+        if (checkpoint.done()) {
+            segmentFinishedNanos.set(segment, System.nanoTime());
+            logger.info("Export segment {} already complete in checkpoint, skipping", segment);
+            return Mono.empty();
+        }
+        return Mono.using(
+                () -> new RollingNdjsonWriter(directory, String.format(PART_PREFIX + "%03d", segment), config.rollBytes()),
+                writer -> scanFrom(segment, totalSegments, ExportCheckpointStore.decode(checkpoint.lastKey()),
+                        writer, checkpoints, capacityLimiter),
+                writer -> {
+                    try {
+                        writer.close();
+                    } catch (IOException e) {
+                        logger.error("Failed to close export writer for segment {}: {}", segment, e.getMessage());
+                    }
+                });
+    }
+
+    private Mono<Void> scanFrom(int segment, int totalSegments, Map<String, AttributeValue> startKey,
+                                RollingNdjsonWriter writer, ExportCheckpointStore checkpoints,
+                                RateLimiter capacityLimiter) {
+        ScanRequest request = ScanRequest.builder()
+                .tableName(tableName)
+                .segment(segment)
+                .totalSegments(totalSegments)
+                .limit(config.pageSize())
+                .exclusiveStartKey(startKey)
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                .build();
+        return dynamoRetry.execute(() -> Mono.fromFuture(() -> dynamoDbAsyncClient.scan(request)))
+                .publishOn(Schedulers.boundedElastic())
+                .flatMap(response -> {
+                    writePage(segment, response, writer, checkpoints);
+                    return chargeCapacity(response, capacityLimiter).thenReturn(response);
+                })
+                .flatMap(response -> hasMore(response)
+                        ? scanFrom(segment, totalSegments, response.lastEvaluatedKey(), writer, checkpoints, capacityLimiter)
+                        : Mono.<Void>fromRunnable(() -> finishSegment(segment, writer, checkpoints)));
+    }
+
+    private void writePage(int segment, ScanResponse response, RollingNdjsonWriter writer,
+                           ExportCheckpointStore checkpoints) {
+        try {
+            for (Map<String, AttributeValue> item : response.items()) {
+                writer.write(toJson(item));
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new InfrastructureException("Failed to write export segment " + segment, e);
+        }
+        long rows = segmentRows.addAndGet(segment, response.items().size());
+        metricsPublisher.incrementExportedRows(segment, response.items().size());
+        if (hasMore(response)) {
+            checkpoints.save(segment, response.lastEvaluatedKey(), rows, false);
+        }
+    }
+
+    private void finishSegment(int segment, RollingNdjsonWriter writer, ExportCheckpointStore checkpoints) {
+        checkpoints.save(segment, null, segmentRows.get(segment), true);
+        segmentFinishedNanos.set(segment, System.nanoTime());
+        long exported = segmentRows.get(segment) - segmentResumedRows.get(segment);
+        logger.info("Export segment {} complete, rows: {}, rowsPerSecond: {}", segment, segmentRows.get(segment),
+                String.format("%.1f", perSecond(exported, System.nanoTime() - startedNanos)));
+    }
+
+    private Mono<Void> chargeCapacity(ScanResponse response, RateLimiter capacityLimiter) {
+        double units = response.consumedCapacity() != null && response.consumedCapacity().capacityUnits() != null
+                ? response.consumedCapacity().capacityUnits()
+                : 0;
+        consumedCapacity.add(units);
+        metricsPublisher.incrementExportCapacity(units);
+        int permits = Math.min((int) Math.ceil(units), config.maxReadCapacityPerSecond());
+        if (permits == 0) {
+            return Mono.empty();
+        }
+        long waitNanos = capacityLimiter.reservePermission(permits);
+        if (waitNanos < 0) {
+            return Mono.error(new InfrastructureException("Export read capacity not available within "
+                    + CAPACITY_TIMEOUT, null));
+        }
+        return waitNanos == 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(waitNanos)).then();
+    }
+
+    private byte[] toJson(Map<String, AttributeValue> item) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer)) {
+            generator.writeStartObject();
+            for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+                if (EXCLUDED_ATTRIBUTE.equals(attribute.getKey())) {
+                    continue;
+                }
+                generator.writeFieldName(attribute.getKey());
+                writeValue(generator, attribute.getValue());
+            }
+            generator.writeEndObject();
+        }
+        return buffer.toByteArray();
+    }
+
+    private void writeValue(JsonGenerator generator, AttributeValue value) throws IOException {
+        if (value.s() != null) {
+            generator.writeString(value.s());
+        } else if (value.n() != null) {
+            generator.writeNumber(value.n());
+        } else if (value.bool() != null) {
+            generator.writeBoolean(value.bool());
+        } else if (value.b() != null) {
+            generator.writeBinary(value.b().asByteArray());
+        } else if (value.hasM()) {
+            generator.writeStartObject();
+            for (Map.Entry<String, AttributeValue> entry : value.m().entrySet()) {
+                generator.writeFieldName(entry.getKey());
+                writeValue(generator, entry.getValue());
+            }
+            generator.writeEndObject();
+        } else if (value.hasL()) {
+            generator.writeStartArray();
+            for (AttributeValue element : value.l()) {
+                writeValue(generator, element);
+            }
+            generator.writeEndArray();
+        } else if (value.hasSs()) {
+            generator.writeStartArray();
+            for (String element : value.ss()) {
+                generator.writeString(element);
+            }
+            generator.writeEndArray();
+        } else if (value.hasNs()) {
+            generator.writeStartArray();
+            for (String element : value.ns()) {
+                generator.writeNumber(element);
+            }
+            generator.writeEndArray();
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    private static boolean hasMore(ScanResponse response) {
+        return response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty();
+    }
+
+    private static long maxFinished(AtomicLongArray finished, long fallback) {
+        long max = 0;
+        for (int i = 0; i < finished.length(); i++) {
+            max = Math.max(max, finished.get(i));
+        }
+        return max == 0 ? fallback : max;
+    }
+
+    private static double perSecond(long rows, long elapsedNanos) {
+        return elapsedNanos <= 0 ? 0 : rows / (elapsedNanos / 1_000_000_000.0);
+    }
+}
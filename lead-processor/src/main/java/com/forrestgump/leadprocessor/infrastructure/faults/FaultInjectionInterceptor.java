@@ -0,0 +1,185 @@
+package com.forrestgump.leadprocessor.infrastructure.faults;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadprocessor.infrastructure.config.FaultsConfig;
+import com.forrestgump.leadprocessor.infrastructure.exception.InfrastructureException;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * SDK interceptor that injects latency, throttling and errors into the AWS clients, driven by a
+ * {@link FaultScenario}.
+ *
+ * <p>Only created when {@code lead.faults.enabled=true}; otherwise no interceptor is attached to
+ * the clients at all. Errors and throttles are raised before the request is sent, so they look
+ * like service responses to retries, breakers and the failure classifier. Latency is added by
+ * delaying the response body, which keeps the SDK's async threads free while a call is slowed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "lead.faults", name = "enabled", havingValue = "true")
+public class FaultInjectionInterceptor implements ExecutionInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(FaultInjectionInterceptor.class);
+    private static final ExecutionAttribute<Duration> INJECTED_LATENCY = new ExecutionAttribute<>("InjectedLatency");
+    private static final double Z_99 = 2.326;
+
+    private final ObjectMapper objectMapper;
+    private final MetricsPublisher metricsPublisher;
+    private final ResourceLoader resourceLoader = new DefaultResourceLoader();
+    private final SplittableRandom seedSource;
+    private final ThreadLocal<SplittableRandom> random;
+    private volatile FaultScenario scenario;
+
+    public FaultInjectionInterceptor(ObjectMapper objectMapper, MetricsPublisher metricsPublisher,
+                                     FaultsConfig config) {
+        this.objectMapper = objectMapper;
+        this.metricsPublisher = metricsPublisher;
+        this.seedSource = config.seed() != 0 ? new SplittableRandom(config.seed()) : new SplittableRandom();
+        this.random = ThreadLocal.withInitial(this::nextRandom);
+        if (config.scenario() != null) {
+            activate(config.scenario());
+        }
+    }
+
+    public FaultScenario activate(String location) {
+        FaultScenario loaded = load(location);
+        scenario = loaded;
+        logger.warn("Fault injection ACTIVE, scenario: {} ({} rules) from {}",
+                loaded.name(), loaded.rules().size(), location);
+        return loaded;
+    }
+
+    public void deactivate() {
+        if (scenario != null) {
+            logger.warn("Fault injection deactivated, scenario: {}", scenario.name());
+        }
+        scenario = null;
+    }
+
+    public Optional<FaultScenario> activeScenario() {
+        return Optional.ofNullable(scenario);
+    }
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        FaultScenario current = scenario;
+        if (current == null) {
+            return;
+        }
+        String service = executionAttributes.getAttribute(SdkExecutionAttribute.SERVICE_NAME);
+        String operation = executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        for (FaultScenario.FaultRule rule : current.rules()) {
+            if (rule.matches(service, operation)) {
+                inject(rule, service, operation, executionAttributes);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public Optional<Publisher<ByteBuffer>> modifyAsyncHttpResponseContent(Context.ModifyHttpResponse context,
+                                                                          ExecutionAttributes executionAttributes) {
+        Duration latency = executionAttributes.getAttribute(INJECTED_LATENCY);
+        Optional<Publisher<ByteBuffer>> content = context.responsePublisher();
+        if (latency == null || content.isEmpty()) {
+            return content;
+        }
+        return Optional.of(Flux.from(content.get()).delaySubscription(latency));
+    }
+
+    private void inject(FaultScenario.FaultRule rule, String service, String operation,
+                        ExecutionAttributes executionAttributes) {
+        SplittableRandom rnd = random.get();
+        if (rule.throttleRate() > 0 && rnd.nextDouble() < rule.throttleRate()) {
+            metricsPublisher.incrementInjectedFault(service, operation, "throttle");
+            throw serviceException(service, operation, 400, "ThrottlingException");
+        }
+        if (rule.errorRate() > 0 && rnd.nextDouble() < rule.errorRate()) {
+            metricsPublisher.incrementInjectedFault(service, operation, "error");
+            throw serviceException(service, operation, rule.errorStatus(),
+                    rule.errorStatus() == 503 ? "ServiceUnavailable" : "InternalServerError");
+        }
+        if (rule.latency() != null) {
+            long millis = sampleLatency(rule.latency(), rnd);
+            if (millis > 0) {
+                metricsPublisher.incrementInjectedFault(service, operation, "latency");
+                executionAttributes.putAttribute(INJECTED_LATENCY, Duration.ofMillis(millis));
+            }
+        }
+    }
+
+    private long sampleLatency(FaultScenario.Latency latency, SplittableRandom rnd) {
+        return switch (latency.distribution()) {
+            case FIXED -> latency.medianMs();
+            case UNIFORM -> latency.maxMs() > latency.minMs()
+                    ? rnd.nextLong(latency.minMs(), latency.maxMs() + 1)
+                    : latency.minMs();
+            case LOG_NORMAL -> {
+                if (latency.medianMs() <= 0) {
+                    yield 0;
+                }
+                double mu = Math.log(latency.medianMs());
+                double sigma = latency.p99Ms() > latency.medianMs()
+                        ? (Math.log(latency.p99Ms()) - mu) / Z_99
+                        : 0;
+                long sample = Math.round(Math.exp(mu + sigma * gaussian(rnd)));
+                yield latency.maxMs() > 0 ? Math.min(sample, latency.maxMs()) : sample;
+            }
+        };
+    }
+
+    private static double gaussian(SplittableRandom rnd) {
+        double u1 = 1.0 - rnd.nextDouble();
+        double u2 = rnd.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private static AwsServiceException serviceException(String service, String operation, int status, String code) {
+        return AwsServiceException.builder()
+                .statusCode(status)
+                .message("Injected fault for " + service + "." + operation)
+                .awsErrorDetails(AwsErrorDetails.builder()
+                        .serviceName(service)
+                        .errorCode(code)
+                        .errorMessage("Injected fault")
+                        .build())
+                .build();
+    }
+
+    private FaultScenario load(String location) {
+        String resolved = location.contains(":") ? location : "classpath:faults/" + location
+                + (location.endsWith(".json") ? "" : ".json");
+        Resource resource = resourceLoader.getResource(resolved);
+        try (InputStream in = resource.getInputStream()) {
+            return objectMapper.readValue(in, FaultScenario.class);
+        } catch (IOException e) {
+            throw new InfrastructureException("Failed to load fault scenario " + resolved, e);
+        }
+    }
+
+    private synchronized SplittableRandom nextRandom() {
+        return seedSource.split();
+    }
+}
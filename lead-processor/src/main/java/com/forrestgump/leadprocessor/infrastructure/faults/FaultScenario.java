@@ -0,0 +1,69 @@
+package com.forrestgump.leadprocessor.infrastructure.faults;
+
+import java.util.List;
+
+/**
+ * A named set of fault rules, loaded from a JSON scenario file such as
+ * {@code classpath:faults/kms-slow.json}.
+ */
+public record FaultScenario(
+        String name,
+        String description,
+        List<FaultRule> rules
+) {
+    public FaultScenario {
+        rules = rules == null ? List.of() : List.copyOf(rules);
+    }
+
+    /**
+     * Faults for calls to {@code service} (SDK service name, e.g. {@code DynamoDb}, {@code Kms},
+     * {@code Sqs}) and {@code operation} (e.g. {@code PutItem}), either of which may be {@code *}.
+     * The first matching rule applies.
+     */
+    public record FaultRule(
+            String service,
+            String operation,
+            Latency latency,
+            double throttleRate,
+            double errorRate,
+            int errorStatus
+    ) {
+        public FaultRule {
+            if (service == null || service.isBlank()) {
+                service = "*";
+            }
+            if (operation == null || operation.isBlank()) {
+                operation = "*";
+            }
+            if (errorStatus <= 0) {
+                errorStatus = 500;
+            }
+        }
+
+        boolean matches(String serviceName, String operationName) {
+            return ("*".equals(service) || service.equalsIgnoreCase(serviceName))
+                    && ("*".equals(operation) || operation.equalsIgnoreCase(operationName));
+        }
+    }
+
+    /**
+     * Added latency. {@code FIXED} waits {@code medianMs}, {@code UNIFORM} draws between
+     * {@code minMs} and {@code maxMs}, and {@code LOG_NORMAL} is fitted to {@code medianMs} and
+     * {@code p99Ms}, which gives the long tail real dependencies show when they degrade.
+     */
+    public record Latency(
+            Distribution distribution,
+            long minMs,
+            long maxMs,
+            long medianMs,
+            long p99Ms
+    ) {
+        public enum Distribution {FIXED, UNIFORM, LOG_NORMAL}
+
+        public Latency {
+            if (distribution == null) {
+                distribution = Distribution.FIXED;
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.forrestgump.leadprocessor.infrastructure.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes newline-delimited records to gzip files through a {@link FileChannel}, starting a new
+ * part file once the current one has taken {@code rollBytes} of uncompressed data.
+ *
+ * <p>Files are named {@code <prefix>-<part>.ndjson.gz}. Numbering continues after the highest
+ * existing part, so a resumed run never overwrites the output of an earlier one. {@link #flush()}
+ * sync-flushes the gzip stream and forces the channel, so everything written before it survives
+ * a crash.
+ */
+public class RollingNdjsonWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final Path directory;
+    private final String prefix;
+    private final long rollBytes;
+    private int part;
+    private long bytesInPart;
+    private FileChannel channel;
+    private OutputStream out;
+
+    public RollingNdjsonWriter(Path directory, String prefix, long rollBytes) throws IOException {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.rollBytes = rollBytes;
+        Files.createDirectories(directory);
+        this.part = nextPart();
+    }
+
+    public synchronized void write(byte[] record) throws IOException {
+        if (out == null || bytesInPart >= rollBytes) {
+            roll();
+        }
+        out.write(record);
+        out.write('\n');
+        bytesInPart += record.length + 1;
+    }
+
+    public synchronized void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeCurrent();
+    }
+
+    private void roll() throws IOException {
+        closeCurrent();
+        Path file = directory.resolve(String.format("%s-%05d.ndjson.gz", prefix, part++));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        out = new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE, true);
+        bytesInPart = 0;
+    }
+
+    private void closeCurrent() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+            channel = null;
+        }
+    }
+
+    private int nextPart() throws IOException {
+        String filePrefix = prefix + "-";
+        try (var files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(filePrefix) && name.endsWith(".ndjson.gz"))
+                    .map(name -> name.substring(filePrefix.length(), name.length() - ".ndjson.gz".length()))
+                    .filter(number -> number.chars().allMatch(Character::isDigit) && !number.isEmpty())
+                    .mapToInt(Integer::parseInt)
+                    .max()
+                    .orElse(-1) + 1;
+        }
+    }
+}
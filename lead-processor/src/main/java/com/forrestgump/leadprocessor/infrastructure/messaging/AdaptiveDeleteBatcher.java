@@ -0,0 +1,199 @@
+package com.forrestgump.leadprocessor.infrastructure.messaging;
+
+import com.forrestgump.leadprocessor.infrastructure.config.BatchingConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Batches message deletes into {@code DeleteMessageBatch} calls with the same adaptive linger as
+ * lead-api's publishes: deletes go out immediately when messages trickle in and in full batches
+ * under load, never waiting longer than {@code lead.batching.max-linger}.
+ */
+@Component
+public class AdaptiveDeleteBatcher {
+
+    private static final String OPERATION = "delete";
+    private final SqsAsyncClient sqsAsyncClient;
+    private final MetricsPublisher metricsPublisher;
+    private final LingerPolicy policy;
+    private final ScheduledExecutorService lingerTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sqs-delete-linger");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Batch> open = new HashMap<>();
+
+    public AdaptiveDeleteBatcher(SqsAsyncClient sqsAsyncClient, MetricsPublisher metricsPublisher, BatchingConfig config) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.metricsPublisher = metricsPublisher;
+        this.policy = new LingerPolicy(config.maxBatchSize(), config.maxLinger());
+        metricsPublisher.registerGauge("sqs.batch.linger.target_ms", () -> policy.linger().toNanos() / 1_000_000.0,
+                "operation", OPERATION);
+    }
+
+    public CompletableFuture<Void> deleteMessage(String queueUrl, String receiptHandle) {
+        Entry entry = new Entry(receiptHandle, System.nanoTime());
+        Batch ready = null;
+        synchronized (this) {
+            policy.recordArrival(entry.enqueuedNanos);
+            Batch batch = open.get(queueUrl);
+            if (batch == null) {
+                batch = new Batch(queueUrl, entry.enqueuedNanos);
+                Duration linger = policy.linger();
+                if (!linger.isZero()) {
+                    Batch lingering = batch;
+                    batch.timer = lingerTimer.schedule(() -> expire(lingering), linger.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                open.put(queueUrl, batch);
+            }
+            batch.entries.add(entry);
+            if (batch.timer == null || batch.entries.size() >= policy.maxBatchSize()) {
+                ready = close(batch);
+            }
+        }
+        if (ready != null) {
+            send(ready);
+        }
+        return entry.result;
+    }
+
+    private void expire(Batch batch) {
+        synchronized (this) {
+            if (open.get(batch.queueUrl) != batch) {
+                return;
+            }
+            close(batch);
+        }
+        send(batch);
+    }
+
+    /**
+     * Must be called holding the lock.
+     */
+    private Batch close(Batch batch) {
+        open.remove(batch.queueUrl, batch);
+        if (batch.timer != null) {
+            batch.timer.cancel(false);
+        }
+        return batch;
+    }
+
+    private void send(Batch batch) {
+        metricsPublisher.recordBatch(OPERATION, batch.entries.size(), policy.maxBatchSize(),
+                Duration.ofNanos(System.nanoTime() - batch.openedNanos));
+        List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(batch.entries.size());
+        for (int i = 0; i < batch.entries.size(); i++) {
+            entries.add(DeleteMessageBatchRequestEntry.builder()
+                    .id(Integer.toString(i))
+                    .receiptHandle(batch.entries.get(i).receiptHandle)
+                    .build());
+        }
+        sqsAsyncClient.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                        .queueUrl(batch.queueUrl)
+                        .entries(entries)
+                        .build())
+                .whenComplete((response, error) -> complete(batch, response, error));
+    }
+
+    private void complete(Batch batch, DeleteMessageBatchResponse response, Throwable error) {
+        if (error != null) {
+            batch.entries.forEach(entry -> finish(entry, error));
+            return;
+        }
+        Set<String> succeeded = response.successful().stream()
+                .map(DeleteMessageBatchResultEntry::id)
+                .collect(Collectors.toSet());
+        Map<String, BatchResultErrorEntry> failed = new HashMap<>();
+        response.failed().forEach(result -> failed.put(result.id(), result));
+        for (int i = 0; i < batch.entries.size(); i++) {
+            String id = Integer.toString(i);
+            finish(batch.entries.get(i), succeeded.contains(id) ? null : entryFailure(failed.get(id)));
+        }
+    }
+
+    private void finish(Entry entry, Throwable error) {
+        metricsPublisher.recordBatchEntryLatency(OPERATION, error == null ? "success" : "error",
+                Duration.ofNanos(System.nanoTime() - entry.enqueuedNanos));
+        if (error == null) {
+            entry.result.complete(null);
+        } else {
+            entry.result.completeExceptionally(error);
+        }
+    }
+
+    private SqsException entryFailure(BatchResultErrorEntry failure) {
+        if (failure == null) {
+            return (SqsException) SqsException.builder()
+                    .message("Batch entry missing from DeleteMessageBatch response")
+                    .statusCode(500)
+                    .build();
+        }
+        return (SqsException) SqsException.builder()
+                .message(failure.message())
+                .statusCode(Boolean.TRUE.equals(failure.senderFault()) ? 400 : 500)
+                .awsErrorDetails(AwsErrorDetails.builder()
+                        .errorCode(failure.code())
+                        .errorMessage(failure.message())
+                        .serviceName("Sqs")
+                        .build())
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        List<Batch> remaining;
+        synchronized (this) {
+            remaining = new ArrayList<>(open.values());
+            remaining.forEach(this::close);
+        }
+        remaining.forEach(this::send);
+        lingerTimer.shutdown();
+    }
+
+    private static final class Batch {
+
+        final String queueUrl;
+        final long openedNanos;
+        final List<Entry> entries = new ArrayList<>(10);
+        ScheduledFuture<?> timer;
+
+        Batch(String queueUrl, long openedNanos) {
+            this.queueUrl = queueUrl;
+            this.openedNanos = openedNanos;
+        }
+    }
+
+    private static final class Entry {
+
+        final String receiptHandle;
+        final long enqueuedNanos;
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        Entry(String receiptHandle, long enqueuedNanos) {
+            this.receiptHandle = receiptHandle;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.forrestgump.leadprocessor.infrastructure.messaging;
+
+import com.forrestgump.leadprocessor.infrastructure.config.ConsumerConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tells {@link SqsLeadConsumer} how many messages it may receive, based on the state of the
+ * downstream circuit breakers.
+ *
+ * <p>While any downstream breaker is open the consumer is paused and receives nothing. When a
+ * breaker goes half-open only {@code lead.consumer.probe-batch-size} messages are let through per
+ * poll, and once every breaker is closed again the batch size doubles on each poll until it is
+ * back at {@code lead.consumer.max-batch-size}.
+ */
+@Component
+public class BreakerAwareConsumerGate {
+
+    private static final Logger logger = LoggerFactory.getLogger(BreakerAwareConsumerGate.class);
+    private final List<CircuitBreaker> downstreamBreakers;
+    private final MetricsPublisher metricsPublisher;
+    private final int probeBatchSize;
+    private final int maxBatchSize;
+    private int rampBatchSize;
+    private long pausedSinceNanos = -1;
+
+    public BreakerAwareConsumerGate(@Qualifier("dynamoCircuitBreaker") CircuitBreaker dynamoCircuitBreaker,
+                                    MetricsPublisher metricsPublisher, ConsumerConfig consumerConfig) {
+        this.downstreamBreakers = List.of(dynamoCircuitBreaker);
+        this.metricsPublisher = metricsPublisher;
+        this.probeBatchSize = consumerConfig.probeBatchSize();
+        this.maxBatchSize = consumerConfig.maxBatchSize();
+        this.rampBatchSize = maxBatchSize;
+        downstreamBreakers.forEach(breaker -> breaker.getEventPublisher()
+                .onStateTransition(event -> onTransition(event.getCircuitBreakerName(), event.getStateTransition())));
+        metricsPublisher.registerGauge("sqs.consumer.paused", () -> isPaused() ? 1 : 0);
+    }
+
+    public boolean isPaused() {
+        return downstreamBreakers.stream().anyMatch(breaker -> isOpen(breaker.getState()));
+    }
+
+    /**
+     * Returns the number of messages the next poll may receive, advancing the ramp-up after a
+     * breaker has closed. Zero means the consumer is paused.
+     */
+    public synchronized int nextBatchSize() {
+        if (isPaused()) {
+            return 0;
+        }
+        if (downstreamBreakers.stream().anyMatch(breaker -> breaker.getState() == CircuitBreaker.State.HALF_OPEN)) {
+            return probeBatchSize;
+        }
+        int batchSize = rampBatchSize;
+        rampBatchSize = Math.min(maxBatchSize, rampBatchSize * 2);
+        return batchSize;
+    }
+
+    private synchronized void onTransition(String breakerName, CircuitBreaker.StateTransition transition) {
+        CircuitBreaker.State toState = transition.getToState();
+        if (isOpen(toState) && pausedSinceNanos < 0) {
+            pausedSinceNanos = System.nanoTime();
+            logger.warn("Circuit breaker {} is {}, pausing SQS consumption", breakerName, toState);
+        } else if (!isPaused() && pausedSinceNanos >= 0) {
+            Duration paused = Duration.ofNanos(System.nanoTime() - pausedSinceNanos);
+            pausedSinceNanos = -1;
+            metricsPublisher.recordConsumerPause(paused);
+            logger.info("Circuit breaker {} is {}, resuming SQS consumption after {}", breakerName, toState, paused);
+        }
+        if (toState == CircuitBreaker.State.HALF_OPEN || isOpen(toState)) {
+            rampBatchSize = probeBatchSize;
+        }
+    }
+
+    private boolean isOpen(CircuitBreaker.State state) {
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+}
@@ -0,0 +1,330 @@
+package com.forrestgump.leadprocessor.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadprocessor.application.usecase.ProcessLeadUseCase;
+import com.forrestgump.leadprocessor.domain.model.LeadSubmission;
+import com.forrestgump.leadprocessor.infrastructure.config.AwsConfig;
+import com.forrestgump.leadprocessor.infrastructure.config.RedriveConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import com.forrestgump.leadprocessor.infrastructure.persistence.LeadParkingStore;
+import com.forrestgump.leadprocessor.infrastructure.resilience.BudgetedRetry;
+import com.forrestgump.leadprocessor.infrastructure.tracing.Span;
+import com.forrestgump.leadprocessor.infrastructure.tracing.TraceContext;
+import com.forrestgump.leadprocessor.infrastructure.tracing.Tracer;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains {@code lead-queue-dlq} back through {@link ProcessLeadUseCase}.
+ *
+ * <p>Receivers poll the DLQ in parallel, every message takes a permit from a rate limiter
+ * capped at {@code lead.redrive.max-rate-per-second}, and the engine backs off while the
+ * live queues together have a backlog above {@code lead.redrive.live-backlog-threshold}. Messages that
+ * still fail are written to the {@link LeadParkingStore} before being removed from the DLQ.
+ */
+@Component
+public class DlqRedriveEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(DlqRedriveEngine.class);
+    private static final Duration PERMIT_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration LIVE_BACKLOG_CACHE = Duration.ofSeconds(5);
+    private static final Duration RECEIVE_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_RECEIVE_BACKOFF = Duration.ofSeconds(30);
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final QueueUrlResolver queueUrlResolver;
+    private final ObjectMapper objectMapper;
+    private final ProcessLeadUseCase processLeadUseCase;
+    private final LeadParkingStore parkingStore;
+    private final MetricsPublisher metricsPublisher;
+    private final RedriveConfig config;
+    private final String dlqName;
+    private final ShardedQueues shardedQueues;
+    private final BudgetedRetry sqsRetry;
+    private final Tracer tracer;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final LongAdder drained = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder parked = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder liveTrafficYields = new LongAdder();
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile int maxRatePerSecond;
+    private volatile int receivers;
+    private volatile Disposable subscription;
+    private volatile Scheduler scheduler;
+    private volatile Mono<Long> liveBacklog;
+
+    public DlqRedriveEngine(SqsAsyncClient sqsAsyncClient, QueueUrlResolver queueUrlResolver,
+                            ObjectMapper objectMapper, ProcessLeadUseCase processLeadUseCase,
+                            LeadParkingStore parkingStore, MetricsPublisher metricsPublisher,
+                            RedriveConfig config, AwsConfig awsConfig,
+                            ShardedQueues shardedQueues,
+                            @Qualifier("sqsRetry") BudgetedRetry sqsRetry, Tracer tracer) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueUrlResolver = queueUrlResolver;
+        this.objectMapper = objectMapper;
+        this.processLeadUseCase = processLeadUseCase;
+        this.parkingStore = parkingStore;
+        this.metricsPublisher = metricsPublisher;
+        this.config = config;
+        this.dlqName = awsConfig.sqs().dlqName();
+        this.shardedQueues = shardedQueues;
+        this.maxRatePerSecond = config.maxRatePerSecond();
+        this.receivers = config.receivers();
+        this.sqsRetry = sqsRetry;
+        this.tracer = tracer;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnBoot() {
+        if (config.onStartup()) {
+            logger.info("Redrive on startup enabled, draining {}", dlqName);
+            start(null, null);
+        }
+    }
+
+    public synchronized RedriveProgress start(Integer requestedRate, Integer requestedReceivers) {
+        if (running.get()) {
+            logger.warn("Redrive already running, ignoring start request");
+            return progress();
+        }
+        maxRatePerSecond = requestedRate != null && requestedRate > 0 ? requestedRate : config.maxRatePerSecond();
+        receivers = requestedReceivers != null && requestedReceivers > 0 ? requestedReceivers : config.receivers();
+        drained.reset();
+        succeeded.reset();
+        parked.reset();
+        failed.reset();
+        liveTrafficYields.reset();
+        startedAt = Instant.now();
+        finishedAt = null;
+        running.set(true);
+
+        RateLimiter rateLimiter = RateLimiter.of("dlqRedrive", RateLimiterConfig.custom()
+                .limitForPeriod(maxRatePerSecond)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(PERMIT_TIMEOUT)
+                .build());
+        liveBacklog = Flux.fromIterable(shardedQueues.names())
+                .flatMap(name -> queueUrlResolver.resolve(name).flatMap(this::approximateBacklog))
+                .reduce(0L, Long::sum)
+                .onErrorResume(e -> {
+                    logger.warn("Failed to read live queue backlog, continuing redrive: {}", e.getMessage());
+                    return Mono.just(0L);
+                })
+                .cache(LIVE_BACKLOG_CACHE);
+
+        int receiverCount = receivers;
+        // Sized per run, since a start request may ask for more receivers than configured.
+        Scheduler runScheduler = Schedulers.newBoundedElastic(receiverCount, Integer.MAX_VALUE, "dlq-redrive");
+        scheduler = runScheduler;
+        logger.info("Starting DLQ redrive, queue: {}, receivers: {}, maxRatePerSecond: {}",
+                dlqName, receiverCount, maxRatePerSecond);
+        subscription = queueUrlResolver.resolve(dlqName)
+                .flatMapMany(dlqUrl -> Flux.range(0, receiverCount)
+                        .flatMap(receiver -> receiveLoop(dlqUrl, rateLimiter), receiverCount))
+                .subscribeOn(runScheduler)
+                .doFinally(signal -> {
+                    running.set(false);
+                    runScheduler.dispose();
+                    finishedAt = Instant.now();
+                    RedriveProgress progress = progress();
+                    logger.info("DLQ redrive finished ({}), drained: {}, succeeded: {}, parked: {}, failed: {}",
+                            signal, progress.drained(), progress.succeeded(), progress.parked(), progress.failed());
+                })
+                .subscribe(v -> { }, e -> logger.error("DLQ redrive aborted: {}", e.getMessage()));
+        return progress();
+    }
+
+    public synchronized RedriveProgress stop() {
+        Disposable current = subscription;
+        if (current != null && !current.isDisposed()) {
+            logger.info("Stopping DLQ redrive on request");
+            current.dispose();
+        }
+        return progress();
+    }
+
+    public RedriveProgress progress() {
+        Instant start = startedAt;
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        double elapsedSeconds = start == null ? 0 : Math.max(Duration.between(start, end).toMillis(), 1) / 1000.0;
+        long drainedCount = drained.sum();
+        return new RedriveProgress(
+                running.get(),
+                start,
+                finishedAt,
+                drainedCount,
+                succeeded.sum(),
+                parked.sum(),
+                failed.sum(),
+                liveTrafficYields.sum(),
+                elapsedSeconds == 0 ? 0 : drainedCount / elapsedSeconds,
+                maxRatePerSecond,
+                receivers);
+    }
+
+    /**
+     * Receives and redrives batches until the DLQ has come back empty {@code empty-receives-to-stop}
+     * times in a row or the run is stopped. A receive that still fails after {@code sqsRetry} backs
+     * off and is tried again rather than ending the receiver, and does not count as empty.
+     */
+    private Flux<Void> receiveLoop(String dlqUrl, RateLimiter rateLimiter) {
+        AtomicInteger emptyReceives = new AtomicInteger();
+        AtomicInteger receiveErrors = new AtomicInteger();
+        return Mono.defer(() -> yieldToLiveTraffic().then(receiveBatch(dlqUrl)))
+                .doOnNext(messages -> receiveErrors.set(0))
+                .onErrorResume(e -> Mono.delay(receiveBackoff(receiveErrors.incrementAndGet())).then(Mono.empty()))
+                .doOnNext(messages -> {
+                    if (messages.isEmpty()) {
+                        emptyReceives.incrementAndGet();
+                    } else {
+                        emptyReceives.set(0);
+                    }
+                })
+                .flatMapMany(messages -> Flux.fromIterable(messages)
+                        .flatMap(message -> redrive(message, dlqUrl, rateLimiter), config.concurrencyPerReceiver()))
+                .repeat(() -> running.get() && emptyReceives.get() < config.emptyReceivesToStop());
+    }
+
+    private static Duration receiveBackoff(int errors) {
+        long millis = RECEIVE_BACKOFF.toMillis() << Math.min(errors - 1, 10);
+        return Duration.ofMillis(Math.min(millis, MAX_RECEIVE_BACKOFF.toMillis()));
+    }
+
+    private Mono<List<Message>> receiveBatch(String dlqUrl) {
+        return sqsRetry.execute(() -> Mono.fromFuture(() -> sqsAsyncClient.receiveMessage(ReceiveMessageRequest.builder()
+                        .queueUrl(dlqUrl)
+                        .maxNumberOfMessages(10)
+                        .waitTimeSeconds(config.waitTimeSeconds())
+                        .messageAttributeNames("All")
+                        .build())))
+                .map(ReceiveMessageResponse::messages)
+                .doOnError(e -> logger.error("Failed to receive from DLQ: {}", e.getMessage()));
+    }
+
+    private Mono<Void> yieldToLiveTraffic() {
+        return liveBacklog.flatMap(backlog -> {
+            if (backlog <= config.liveBacklogThreshold() || !running.get()) {
+                return Mono.empty();
+            }
+            liveTrafficYields.increment();
+            logger.info("Live queue backlog {} above {}, pausing redrive for {}",
+                    backlog, config.liveBacklogThreshold(), config.liveBacklogPause());
+            return Mono.delay(config.liveBacklogPause()).then(Mono.defer(this::yieldToLiveTraffic));
+        });
+    }
+
+    private Mono<Long> approximateBacklog(String queueUrl) {
+        return Mono.fromFuture(() -> sqsAsyncClient.getQueueAttributes(GetQueueAttributesRequest.builder()
+                        .queueUrl(queueUrl)
+                        .attributeNames(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES)
+                        .build()))
+                .map(response -> Long.parseLong(response.attributes()
+                        .getOrDefault(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, "0")));
+    }
+
+    private Mono<Void> redrive(Message message, String dlqUrl, RateLimiter rateLimiter) {
+        String correlationId = extractCorrelationId(message);
+        MessageAttributeValue traceparent = message.messageAttributes().get(TraceContext.TRACEPARENT);
+        Span span = tracer.startRoot("lead.redrive", Span.Kind.CONSUMER,
+                TraceContext.parse(traceparent != null ? traceparent.stringValue() : null));
+        return tracer.inSpan(span, reprocess(message, correlationId, rateLimiter))
+                .then(Mono.fromRunnable(() -> {
+                    succeeded.increment();
+                    metricsPublisher.incrementRedrive("succeeded");
+                }))
+                .onErrorResume(e -> parkingStore.park(message, e)
+                        .doOnSuccess(v -> {
+                            parked.increment();
+                            metricsPublisher.incrementRedrive("parked");
+                        }))
+                .then(sqsRetry.execute(() -> Mono.fromFuture(() -> sqsAsyncClient.deleteMessage(builder -> builder
+                        .queueUrl(dlqUrl)
+                        .receiptHandle(message.receiptHandle())))))
+                .doOnSuccess(v -> drained.increment())
+                .onErrorResume(e -> {
+                    failed.increment();
+                    metricsPublisher.incrementRedrive("failed");
+                    logger.error("Redrive left message in DLQ, messageId: {}, correlationId: {}, error: {}",
+                            message.messageId(), correlationId, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Messages the consumer already classified as permanent failures would fail the same way
+     * again, so they skip reprocessing and go straight to parking. An envelope only reaches the
+     * DLQ whole when it ran out of receives, so each of its entries is reprocessed; entries that
+     * had already succeeded are written again with the same lead ID, and if any entry still
+     * fails the whole envelope is parked.
+     */
+    private Mono<Void> reprocess(Message message, String correlationId, RateLimiter rateLimiter) {
+        MessageAttributeValue failureClass = message.messageAttributes().get(SqsLeadConsumer.FAILURE_CLASS_ATTRIBUTE);
+        if (failureClass != null && "permanent".equals(failureClass.stringValue())) {
+            MessageAttributeValue reason = message.messageAttributes().get(SqsLeadConsumer.FAILURE_REASON_ATTRIBUTE);
+            return Mono.error(new IllegalStateException("Permanent failure: "
+                    + (reason != null ? reason.stringValue() : "unknown")));
+        }
+        if (message.messageAttributes().containsKey(SqsLeadConsumer.ENVELOPE_ATTRIBUTE)) {
+            return Mono.fromCallable(() -> objectMapper.readValue(message.body(), LeadEnvelope.class))
+                    .flatMapMany(envelope -> Flux.fromIterable(envelope.entries()))
+                    .concatMap(entry -> Mono.fromCallable(() -> objectMapper.treeToValue(entry.lead(), LeadSubmission.class))
+                            .transformDeferred(RateLimiterOperator.of(rateLimiter))
+                            .flatMap(event -> processLeadUseCase.execute(event,
+                                    entry.correlationId() != null ? entry.correlationId() : correlationId)))
+                    .then();
+        }
+        return Mono.fromCallable(() -> objectMapper.readValue(message.body(), LeadSubmission.class))
+                .transformDeferred(RateLimiterOperator.of(rateLimiter))
+                .flatMap(event -> processLeadUseCase.execute(event, correlationId));
+    }
+
+    private String extractCorrelationId(Message message) {
+        return message.messageAttributes().getOrDefault("X-Correlation-Id",
+                        MessageAttributeValue.builder()
+                                .stringValue(UUID.randomUUID().toString())
+                                .build())
+                .stringValue();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop();
+        Scheduler current = scheduler;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+}
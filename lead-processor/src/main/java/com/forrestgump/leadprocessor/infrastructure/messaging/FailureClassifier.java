@@ -0,0 +1,97 @@
+package com.forrestgump.leadprocessor.infrastructure.messaging;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.forrestgump.leadprocessor.domain.exception.LeadValidationException;
+import com.forrestgump.leadprocessor.infrastructure.pipeline.PipelineStage;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Decides whether a failed message is worth another attempt.
+ *
+ * <p>Decode and validation errors are {@link Kind#PERMANENT}: the payload will fail the same
+ * way on every receive, so it goes straight to the DLQ. Throttling, timeouts, open breakers,
+ * 5xx responses and client-side I/O errors are {@link Kind#TRANSIENT}. Anything else is
+ * treated as transient, which matches the previous redeliver-until-dead-lettered behaviour.
+ */
+@Component
+public class FailureClassifier {
+
+    public enum Kind {
+        PERMANENT,
+        TRANSIENT
+    }
+
+    public record Classification(Kind kind, String reason) {
+        public boolean isPermanent() {
+            return kind == Kind.PERMANENT;
+        }
+    }
+
+    public Classification classify(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof JacksonException) {
+                return new Classification(Kind.PERMANENT, "decode: " + cause.getClass().getSimpleName());
+            }
+            if (cause instanceof LeadValidationException) {
+                return new Classification(Kind.PERMANENT, "validation: " + cause.getMessage());
+            }
+            if (cause instanceof CallNotPermittedException) {
+                return new Classification(Kind.TRANSIENT, "breaker_open");
+            }
+            if (cause instanceof RequestNotPermitted) {
+                return new Classification(Kind.TRANSIENT, "rate_limited");
+            }
+            if (cause instanceof PipelineStage.StageFullException) {
+                return new Classification(Kind.TRANSIENT, "stage_full");
+            }
+            if (cause instanceof ApiCallTimeoutException || cause instanceof ApiCallAttemptTimeoutException
+                    || cause instanceof TimeoutException) {
+                return new Classification(Kind.TRANSIENT, "timeout");
+            }
+            if (cause instanceof SdkServiceException serviceException) {
+                if (serviceException.isThrottlingException()) {
+                    return new Classification(Kind.TRANSIENT, "throttled");
+                }
+                return new Classification(Kind.TRANSIENT, "service_error_" + serviceException.statusCode());
+            }
+            if (cause instanceof SdkClientException) {
+                return new Classification(Kind.TRANSIENT, "client_error");
+            }
+        }
+        return new Classification(Kind.TRANSIENT, "unclassified: " + failure.getClass().getSimpleName());
+    }
+
+    /**
+     * Whether the failure is the dependency throttling us, which calls for slowing down rather
+     * than for counting the dependency as unhealthy.
+     */
+    public boolean isThrottle(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof SdkServiceException serviceException && serviceException.isThrottlingException()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether an individual call is worth retrying in place. Open breakers, rate limiter
+     * rejections and full pipeline stages are transient for the message but retrying the call
+     * right away cannot help.
+     */
+    public boolean isRetryable(Throwable failure) {
+        Classification classification = classify(failure);
+        return !classification.isPermanent()
+                && !"breaker_open".equals(classification.reason())
+                && !"rate_limited".equals(classification.reason())
+                && !"stage_full".equals(classification.reason());
+    }
+}
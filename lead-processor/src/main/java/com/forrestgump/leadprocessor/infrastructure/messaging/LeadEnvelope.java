@@ -0,0 +1,31 @@
+package com.forrestgump.leadprocessor.infrastructure.messaging;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * Body of an envelope message, several submissions packed into one SQS message by lead-api and
+ * marked with the {@code X-Envelope} attribute. Each entry keeps the lead as a JSON tree, so a
+ * malformed lead fails on its own when decoded instead of failing the whole envelope.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LeadEnvelope(
+        int version,
+        List<Entry> entries
+) {
+    public static final int VERSION = 1;
+
+    public LeadEnvelope {
+        entries = entries != null ? entries : List.of();
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Entry(
+            @JsonProperty("correlation_id") String correlationId,
+            String traceparent,
+            JsonNode lead
+    ) {}
+}
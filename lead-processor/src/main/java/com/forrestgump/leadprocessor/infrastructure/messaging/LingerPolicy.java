@@ -0,0 +1,47 @@
+package com.forrestgump.leadprocessor.infrastructure.messaging;
+
+import java.time.Duration;
+
+/**
+ * Decides how long an open batch may wait for more entries, from a moving average of the gap
+ * between arrivals. When fewer than two entries are expected within {@code maxLinger} there is
+ * nothing to gain from waiting and batches go out straight away; otherwise the batch waits about
+ * as long as it takes to fill, but never past {@code maxLinger}, the latency budget batching may
+ * add to each entry.
+ */
+final class LingerPolicy {
+
+    private static final double SMOOTHING = 0.2;
+    private static final long MIN_LINGER_NANOS = Duration.ofMillis(1).toNanos();
+    private final int maxBatchSize;
+    private final Duration maxLinger;
+    private long lastArrivalNanos;
+    private double meanGapNanos = Double.NaN;
+
+    LingerPolicy(int maxBatchSize, Duration maxLinger) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxLinger = maxLinger;
+    }
+
+    int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    synchronized void recordArrival(long nowNanos) {
+        if (lastArrivalNanos != 0) {
+            long gap = nowNanos - lastArrivalNanos;
+            meanGapNanos = Double.isNaN(meanGapNanos) ? gap : SMOOTHING * gap + (1 - SMOOTHING) * meanGapNanos;
+        }
+        lastArrivalNanos = nowNanos;
+    }
+
+    synchronized Duration linger() {
+        long budgetNanos = maxLinger.toNanos();
+        double gapNanos = Math.max(meanGapNanos, 1);
+        if (Double.isNaN(meanGapNanos) || budgetNanos / gapNanos < 1) {
+            return Duration.ZERO;
+        }
+        long fillNanos = (long) ((maxBatchSize - 1) * gapNanos);
+        return Duration.ofNanos(Math.min(budgetNanos, Math.max(MIN_LINGER_NANOS, fillNanos)));
+    }
+}
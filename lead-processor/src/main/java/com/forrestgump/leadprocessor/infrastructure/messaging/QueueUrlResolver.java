@@ -0,0 +1,41 @@
+package com.forrestgump.leadprocessor.infrastructure.messaging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueUrlResponse;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves queue names to URLs once and reuses the result, so polling loops do not
+ * issue a GetQueueUrl call per receive.
+ */
+@Component
+public class QueueUrlResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueueUrlResolver.class);
+    private final SqsAsyncClient sqsAsyncClient;
+    private final Map<String, String> queueUrls = new ConcurrentHashMap<>();
+
+    public QueueUrlResolver(SqsAsyncClient sqsAsyncClient) {
+        this.sqsAsyncClient = sqsAsyncClient;
+    }
+
+    public Mono<String> resolve(String queueName) {
+        String cached = queueUrls.get(queueName);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.fromFuture(() -> sqsAsyncClient.getQueueUrl(GetQueueUrlRequest.builder()
+                        .queueName(queueName)
+                        .build()))
+                .map(GetQueueUrlResponse::queueUrl)
+                .doOnNext(queueUrl -> queueUrls.put(queueName, queueUrl))
+                .doOnError(e -> logger.error("Failed to get queue URL for {}: {}", queueName, e.getMessage()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.forrestgump.leadprocessor.infrastructure.messaging;
+
+import java.time.Instant;
+
+public record RedriveProgress(
+        boolean running,
+        Instant startedAt,
+        Instant finishedAt,
+        long drained,
+        long succeeded,
+        long parked,
+        long failed,
+        long liveTrafficYields,
+        double ratePerSecond,
+        int maxRatePerSecond,
+        int receivers
+) {}
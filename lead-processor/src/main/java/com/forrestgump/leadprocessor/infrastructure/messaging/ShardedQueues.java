@@ -0,0 +1,174 @@
+package com.forrestgump.leadprocessor.infrastructure.messaging;
+
+import com.forrestgump.leadprocessor.infrastructure.config.ShardingConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The lead queues this instance consumes, and which of them each poll goes to.
+ *
+ * <p>Polls are handed out by smooth weighted round-robin: over successive cycles each queue gets
+ * polls in proportion to its effective weight, and consecutive polls interleave queues instead of
+ * bunching on the heaviest. Queues outside this instance's affinity keep their base weight, so a
+ * shard whose own instances are down is still drained, only more slowly. A queue whose last known
+ * backlog is zero drops to {@code idleWeight} of its weight, so its 20-second long polls stop tying
+ * up in-flight permits the busy shards could use, yet it is still probed now and then; a probe
+ * that receives messages restores its full weight without waiting for the next refresh.
+ *
+ * <p>Per shard, the backlog (visible messages) and in-flight count (received but not yet deleted)
+ * are refreshed on a schedule and exported next to its share of polls, and the consumer counts
+ * the messages it receives from it, which is what rebalancing weights and affinity needs.
+ */
+@Component
+public class ShardedQueues {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedQueues.class);
+    private static final long UNKNOWN = -1;
+    private final SqsAsyncClient sqsAsyncClient;
+    private final QueueUrlResolver queueUrlResolver;
+    private final List<Shard> shards = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final double idleWeight;
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    public ShardedQueues(SqsAsyncClient sqsAsyncClient, QueueUrlResolver queueUrlResolver, ShardingConfig config,
+                         @Value("${aws.sqs.queue-name}") String queueName, MetricsPublisher metricsPublisher) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueUrlResolver = queueUrlResolver;
+        this.idleWeight = config.idleWeight();
+        Map<String, ShardingConfig.Queue> queues = config.queues().isEmpty()
+                ? Map.of(queueName, new ShardingConfig.Queue(null))
+                : config.queues();
+        for (String name : config.affinity()) {
+            if (!queues.containsKey(name)) {
+                throw new IllegalArgumentException("Affinity queue " + name + " is not in lead.sharding.queues");
+            }
+        }
+        queues.forEach((name, queue) -> {
+            double weight = queue != null && queue.weight() != null && queue.weight() > 0 ? queue.weight() : 1.0;
+            shards.add(new Shard(name, config.affinity().contains(name) ? weight * config.affinityWeight() : weight));
+            names.add(name);
+        });
+        for (Shard shard : shards) {
+            metricsPublisher.registerGauge("sqs.shard.poll_share", () -> share(shard), "queue", shard.name);
+            metricsPublisher.registerGauge("sqs.shard.backlog", () -> Math.max(0, shard.backlog), "queue", shard.name);
+            metricsPublisher.registerGauge("sqs.shard.in_flight", () -> shard.inFlight, "queue", shard.name);
+        }
+        if (shards.size() > 1) {
+            logger.info("Consuming sharded queues {}, affinity: {}", names, config.affinity());
+        }
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    /**
+     * Returns the queue the next poll should go to.
+     */
+    public synchronized String next() {
+        if (shards.size() == 1) {
+            return shards.get(0).name;
+        }
+        Shard chosen = null;
+        double total = 0;
+        for (Shard shard : shards) {
+            double weight = effectiveWeight(shard);
+            total += weight;
+            shard.current += weight;
+            if (chosen == null || shard.current > chosen.current) {
+                chosen = shard;
+            }
+        }
+        chosen.current -= total;
+        return chosen.name;
+    }
+
+    /**
+     * Records what a poll of {@code queue} received. An empty long poll means the queue had
+     * nothing for its whole wait, so it counts as an empty backlog until the next refresh; messages
+     * from a queue thought empty put it back at full weight.
+     */
+    public void received(String queue, int messages) {
+        for (Shard shard : shards) {
+            if (shard.name.equals(queue)) {
+                if (messages == 0) {
+                    shard.backlog = 0;
+                } else if (shard.backlog == 0) {
+                    shard.backlog = UNKNOWN;
+                }
+                return;
+            }
+        }
+    }
+
+    private double effectiveWeight(Shard shard) {
+        return shard.backlog == 0 ? shard.weight * idleWeight : shard.weight;
+    }
+
+    private double share(Shard shard) {
+        double total = shards.stream().mapToDouble(this::effectiveWeight).sum();
+        return effectiveWeight(shard) / total;
+    }
+
+    @Scheduled(fixedRate = 5000)
+    public void refreshBacklog() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        Flux.fromIterable(shards)
+                .flatMap(shard -> queueUrlResolver.resolve(shard.name)
+                        .flatMap(this::attributes)
+                        .doOnNext(response -> {
+                            shard.backlog = count(response, QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES);
+                            shard.inFlight = count(response, QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE);
+                        })
+                        .onErrorResume(e -> {
+                            logger.warn("Failed to refresh backlog of {}: {}", shard.name, e.getMessage());
+                            return Mono.empty();
+                        }))
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe();
+    }
+
+    private Mono<GetQueueAttributesResponse> attributes(String queueUrl) {
+        return Mono.fromFuture(() -> sqsAsyncClient.getQueueAttributes(GetQueueAttributesRequest.builder()
+                .queueUrl(queueUrl)
+                .attributeNames(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES,
+                        QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE)
+                .build()));
+    }
+
+    private static long count(GetQueueAttributesResponse response, QueueAttributeName name) {
+        return Long.parseLong(response.attributes().getOrDefault(name, "0"));
+    }
+
+    private static final class Shard {
+
+        final String name;
+        final double weight;
+        double current;
+        volatile long backlog = UNKNOWN;
+        volatile long inFlight;
+
+        Shard(String name, double weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+    }
+}
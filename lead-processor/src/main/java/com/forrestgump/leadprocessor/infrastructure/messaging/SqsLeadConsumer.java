@@ -1,72 +1,181 @@
 package com.forrestgump.leadprocessor.infrastructure.messaging;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.forrestgump.leadprocessor.application.usecase.ProcessLeadUseCase;
+import com.forrestgump.leadprocessor.domain.model.LeadStatus;
 import com.forrestgump.leadprocessor.domain.model.LeadSubmission;
+import com.forrestgump.leadprocessor.infrastructure.config.AwsConfig;
+import com.forrestgump.leadprocessor.infrastructure.config.CampaignConfig;
+import com.forrestgump.leadprocessor.infrastructure.config.ConsumerConfig;
 import com.forrestgump.leadprocessor.infrastructure.exception.InfrastructureException;
 import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import com.forrestgump.leadprocessor.infrastructure.persistence.LeadStatusRecorder;
+import com.forrestgump.leadprocessor.infrastructure.pipeline.StagedPipeline;
+import com.forrestgump.leadprocessor.infrastructure.profiling.StageEvents;
+import com.forrestgump.leadprocessor.infrastructure.resilience.AimdRateController;
+import com.forrestgump.leadprocessor.infrastructure.resilience.BudgetedRetry;
+import com.forrestgump.leadprocessor.infrastructure.scheduling.WeightedFairScheduler;
+import com.forrestgump.leadprocessor.infrastructure.tracing.Span;
+import com.forrestgump.leadprocessor.infrastructure.tracing.TraceContext;
+import com.forrestgump.leadprocessor.infrastructure.tracing.Tracer;
+import com.forrestgump.leadprocessor.infrastructure.tuning.RuntimeTuning;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
-import io.github.resilience4j.reactor.retry.RetryOperator;
-import io.github.resilience4j.retry.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
-import software.amazon.awssdk.services.sqs.model.GetQueueUrlRequest;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.batchmanager.SqsAsyncBatchManager;
-import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 public class SqsLeadConsumer {
 
     private static final Logger logger = LoggerFactory.getLogger(SqsLeadConsumer.class);
+    static final String FAILURE_CLASS_ATTRIBUTE = "X-Failure-Class";
+    static final String FAILURE_REASON_ATTRIBUTE = "X-Failure-Reason";
+    static final String CORRELATION_ID_ATTRIBUTE = "X-Correlation-Id";
+    static final String CAMPAIGN_ID_ATTRIBUTE = "X-Campaign-Id";
+    static final String ENVELOPE_ATTRIBUTE = "X-Envelope";
+    static final String ENVELOPE_ATTEMPT_ATTRIBUTE = "X-Envelope-Attempt";
+    private static final Duration MAX_VISIBILITY = Duration.ofHours(12);
+    private static final int MAX_DELAY_SECONDS = 900;
     private final SqsAsyncClient sqsAsyncClient;
     private final SqsAsyncBatchManager sqsAsyncBatchManager;
+    private final AdaptiveDeleteBatcher deleteBatcher;
     private final ObjectMapper objectMapper;
-    private final String queueName;
+    private final ShardedQueues shardedQueues;
     private final ProcessLeadUseCase processLeadUseCase;
     private final MetricsPublisher metricsPublisher;
     private final CircuitBreaker sqsCircuitBreaker;
-    private final Retry sqsRetry;
+    private final BudgetedRetry sqsRetry;
+    private final FailureClassifier failureClassifier;
+    private final QueueUrlResolver queueUrlResolver;
+    private final String dlqName;
+    private final ConsumerConfig consumerConfig;
+    private final BreakerAwareConsumerGate consumerGate;
+    private final LeadStatusRecorder leadStatusRecorder;
+    private final Tracer tracer;
+    private final RuntimeTuning runtimeTuning;
+    private final WeightedFairScheduler scheduler;
+    private final CampaignConfig campaignConfig;
+    private final AimdRateController dynamoWriteRate;
+    private final StagedPipeline pipeline;
 
     public SqsLeadConsumer(SqsAsyncClient sqsAsyncClient, SqsAsyncBatchManager sqsAsyncBatchManager,
-                           ObjectMapper objectMapper, @Value("${aws.sqs.queue-name}") String queueName,
+                           AdaptiveDeleteBatcher deleteBatcher,
+                           ObjectMapper objectMapper, ShardedQueues shardedQueues,
                            ProcessLeadUseCase processLeadUseCase, MetricsPublisher metricsPublisher,
-                           CircuitBreaker sqsCircuitBreaker, Retry sqsRetry) {
+                           CircuitBreaker sqsCircuitBreaker, @Qualifier("sqsRetry") BudgetedRetry sqsRetry,
+                           FailureClassifier failureClassifier,
+                           QueueUrlResolver queueUrlResolver, AwsConfig awsConfig, ConsumerConfig consumerConfig,
+                           BreakerAwareConsumerGate consumerGate, LeadStatusRecorder leadStatusRecorder,
+                           Tracer tracer, RuntimeTuning runtimeTuning, WeightedFairScheduler scheduler,
+                           CampaignConfig campaignConfig,
+                           @Qualifier("dynamoWriteRate") AimdRateController dynamoWriteRate,
+                           StagedPipeline pipeline) {
         this.sqsAsyncClient = sqsAsyncClient;
         this.sqsAsyncBatchManager = sqsAsyncBatchManager;
+        this.deleteBatcher = deleteBatcher;
         this.objectMapper = objectMapper;
-        this.queueName = queueName;
+        this.shardedQueues = shardedQueues;
         this.processLeadUseCase = processLeadUseCase;
         this.metricsPublisher = metricsPublisher;
         this.sqsCircuitBreaker = sqsCircuitBreaker;
         this.sqsRetry = sqsRetry;
+        this.failureClassifier = failureClassifier;
+        this.queueUrlResolver = queueUrlResolver;
+        this.dlqName = awsConfig.sqs().dlqName();
+        this.consumerConfig = consumerConfig;
+        this.consumerGate = consumerGate;
+        this.leadStatusRecorder = leadStatusRecorder;
+        this.tracer = tracer;
+        this.runtimeTuning = runtimeTuning;
+        this.scheduler = scheduler;
+        this.campaignConfig = campaignConfig;
+        this.dynamoWriteRate = dynamoWriteRate;
+        this.pipeline = pipeline;
     }
 
     @Scheduled(fixedRate = 5000)
     public void consumeMessages() {
-        getQueueUrl()
-                .flatMapMany(queueUrl -> Flux.defer(() -> Mono.fromFuture(sqsAsyncBatchManager.receiveMessage(ReceiveMessageRequest.builder()
+        int batchSize = consumerGate.nextBatchSize();
+        if (batchSize == 0) {
+            logger.debug("Downstream circuit breaker open, skipping SQS poll");
+            return;
+        }
+        // Receive no more than the paced Dynamo writes will take before the next poll, so a
+        // throttled table slows intake instead of piling up messages waiting for a write slot,
+        // and no more than every pipeline stage still has room to buffer. Permits and allowance
+        // count leads, not messages: each poll starts with one per message it asks for, and an
+        // envelope is charged its full entry count once received (see admit). Each poll goes to
+        // the next queue in ShardedQueues' weighted order.
+        AtomicInteger allowance = new AtomicInteger(Math.min(dynamoWriteRate.allowance(), pipeline.headroom()));
+        for (int poller = 0; poller < runtimeTuning.pollers(); poller++) {
+            if (allowance.get() <= 0) {
+                logger.debug("Dynamo write allowance or pipeline headroom used up, skipping SQS poll");
+                return;
+            }
+            int permits = runtimeTuning.acquireInFlight(Math.min(batchSize, allowance.get()));
+            if (permits == 0) {
+                logger.debug("In-flight limit reached, skipping SQS poll");
+                return;
+            }
+            allowance.addAndGet(-permits);
+            poll(shardedQueues.next(), permits, allowance);
+        }
+    }
+
+    private record Admission(Message message, int permits, boolean admitted) {}
+
+    /**
+     * Receives up to {@code permits} messages from {@code queueName}, charges each its lead count
+     * before any is processed, returning each message's permits as it finishes and any the
+     * receive did not use straight away.
+     */
+    private void poll(String queueName, int permits, AtomicInteger allowance) {
+        AtomicInteger held = new AtomicInteger(permits);
+        // Receive directly rather than through the batch manager's buffer, so that the only
+        // prefetched messages are the ones this poll holds and can release when paused.
+        getQueueUrl(queueName)
+                .flatMapMany(queueUrl -> sqsRetry.execute(() -> Mono.fromFuture(() -> sqsAsyncClient.receiveMessage(ReceiveMessageRequest.builder()
                                 .queueUrl(queueUrl)
-                                .maxNumberOfMessages(10)
+                                .maxNumberOfMessages(permits)
                                 .waitTimeSeconds(20)
+                                .messageAttributeNames("All")
+                                .messageSystemAttributeNames(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT,
+                                        MessageSystemAttributeName.SENT_TIMESTAMP)
                                 .build())))
-                        .flatMapIterable(ReceiveMessageResponse::messages)
-                        .flatMap(message -> processMessage(message, queueUrl)
-                                .onErrorResume(e -> {
-                                    metricsPublisher.incrementDlqCount();
-                                    logger.error("Message sent to DLQ, correlationId: {}, error: {}",
-                                            extractCorrelationId(message), e.getMessage());
-                                    return Mono.empty();
+                        .doOnNext(response -> {
+                            metricsPublisher.recordShardReceive(queueName, response.messages().size());
+                            shardedQueues.received(queueName, response.messages().size());
+                        })
+                        .flatMapIterable(response -> admit(response.messages(), held, allowance))
+                        .flatMap(admission -> (admission.admitted() ? consume(admission.message(), queueUrl) : turnAway(admission.message(), queueUrl))
+                                .doFinally(signal -> {
+                                    int returned = Math.min(admission.permits(), held.getAndUpdate(h -> Math.max(0, h - admission.permits())));
+                                    runtimeTuning.releaseInFlight(returned);
                                 })))
                 .doOnNext(v -> metricsPublisher.incrementSqsConsume("success"))
                 .doOnError(e -> {
@@ -75,41 +184,481 @@ public class SqsLeadConsumer {
                 })
                 .onErrorMap(e -> new InfrastructureException("Failed to consume from SQS", e))
                 .transformDeferred(CircuitBreakerOperator.of(sqsCircuitBreaker))
-                .transformDeferred(RetryOperator.of(sqsRetry))
+                .doFinally(signal -> runtimeTuning.releaseInFlight(held.getAndSet(0)))
                 .subscribe();
     }
 
-    private Mono<String> getQueueUrl() {
-        return Mono.fromFuture(sqsAsyncClient.getQueueUrl(GetQueueUrlRequest.builder()
-                        .queueName(queueName)
-                        .build()))
-                .map(response -> response.queueUrl())
-                .doOnError(e -> logger.error("Failed to get queue URL: {}", e.getMessage()));
+    /**
+     * Charges each received message its lead count, the {@code X-Envelope} entry count for an
+     * envelope and one otherwise, against the permits the poll holds. When a message needs more,
+     * the difference is taken from the in-flight limit and the tick's allowance; a message that
+     * still does not fit is handed straight back to the queue. The first message is always
+     * admitted with whatever it could be given, so an envelope larger than the in-flight limit
+     * still makes progress. Permits left over are returned at once.
+     */
+    private List<Admission> admit(List<Message> messages, AtomicInteger held, AtomicInteger allowance) {
+        List<Admission> admissions = new ArrayList<>(messages.size());
+        int free = held.get();
+        boolean first = true;
+        for (Message message : messages) {
+            int cost = entryCount(message);
+            if (cost > free) {
+                int extra = runtimeTuning.acquireInFlight(Math.max(0, Math.min(cost - free, allowance.get())));
+                allowance.addAndGet(-extra);
+                held.addAndGet(extra);
+                free += extra;
+            }
+            if (cost <= free || first) {
+                int charged = Math.min(cost, free);
+                free -= charged;
+                admissions.add(new Admission(message, charged, true));
+            } else {
+                admissions.add(new Admission(message, 0, false));
+            }
+            first = false;
+        }
+        held.addAndGet(-free);
+        runtimeTuning.releaseInFlight(free);
+        return admissions;
+    }
+
+    private static int entryCount(Message message) {
+        String entries = attributeValue(message, ENVELOPE_ATTRIBUTE);
+        if (entries == null) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(entries));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private Mono<Void> turnAway(Message message, String queueUrl) {
+        return release(message, queueUrl)
+                .onErrorResume(e -> {
+                    logger.warn("Failed to release message over the in-flight limit, leaving it for the visibility timeout, correlationId: {}, error: {}",
+                            extractCorrelationId(message), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<String> getQueueUrl(String queueName) {
+        return sqsRetry.execute(() -> queueUrlResolver.resolve(queueName));
     }
 
-    private Mono<Void> processMessage(Message message, String queueUrl) {
-        return Mono.fromCallable(() -> objectMapper.readValue(message.body(), LeadSubmission.class))
-                .flatMap(event -> {
-                    String correlationId = message.messageAttributes().getOrDefault("X-Correlation-Id",
-                                    software.amazon.awssdk.services.sqs.model.MessageAttributeValue.builder()
-                                            .stringValue(UUID.randomUUID().toString())
-                                            .build())
-                            .stringValue();
-                    return processLeadUseCase.execute(event, correlationId);
+    /**
+     * Processes one message under a consumer span that continues the publisher's trace, with the
+     * time the message spent in the queue recorded as its own span. The message waits for its
+     * campaign's turn in the fair scheduler first, and goes back to the queue if its campaign's
+     * buffer is already full.
+     */
+    private Mono<Void> consume(Message message, String queueUrl) {
+        if (message.messageAttributes().containsKey(ENVELOPE_ATTRIBUTE)) {
+            return consumeEnvelope(message, queueUrl);
+        }
+        TraceContext publisher = TraceContext.parse(attributeValue(message, TraceContext.TRACEPARENT));
+        Span span = tracer.startRoot("lead.process", Span.Kind.CONSUMER, publisher);
+        String campaign = attributeValue(message, CAMPAIGN_ID_ATTRIBUTE);
+        if (span != null) {
+            span.tag("messaging.message_id", message.messageId())
+                    .tag("correlation_id", attributeValue(message, CORRELATION_ID_ATTRIBUTE))
+                    .tag("campaign_id", campaign)
+                    .tag("receive_count", message.attributes().get(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT));
+            recordQueueTime(span, publisher, message);
+        }
+        boolean mayDefer = receiveCount(message) <= campaignConfig.maxDeferredReceives();
+        return tracer.inSpan(span, scheduler.submit(campaign, sentAt(message), Mono.defer(() -> processMessage(message, queueUrl, span)), mayDefer)
+                .onErrorResume(WeightedFairScheduler.BacklogFullException.class, e -> defer(message, queueUrl, e.campaign()))
+                .onErrorResume(e -> {
+                    if (span != null) {
+                        span.error(e);
+                    }
+                    return handleFailure(message, queueUrl, e);
+                }));
+    }
+
+    private void recordQueueTime(Span span, TraceContext publisher, Message message) {
+        String sentTimestamp = message.attributes().get(MessageSystemAttributeName.SENT_TIMESTAMP);
+        if (sentTimestamp == null) {
+            return;
+        }
+        long sentMicros = Long.parseLong(sentTimestamp) * 1000;
+        long nowMicros = System.currentTimeMillis() * 1000;
+        tracer.record(span, "sqs.queue", null, publisher != null ? publisher.spanId() : span.context().spanId(),
+                sentMicros, nowMicros - sentMicros);
+    }
+
+    private Mono<Void> processMessage(Message message, String queueUrl, Span span) {
+        if (consumerGate.isPaused()) {
+            return release(message, queueUrl);
+        }
+        return pipeline.stage(StagedPipeline.DECODE).submit(() -> tracer.trace("decode", Mono.fromCallable(() -> StageEvents.measure("decode", null,
+                        () -> objectMapper.readValue(message.body(), LeadSubmission.class), event -> message.body().length()))))
+                .doOnNext(event -> {
+                    if (span != null) {
+                        span.tag("event_id", String.valueOf(event.eventId()));
+                    }
                 })
-                .then(Mono.fromFuture(sqsAsyncBatchManager.deleteMessage(builder -> builder
-                                .queueUrl(queueUrl)
-                                .receiptHandle(message.receiptHandle())))
-                        .then())
+                .flatMap(event -> StageEvents.around("process", processLeadUseCase.execute(event, extractCorrelationId(message)))
+                        .then(pipeline.stage(StagedPipeline.ACK).submit(() -> tracer.trace("sqs.delete", Span.Kind.CLIENT, StageEvents.around("sqs.delete",
+                                sqsRetry.execute(() -> Mono.fromFuture(() -> deleteBatcher.deleteMessage(queueUrl, message.receiptHandle())))
+                                .then()))))
+                        .contextWrite(StageEvents.eventId(event.eventId())))
                 .doOnError(e -> logger.error("Failed to process message, correlationId: {}, error: {}",
                         extractCorrelationId(message), e.getMessage()));
     }
 
+    record EntryOutcome(LeadEnvelope.Entry entry, FailureClassifier.Classification failure) {}
+
+    /**
+     * How an envelope's entry outcomes are settled: how many were processed, which go to the DLQ
+     * and which are re-sent, or whether the envelope backs off as a whole because nothing
+     * succeeded and nothing failed for good. Transient failures are dead-lettered too once
+     * {@code attempt} has reached {@code maxAttempts}.
+     */
+    record Settlement(int processed, List<EntryOutcome> deadLetters, List<EntryOutcome> retries, boolean backOff) {
+
+        static Settlement of(List<EntryOutcome> outcomes, int attempt, int maxAttempts) {
+            List<EntryOutcome> permanent = new ArrayList<>();
+            List<EntryOutcome> transients = new ArrayList<>();
+            for (EntryOutcome outcome : outcomes) {
+                if (outcome.failure() != null) {
+                    (outcome.failure().isPermanent() ? permanent : transients).add(outcome);
+                }
+            }
+            int processed = outcomes.size() - permanent.size() - transients.size();
+            if (processed == 0 && permanent.isEmpty() && !transients.isEmpty()) {
+                return new Settlement(0, List.of(), transients, true);
+            }
+            boolean exhausted = attempt >= maxAttempts;
+            List<EntryOutcome> deadLetters = new ArrayList<>(permanent);
+            if (exhausted) {
+                deadLetters.addAll(transients);
+            }
+            return new Settlement(processed, deadLetters, exhausted ? List.of() : transients, false);
+        }
+    }
+
+    /**
+     * Processes the entries of an envelope message in parallel, up to {@code envelopeConcurrency}
+     * at a time, each under its own consumer span continuing its publisher's trace and through the
+     * same campaign scheduling and pipeline stages as a single-lead message. Entries never defer:
+     * handing the envelope back would replay every entry in it. Once every entry has an outcome,
+     * the envelope is settled as a whole (see {@link #settle}).
+     */
+    private Mono<Void> consumeEnvelope(Message message, String queueUrl) {
+        if (consumerGate.isPaused()) {
+            return release(message, queueUrl);
+        }
+        String campaign = attributeValue(message, CAMPAIGN_ID_ATTRIBUTE);
+        return pipeline.stage(StagedPipeline.DECODE).submit(() -> Mono.fromCallable(() -> objectMapper.readValue(message.body(), LeadEnvelope.class)))
+                .flatMap(envelope -> Flux.fromIterable(envelope.entries())
+                        .flatMap(entry -> consumeEntry(message, campaign, entry), consumerConfig.envelopeConcurrency())
+                        .collectList()
+                        .flatMap(outcomes -> settle(message, queueUrl, outcomes)))
+                .onErrorResume(e -> handleFailure(message, queueUrl, e));
+    }
+
+    private Mono<EntryOutcome> consumeEntry(Message message, String campaign, LeadEnvelope.Entry entry) {
+        TraceContext publisher = TraceContext.parse(entry.traceparent());
+        Span span = tracer.startRoot("lead.process", Span.Kind.CONSUMER, publisher);
+        if (span != null) {
+            span.tag("messaging.message_id", message.messageId())
+                    .tag("correlation_id", entry.correlationId())
+                    .tag("campaign_id", campaign)
+                    .tag("envelope_attempt", String.valueOf(envelopeAttempt(message)))
+                    .tag("receive_count", message.attributes().get(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT));
+            recordQueueTime(span, publisher, message);
+        }
+        return tracer.inSpan(span, scheduler.submit(campaign, sentAt(message), Mono.defer(() -> processEntry(entry, span)), false)
+                .thenReturn(new EntryOutcome(entry, null))
+                .onErrorResume(e -> {
+                    if (span != null) {
+                        span.error(e);
+                    }
+                    FailureClassifier.Classification classification = failureClassifier.classify(e);
+                    metricsPublisher.incrementConsumeFailure(classification.kind().name().toLowerCase());
+                    return Mono.just(new EntryOutcome(entry, classification));
+                }));
+    }
+
+    private Mono<Void> processEntry(LeadEnvelope.Entry entry, Span span) {
+        String correlationId = entry.correlationId() != null ? entry.correlationId() : UUID.randomUUID().toString();
+        return pipeline.stage(StagedPipeline.DECODE).submit(() -> tracer.trace("decode", Mono.fromCallable(() -> StageEvents.measure("decode", null,
+                        () -> decodeEntry(entry), null))))
+                .doOnNext(event -> {
+                    if (span != null) {
+                        span.tag("event_id", String.valueOf(event.eventId()));
+                    }
+                })
+                .flatMap(event -> StageEvents.around("process", processLeadUseCase.execute(event, correlationId))
+                        .contextWrite(StageEvents.eventId(event.eventId())))
+                .doOnError(e -> logger.error("Failed to process envelope entry, correlationId: {}, error: {}",
+                        correlationId, e.getMessage()));
+    }
+
+    private LeadSubmission decodeEntry(LeadEnvelope.Entry entry) throws JsonProcessingException {
+        if (entry.lead() == null || !entry.lead().isObject()) {
+            throw JsonMappingException.from((JsonParser) null, "Envelope entry has no lead");
+        }
+        return objectMapper.treeToValue(entry.lead(), LeadSubmission.class);
+    }
+
+    /**
+     * Settles an envelope once every entry has an outcome, so that a bad entry costs its own retry
+     * and never replays the entries that succeeded. Entries that failed permanently go to the DLQ
+     * one by one as ordinary single-lead messages, which redrive and parking already understand;
+     * entries that failed transiently are re-sent as a smaller envelope, delayed by the usual
+     * backoff for its attempt, and dead-lettered too once {@code maxEnvelopeAttempts} is reached.
+     * Only then is the original deleted; if any of that fails, the whole envelope backs off and is
+     * redelivered, which replays entries that already succeeded but loses none. When no entry
+     * succeeded and none failed permanently there is nothing to save by splitting, and the
+     * envelope backs off as a whole like a single message.
+     */
+    private Mono<Void> settle(Message message, String queueUrl, List<EntryOutcome> outcomes) {
+        int attempt = envelopeAttempt(message);
+        Settlement settlement = Settlement.of(outcomes, attempt, consumerConfig.maxEnvelopeAttempts());
+        if (settlement.backOff()) {
+            metricsPublisher.incrementEnvelope("backed_off");
+            return backOff(message, queueUrl, settlement.retries().get(0).failure());
+        }
+        int processed = settlement.processed();
+        List<EntryOutcome> deadLetters = settlement.deadLetters();
+        List<EntryOutcome> retries = settlement.retries();
+        return Mono.when(deadLetterEntries(message, deadLetters), resend(message, queueUrl, retries, attempt + 1))
+                .then(pipeline.stage(StagedPipeline.ACK).submit(() -> tracer.trace("sqs.delete", Span.Kind.CLIENT,
+                        sqsRetry.execute(() -> Mono.fromFuture(() -> deleteBatcher.deleteMessage(queueUrl, message.receiptHandle())))
+                                .then())))
+                .doOnSuccess(v -> {
+                    metricsPublisher.incrementEnvelope(deadLetters.isEmpty() && retries.isEmpty() ? "acked" : "split");
+                    metricsPublisher.incrementEnvelopeEntries("processed", processed);
+                    metricsPublisher.incrementEnvelopeEntries("dead_lettered", deadLetters.size());
+                    metricsPublisher.incrementEnvelopeEntries("resent", retries.size());
+                })
+                .then(Mono.defer(() -> Flux.fromIterable(deadLetters)
+                        .concatMap(outcome -> leadStatusRecorder.record(entryEventId(outcome.entry()), null, LeadStatus.FAILED))
+                        .then()));
+    }
+
+    private Mono<Void> deadLetterEntries(Message message, List<EntryOutcome> outcomes) {
+        if (outcomes.isEmpty()) {
+            return Mono.empty();
+        }
+        return tracer.trace("sqs.dead_letter", Span.Kind.PRODUCER, queueUrlResolver.resolve(dlqName)
+                .flatMap(dlqUrl -> Flux.fromIterable(outcomes)
+                        .flatMap(outcome -> sqsRetry.execute(() -> Mono.fromFuture(() -> sqsAsyncBatchManager.sendMessage(SendMessageRequest.builder()
+                                .queueUrl(dlqUrl)
+                                .messageBody(String.valueOf(outcome.entry().lead()))
+                                .messageAttributes(entryAttributes(message, outcome))
+                                .build()))))
+                        .then()))
+                .doOnSuccess(v -> outcomes.forEach(outcome -> {
+                    metricsPublisher.incrementDlqCount();
+                    logger.error("Envelope entry sent to DLQ, correlationId: {}, reason: {}",
+                            outcome.entry().correlationId(), outcome.failure().reason());
+                }));
+    }
+
+    private Map<String, MessageAttributeValue> entryAttributes(Message message, EntryOutcome outcome) {
+        Map<String, MessageAttributeValue> attributes = new HashMap<>(message.messageAttributes());
+        attributes.remove(ENVELOPE_ATTRIBUTE);
+        attributes.remove(ENVELOPE_ATTEMPT_ATTRIBUTE);
+        if (outcome.entry().correlationId() != null) {
+            attributes.put(CORRELATION_ID_ATTRIBUTE, stringAttribute(outcome.entry().correlationId()));
+        }
+        if (outcome.entry().traceparent() != null) {
+            attributes.put(TraceContext.TRACEPARENT, stringAttribute(outcome.entry().traceparent()));
+        }
+        attributes.put(FAILURE_CLASS_ATTRIBUTE, stringAttribute(outcome.failure().kind().name().toLowerCase()));
+        attributes.put(FAILURE_REASON_ATTRIBUTE, stringAttribute(truncate(outcome.failure().reason())));
+        return attributes;
+    }
+
+    private Mono<Void> resend(Message message, String queueUrl, List<EntryOutcome> outcomes, int attempt) {
+        if (outcomes.isEmpty()) {
+            return Mono.empty();
+        }
+        List<LeadEnvelope.Entry> entries = outcomes.stream().map(EntryOutcome::entry).toList();
+        int delaySeconds = Math.min(MAX_DELAY_SECONDS, backoffSeconds(attempt - 1));
+        Map<String, MessageAttributeValue> attributes = new HashMap<>(message.messageAttributes());
+        attributes.put(ENVELOPE_ATTRIBUTE, stringAttribute(Integer.toString(entries.size())));
+        attributes.put(ENVELOPE_ATTEMPT_ATTRIBUTE, stringAttribute(Integer.toString(attempt)));
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(new LeadEnvelope(LeadEnvelope.VERSION, entries)))
+                .flatMap(body -> tracer.trace("sqs.resend", Span.Kind.PRODUCER, sqsRetry.execute(() -> Mono.fromFuture(() -> sqsAsyncBatchManager.sendMessage(SendMessageRequest.builder()
+                        .queueUrl(queueUrl)
+                        .messageBody(body)
+                        .messageAttributes(attributes)
+                        .delaySeconds(delaySeconds)
+                        .build())))))
+                .doOnSuccess(v -> logger.warn("Transient envelope entry failures, re-sent {} of them in {}s, attempt: {}, reason: {}",
+                        entries.size(), delaySeconds, attempt, outcomes.get(0).failure().reason()))
+                .then();
+    }
+
+    static int envelopeAttempt(Message message) {
+        String attempt = attributeValue(message, ENVELOPE_ATTEMPT_ATTRIBUTE);
+        if (attempt == null) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(attempt));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private static UUID entryEventId(LeadEnvelope.Entry entry) {
+        try {
+            String eventId = entry.lead() != null ? entry.lead().path("event_id").asText(null) : null;
+            return eventId != null ? UUID.fromString(eventId) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Makes a message that was received but not yet processed visible again immediately, so it
+     * does not sit out the visibility timeout while downstream breakers are open.
+     */
+    private Mono<Void> release(Message message, String queueUrl) {
+        return tracer.trace("sqs.release", Span.Kind.CLIENT, sqsRetry.execute(() -> Mono.fromFuture(() -> sqsAsyncBatchManager.changeMessageVisibility(builder -> builder
+                        .queueUrl(queueUrl)
+                        .receiptHandle(message.receiptHandle())
+                        .visibilityTimeout(0)))))
+                .doOnSuccess(v -> {
+                    metricsPublisher.incrementReleasedMessages();
+                    logger.debug("Released message while paused, correlationId: {}", extractCorrelationId(message));
+                })
+                .then();
+    }
+
+    /**
+     * Hands a message back to the queue for a short jittered delay because its campaign already
+     * has a full buffer, leaving room for other campaigns' messages in the next receives. Only
+     * messages received at most {@code maxDeferredReceives} times are deferred, so deferral alone
+     * never pushes a message towards the DLQ's receive limit.
+     */
+    private Mono<Void> defer(Message message, String queueUrl, String campaign) {
+        long deferralMillis = campaignConfig.deferral().toMillis();
+        int visibilitySeconds = (int) Math.max(1, (deferralMillis + ThreadLocalRandom.current().nextLong(deferralMillis + 1)) / 1000);
+        return tracer.trace("sqs.defer", Span.Kind.CLIENT, sqsRetry.execute(() -> Mono.fromFuture(() -> sqsAsyncBatchManager.changeMessageVisibility(builder -> builder
+                        .queueUrl(queueUrl)
+                        .receiptHandle(message.receiptHandle())
+                        .visibilityTimeout(visibilitySeconds)))))
+                .doOnSuccess(v -> {
+                    metricsPublisher.incrementCampaignDeferred(campaign);
+                    logger.debug("Deferred message, campaign backlog full, campaign: {}, correlationId: {}",
+                            campaign, extractCorrelationId(message));
+                })
+                .then()
+                .onErrorResume(e -> {
+                    logger.warn("Failed to defer message, leaving it for the visibility timeout, correlationId: {}, error: {}",
+                            extractCorrelationId(message), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> handleFailure(Message message, String queueUrl, Throwable failure) {
+        FailureClassifier.Classification classification = failureClassifier.classify(failure);
+        metricsPublisher.incrementConsumeFailure(classification.kind().name().toLowerCase());
+        Mono<Void> outcome = classification.isPermanent()
+                ? deadLetter(message, queueUrl, classification)
+                : backOff(message, queueUrl, classification);
+        return outcome.onErrorResume(e -> {
+            logger.error("Failed to handle failed message, leaving it for the visibility timeout, correlationId: {}, error: {}",
+                    extractCorrelationId(message), e.getMessage());
+            return Mono.empty();
+        });
+    }
+
+    /**
+     * Moves a message that can never succeed to the DLQ right away, with the failure reason
+     * as message attributes, instead of letting it burn the remaining receives.
+     */
+    private Mono<Void> deadLetter(Message message, String queueUrl, FailureClassifier.Classification classification) {
+        Map<String, MessageAttributeValue> attributes = new HashMap<>(message.messageAttributes());
+        attributes.put(FAILURE_CLASS_ATTRIBUTE, stringAttribute(classification.kind().name().toLowerCase()));
+        attributes.put(FAILURE_REASON_ATTRIBUTE, stringAttribute(truncate(classification.reason())));
+        return tracer.trace("sqs.dead_letter", Span.Kind.PRODUCER, queueUrlResolver.resolve(dlqName)
+                .flatMap(dlqUrl -> sqsRetry.execute(() -> Mono.fromFuture(() -> sqsAsyncClient.sendMessage(SendMessageRequest.builder()
+                        .queueUrl(dlqUrl)
+                        .messageBody(message.body())
+                        .messageAttributes(attributes)
+                        .build()))))
+                .then(sqsRetry.execute(() -> Mono.fromFuture(() -> deleteBatcher.deleteMessage(queueUrl, message.receiptHandle())))))
+                .doOnSuccess(v -> {
+                    metricsPublisher.incrementDlqCount();
+                    logger.error("Message sent to DLQ, correlationId: {}, reason: {}",
+                            extractCorrelationId(message), classification.reason());
+                })
+                .then(Mono.defer(() -> leadStatusRecorder.record(extractEventId(message), null, LeadStatus.FAILED)));
+    }
+
+    /**
+     * Best-effort eventId lookup for messages that failed before or during decoding.
+     */
+    private UUID extractEventId(Message message) {
+        try {
+            String eventId = objectMapper.readTree(message.body()).path("event_id").asText(null);
+            return eventId != null ? UUID.fromString(eventId) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Hides a transiently failed message for a jittered, exponentially growing delay based on
+     * its receive count, so retries spread out instead of hitting a struggling dependency in lockstep.
+     */
+    private Mono<Void> backOff(Message message, String queueUrl, FailureClassifier.Classification classification) {
+        int receiveCount = receiveCount(message);
+        int visibilitySeconds = backoffSeconds(receiveCount);
+        return tracer.trace("sqs.backoff", Span.Kind.CLIENT, sqsRetry.execute(() -> Mono.fromFuture(() -> sqsAsyncBatchManager.changeMessageVisibility(builder -> builder
+                        .queueUrl(queueUrl)
+                        .receiptHandle(message.receiptHandle())
+                        .visibilityTimeout(visibilitySeconds)))))
+                .doOnSuccess(v -> logger.warn("Transient failure, retrying in {}s, correlationId: {}, receiveCount: {}, reason: {}",
+                        visibilitySeconds, extractCorrelationId(message), receiveCount, classification.reason()))
+                .then();
+    }
+
+    private int backoffSeconds(int receiveCount) {
+        long baseMillis = consumerConfig.transientBaseDelay().toMillis();
+        long maxMillis = Math.min(consumerConfig.transientMaxDelay().toMillis(), MAX_VISIBILITY.toMillis());
+        long ceiling = Math.min(maxMillis, baseMillis << Math.min(receiveCount - 1, 20));
+        long jittered = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+        return (int) Math.max(1, jittered / 1000);
+    }
+
+    private static int receiveCount(Message message) {
+        return Integer.parseInt(message.attributes()
+                .getOrDefault(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, "1"));
+    }
+
+    private static Instant sentAt(Message message) {
+        String sentTimestamp = message.attributes().get(MessageSystemAttributeName.SENT_TIMESTAMP);
+        return sentTimestamp != null ? Instant.ofEpochMilli(Long.parseLong(sentTimestamp)) : Instant.now();
+    }
+
+    private MessageAttributeValue stringAttribute(String value) {
+        return MessageAttributeValue.builder()
+                .dataType("String")
+                .stringValue(value)
+                .build();
+    }
+
+    private String truncate(String value) {
+        return value.length() <= 256 ? value : value.substring(0, 256);
+    }
+
     private String extractCorrelationId(Message message) {
-        return message.messageAttributes().getOrDefault("X-Correlation-Id",
-                        software.amazon.awssdk.services.sqs.model.MessageAttributeValue.builder()
-                                .stringValue(UUID.randomUUID().toString())
-                                .build())
-                .stringValue();
+        String correlationId = attributeValue(message, CORRELATION_ID_ATTRIBUTE);
+        return correlationId != null ? correlationId : UUID.randomUUID().toString();
+    }
+
+    private static String attributeValue(Message message, String name) {
+        MessageAttributeValue value = message.messageAttributes().get(name);
+        return value != null ? value.stringValue() : null;
     }
 }
\ No newline at end of file
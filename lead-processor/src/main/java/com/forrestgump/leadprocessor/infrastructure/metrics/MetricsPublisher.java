@@ -1,8 +1,14 @@
 package com.forrestgump.leadprocessor.infrastructure.metrics;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.function.Supplier;
+
 @Component
 public class MetricsPublisher {
 
@@ -20,7 +26,162 @@ public class MetricsPublisher {
         meterRegistry.counter("sqs.consume.count", "status", status).increment();
     }
 
+    public void recordShardReceive(String queue, int messages) {
+        meterRegistry.counter("sqs.shard.polls.count", "queue", queue, "result", messages > 0 ? "messages" : "empty").increment();
+        meterRegistry.counter("sqs.shard.received.count", "queue", queue).increment(messages);
+    }
+
+    public void incrementConsumeFailure(String kind) {
+        meterRegistry.counter("sqs.consume.failure.count", "kind", kind).increment();
+    }
+
     public void incrementDlqCount() {
         meterRegistry.counter("sqs.dlq.count").increment();
     }
+
+    public void incrementEnvelope(String outcome) {
+        meterRegistry.counter("sqs.envelope.count", "outcome", outcome).increment();
+    }
+
+    public void incrementEnvelopeEntries(String outcome, int entries) {
+        meterRegistry.counter("sqs.envelope.entries.count", "outcome", outcome).increment(entries);
+    }
+
+    public void incrementRedrive(String outcome) {
+        meterRegistry.counter("sqs.redrive.count", "outcome", outcome).increment();
+    }
+
+    public void incrementExportedRows(int segment, long rows) {
+        meterRegistry.counter("dynamodb.export.rows", "segment", String.valueOf(segment)).increment(rows);
+    }
+
+    public void incrementExportCapacity(double capacityUnits) {
+        meterRegistry.counter("dynamodb.export.consumed.capacity").increment(capacityUnits);
+    }
+
+    public void incrementInjectedFault(String service, String operation, String kind) {
+        meterRegistry.counter("aws.fault.injected", "service", service, "operation", operation, "kind", kind).increment();
+    }
+
+    public void incrementTraceDecision(String decision) {
+        meterRegistry.counter("tracing.traces", "decision", decision).increment();
+    }
+
+    public void incrementDroppedSpans(long count) {
+        meterRegistry.counter("tracing.spans.dropped").increment(count);
+    }
+
+    public void recordWarmUp(String target, String outcome, Duration duration) {
+        meterRegistry.timer("startup.warmup", "target", target, "outcome", outcome).record(duration);
+    }
+
+    public void incrementSurgeTransition(String mode) {
+        meterRegistry.counter("surge.transitions", "to", mode).increment();
+    }
+
+    public void incrementRetry(String dependency, String outcome) {
+        meterRegistry.counter("retry.budget.count", "dependency", dependency, "outcome", outcome).increment();
+    }
+
+    public void recordConsumerPause(Duration paused) {
+        meterRegistry.timer("sqs.consumer.paused.duration").record(paused);
+    }
+
+    public void incrementReleasedMessages() {
+        meterRegistry.counter("sqs.consumer.released.count").increment();
+    }
+
+    public void incrementHedge(String dependency, String outcome) {
+        meterRegistry.counter("hedge.count", "dependency", dependency, "outcome", outcome).increment();
+    }
+
+    public void recordHedgedLatency(String dependency, Duration latency) {
+        Timer.builder("hedge.call.latency")
+                .tag("dependency", dependency)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(latency);
+    }
+
+    public void incrementThrottle(String dependency) {
+        meterRegistry.counter("aws.throttles", "dependency", dependency).increment();
+    }
+
+    public void incrementCampaignProcessed(String campaign, String outcome) {
+        meterRegistry.counter("campaign.processed.count", "campaign", campaign, "outcome", outcome).increment();
+    }
+
+    public void recordCampaignQueueDelay(String campaign, Duration delay) {
+        meterRegistry.timer("campaign.queue.delay", "campaign", campaign).record(delay);
+    }
+
+    public void incrementCampaignDeferred(String campaign) {
+        meterRegistry.counter("campaign.deferred.count", "campaign", campaign).increment();
+    }
+
+    public void recordBatch(String operation, int entries, int maxBatchSize, Duration linger) {
+        DistributionSummary.builder("sqs.batch.fill.ratio")
+                .tag("operation", operation)
+                .serviceLevelObjectives(0.1, 0.2, 0.3, 0.4, 0.5, 0.6, 0.7, 0.8, 0.9, 1.0)
+                .register(meterRegistry)
+                .record((double) entries / maxBatchSize);
+        Timer.builder("sqs.batch.linger")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(linger);
+    }
+
+    public void recordBatchEntryLatency(String operation, String outcome, Duration latency) {
+        Timer.builder("sqs.batch.entry.latency")
+                .tags("operation", operation, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(latency);
+    }
+
+    public void recordStage(String stage, String outcome, Duration wait, Duration service) {
+        Timer.builder("pipeline.stage.wait")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(wait);
+        Timer.builder("pipeline.stage.service")
+                .tags("stage", stage, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(service);
+    }
+
+    public void incrementStageRejected(String stage) {
+        meterRegistry.counter("pipeline.stage.rejected", "stage", stage).increment();
+    }
+
+    public void incrementSinkWritten(String sink, int leads) {
+        meterRegistry.counter("sink.written.count", "sink", sink).increment(leads);
+    }
+
+    public void incrementSinkDropped(String sink, String reason, int leads) {
+        meterRegistry.counter("sink.dropped.count", "sink", sink, "reason", reason).increment(leads);
+    }
+
+    public void recordSinkWrite(String sink, String outcome, Duration duration) {
+        Timer.builder("sink.write")
+                .tags("sink", sink, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    public void incrementReplayed(String outcome, long records) {
+        if (records > 0) {
+            meterRegistry.counter("replay.records.count", "outcome", outcome).increment(records);
+        }
+    }
+
+    public void registerGauge(String name, Supplier<Number> value, String... tags) {
+        Gauge.builder(name, value)
+                .tags(tags)
+                .register(meterRegistry);
+    }
 }
\ No newline at end of file
@@ -3,46 +3,91 @@ package com.forrestgump.leadprocessor.infrastructure.persistence;
 import com.forrestgump.leadprocessor.domain.model.Lead;
 import com.forrestgump.leadprocessor.infrastructure.config.AwsConfig;
 import com.forrestgump.leadprocessor.infrastructure.exception.InfrastructureException;
+import com.forrestgump.leadprocessor.infrastructure.messaging.FailureClassifier;
+import com.forrestgump.leadprocessor.infrastructure.profiling.StageEvents;
+import com.forrestgump.leadprocessor.infrastructure.resilience.AimdRateController;
+import com.forrestgump.leadprocessor.infrastructure.resilience.BudgetedRetry;
+import com.forrestgump.leadprocessor.infrastructure.resilience.HedgedCall;
+import com.forrestgump.leadprocessor.infrastructure.tracing.Span;
+import com.forrestgump.leadprocessor.infrastructure.tracing.Tracer;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
-import io.github.resilience4j.reactor.retry.RetryOperator;
-import io.github.resilience4j.retry.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
 import software.amazon.awssdk.services.kms.KmsAsyncClient;
 import software.amazon.awssdk.services.kms.model.EncryptRequest;
 import software.amazon.awssdk.utils.BinaryUtils;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Component
 public class DynamoLeadRepository {
 
     private static final Logger logger = LoggerFactory.getLogger(DynamoLeadRepository.class);
+    private static final int MAX_BATCH_GET_KEYS = 100;
+    private static final Duration UNPROCESSED_KEYS_DELAY = Duration.ofMillis(100);
     private final DynamoDbAsyncTable<Lead> leadTable;
+    private final DynamoDbAsyncClient dynamoDbClient;
+    private final String tableName;
     private final KmsAsyncClient kmsClient;
     private final String kmsKeyAlias;
     private final CircuitBreaker dynamoCircuitBreaker;
-    private final Retry dynamoRetry;
+    private final BudgetedRetry dynamoRetry;
+    private final BudgetedRetry kmsRetry;
+    private final Tracer tracer;
+    private final AimdRateController dynamoWriteRate;
+    private final FailureClassifier failureClassifier;
+    private final HedgedCall kmsHedge;
+    private final HedgedCall dynamoHedge;
 
-    public DynamoLeadRepository(DynamoDbEnhancedAsyncClient enhancedClient, AwsConfig awsConfig,
-                                KmsAsyncClient kmsClient, CircuitBreaker dynamoCircuitBreaker, Retry dynamoRetry) {
-        this.leadTable = enhancedClient.table(awsConfig.dynamodb().tableName(), TableSchema.fromBean(Lead.class));
+    public DynamoLeadRepository(DynamoDbEnhancedAsyncClient enhancedClient, DynamoDbAsyncClient dynamoDbClient, AwsConfig awsConfig,
+                                KmsAsyncClient kmsClient, CircuitBreaker dynamoCircuitBreaker,
+                                @Qualifier("dynamoRetry") BudgetedRetry dynamoRetry,
+                                @Qualifier("kmsRetry") BudgetedRetry kmsRetry, Tracer tracer,
+                                @Qualifier("dynamoWriteRate") AimdRateController dynamoWriteRate,
+                                FailureClassifier failureClassifier,
+                                @Qualifier("kmsHedge") HedgedCall kmsHedge,
+                                @Qualifier("dynamoHedge") HedgedCall dynamoHedge) {
+        this.leadTable = enhancedClient.table(awsConfig.dynamodb().tableName(), LeadTableSchema.SCHEMA);
+        this.dynamoDbClient = dynamoDbClient;
+        this.tableName = awsConfig.dynamodb().tableName();
         this.kmsClient = kmsClient;
         this.kmsKeyAlias = awsConfig.kms().keyAlias();
         this.dynamoCircuitBreaker = dynamoCircuitBreaker;
         this.dynamoRetry = dynamoRetry;
+        this.kmsRetry = kmsRetry;
+        this.tracer = tracer;
+        this.dynamoWriteRate = dynamoWriteRate;
+        this.failureClassifier = failureClassifier;
+        this.kmsHedge = kmsHedge;
+        this.dynamoHedge = dynamoHedge;
     }
 
-    public Mono<Void> save(Lead lead) {
-        return Mono.fromFuture(kmsClient.encrypt(EncryptRequest.builder()
-                        .keyId(kmsKeyAlias)
-                        .plaintext(SdkBytes.fromUtf8String(lead.getCpf()))
-                        .build()))
+    /**
+     * Returns a copy of the lead with its CPF encrypted under the configured KMS key.
+     */
+    public Mono<Lead> encrypt(Lead lead) {
+        return tracer.trace("kms.encrypt", Span.Kind.CLIENT, StageEvents.around("kms.encrypt",
+                        kmsRetry.execute(() -> kmsHedge.execute(() -> Mono.fromFuture(() -> kmsClient.encrypt(EncryptRequest.builder()
+                                .keyId(kmsKeyAlias)
+                                .plaintext(SdkBytes.fromUtf8String(lead.getCpf()))
+                                .build()))))))
                 .map(response -> BinaryUtils.toBase64(response.ciphertextBlob().asByteArray()))
                 .map(encryptedCpf -> new Lead(
                         lead.getLeadId(),
@@ -52,13 +97,73 @@ public class DynamoLeadRepository {
                         lead.getName(),
                         lead.getPhone(),
                         lead.getEmail(),
-                        lead.getCreatedAt()))
-                .flatMap(encryptedLead -> Mono.fromFuture(leadTable.putItem(encryptedLead)))
+                        lead.getCreatedAt(),
+                        lead.getPhoneE164(),
+                        lead.getPhoneState(),
+                        lead.getPhoneRegion()))
+                .doOnError(e -> logger.error("Failed to encrypt CPF, leadId: {}, error: {}", lead.getLeadId(), e.getMessage()))
+                .onErrorMap(e -> new InfrastructureException("Failed to encrypt CPF", e))
+                .transformDeferred(CircuitBreakerOperator.of(dynamoCircuitBreaker));
+    }
+
+    /**
+     * Writes a lead whose CPF has already been encrypted by {@link #encrypt(Lead)}.
+     */
+    public Mono<Void> persist(Lead lead) {
+        return tracer.trace("dynamo.putItem", Span.Kind.CLIENT, StageEvents.around("dynamo.putItem",
+                        // Each attempt, hedges included, goes through the pacer and reports its own
+                        // throttles: a throttled hedge is swallowed by HedgedCall and would otherwise
+                        // add writes the pacer neither sees nor cuts.
+                        dynamoRetry.execute(() -> dynamoHedge.execute(() -> dynamoWriteRate.acquire()
+                                .then(Mono.fromFuture(() -> leadTable.putItem(lead)))
+                                .doOnError(e -> {
+                                    if (failureClassifier.isThrottle(e)) {
+                                        dynamoWriteRate.onThrottle();
+                                    }
+                                })))))
                 .doOnSuccess(v -> logger.info("Lead saved successfully to DynamoDB, leadId: {}", lead.getLeadId()))
                 .doOnError(e -> logger.error("Failed to save lead to DynamoDB, leadId: {}, error: {}", lead.getLeadId(), e.getMessage()))
                 .onErrorMap(e -> new InfrastructureException("Failed to save to DynamoDB", e))
                 .transformDeferred(CircuitBreakerOperator.of(dynamoCircuitBreaker))
-                .transformDeferred(RetryOperator.of(dynamoRetry))
                 .then();
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns which of {@code leadIds} already have an item in the Leads table, reading only the
+     * key through {@code BatchGetItem}.
+     */
+    public Mono<Set<String>> findExisting(Collection<String> leadIds) {
+        if (leadIds.isEmpty()) {
+            return Mono.just(Set.of());
+        }
+        return Flux.fromIterable(leadIds)
+                .map(leadId -> Map.of("leadId", AttributeValue.fromS(leadId)))
+                .buffer(MAX_BATCH_GET_KEYS)
+                .concatMap(this::batchGetKeys)
+                .collect(HashSet::new, Set::addAll);
+    }
+
+    private Mono<Set<String>> batchGetKeys(List<Map<String, AttributeValue>> keys) {
+        return tracer.trace("dynamo.batchGetItem", Span.Kind.CLIENT, dynamoRetry.execute(() -> Mono.fromFuture(() -> dynamoDbClient.batchGetItem(BatchGetItemRequest.builder()
+                        .requestItems(Map.of(tableName, KeysAndAttributes.builder()
+                                .keys(keys)
+                                .projectionExpression("leadId")
+                                .build()))
+                        .build()))))
+                .flatMap(response -> {
+                    Set<String> found = new HashSet<>();
+                    response.responses().getOrDefault(tableName, List.of())
+                            .forEach(item -> found.add(item.get("leadId").s()));
+                    KeysAndAttributes unprocessed = response.unprocessedKeys().get(tableName);
+                    if (unprocessed == null || !unprocessed.hasKeys() || unprocessed.keys().isEmpty()) {
+                        return Mono.just(found);
+                    }
+                    return Mono.delay(UNPROCESSED_KEYS_DELAY)
+                            .then(batchGetKeys(unprocessed.keys()))
+                            .map(more -> {
+                                found.addAll(more);
+                                return found;
+                            });
+                });
+    }
+}
@@ -0,0 +1,99 @@
+package com.forrestgump.leadprocessor.infrastructure.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.forrestgump.leadprocessor.infrastructure.config.RedriveConfig;
+import com.forrestgump.leadprocessor.infrastructure.exception.InfrastructureException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Append-only NDJSON store for messages that still fail after a DLQ redrive, so they
+ * can leave the DLQ without being lost.
+ */
+@Component
+public class LeadParkingStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadParkingStore.class);
+    private static final String PARKING_FILE = "parked-leads.ndjson";
+    private final ObjectMapper objectMapper;
+    private final Path parkingFile;
+    private FileChannel channel;
+
+    public LeadParkingStore(ObjectMapper objectMapper, RedriveConfig redriveConfig) {
+        this.objectMapper = objectMapper;
+        this.parkingFile = Path.of(redriveConfig.parkingDirectory(), PARKING_FILE);
+    }
+
+    public Mono<Void> park(Message message, Throwable failure) {
+        return Mono.fromRunnable(() -> append(toRecord(message, failure)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnSuccess(v -> logger.warn("Message parked, messageId: {}, reason: {}",
+                        message.messageId(), rootCause(failure).getMessage()))
+                .then();
+    }
+
+    private byte[] toRecord(Message message, Throwable failure) {
+        Throwable cause = rootCause(failure);
+        ObjectNode record = objectMapper.createObjectNode();
+        record.put("messageId", message.messageId());
+        record.put("parkedAt", Instant.now().toString());
+        record.put("errorType", cause.getClass().getSimpleName());
+        record.put("reason", cause.getMessage());
+        record.put("body", message.body());
+        ObjectNode attributes = record.putObject("attributes");
+        message.messageAttributes().forEach((name, value) -> attributes.put(name, value.stringValue()));
+        try {
+            return (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new InfrastructureException("Failed to serialize parked message", e);
+        }
+    }
+
+    private synchronized void append(byte[] line) {
+        try {
+            if (channel == null) {
+                Files.createDirectories(parkingFile.getParent());
+                channel = FileChannel.open(parkingFile, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new InfrastructureException("Failed to write to parking store " + parkingFile, e);
+        }
+    }
+
+    private Throwable rootCause(Throwable failure) {
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.forrestgump.leadprocessor.infrastructure.persistence;
+
+import com.forrestgump.leadprocessor.domain.model.LeadStatus;
+import com.forrestgump.leadprocessor.infrastructure.config.AwsConfig;
+import com.forrestgump.leadprocessor.infrastructure.tracing.Span;
+import com.forrestgump.leadprocessor.infrastructure.tracing.Tracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes the completion signal lead-api reads for {@code GET /leads/{eventId}/status}: one small
+ * item per event in the status table, keyed by eventId and expired by DynamoDB TTL.
+ *
+ * <p>Recording is best effort. A failed write is logged and swallowed so it never fails or
+ * delays the lead it describes.
+ */
+@Component
+public class LeadStatusRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadStatusRecorder.class);
+    private static final Duration STATUS_RETENTION = Duration.ofDays(7);
+    private final DynamoDbAsyncClient dynamoDbClient;
+    private final String statusTableName;
+    private final Tracer tracer;
+
+    public LeadStatusRecorder(DynamoDbAsyncClient dynamoDbClient, AwsConfig awsConfig, Tracer tracer) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.statusTableName = awsConfig.dynamodb().statusTableName();
+        this.tracer = tracer;
+    }
+
+    public Mono<Void> record(UUID eventId, String leadId, LeadStatus status) {
+        if (eventId == null) {
+            return Mono.empty();
+        }
+        Instant now = Instant.now();
+        Map<String, AttributeValue> item = new HashMap<>();
+        item.put("eventId", AttributeValue.fromS(eventId.toString()));
+        item.put("status", AttributeValue.fromS(status.name()));
+        item.put("updatedAt", AttributeValue.fromS(now.toString()));
+        item.put("expiresAt", AttributeValue.fromN(Long.toString(now.plus(STATUS_RETENTION).getEpochSecond())));
+        if (leadId != null) {
+            item.put("leadId", AttributeValue.fromS(leadId));
+        }
+        return tracer.trace("dynamo.status", Span.Kind.CLIENT, Mono.fromFuture(() -> dynamoDbClient.putItem(PutItemRequest.builder()
+                        .tableName(statusTableName)
+                        .item(item)
+                        .build())))
+                .then()
+                .onErrorResume(e -> {
+                    logger.warn("Failed to record lead status {}, eventId: {}, error: {}", status, eventId, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
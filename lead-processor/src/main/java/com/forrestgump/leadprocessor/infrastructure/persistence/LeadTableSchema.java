@@ -0,0 +1,59 @@
+package com.forrestgump.leadprocessor.infrastructure.persistence;
+
+import com.forrestgump.leadprocessor.domain.model.Lead;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+
+import java.time.Instant;
+
+/**
+ * Hand-written schema for {@link Lead}, equivalent to its {@code @DynamoDbBean} annotations.
+ *
+ * <p>{@code TableSchema.fromBean} introspects the bean and generates accessors through
+ * {@code LambdaMetafactory} on first use, which is slow at startup and opaque to AOT processing.
+ * Keep the two in sync when attributes change.
+ */
+final class LeadTableSchema {
+
+    static final TableSchema<Lead> SCHEMA = StaticTableSchema.builder(Lead.class)
+            .newItemSupplier(Lead::new)
+            .addAttribute(String.class, attribute -> attribute.name("leadId")
+                    .getter(Lead::getLeadId)
+                    .setter(Lead::setLeadId)
+                    .tags(StaticAttributeTags.primaryPartitionKey()))
+            .addAttribute(String.class, attribute -> attribute.name("cpf")
+                    .getter(Lead::getCpf)
+                    .setter(Lead::setCpf))
+            .addAttribute(String.class, attribute -> attribute.name("encryptedCpf")
+                    .getter(Lead::getEncryptedCpf)
+                    .setter(Lead::setEncryptedCpf))
+            .addAttribute(String.class, attribute -> attribute.name("salt")
+                    .getter(Lead::getSalt)
+                    .setter(Lead::setSalt))
+            .addAttribute(String.class, attribute -> attribute.name("name")
+                    .getter(Lead::getName)
+                    .setter(Lead::setName))
+            .addAttribute(String.class, attribute -> attribute.name("phone")
+                    .getter(Lead::getPhone)
+                    .setter(Lead::setPhone))
+            .addAttribute(String.class, attribute -> attribute.name("email")
+                    .getter(Lead::getEmail)
+                    .setter(Lead::setEmail))
+            .addAttribute(Instant.class, attribute -> attribute.name("createdAt")
+                    .getter(Lead::getCreatedAt)
+                    .setter(Lead::setCreatedAt))
+            .addAttribute(String.class, attribute -> attribute.name("phoneE164")
+                    .getter(Lead::getPhoneE164)
+                    .setter(Lead::setPhoneE164))
+            .addAttribute(String.class, attribute -> attribute.name("phoneState")
+                    .getter(Lead::getPhoneState)
+                    .setter(Lead::setPhoneState))
+            .addAttribute(String.class, attribute -> attribute.name("phoneRegion")
+                    .getter(Lead::getPhoneRegion)
+                    .setter(Lead::setPhoneRegion))
+            .build();
+
+    private LeadTableSchema() {
+    }
+}
@@ -0,0 +1,209 @@
+package com.forrestgump.leadprocessor.infrastructure.pipeline;
+
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * One step of the processing pipeline: a bounded buffer of waiting work, a concurrency limit and
+ * a scheduler of its own. Work beyond the concurrency limit waits in the buffer in arrival order;
+ * once the buffer is full, new work is turned away with {@link StageFullException} rather than
+ * queued without bound, and the message goes back to SQS to be retried.
+ * <p>
+ * Time spent waiting for a slot and time spent in the stage are recorded separately, so a stage
+ * that is the bottleneck shows a growing wait while its service time stays flat.
+ */
+public class PipelineStage {
+
+    private final String name;
+    private final Scheduler scheduler;
+    private final MetricsPublisher metricsPublisher;
+    private final ArrayDeque<Task<?>> pending = new ArrayDeque<>();
+    private volatile int concurrency;
+    private volatile int capacity;
+    private volatile int inFlight;
+    private long completed;
+    private long rejected;
+
+    PipelineStage(String name, int concurrency, int capacity, int threads, MetricsPublisher metricsPublisher) {
+        this.name = name;
+        this.concurrency = concurrency;
+        this.capacity = capacity;
+        this.metricsPublisher = metricsPublisher;
+        this.scheduler = Schedulers.newBoundedElastic(threads, Integer.MAX_VALUE, "lead-stage-" + name, 60, true);
+        metricsPublisher.registerGauge("pipeline.stage.queued", this::queued, "stage", name);
+        metricsPublisher.registerGauge("pipeline.stage.in_flight", () -> inFlight, "stage", name);
+        metricsPublisher.registerGauge("pipeline.stage.concurrency", () -> this.concurrency, "stage", name);
+        metricsPublisher.registerGauge("pipeline.stage.capacity", () -> this.capacity, "stage", name);
+    }
+
+    public record State(
+            String stage,
+            int concurrency,
+            int capacity,
+            int inFlight,
+            int queued,
+            double utilization,
+            long completed,
+            long rejected
+    ) {}
+
+    /**
+     * Thrown through the returned {@link Mono} when the stage's buffer is already full.
+     */
+    public static final class StageFullException extends RuntimeException {
+
+        private final String stage;
+
+        StageFullException(String stage) {
+            super("Pipeline stage full: " + stage);
+            this.stage = stage;
+        }
+
+        public String stage() {
+            return stage;
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Runs {@code work} on this stage's scheduler once a slot is free. The subscriber's context is
+     * carried over to the work, so spans and stage events nest as before.
+     */
+    public <T> Mono<T> submit(Supplier<Mono<T>> work) {
+        return Mono.create(sink -> enqueue(new Task<>(work, sink)));
+    }
+
+    /**
+     * Changes the concurrency limit and buffer size. A raised limit starts waiting work right
+     * away; a lowered one lets work already running finish.
+     */
+    public State update(Integer newConcurrency, Integer newCapacity) {
+        if (newConcurrency != null && newConcurrency > 0) {
+            concurrency = newConcurrency;
+        }
+        if (newCapacity != null && newCapacity > 0) {
+            capacity = newCapacity;
+        }
+        dispatch();
+        return state();
+    }
+
+    public synchronized State state() {
+        return new State(name, concurrency, capacity, inFlight, pending.size(),
+                (double) inFlight / concurrency, completed, rejected);
+    }
+
+    /**
+     * How many more messages the buffer could take right now.
+     */
+    public synchronized int headroom() {
+        return Math.max(0, capacity - pending.size());
+    }
+
+    private synchronized int queued() {
+        return pending.size();
+    }
+
+    private <T> void enqueue(Task<T> task) {
+        synchronized (this) {
+            if (pending.size() >= capacity) {
+                rejected++;
+                metricsPublisher.incrementStageRejected(name);
+                task.sink.error(new StageFullException(name));
+                return;
+            }
+            pending.addLast(task);
+            task.sink.onCancel(() -> cancel(task));
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        while (true) {
+            Task<?> task;
+            synchronized (this) {
+                if (inFlight >= concurrency || pending.isEmpty()) {
+                    return;
+                }
+                task = pending.pollFirst();
+                inFlight++;
+                task.started = true;
+            }
+            run(task);
+        }
+    }
+
+    private <T> void run(Task<T> task) {
+        task.startedNanos = System.nanoTime();
+        Disposable subscription = Mono.defer(task.work)
+                .subscribeOn(scheduler)
+                .contextWrite(task.sink.contextView())
+                .subscribe(value -> task.value = value,
+                        e -> {
+                            finish(task, "error");
+                            task.sink.error(e);
+                        },
+                        () -> {
+                            finish(task, "success");
+                            task.sink.success(task.value);
+                        });
+        task.sink.onDispose(() -> {
+            if (!subscription.isDisposed()) {
+                subscription.dispose();
+                finish(task, "cancelled");
+            }
+        });
+    }
+
+    private void finish(Task<?> task, String outcome) {
+        synchronized (this) {
+            if (task.finished) {
+                return;
+            }
+            task.finished = true;
+            inFlight--;
+            completed++;
+        }
+        long now = System.nanoTime();
+        metricsPublisher.recordStage(name, outcome, Duration.ofNanos(task.startedNanos - task.enqueuedNanos),
+                Duration.ofNanos(now - task.startedNanos));
+        dispatch();
+    }
+
+    private synchronized void cancel(Task<?> task) {
+        if (!task.started) {
+            pending.remove(task);
+        }
+    }
+
+    void dispose() {
+        scheduler.dispose();
+    }
+
+    private static final class Task<T> {
+
+        final Supplier<Mono<T>> work;
+        final MonoSink<T> sink;
+        final long enqueuedNanos = System.nanoTime();
+        long startedNanos;
+        T value;
+        boolean started;
+        boolean finished;
+
+        Task(Supplier<Mono<T>> work, MonoSink<T> sink) {
+            this.work = work;
+            this.sink = sink;
+        }
+    }
+}
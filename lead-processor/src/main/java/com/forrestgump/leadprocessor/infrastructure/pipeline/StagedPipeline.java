@@ -0,0 +1,74 @@
+package com.forrestgump.leadprocessor.infrastructure.pipeline;
+
+import com.forrestgump.leadprocessor.infrastructure.config.PipelineConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The processor's stages in message order: receive, decode, validate, encrypt, persist, ack.
+ * Receive is the SQS pollers, sized by {@code RuntimeTuning}; the others are
+ * {@link PipelineStage}s, each tunable on its own. Receives are capped by {@link #headroom()}, so
+ * the pollers only take in what every stage still has room to buffer.
+ */
+@Component
+public class StagedPipeline {
+
+    public static final String DECODE = "decode";
+    public static final String VALIDATE = "validate";
+    public static final String ENCRYPT = "encrypt";
+    public static final String PERSIST = "persist";
+    public static final String ACK = "ack";
+    private static final Logger logger = LoggerFactory.getLogger(StagedPipeline.class);
+    private final Map<String, PipelineStage> stages = new LinkedHashMap<>();
+
+    public StagedPipeline(PipelineConfig config, MetricsPublisher metricsPublisher) {
+        for (String name : List.of(DECODE, VALIDATE, ENCRYPT, PERSIST, ACK)) {
+            PipelineConfig.Stage stage = config.stages().get(name);
+            stages.put(name, new PipelineStage(name, stage.concurrency(), stage.capacity(), stage.threads(), metricsPublisher));
+        }
+    }
+
+    public PipelineStage stage(String name) {
+        PipelineStage stage = stages.get(name);
+        if (stage == null) {
+            throw new IllegalArgumentException("Unknown pipeline stage: " + name);
+        }
+        return stage;
+    }
+
+    public PipelineStage.State update(String name, Integer concurrency, Integer capacity) {
+        PipelineStage.State state = stage(name).update(concurrency, capacity);
+        logger.info("Pipeline stage updated, stage: {}, concurrency: {}, capacity: {}",
+                name, state.concurrency(), state.capacity());
+        return state;
+    }
+
+    public List<PipelineStage.State> state() {
+        return stages.values().stream()
+                .map(PipelineStage::state)
+                .toList();
+    }
+
+    /**
+     * The smallest free buffer space across stages, which is how many more messages can be
+     * received without one of them being turned away further down.
+     */
+    public int headroom() {
+        return stages.values().stream()
+                .mapToInt(PipelineStage::headroom)
+                .min()
+                .orElse(0);
+    }
+
+    @PreDestroy
+    public void close() {
+        stages.values().forEach(PipelineStage::dispose);
+    }
+}
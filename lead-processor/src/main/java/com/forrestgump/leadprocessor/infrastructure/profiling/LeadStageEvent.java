@@ -0,0 +1,39 @@
+package com.forrestgump.leadprocessor.infrastructure.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One pipeline stage for one lead. The duration is the event's own; {@code allocated} is only
+ * measured for stages that run synchronously on one thread and is -1 otherwise.
+ */
+@Name(LeadStageEvent.NAME)
+@Label("Lead Stage")
+@Category({"Lead Pipeline", "Processor"})
+@Description("A lead pipeline stage with its duration, payload size and allocation")
+@StackTrace(false)
+public final class LeadStageEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.forrestgump.LeadStage";
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Event Id")
+    String eventId;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Payload")
+    @DataAmount
+    long bytes = -1;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated = -1;
+}
@@ -0,0 +1,78 @@
+package com.forrestgump.leadprocessor.infrastructure.profiling;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Callable;
+import java.util.function.ToLongFunction;
+
+/**
+ * Emits {@link LeadStageEvent}s around pipeline stages. When no recording enables the event,
+ * each call costs one {@code isEnabled()} check and the stage runs unchanged.
+ */
+public final class StageEvents {
+
+    private static final String EVENT_ID = StageEvents.class.getName() + ".eventId";
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private StageEvents() {
+    }
+
+    /**
+     * Context carrying the event id for stages further down the chain that do not know it.
+     */
+    public static Context eventId(Object eventId) {
+        return Context.of(EVENT_ID, String.valueOf(eventId));
+    }
+
+    /**
+     * Records an asynchronous stage from subscription to termination.
+     */
+    public static <T> Mono<T> around(String stage, Mono<T> mono) {
+        if (!new LeadStageEvent().isEnabled()) {
+            return mono;
+        }
+        return Mono.deferContextual(context -> {
+            LeadStageEvent event = new LeadStageEvent();
+            event.stage = stage;
+            event.eventId = context.getOrDefault(EVENT_ID, null);
+            event.begin();
+            return mono.doFinally(signal -> {
+                event.outcome = signal.name().toLowerCase();
+                event.commit();
+            });
+        });
+    }
+
+    /**
+     * Records a synchronous stage, including the bytes it allocated on the calling thread.
+     * {@code bytes} extracts the payload size from the result and may be null.
+     */
+    public static <T> T measure(String stage, Object eventId, Callable<T> work, ToLongFunction<? super T> bytes) throws Exception {
+        LeadStageEvent event = new LeadStageEvent();
+        if (!event.isEnabled()) {
+            return work.call();
+        }
+        event.stage = stage;
+        event.eventId = eventId != null ? String.valueOf(eventId) : null;
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        event.begin();
+        try {
+            T result = work.call();
+            event.outcome = "on_complete";
+            if (bytes != null && result != null) {
+                event.bytes = bytes.applyAsLong(result);
+            }
+            return result;
+        } catch (Exception e) {
+            event.outcome = "on_error";
+            throw e;
+        } finally {
+            event.end();
+            event.allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            event.commit();
+        }
+    }
+}
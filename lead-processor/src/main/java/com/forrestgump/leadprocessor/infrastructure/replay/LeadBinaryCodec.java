@@ -0,0 +1,108 @@
+package com.forrestgump.leadprocessor.infrastructure.replay;
+
+import com.forrestgump.leadprocessor.domain.model.LeadSubmission;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Compact binary form of {@link LeadSubmission} for replay files. A file starts with the magic
+ * {@code LEADBIN1}, followed by records of:
+ * <pre>
+ * int32  length of the rest of the record
+ * int64  eventId most significant bits, int64 least significant bits (both 0 for none)
+ * int64  createdAt epoch millis (Long.MIN_VALUE for none)
+ * 10 x   int16 length (-1 for null) + UTF-8 bytes:
+ *        leadId, cpf, salt, name, phone, email, campaignId, phoneE164, phoneState, phoneRegion
+ * </pre>
+ * All numbers are big-endian. The length prefix lets a reader skip records without decoding
+ * them, which is how chunk boundaries are found. Records written before the phone fields were
+ * added end after {@code campaignId} and decode with those fields null.
+ */
+public final class LeadBinaryCodec {
+
+    static final byte[] MAGIC = "LEADBIN1".getBytes(StandardCharsets.US_ASCII);
+
+    private LeadBinaryCodec() {
+    }
+
+    static LeadSubmission decode(ByteBuffer record) {
+        long msb = record.getLong();
+        long lsb = record.getLong();
+        long createdAt = record.getLong();
+        String leadId = readString(record);
+        String cpf = readString(record);
+        String salt = readString(record);
+        String name = readString(record);
+        String phone = readString(record);
+        String email = readString(record);
+        String campaignId = readString(record);
+        String phoneE164 = record.hasRemaining() ? readString(record) : null;
+        String phoneState = record.hasRemaining() ? readString(record) : null;
+        String phoneRegion = record.hasRemaining() ? readString(record) : null;
+        return new LeadSubmission(
+                msb == 0 && lsb == 0 ? null : new UUID(msb, lsb),
+                leadId, cpf, salt, name, phone, email,
+                createdAt == Long.MIN_VALUE ? null : Instant.ofEpochMilli(createdAt),
+                campaignId, phoneE164, phoneState, phoneRegion);
+    }
+
+    /**
+     * Writes the file header. Call once before the first {@link #encode}.
+     */
+    public static void writeHeader(OutputStream out) throws IOException {
+        out.write(MAGIC);
+    }
+
+    public static void encode(LeadSubmission lead, OutputStream out) throws IOException {
+        byte[][] strings = {
+                bytes(lead.leadId()), bytes(lead.cpf()), bytes(lead.salt()), bytes(lead.name()),
+                bytes(lead.phone()), bytes(lead.email()), bytes(lead.campaignId()),
+                bytes(lead.phoneE164()), bytes(lead.phoneState()), bytes(lead.phoneRegion())
+        };
+        int length = 24;
+        for (byte[] value : strings) {
+            length += 2 + (value != null ? value.length : 0);
+        }
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(length);
+        data.writeLong(lead.eventId() != null ? lead.eventId().getMostSignificantBits() : 0);
+        data.writeLong(lead.eventId() != null ? lead.eventId().getLeastSignificantBits() : 0);
+        data.writeLong(lead.createdAt() != null ? lead.createdAt().toEpochMilli() : Long.MIN_VALUE);
+        for (byte[] value : strings) {
+            if (value == null) {
+                data.writeShort(-1);
+            } else {
+                data.writeShort(value.length);
+                data.write(value);
+            }
+        }
+        data.flush();
+    }
+
+    private static String readString(ByteBuffer record) {
+        short length = record.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        record.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Field longer than " + Short.MAX_VALUE + " bytes");
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,310 @@
+package com.forrestgump.leadprocessor.infrastructure.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.forrestgump.leadprocessor.application.usecase.ProcessLeadUseCase;
+import com.forrestgump.leadprocessor.infrastructure.config.ReplayConfig;
+import com.forrestgump.leadprocessor.infrastructure.exception.InfrastructureException;
+import com.forrestgump.leadprocessor.infrastructure.messaging.FailureClassifier;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import com.forrestgump.leadprocessor.infrastructure.persistence.DynamoLeadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feeds a file of leads straight into {@link ProcessLeadUseCase}, without going through lead-api
+ * and SQS, for backfills and recovery.
+ *
+ * <p>The file is split into chunks (see {@link ReplayFile}) that {@code lead.replay.workers}
+ * workers read through memory-mapped buffers. Each worker takes its chunk in windows of
+ * {@code checkpointEvery} leads: the window's lead IDs are looked up in the Leads table with
+ * {@code BatchGetItem} and leads already there are skipped, the rest are processed with bounded
+ * concurrency, and once the whole window is done the chunk's position is checkpointed. A resumed
+ * replay therefore repeats at most the window that was in flight, and dedup makes the repeat
+ * harmless. Retries happen only inside {@link ProcessLeadUseCase}, against the shared retry budget,
+ * so a replay cannot multiply load on a struggling table; leads that still fail and malformed
+ * records are written, by offset and without their contents, to {@code <file>.rejected.ndjson}
+ * next to the checkpoint.
+ */
+@Component
+public class LeadFileReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadFileReplayer.class);
+    private final ProcessLeadUseCase processLeadUseCase;
+    private final DynamoLeadRepository leadRepository;
+    private final FailureClassifier failureClassifier;
+    private final ObjectMapper objectMapper;
+    private final MetricsPublisher metricsPublisher;
+    private final ReplayConfig config;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong readThisRun = new AtomicLong();
+    private volatile ReplayCheckpointStore checkpoints;
+    private volatile Path file;
+    private volatile ReplayFile.Format format;
+    private volatile long totalBytes;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile Disposable subscription;
+
+    public LeadFileReplayer(ProcessLeadUseCase processLeadUseCase, DynamoLeadRepository leadRepository,
+                            FailureClassifier failureClassifier, ObjectMapper objectMapper,
+                            MetricsPublisher metricsPublisher, ReplayConfig config) {
+        this.processLeadUseCase = processLeadUseCase;
+        this.leadRepository = leadRepository;
+        this.failureClassifier = failureClassifier;
+        this.objectMapper = objectMapper;
+        this.metricsPublisher = metricsPublisher;
+        this.config = config;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnBoot() {
+        if (config.onStartup() && config.file() != null && !config.file().isBlank()) {
+            logger.info("Replay on startup enabled, resuming from checkpoint if present");
+            start(config.file(), true);
+        }
+    }
+
+    public synchronized ReplayProgress start(String requestedFile, boolean resume) {
+        if (running.get()) {
+            logger.warn("Replay already running, ignoring start request");
+            return progress();
+        }
+        String name = requestedFile != null && !requestedFile.isBlank() ? requestedFile : config.file();
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("No replay file given and lead.replay.file is not set");
+        }
+        Path input = Path.of(name).toAbsolutePath();
+        FileChannel channel = null;
+        List<ReplayCheckpointStore.ChunkCheckpoint> chunks;
+        try {
+            channel = FileChannel.open(input, StandardOpenOption.READ);
+            format = ReplayFile.detect(channel, config.format());
+            totalBytes = channel.size();
+            checkpoints = new ReplayCheckpointStore(objectMapper, checkpointFile(input, ".checkpoint.json"));
+            if (!resume || !checkpoints.load(input.toString(), totalBytes, format)) {
+                checkpoints.reset(input.toString(), totalBytes, format, ReplayFile.plan(channel, format, config.chunkBytes()));
+            }
+            chunks = checkpoints.chunks();
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new InfrastructureException("Failed to open replay file " + input, e);
+        }
+        FileChannel replayChannel = channel;
+
+        file = input;
+        readThisRun.set(0);
+        startedNanos = System.nanoTime();
+        finishedNanos = 0;
+        startedAt = Instant.now();
+        finishedAt = null;
+        running.set(true);
+
+        int perWorker = Math.max(1, config.maxConcurrency() / config.workers());
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            if (!chunks.get(i).done()) {
+                pending.add(i);
+            }
+        }
+        logger.info("Starting replay of {}, format: {}, bytes: {}, chunks: {} ({} pending), workers: {}, maxConcurrency: {}",
+                input, format, totalBytes, chunks.size(), pending.size(), config.workers(), config.maxConcurrency());
+        subscription = Flux.fromIterable(pending)
+                .flatMap(index -> replayChunk(replayChannel, index, perWorker), config.workers())
+                .doFinally(signal -> {
+                    running.set(false);
+                    finishedNanos = System.nanoTime();
+                    finishedAt = Instant.now();
+                    closeQuietly(replayChannel);
+                    ReplayProgress progress = progress();
+                    logger.info("Replay of {} finished ({}), read: {}, processed: {}, duplicates: {}, failed: {}, malformed: {}, "
+                                    + "recordsPerSecond: {}, reconciled: {}",
+                            input, signal, progress.read(), progress.processed(), progress.duplicates(), progress.failed(),
+                            progress.malformed(), String.format("%.1f", progress.recordsPerSecond()), progress.reconciled());
+                })
+                .subscribe(v -> { }, e -> logger.error("Replay of {} aborted: {}", input, e.getMessage()));
+        return progress();
+    }
+
+    public synchronized ReplayProgress stop() {
+        Disposable current = subscription;
+        if (current != null && !current.isDisposed()) {
+            logger.info("Stopping replay on request, progress is kept in the checkpoint");
+            current.dispose();
+        }
+        return progress();
+    }
+
+    public ReplayProgress progress() {
+        ReplayCheckpointStore store = checkpoints;
+        List<ReplayCheckpointStore.ChunkCheckpoint> states = store != null ? store.chunks() : List.of();
+        List<ReplayProgress.Chunk> chunks = new ArrayList<>(states.size());
+        long bytesDone = 0;
+        long read = 0;
+        long processed = 0;
+        long duplicates = 0;
+        long failed = 0;
+        long malformed = 0;
+        boolean allDone = !states.isEmpty();
+        for (int i = 0; i < states.size(); i++) {
+            ReplayCheckpointStore.ChunkCheckpoint state = states.get(i);
+            chunks.add(new ReplayProgress.Chunk(i, state.start(), state.end(), state.position(), state.read(), state.done()));
+            bytesDone += state.position() - state.start();
+            read += state.read();
+            processed += state.processed();
+            duplicates += state.duplicates();
+            failed += state.failed();
+            malformed += state.malformed();
+            allDone &= state.done();
+        }
+        long elapsed = (finishedNanos != 0 ? finishedNanos : System.nanoTime()) - startedNanos;
+        double perSecond = startedAt == null || elapsed <= 0 ? 0 : readThisRun.get() / (elapsed / 1_000_000_000.0);
+        return new ReplayProgress(running.get(), file != null ? file.toString() : null,
+                format != null ? format.name().toLowerCase() : null, startedAt, finishedAt, totalBytes, bytesDone,
+                read, processed, duplicates, failed, malformed, perSecond,
+                allDone && read == processed + duplicates + failed + malformed, chunks);
+    }
+
+    private Mono<Void> replayChunk(FileChannel channel, int index, int concurrency) {
+        ReplayCheckpointStore.ChunkCheckpoint start = checkpoints.get(index);
+        ReplayFile.Chunk chunk = new ReplayFile.Chunk(index, start.start(), start.end());
+        return Mono.fromCallable(() -> new ReplayFile.Reader(channel, format, chunk, start.position(), objectMapper))
+                .flatMapMany(reader -> Flux.<ReplayFile.Parsed>generate(sink -> {
+                    ReplayFile.Parsed parsed = reader.next();
+                    if (parsed != null) {
+                        sink.next(parsed);
+                    } else {
+                        sink.complete();
+                    }
+                }))
+                .subscribeOn(Schedulers.boundedElastic())
+                .buffer(config.checkpointEvery())
+                .concatMap(window -> replayWindow(window, concurrency)
+                        .doOnNext(counts -> checkpoints.save(index, checkpoints.get(index).advance(
+                                window.get(window.size() - 1).end(), window.size(),
+                                counts.processed(), counts.duplicates(), counts.failed(), counts.malformed()))))
+                .then(Mono.fromRunnable(() -> {
+                    checkpoints.save(index, checkpoints.get(index).finish());
+                    logger.info("Replay chunk {} complete, read: {}", index, checkpoints.get(index).read());
+                }));
+    }
+
+    private record WindowCounts(long processed, long duplicates, long failed, long malformed) {}
+
+    private Mono<WindowCounts> replayWindow(List<ReplayFile.Parsed> window, int concurrency) {
+        readThisRun.addAndGet(window.size());
+        List<ReplayFile.Parsed> leads = new ArrayList<>(window.size());
+        long malformed = 0;
+        for (ReplayFile.Parsed parsed : window) {
+            if (parsed.lead() == null) {
+                malformed++;
+                reject(parsed, parsed.error());
+            } else {
+                leads.add(parsed);
+            }
+        }
+        long malformedCount = malformed;
+        metricsPublisher.incrementReplayed("malformed", malformed);
+        return existing(leads)
+                .flatMap(existing -> {
+                    Set<String> seen = new HashSet<>(existing);
+                    List<ReplayFile.Parsed> fresh = new ArrayList<>(leads.size());
+                    for (ReplayFile.Parsed parsed : leads) {
+                        String leadId = parsed.lead().leadId();
+                        if (leadId == null || seen.add(leadId)) {
+                            fresh.add(parsed);
+                        }
+                    }
+                    long duplicates = leads.size() - fresh.size();
+                    metricsPublisher.incrementReplayed("duplicate", duplicates);
+                    return Flux.fromIterable(fresh)
+                            .flatMap(this::replayLead, concurrency)
+                            .filter(Boolean::booleanValue)
+                            .count()
+                            .map(processed -> new WindowCounts(processed, duplicates, fresh.size() - processed, malformedCount));
+                });
+    }
+
+    private Mono<Set<String>> existing(List<ReplayFile.Parsed> leads) {
+        if (!config.dedup()) {
+            return Mono.just(Set.of());
+        }
+        Set<String> leadIds = new HashSet<>();
+        leads.forEach(parsed -> {
+            if (parsed.lead().leadId() != null) {
+                leadIds.add(parsed.lead().leadId());
+            }
+        });
+        return leadRepository.findExisting(leadIds);
+    }
+
+    private Mono<Boolean> replayLead(ReplayFile.Parsed parsed) {
+        return processLeadUseCase.execute(parsed.lead(), "replay-" + file.getFileName())
+                .thenReturn(true)
+                .doOnNext(ok -> metricsPublisher.incrementReplayed("processed", 1))
+                .onErrorResume(e -> {
+                    metricsPublisher.incrementReplayed("failed", 1);
+                    reject(parsed, failureClassifier.classify(e).reason());
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * Records a rejected record by offset and IDs only, so the rejects file never holds a CPF.
+     */
+    private synchronized void reject(ReplayFile.Parsed parsed, String reason) {
+        ObjectNode record = objectMapper.createObjectNode();
+        record.put("offset", parsed.offset());
+        record.put("reason", reason);
+        if (parsed.lead() != null) {
+            record.put("eventId", parsed.lead().eventId() != null ? parsed.lead().eventId().toString() : null);
+            record.put("leadId", parsed.lead().leadId());
+        }
+        try {
+            Files.write(checkpointFile(file, ".rejected.ndjson"),
+                    (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.error("Failed to record rejected replay record at offset {}: {}", parsed.offset(), e.getMessage());
+        }
+    }
+
+    private void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close replay file: {}", e.getMessage());
+        }
+    }
+
+    private Path checkpointFile(Path input, String suffix) {
+        return Path.of(config.checkpointDirectory()).resolve(input.getFileName() + suffix);
+    }
+}
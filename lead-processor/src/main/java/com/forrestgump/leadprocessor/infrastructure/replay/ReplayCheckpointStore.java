@@ -0,0 +1,110 @@
+package com.forrestgump.leadprocessor.infrastructure.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadprocessor.infrastructure.exception.InfrastructureException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persists how far each chunk of a replay file has got, with running counts per outcome, so an
+ * interrupted replay resumes after the last completed window and the final reconciliation covers
+ * every run over the file.
+ *
+ * <p>Like the export checkpoint, the file is rewritten through a temporary file and an atomic
+ * move, so it is never left partial.
+ */
+class ReplayCheckpointStore {
+
+    record ChunkCheckpoint(
+            long start,
+            long end,
+            long position,
+            long read,
+            long processed,
+            long duplicates,
+            long failed,
+            long malformed,
+            boolean done
+    ) {
+        ChunkCheckpoint advance(long newPosition, long newRead, long newProcessed, long newDuplicates,
+                                long newFailed, long newMalformed) {
+            return new ChunkCheckpoint(start, end, newPosition, read + newRead, processed + newProcessed,
+                    duplicates + newDuplicates, failed + newFailed, malformed + newMalformed, false);
+        }
+
+        ChunkCheckpoint finish() {
+            return new ChunkCheckpoint(start, end, end, read, processed, duplicates, failed, malformed, true);
+        }
+    }
+
+    record Checkpoint(String file, long size, String format, List<ChunkCheckpoint> chunks) {}
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private Checkpoint checkpoint;
+
+    ReplayCheckpointStore(ObjectMapper objectMapper, Path file) {
+        this.objectMapper = objectMapper;
+        this.file = file;
+    }
+
+    /**
+     * Loads an existing checkpoint for the same file, size and format. Returns false, and leaves
+     * the store empty, when there is none or the input has changed since it was written.
+     */
+    synchronized boolean load(String replayFile, long size, ReplayFile.Format format) {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try {
+            Checkpoint loaded = objectMapper.readValue(file.toFile(), Checkpoint.class);
+            if (!loaded.file().equals(replayFile) || loaded.size() != size || !loaded.format().equals(format.name())) {
+                return false;
+            }
+            checkpoint = loaded;
+            return true;
+        } catch (IOException e) {
+            throw new InfrastructureException("Failed to read replay checkpoint " + file, e);
+        }
+    }
+
+    synchronized void reset(String replayFile, long size, ReplayFile.Format format, List<ReplayFile.Chunk> chunks) {
+        List<ChunkCheckpoint> states = new ArrayList<>(chunks.size());
+        for (ReplayFile.Chunk chunk : chunks) {
+            states.add(new ChunkCheckpoint(chunk.start(), chunk.end(), chunk.start(), 0, 0, 0, 0, 0, false));
+        }
+        checkpoint = new Checkpoint(replayFile, size, format.name(), states);
+        write();
+    }
+
+    synchronized List<ChunkCheckpoint> chunks() {
+        return checkpoint != null ? List.copyOf(checkpoint.chunks()) : List.of();
+    }
+
+    synchronized ChunkCheckpoint get(int index) {
+        return checkpoint.chunks().get(index);
+    }
+
+    synchronized void save(int index, ChunkCheckpoint state) {
+        List<ChunkCheckpoint> chunks = new ArrayList<>(checkpoint.chunks());
+        chunks.set(index, state);
+        checkpoint = new Checkpoint(checkpoint.file(), checkpoint.size(), checkpoint.format(), chunks);
+        write();
+    }
+
+    private void write() {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), checkpoint);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new InfrastructureException("Failed to write replay checkpoint " + file, e);
+        }
+    }
+}
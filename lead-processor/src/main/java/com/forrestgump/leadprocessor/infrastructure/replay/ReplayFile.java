@@ -0,0 +1,181 @@
+package com.forrestgump.leadprocessor.infrastructure.replay;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadprocessor.domain.model.LeadSubmission;
+import com.forrestgump.leadprocessor.infrastructure.exception.InfrastructureException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits a replay file into chunks and reads leads out of them through memory-mapped buffers.
+ *
+ * <p>Chunks never split a record: an NDJSON chunk ends after the last newline within
+ * {@code chunkBytes} of its start, and a binary chunk after the last length-prefixed record that
+ * fits. Each chunk is mapped on its own, so workers read disjoint regions without sharing a
+ * position. NDJSON lines may be a {@link LeadSubmission} or a record from the redrive parking
+ * store, whose {@code body} holds the original message.
+ */
+final class ReplayFile {
+
+    enum Format {
+        NDJSON,
+        BINARY
+    }
+
+    record Chunk(int index, long start, long end) {}
+
+    /**
+     * One record read from a chunk: the lead, or why it could not be decoded. {@code end} is where
+     * the next record starts, which is what a checkpoint stores.
+     */
+    record Parsed(long offset, long end, LeadSubmission lead, String error) {}
+
+    private ReplayFile() {
+    }
+
+    static Format detect(FileChannel channel, String configured) throws IOException {
+        if (!"auto".equalsIgnoreCase(configured)) {
+            return Format.valueOf(configured.toUpperCase());
+        }
+        ByteBuffer header = ByteBuffer.allocate(LeadBinaryCodec.MAGIC.length);
+        channel.read(header, 0);
+        return Arrays.equals(header.array(), LeadBinaryCodec.MAGIC) && !header.hasRemaining()
+                ? Format.BINARY
+                : Format.NDJSON;
+    }
+
+    static List<Chunk> plan(FileChannel channel, Format format, long chunkBytes) throws IOException {
+        long size = channel.size();
+        List<Chunk> chunks = new ArrayList<>();
+        long start = format == Format.BINARY ? LeadBinaryCodec.MAGIC.length : 0;
+        while (start < size) {
+            long windowEnd = Math.min(size, start + chunkBytes);
+            long end = format == Format.BINARY
+                    ? binaryChunkEnd(channel, start, windowEnd, size)
+                    : ndjsonChunkEnd(channel, start, windowEnd, size);
+            chunks.add(new Chunk(chunks.size(), start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static long ndjsonChunkEnd(FileChannel channel, long start, long windowEnd, long size) throws IOException {
+        if (windowEnd == size) {
+            return size;
+        }
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start, windowEnd - start);
+        for (int i = window.limit() - 1; i >= 0; i--) {
+            if (window.get(i) == '\n') {
+                return start + i + 1;
+            }
+        }
+        throw new InfrastructureException("Replay line at offset " + start + " is longer than the chunk size", null);
+    }
+
+    private static long binaryChunkEnd(FileChannel channel, long start, long windowEnd, long size) throws IOException {
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start, windowEnd - start);
+        int position = 0;
+        while (position + Integer.BYTES <= window.limit()) {
+            int length = window.getInt(position);
+            if (length < 0 || (long) position + Integer.BYTES + length > window.limit()) {
+                break;
+            }
+            position += Integer.BYTES + length;
+        }
+        if (position == 0 && windowEnd < size) {
+            throw new InfrastructureException("Replay record at offset " + start + " is larger than the chunk size", null);
+        }
+        // A truncated record at the end of the file stays in the last chunk and is reported as malformed.
+        return windowEnd == size ? size : start + position;
+    }
+
+    static final class Reader {
+
+        private final Format format;
+        private final ObjectMapper objectMapper;
+        private final MappedByteBuffer buffer;
+        private final long base;
+
+        Reader(FileChannel channel, Format format, Chunk chunk, long from, ObjectMapper objectMapper) throws IOException {
+            this.format = format;
+            this.objectMapper = objectMapper;
+            this.base = chunk.start();
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.start(), chunk.end() - chunk.start());
+            buffer.position((int) (from - chunk.start()));
+        }
+
+        /**
+         * The next record, or {@code null} at the end of the chunk.
+         */
+        Parsed next() {
+            return format == Format.BINARY ? nextBinary() : nextLine();
+        }
+
+        private Parsed nextLine() {
+            while (buffer.hasRemaining()) {
+                int start = buffer.position();
+                int end = start;
+                while (end < buffer.limit() && buffer.get(end) != '\n') {
+                    end++;
+                }
+                buffer.position(Math.min(buffer.limit(), end + 1));
+                if (isBlank(start, end)) {
+                    continue;
+                }
+                byte[] line = new byte[end - start];
+                buffer.get(start, line);
+                try {
+                    return new Parsed(base + start, base + buffer.position(), decodeLine(line), null);
+                } catch (IOException | IllegalArgumentException e) {
+                    return new Parsed(base + start, base + buffer.position(), null, "decode: " + e.getClass().getSimpleName());
+                }
+            }
+            return null;
+        }
+
+        private LeadSubmission decodeLine(byte[] line) throws IOException {
+            JsonNode node = objectMapper.readTree(line);
+            JsonNode body = node.get("body");
+            if (body != null && body.isTextual()) {
+                return objectMapper.readValue(body.asText(), LeadSubmission.class);
+            }
+            return objectMapper.treeToValue(node, LeadSubmission.class);
+        }
+
+        private boolean isBlank(int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (!Character.isWhitespace(buffer.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Parsed nextBinary() {
+            int start = buffer.position();
+            if (start >= buffer.limit()) {
+                return null;
+            }
+            int length = buffer.remaining() >= Integer.BYTES ? buffer.getInt(start) : -1;
+            if (length < 0 || (long) start + Integer.BYTES + length > buffer.limit()) {
+                buffer.position(buffer.limit());
+                return new Parsed(base + start, base + buffer.limit(), null, "truncated record");
+            }
+            int end = start + Integer.BYTES + length;
+            buffer.position(end);
+            try {
+                return new Parsed(base + start, base + end,
+                        LeadBinaryCodec.decode(buffer.slice(start + Integer.BYTES, length)), null);
+            } catch (RuntimeException e) {
+                return new Parsed(base + start, base + end, null, "decode: " + e.getClass().getSimpleName());
+            }
+        }
+    }
+}
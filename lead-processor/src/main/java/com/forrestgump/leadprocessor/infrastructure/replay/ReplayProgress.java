@@ -0,0 +1,36 @@
+package com.forrestgump.leadprocessor.infrastructure.replay;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress of a file replay. The counts cover every run over the same file, including resumed
+ * ones; {@code reconciled} is true once every record read is accounted for as processed,
+ * duplicate, failed or malformed, and every chunk is done.
+ */
+public record ReplayProgress(
+        boolean running,
+        String file,
+        String format,
+        Instant startedAt,
+        Instant finishedAt,
+        long totalBytes,
+        long bytesDone,
+        long read,
+        long processed,
+        long duplicates,
+        long failed,
+        long malformed,
+        double recordsPerSecond,
+        boolean reconciled,
+        List<Chunk> chunks
+) {
+    public record Chunk(
+            int chunk,
+            long start,
+            long end,
+            long position,
+            long read,
+            boolean done
+    ) {}
+}
@@ -0,0 +1,127 @@
+package com.forrestgump.leadprocessor.infrastructure.resilience;
+
+import com.forrestgump.leadprocessor.infrastructure.config.WritePacingConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Paces calls to a dependency that throttles, at a rate found by additive-increase /
+ * multiplicative-decrease: every throttle cuts the permitted rate by
+ * {@code multiplicativeDecrease} (at most once per {@code decreaseCooldown}, since the calls
+ * already in flight were all sent at the old rate), and every {@code increaseInterval} without one
+ * probes it up by {@code additiveIncrease}. The rate only grows while callers actually use at
+ * least half of it, so a quiet period does not build up a rate the dependency never absorbed.
+ *
+ * <p>Calls are spaced evenly: {@link #acquire()} reserves the next free slot and delays until it.
+ */
+public class AimdRateController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AimdRateController.class);
+    private final String dependency;
+    private final WritePacingConfig config;
+    private final MetricsPublisher metricsPublisher;
+    private final long increaseIntervalNanos;
+    private final long decreaseCooldownNanos;
+    private double rate;
+    private long nextFreeNanos;
+    private long lastIncreaseNanos;
+    private long lastDecreaseNanos;
+    private long admittedSinceIncrease;
+    private int waiting;
+
+    public AimdRateController(String dependency, WritePacingConfig config, MetricsPublisher metricsPublisher) {
+        this.dependency = dependency;
+        this.config = config;
+        this.metricsPublisher = metricsPublisher;
+        this.increaseIntervalNanos = config.increaseInterval().toNanos();
+        this.decreaseCooldownNanos = config.decreaseCooldown().toNanos();
+        this.rate = config.initialRatePerSecond();
+        long now = System.nanoTime();
+        this.lastIncreaseNanos = now;
+        this.lastDecreaseNanos = now - decreaseCooldownNanos;
+        metricsPublisher.registerGauge("aimd.permitted_rate", this::permittedRate, "dependency", dependency);
+        metricsPublisher.registerGauge("aimd.waiting", this::waiting, "dependency", dependency);
+    }
+
+    /**
+     * Completes when the caller may make its call.
+     */
+    public Mono<Void> acquire() {
+        if (!config.enabled()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            long delayNanos = reserve();
+            Mono<Void> wait = delayNanos <= 0 ? Mono.empty() : Mono.delay(Duration.ofNanos(delayNanos)).then();
+            return wait.doFinally(signal -> release());
+        });
+    }
+
+    /**
+     * Records a throttled call, cutting the permitted rate unless it was cut moments ago.
+     */
+    public synchronized void onThrottle() {
+        metricsPublisher.incrementThrottle(dependency);
+        long now = System.nanoTime();
+        if (now - lastDecreaseNanos < decreaseCooldownNanos) {
+            return;
+        }
+        double previous = rate;
+        rate = Math.max(config.minRatePerSecond(), rate * config.multiplicativeDecrease());
+        lastDecreaseNanos = now;
+        lastIncreaseNanos = now;
+        admittedSinceIncrease = 0;
+        logger.warn("{} throttled, permitted rate {} -> {}/s", dependency, Math.round(previous), Math.round(rate));
+    }
+
+    /**
+     * How many calls fit in {@code receiveHorizon} at the current rate, less those already waiting
+     * for a slot. Callers use it to take on no more work than the dependency will accept.
+     */
+    public synchronized int allowance() {
+        if (!config.enabled()) {
+            return Integer.MAX_VALUE;
+        }
+        double horizonSeconds = config.receiveHorizon().toNanos() / 1e9;
+        return (int) Math.max(0, Math.floor(rate * horizonSeconds) - waiting);
+    }
+
+    public synchronized double permittedRate() {
+        return rate;
+    }
+
+    private synchronized int waiting() {
+        return waiting;
+    }
+
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        probeUp(now);
+        long slot = Math.max(now, nextFreeNanos);
+        nextFreeNanos = slot + (long) (1e9 / rate);
+        admittedSinceIncrease++;
+        waiting++;
+        return slot - now;
+    }
+
+    private synchronized void release() {
+        waiting--;
+    }
+
+    private void probeUp(long now) {
+        long elapsed = now - lastIncreaseNanos;
+        if (elapsed < increaseIntervalNanos) {
+            return;
+        }
+        double used = admittedSinceIncrease / (rate * elapsed / 1e9);
+        if (used >= 0.5 && now - lastDecreaseNanos >= decreaseCooldownNanos) {
+            rate = Math.min(config.maxRatePerSecond(), rate + config.additiveIncrease());
+        }
+        lastIncreaseNanos = now;
+        admittedSinceIncrease = 0;
+    }
+}
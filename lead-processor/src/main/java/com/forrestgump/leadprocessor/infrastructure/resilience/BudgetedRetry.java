@@ -0,0 +1,77 @@
+package com.forrestgump.leadprocessor.infrastructure.resilience;
+
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Retries a single dependency call with full-jitter exponential backoff, drawing every retry
+ * from the dependency's {@link RetryBudget}.
+ *
+ * <p>Meant to wrap one SDK call at its call site, never a whole pipeline, so a failure only
+ * repeats the call that failed.
+ */
+public class BudgetedRetry {
+
+    private final String dependency;
+    private final RetryBudget budget;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final Predicate<Throwable> retryable;
+    private final MetricsPublisher metricsPublisher;
+
+    public BudgetedRetry(String dependency, RetryBudget budget, int maxAttempts, Duration baseDelay,
+                         Duration maxDelay, Predicate<Throwable> retryable, MetricsPublisher metricsPublisher) {
+        this.dependency = dependency;
+        this.budget = budget;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.retryable = retryable;
+        this.metricsPublisher = metricsPublisher;
+    }
+
+    /**
+     * Only the first attempt counts as a request towards the budget; counting retries too would
+     * let retrying raise the base retries are capped against.
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            budget.recordRequest();
+            AtomicInteger attempts = new AtomicInteger();
+            return Mono.defer(() -> {
+                        attempts.incrementAndGet();
+                        return call.get();
+                    })
+                    .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                        Throwable failure = signal.failure();
+                        if (signal.totalRetries() + 1 >= maxAttempts || !retryable.test(failure)) {
+                            return Mono.error(failure);
+                        }
+                        if (!budget.tryAcquireRetry()) {
+                            metricsPublisher.incrementRetry(dependency, "denied");
+                            return Mono.error(failure);
+                        }
+                        metricsPublisher.incrementRetry(dependency, "issued");
+                        return Mono.delay(backoff(signal.totalRetries()));
+                    })))
+                    .doOnSuccess(v -> {
+                        if (attempts.get() > 1) {
+                            metricsPublisher.incrementRetry(dependency, "succeeded");
+                        }
+                    });
+        });
+    }
+
+    private Duration backoff(long retry) {
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(retry, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+}
@@ -0,0 +1,83 @@
+package com.forrestgump.leadprocessor.infrastructure.resilience;
+
+import com.forrestgump.leadprocessor.infrastructure.config.HedgingConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Hedges one idempotent dependency call: if it has not finished by the tracked percentile of
+ * recent attempt latencies, a second attempt starts and whichever signals first wins, the other
+ * being cancelled. Hedges draw from a {@link RetryBudget}, so even when every call is slow they
+ * add at most {@code budgetRatio} of the normal load.
+ *
+ * <p>A hedge that fails is ignored and the first attempt decides the outcome; a first attempt
+ * that fails fails the call, leaving retries to {@link BudgetedRetry}.
+ */
+public class HedgedCall {
+
+    private final String dependency;
+    private final boolean enabled;
+    private final HedgingConfig config;
+    private final RetryBudget budget;
+    private final LatencyTracker latencies;
+    private final MetricsPublisher metricsPublisher;
+
+    public HedgedCall(String dependency, HedgingConfig config, MetricsPublisher metricsPublisher) {
+        this.dependency = dependency;
+        this.enabled = config.enabled() && config.dependencies().contains(dependency);
+        this.config = config;
+        this.budget = new RetryBudget(config.budgetRatio(), config.minHedgesPerSecond(), config.budgetWindow());
+        this.latencies = new LatencyTracker(config.sampleSize(), config.percentile());
+        this.metricsPublisher = metricsPublisher;
+        if (enabled) {
+            metricsPublisher.registerGauge("hedge.delay_ms", () -> hedgeDelay().toNanos() / 1_000_000.0,
+                    "dependency", dependency);
+        }
+    }
+
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return Mono.defer(() -> {
+            budget.recordRequest();
+            long startNanos = System.nanoTime();
+            Mono<T> primary = timed(call);
+            if (latencies.count() < config.minSamples()) {
+                return primary.doOnTerminate(() -> recordLatency(startNanos));
+            }
+            Mono<T> hedge = Mono.delay(hedgeDelay())
+                    .flatMap(tick -> {
+                        if (!budget.tryAcquireRetry()) {
+                            metricsPublisher.incrementHedge(dependency, "denied");
+                            return Mono.<T>never();
+                        }
+                        metricsPublisher.incrementHedge(dependency, "sent");
+                        return timed(call)
+                                .doOnSuccess(v -> metricsPublisher.incrementHedge(dependency, "won"))
+                                .onErrorResume(e -> Mono.never());
+                    });
+            return Mono.firstWithSignal(primary, hedge)
+                    .doOnTerminate(() -> recordLatency(startNanos));
+        });
+    }
+
+    private <T> Mono<T> timed(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            return call.get().doOnSuccess(v -> latencies.record(System.nanoTime() - startNanos));
+        });
+    }
+
+    private void recordLatency(long startNanos) {
+        metricsPublisher.recordHedgedLatency(dependency, Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+
+    private Duration hedgeDelay() {
+        long nanos = latencies.percentileNanos();
+        return Duration.ofNanos(Math.min(config.maxDelay().toNanos(), Math.max(config.minDelay().toNanos(), nanos)));
+    }
+}
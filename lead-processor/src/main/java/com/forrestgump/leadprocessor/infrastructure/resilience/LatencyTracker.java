@@ -0,0 +1,44 @@
+package com.forrestgump.leadprocessor.infrastructure.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Percentile of the last {@code size} latencies, recomputed at most once a second so reading it
+ * on every call stays cheap.
+ */
+class LatencyTracker {
+
+    private static final long RECOMPUTE_NANOS = 1_000_000_000L;
+    private final long[] samples;
+    private final double percentile;
+    private int next;
+    private int count;
+    private long cachedNanos = -1;
+    private long cachedAtNanos;
+
+    LatencyTracker(int size, double percentile) {
+        this.samples = new long[size];
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    synchronized long percentileNanos() {
+        long now = System.nanoTime();
+        if (cachedNanos < 0 || now - cachedAtNanos >= RECOMPUTE_NANOS) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            cachedNanos = count == 0 ? 0 : sorted[(int) Math.min(count - 1, Math.floor(percentile * count))];
+            cachedAtNanos = now;
+        }
+        return cachedNanos;
+    }
+}
@@ -0,0 +1,67 @@
+package com.forrestgump.leadprocessor.infrastructure.resilience;
+
+import java.time.Duration;
+
+/**
+ * Caps retries to a fraction of recent request volume for one dependency.
+ *
+ * <p>Requests and retries are counted in one-second buckets over a sliding window. A retry is
+ * allowed while the retries in the window stay below {@code ratio * requests}, with a floor of
+ * {@code minRetriesPerSecond} so low-traffic periods can still retry. During an outage, when
+ * nearly every call fails, this keeps retry load at a fixed fraction of normal traffic instead
+ * of multiplying it.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final int minRetriesPerSecond;
+    private final int windowSeconds;
+    private final long[] bucketSecond;
+    private final long[] requests;
+    private final long[] retries;
+
+    public RetryBudget(double ratio, int minRetriesPerSecond, Duration window) {
+        this.ratio = ratio;
+        this.minRetriesPerSecond = minRetriesPerSecond;
+        this.windowSeconds = (int) Math.max(1, window.toSeconds());
+        this.bucketSecond = new long[windowSeconds];
+        this.requests = new long[windowSeconds];
+        this.retries = new long[windowSeconds];
+    }
+
+    public synchronized void recordRequest() {
+        requests[bucket(currentSecond())]++;
+    }
+
+    public synchronized boolean tryAcquireRetry() {
+        long now = currentSecond();
+        long windowRequests = 0;
+        long windowRetries = 0;
+        for (int i = 0; i < windowSeconds; i++) {
+            if (now - bucketSecond[i] < windowSeconds) {
+                windowRequests += requests[i];
+                windowRetries += retries[i];
+            }
+        }
+        double allowed = Math.max(ratio * windowRequests, (double) minRetriesPerSecond * windowSeconds);
+        if (windowRetries >= allowed) {
+            return false;
+        }
+        retries[bucket(now)]++;
+        return true;
+    }
+
+    private int bucket(long second) {
+        int index = (int) Math.floorMod(second, (long) windowSeconds);
+        if (bucketSecond[index] != second) {
+            bucketSecond[index] = second;
+            requests[index] = 0;
+            retries[index] = 0;
+        }
+        return index;
+    }
+
+    private long currentSecond() {
+        return System.nanoTime() / 1_000_000_000L;
+    }
+}
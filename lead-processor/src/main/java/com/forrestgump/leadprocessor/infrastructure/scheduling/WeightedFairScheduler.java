@@ -0,0 +1,302 @@
+package com.forrestgump.leadprocessor.infrastructure.scheduling;
+
+import com.forrestgump.leadprocessor.domain.model.LeadSubmission;
+import com.forrestgump.leadprocessor.infrastructure.config.CampaignConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shares the processor's in-flight capacity between campaigns with weighted fair queuing, so one
+ * national spot cannot starve regional campaigns that arrive on the same queue.
+ * <p>
+ * Received messages wait in a small buffer per campaign. Each gets a virtual finish tag of
+ * {@code max(virtualTime, campaign's last tag) + 1 / weight}, and the dispatcher always starts the
+ * buffered message with the lowest tag whose campaign is under its in-flight cap. A campaign with
+ * twice the weight therefore gets twice the share while both are backlogged, and an idle campaign
+ * does not bank credit for later. When a campaign's buffer is full the caller is told to hand the
+ * message back to the queue, which keeps receives flowing so other campaigns' messages are still
+ * picked up.
+ */
+@Component
+public class WeightedFairScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeightedFairScheduler.class);
+    static final String OTHER_CAMPAIGN = "other";
+    private static final Duration LAG_IDLE_RESET = Duration.ofMinutes(1);
+    private final CampaignConfig config;
+    private final MetricsPublisher metricsPublisher;
+    private final Map<String, CampaignQueue> campaigns = new HashMap<>();
+    private double virtualTime;
+
+    public WeightedFairScheduler(CampaignConfig config, MetricsPublisher metricsPublisher) {
+        this.config = config;
+        this.metricsPublisher = metricsPublisher;
+        synchronized (this) {
+            config.overrides().keySet().forEach(campaign -> queueFor(campaign, true));
+            queueFor(LeadSubmission.DEFAULT_CAMPAIGN, true);
+        }
+    }
+
+    public record CampaignState(
+            String campaign,
+            double weight,
+            int maxInFlight,
+            int inFlight,
+            int buffered,
+            long processed,
+            double lagSeconds
+    ) {}
+
+    /**
+     * Thrown through the returned {@link Mono} when a campaign already has a full buffer and the
+     * message should go back to the queue instead.
+     */
+    public static final class BacklogFullException extends RuntimeException {
+
+        private final String campaign;
+
+        BacklogFullException(String campaign) {
+            super("Campaign backlog full: " + campaign);
+            this.campaign = campaign;
+        }
+
+        public String campaign() {
+            return campaign;
+        }
+    }
+
+    /**
+     * Runs {@code work} once the campaign's turn comes up. {@code sentAt} is when the message
+     * entered SQS, used for the queueing delay and lag metrics. Campaigns past {@code maxTracked}
+     * share the {@code other} queue to bound metric cardinality.
+     */
+    public Mono<Void> submit(String campaign, Instant sentAt, Mono<Void> work, boolean rejectWhenFull) {
+        String name = campaign == null || campaign.isBlank() ? LeadSubmission.DEFAULT_CAMPAIGN : campaign;
+        return Mono.create(sink -> enqueue(new Task(name, sentAt, work, sink), rejectWhenFull));
+    }
+
+    /**
+     * Changes a campaign's weight and in-flight cap. A new weight applies to messages buffered
+     * from now on; a raised cap takes effect immediately.
+     */
+    public CampaignState update(String campaign, Double weight, Integer maxInFlight) {
+        CampaignState state;
+        synchronized (this) {
+            CampaignQueue queue = queueFor(campaign, true);
+            if (weight != null && weight > 0) {
+                queue.weight = weight;
+            }
+            if (maxInFlight != null && maxInFlight > 0) {
+                queue.maxInFlight = maxInFlight;
+            }
+            logger.info("Campaign scheduling updated, campaign: {}, weight: {}, maxInFlight: {}",
+                    queue.name, queue.weight, queue.maxInFlight);
+            state = stateOf(queue);
+        }
+        dispatch();
+        return state;
+    }
+
+    public synchronized List<CampaignState> state() {
+        return campaigns.values().stream()
+                .map(this::stateOf)
+                .sorted(Comparator.comparing(CampaignState::campaign))
+                .toList();
+    }
+
+    private CampaignState stateOf(CampaignQueue queue) {
+        return new CampaignState(queue.name, queue.weight, queue.maxInFlight, queue.inFlight,
+                queue.pending.size(), queue.processed, lagSeconds(queue));
+    }
+
+    private void enqueue(Task task, boolean rejectWhenFull) {
+        synchronized (this) {
+            CampaignQueue queue = queueFor(task.campaign, false);
+            if (rejectWhenFull && queue.pending.size() >= config.maxBuffered()) {
+                task.sink.error(new BacklogFullException(queue.name));
+                return;
+            }
+            task.queue = queue;
+            task.startTag = Math.max(virtualTime, queue.lastFinishTag);
+            task.finishTag = task.startTag + 1.0 / queue.weight;
+            queue.lastFinishTag = task.finishTag;
+            queue.pending.addLast(task);
+            task.sink.onCancel(() -> cancel(task));
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        List<Task> ready = new ArrayList<>();
+        synchronized (this) {
+            while (true) {
+                CampaignQueue next = null;
+                for (CampaignQueue queue : campaigns.values()) {
+                    Task head = queue.pending.peekFirst();
+                    if (head == null || queue.inFlight >= queue.maxInFlight) {
+                        continue;
+                    }
+                    if (next == null || head.finishTag < next.pending.peekFirst().finishTag) {
+                        next = queue;
+                    }
+                }
+                if (next == null) {
+                    break;
+                }
+                Task task = next.pending.pollFirst();
+                next.inFlight++;
+                next.lastDispatch = Instant.now();
+                next.lastDelay = Duration.between(task.sentAt, next.lastDispatch);
+                task.delay = next.lastDelay.isNegative() ? Duration.ZERO : next.lastDelay;
+                virtualTime = Math.max(virtualTime, task.startTag);
+                task.started = true;
+                ready.add(task);
+            }
+        }
+        ready.forEach(this::run);
+    }
+
+    private void run(Task task) {
+        metricsPublisher.recordCampaignQueueDelay(task.queue.name, task.delay);
+        Disposable subscription = task.work
+                .contextWrite(task.sink.contextView())
+                .subscribe(null,
+                        e -> {
+                            finish(task, "error");
+                            task.sink.error(e);
+                        },
+                        () -> {
+                            finish(task, "success");
+                            task.sink.success();
+                        });
+        task.sink.onDispose(() -> {
+            if (!subscription.isDisposed()) {
+                subscription.dispose();
+                finish(task, "cancelled");
+            }
+        });
+    }
+
+    private void finish(Task task, String outcome) {
+        synchronized (this) {
+            if (task.finished) {
+                return;
+            }
+            task.finished = true;
+            task.queue.inFlight--;
+            task.queue.processed++;
+        }
+        metricsPublisher.incrementCampaignProcessed(task.queue.name, outcome);
+        dispatch();
+    }
+
+    private synchronized void cancel(Task task) {
+        if (!task.started) {
+            task.queue.pending.remove(task);
+        }
+    }
+
+    /**
+     * Must be called holding the lock. Campaigns named in configuration are always tracked under
+     * their own name; others are tracked until {@code maxTracked} is reached.
+     */
+    private CampaignQueue queueFor(String campaign, boolean force) {
+        CampaignQueue queue = campaigns.get(campaign);
+        if (queue != null) {
+            return queue;
+        }
+        if (!force && campaigns.size() >= config.maxTracked()) {
+            campaign = OTHER_CAMPAIGN;
+            queue = campaigns.get(campaign);
+            if (queue != null) {
+                return queue;
+            }
+        }
+        CampaignConfig.Campaign override = config.overrides().get(campaign);
+        queue = new CampaignQueue(campaign,
+                override != null && override.weight() != null ? override.weight() : config.defaultWeight(),
+                override != null && override.maxInFlight() != null ? override.maxInFlight() : config.defaultMaxInFlight());
+        queue.lastFinishTag = virtualTime;
+        campaigns.put(campaign, queue);
+        registerGauges(queue);
+        return queue;
+    }
+
+    private void registerGauges(CampaignQueue queue) {
+        metricsPublisher.registerGauge("campaign.in_flight", () -> queue.inFlight, "campaign", queue.name);
+        metricsPublisher.registerGauge("campaign.buffered", () -> queue.pending.size(), "campaign", queue.name);
+        metricsPublisher.registerGauge("campaign.weight", () -> queue.weight, "campaign", queue.name);
+        metricsPublisher.registerGauge("campaign.lag.seconds", () -> lagSeconds(queue), "campaign", queue.name);
+    }
+
+    /**
+     * Age of the oldest message still waiting in the buffer or, with an empty buffer, how long
+     * the last dispatched message had waited since it was sent. Falls to zero once the campaign
+     * has been quiet for a while.
+     */
+    private synchronized double lagSeconds(CampaignQueue queue) {
+        Instant now = Instant.now();
+        Task oldest = queue.pending.peekFirst();
+        if (oldest != null) {
+            return Math.max(0, Duration.between(oldest.sentAt, now).toMillis() / 1000.0);
+        }
+        if (queue.lastDispatch == null || queue.lastDispatch.plus(LAG_IDLE_RESET).isBefore(now)) {
+            return 0;
+        }
+        return Math.max(0, queue.lastDelay.toMillis() / 1000.0);
+    }
+
+    private static final class CampaignQueue {
+
+        final String name;
+        final ArrayDeque<Task> pending = new ArrayDeque<>();
+        volatile double weight;
+        volatile int maxInFlight;
+        volatile int inFlight;
+        long processed;
+        double lastFinishTag;
+        Instant lastDispatch;
+        Duration lastDelay = Duration.ZERO;
+
+        CampaignQueue(String name, double weight, int maxInFlight) {
+            this.name = name;
+            this.weight = weight;
+            this.maxInFlight = maxInFlight;
+        }
+    }
+
+    private static final class Task {
+
+        final String campaign;
+        final Instant sentAt;
+        final Mono<Void> work;
+        final MonoSink<Void> sink;
+        CampaignQueue queue;
+        double startTag;
+        double finishTag;
+        Duration delay = Duration.ZERO;
+        boolean started;
+        boolean finished;
+
+        Task(String campaign, Instant sentAt, Mono<Void> work, MonoSink<Void> sink) {
+            this.campaign = campaign;
+            this.sentAt = sentAt;
+            this.work = work;
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.forrestgump.leadprocessor.infrastructure.sink;
+
+import java.util.List;
+
+/**
+ * A secondary destination for persisted leads, such as analytics or CRM feeds. Implementations
+ * are Spring beans; {@link SinkFanOut} gives each one its own buffer and writer thread, so
+ * {@link #write(List)} may block and may be slow without affecting the main processing path.
+ */
+public interface LeadSink {
+
+    /**
+     * Unique name, used for the sink's settings under {@code lead.sinks.channels} and as the
+     * {@code sink} metric tag.
+     */
+    String name();
+
+    /**
+     * Writes a batch in order. A thrown exception fails the whole batch, which is then spilled
+     * or dropped according to the sink's overflow policy.
+     */
+    void write(List<PersistedLead> batch) throws Exception;
+
+    default void close() throws Exception {
+    }
+}
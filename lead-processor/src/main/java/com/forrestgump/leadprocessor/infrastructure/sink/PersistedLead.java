@@ -0,0 +1,33 @@
+package com.forrestgump.leadprocessor.infrastructure.sink;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.forrestgump.leadprocessor.domain.model.Lead;
+import com.forrestgump.leadprocessor.domain.model.LeadSubmission;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * What secondary sinks receive for each lead written to DynamoDB. Carries the encrypted CPF
+ * only, never the plaintext.
+ */
+public record PersistedLead(
+        @JsonProperty("event_id") UUID eventId,
+        @JsonProperty("lead_id") String leadId,
+        @JsonProperty("campaign_id") String campaignId,
+        @JsonProperty("encrypted_cpf") String encryptedCpf,
+        String name,
+        String phone,
+        @JsonProperty("phone_e164") String phoneE164,
+        @JsonProperty("phone_state") String phoneState,
+        @JsonProperty("phone_region") String phoneRegion,
+        String email,
+        @JsonProperty("created_at") Instant createdAt,
+        @JsonProperty("persisted_at") Instant persistedAt
+) {
+    public static PersistedLead of(LeadSubmission event, Lead lead) {
+        return new PersistedLead(event.eventId(), lead.getLeadId(), event.campaignId(), lead.getEncryptedCpf(),
+                lead.getName(), lead.getPhone(), lead.getPhoneE164(), lead.getPhoneState(), lead.getPhoneRegion(),
+                lead.getEmail(), lead.getCreatedAt(), Instant.now());
+    }
+}
@@ -0,0 +1,54 @@
+package com.forrestgump.leadprocessor.infrastructure.sink;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadprocessor.infrastructure.config.SinkConfig;
+import com.forrestgump.leadprocessor.infrastructure.io.RollingNdjsonWriter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes persisted leads to rolling {@code leads-<part>.ndjson.gz} files, flushing after every
+ * batch so a crash loses at most the batch being written.
+ */
+@Component
+@ConditionalOnProperty(name = "lead.sinks.file.enabled", havingValue = "true")
+public class RollingFileLeadSink implements LeadSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final long rollBytes;
+    private RollingNdjsonWriter writer;
+
+    public RollingFileLeadSink(ObjectMapper objectMapper, SinkConfig config) {
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(config.file().directory());
+        this.rollBytes = config.file().rollBytes();
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public void write(List<PersistedLead> batch) throws IOException {
+        if (writer == null) {
+            writer = new RollingNdjsonWriter(directory, "leads", rollBytes);
+        }
+        for (PersistedLead lead : batch) {
+            writer.write(objectMapper.writeValueAsBytes(lead));
+        }
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.forrestgump.leadprocessor.infrastructure.sink;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadprocessor.infrastructure.config.SinkConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The buffer and writer thread in front of one {@link LeadSink}. {@link #offer(PersistedLead)}
+ * never waits on the sink itself: a lead either fits the bounded buffer or is handled by the
+ * sink's overflow policy. The writer thread takes batches of up to {@code batchSize}, waiting at
+ * most {@code maxLinger} for a batch to fill, and replays spilled leads whenever the buffer runs
+ * dry. Spilled leads are therefore not delivered in their original order. Overflow under the
+ * {@code SPILL} policy is handed to a second thread that owns the spill file appends, so callers
+ * never do file I/O either; once that hand-off is also full, leads are dropped.
+ */
+final class SinkChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(SinkChannel.class);
+    private static final Duration FAILURE_PAUSE = Duration.ofSeconds(1);
+    private final LeadSink sink;
+    private final SinkConfig.Channel settings;
+    private final ObjectMapper objectMapper;
+    private final MetricsPublisher metricsPublisher;
+    private final ArrayBlockingQueue<PersistedLead> buffer;
+    private final ArrayBlockingQueue<PersistedLead> overflow;
+    private final SpillFile spill;
+    private final Thread writer;
+    private final Thread spiller;
+    private volatile boolean running = true;
+    private volatile long replayingSinceMillis;
+
+    SinkChannel(LeadSink sink, SinkConfig.Channel settings, Path spillDirectory, ObjectMapper objectMapper,
+                MetricsPublisher metricsPublisher) throws IOException {
+        this.sink = sink;
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.metricsPublisher = metricsPublisher;
+        this.buffer = new ArrayBlockingQueue<>(settings.capacity());
+        this.spill = settings.overflow() == SinkConfig.Overflow.SPILL ? new SpillFile(spillDirectory, sink.name()) : null;
+        this.overflow = spill != null ? new ArrayBlockingQueue<>(settings.capacity()) : null;
+        metricsPublisher.registerGauge("sink.buffered", () -> buffer.size() + (overflow != null ? overflow.size() : 0),
+                "sink", sink.name());
+        metricsPublisher.registerGauge("sink.spilled", () -> spill != null ? spill.pending() : 0, "sink", sink.name());
+        metricsPublisher.registerGauge("sink.lag.seconds", this::lagSeconds, "sink", sink.name());
+        this.writer = Thread.ofPlatform().name("lead-sink-" + sink.name()).daemon().unstarted(this::run);
+        writer.start();
+        this.spiller = spill != null
+                ? Thread.ofPlatform().name("lead-sink-" + sink.name() + "-spill").daemon().unstarted(this::runSpill)
+                : null;
+        if (spiller != null) {
+            spiller.start();
+        }
+    }
+
+    /**
+     * Hands a lead to the sink. Completes straight away unless the policy is {@code BLOCK} and
+     * the buffer is full, in which case it waits up to {@code blockTimeout} off the caller's thread.
+     */
+    Mono<Void> offer(PersistedLead lead) {
+        if (buffer.offer(lead)) {
+            return Mono.empty();
+        }
+        return switch (settings.overflow()) {
+            case DROP -> {
+                metricsPublisher.incrementSinkDropped(sink.name(), "overflow", 1);
+                yield Mono.empty();
+            }
+            case SPILL -> {
+                if (!overflow.offer(lead)) {
+                    metricsPublisher.incrementSinkDropped(sink.name(), "overflow", 1);
+                }
+                yield Mono.empty();
+            }
+            case BLOCK -> Mono.fromCallable(() -> buffer.offer(lead, settings.blockTimeout().toNanos(), TimeUnit.NANOSECONDS))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .doOnNext(accepted -> {
+                        if (!accepted) {
+                            metricsPublisher.incrementSinkDropped(sink.name(), "timeout", 1);
+                        }
+                    })
+                    .then();
+        };
+    }
+
+    private void run() {
+        while (running || !buffer.isEmpty()) {
+            try {
+                PersistedLead first = buffer.poll(settings.maxLinger().toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    replaySpilled();
+                    continue;
+                }
+                List<PersistedLead> batch = new ArrayList<>(settings.batchSize());
+                batch.add(first);
+                long deadline = System.nanoTime() + settings.maxLinger().toNanos();
+                while (batch.size() < settings.batchSize()) {
+                    buffer.drainTo(batch, settings.batchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= settings.batchSize() || remaining <= 0 || !running) {
+                        break;
+                    }
+                    PersistedLead next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                if (!write(batch)) {
+                    fail(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    /**
+     * Appends overflow handed over by {@link #offer(PersistedLead)} to the spill file.
+     */
+    private void runSpill() {
+        List<PersistedLead> leads = new ArrayList<>(settings.batchSize());
+        while (running || !overflow.isEmpty()) {
+            try {
+                PersistedLead first = overflow.poll(settings.maxLinger().toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                leads.add(first);
+                overflow.drainTo(leads, settings.batchSize() - 1);
+                spill(leads);
+                leads.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private boolean write(List<PersistedLead> batch) {
+        long started = System.nanoTime();
+        try {
+            sink.write(batch);
+            metricsPublisher.recordSinkWrite(sink.name(), "success", Duration.ofNanos(System.nanoTime() - started));
+            metricsPublisher.incrementSinkWritten(sink.name(), batch.size());
+            return true;
+        } catch (Exception e) {
+            metricsPublisher.recordSinkWrite(sink.name(), "error", Duration.ofNanos(System.nanoTime() - started));
+            logger.warn("Sink write failed, sink: {}, leads: {}, error: {}", sink.name(), batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Spills a failed batch, or drops it without a spill file, then pauses briefly so a sink that
+     * is down is not hammered in a loop.
+     */
+    private void fail(List<PersistedLead> batch) throws InterruptedException {
+        if (spill != null) {
+            spill(batch);
+        } else {
+            metricsPublisher.incrementSinkDropped(sink.name(), "error", batch.size());
+        }
+        if (running) {
+            Thread.sleep(FAILURE_PAUSE.toMillis());
+        }
+    }
+
+    private void spill(List<PersistedLead> leads) {
+        for (PersistedLead lead : leads) {
+            try {
+                spill.append(objectMapper.writeValueAsBytes(lead));
+            } catch (IOException e) {
+                metricsPublisher.incrementSinkDropped(sink.name(), "spill_error", 1);
+                logger.error("Failed to spill lead, sink: {}, leadId: {}, error: {}", sink.name(), lead.leadId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Feeds spilled leads back through the sink in batches, stopping as soon as new leads arrive
+     * in the buffer or a write fails; whatever was not written goes back to the spill file.
+     * Records that cannot be parsed, such as a line cut short by a crash, are dropped and counted.
+     * Progress is reported to the spill file after every batch, so a replay cut short by an I/O
+     * error resumes where it stopped instead of delivering earlier batches again.
+     */
+    private void replaySpilled() throws InterruptedException {
+        if (spill == null || spill.pending() == 0 || !running) {
+            return;
+        }
+        Path replay;
+        try {
+            replay = spill.takeForReplay();
+        } catch (IOException e) {
+            logger.error("Failed to open spill file for replay, sink: {}, error: {}", sink.name(), e.getMessage());
+            return;
+        }
+        if (replay == null) {
+            return;
+        }
+        replayingSinceMillis = System.currentTimeMillis();
+        boolean failed = false;
+        long skip = spill.replayProgress();
+        long record = 0;
+        long handled = 0;
+        List<PersistedLead> batch = new ArrayList<>(settings.batchSize());
+        try (BufferedReader reader = SpillFile.open(replay)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || ++record <= skip) {
+                    continue;
+                }
+                handled++;
+                PersistedLead lead = parse(line, record);
+                if (lead != null) {
+                    batch.add(lead);
+                }
+                if (batch.size() < settings.batchSize()) {
+                    continue;
+                }
+                failed = replayBatch(batch, failed);
+                spill.replayed(handled);
+                handled = 0;
+            }
+            if (!batch.isEmpty()) {
+                failed = replayBatch(batch, failed);
+            }
+            spill.replayed(handled);
+            spill.finishReplay();
+        } catch (IOException e) {
+            logger.error("Failed to replay spill file, sink: {}, error: {}", sink.name(), e.getMessage());
+        } finally {
+            replayingSinceMillis = 0;
+        }
+        if (failed && running) {
+            Thread.sleep(FAILURE_PAUSE.toMillis());
+        }
+    }
+
+    /**
+     * Writes one replayed batch, or spills it again once a write has failed, new leads are waiting
+     * or the channel is closing. Returns whether the replay has failed so far, and clears the batch.
+     */
+    private boolean replayBatch(List<PersistedLead> batch, boolean failed) {
+        if (failed || !buffer.isEmpty() || !running || !write(batch)) {
+            failed = true;
+            spill(batch);
+        }
+        batch.clear();
+        return failed;
+    }
+
+    private PersistedLead parse(String line, long record) {
+        try {
+            return objectMapper.readValue(line, PersistedLead.class);
+        } catch (IOException e) {
+            metricsPublisher.incrementSinkDropped(sink.name(), "corrupt", 1);
+            logger.warn("Dropping unreadable spilled lead, sink: {}, record: {}, error: {}",
+                    sink.name(), record, e.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    /**
+     * Age of the oldest lead the sink has not written yet, whether buffered, spilled or being
+     * replayed.
+     */
+    private double lagSeconds() {
+        long now = System.currentTimeMillis();
+        long oldest = now;
+        PersistedLead head = buffer.peek();
+        if (head != null) {
+            oldest = Math.min(oldest, head.persistedAt().toEpochMilli());
+        }
+        PersistedLead overflowHead = overflow != null ? overflow.peek() : null;
+        if (overflowHead != null) {
+            oldest = Math.min(oldest, overflowHead.persistedAt().toEpochMilli());
+        }
+        if (spill != null && spill.oldestMillis() > 0) {
+            oldest = Math.min(oldest, spill.oldestMillis());
+        }
+        if (replayingSinceMillis > 0) {
+            oldest = Math.min(oldest, replayingSinceMillis);
+        }
+        return (now - oldest) / 1000.0;
+    }
+
+    void close(Duration timeout) {
+        running = false;
+        try {
+            writer.join(timeout.toMillis());
+            if (spiller != null) {
+                spiller.join(timeout.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PersistedLead> left = new ArrayList<>();
+        buffer.drainTo(left);
+        if (overflow != null) {
+            overflow.drainTo(left);
+        }
+        if (!left.isEmpty()) {
+            if (spill != null) {
+                spill(left);
+            } else {
+                metricsPublisher.incrementSinkDropped(sink.name(), "shutdown", left.size());
+            }
+        }
+        try {
+            if (spill != null) {
+                spill.close();
+            }
+            sink.close();
+        } catch (Exception e) {
+            logger.warn("Failed to close sink, sink: {}, error: {}", sink.name(), e.getMessage());
+        }
+    }
+}
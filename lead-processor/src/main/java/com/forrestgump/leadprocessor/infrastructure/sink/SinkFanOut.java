@@ -0,0 +1,62 @@
+package com.forrestgump.leadprocessor.infrastructure.sink;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadprocessor.infrastructure.config.SinkConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies every persisted lead to the enabled {@link LeadSink} beans. Each sink sits behind its
+ * own {@link SinkChannel}, so a slow or failing sink only fills its own buffer and never holds up
+ * DynamoDB writes or SQS acks, except for a sink explicitly configured with the {@code BLOCK}
+ * overflow policy.
+ */
+@Component
+public class SinkFanOut {
+
+    private static final Logger logger = LoggerFactory.getLogger(SinkFanOut.class);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+    private final List<SinkChannel> channels = new ArrayList<>();
+
+    public SinkFanOut(List<LeadSink> sinks, SinkConfig config, ObjectMapper objectMapper, MetricsPublisher metricsPublisher) {
+        for (LeadSink sink : sinks) {
+            SinkConfig.Channel settings = config.channel(sink.name());
+            if (!settings.enabled()) {
+                continue;
+            }
+            try {
+                channels.add(new SinkChannel(sink, settings, Path.of(config.spillDirectory()), objectMapper, metricsPublisher));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to set up sink " + sink.name(), e);
+            }
+            logger.info("Sink enabled, sink: {}, capacity: {}, batchSize: {}, maxLinger: {}, overflow: {}",
+                    sink.name(), settings.capacity(), settings.batchSize(), settings.maxLinger(), settings.overflow());
+        }
+    }
+
+    public Mono<Void> publish(PersistedLead lead) {
+        if (channels.isEmpty()) {
+            return Mono.empty();
+        }
+        if (channels.size() == 1) {
+            return channels.get(0).offer(lead);
+        }
+        return Mono.when(channels.stream().map(channel -> channel.offer(lead)).toList());
+    }
+
+    @PreDestroy
+    public void close() {
+        channels.forEach(channel -> channel.close(CLOSE_TIMEOUT));
+    }
+}
@@ -0,0 +1,142 @@
+package com.forrestgump.leadprocessor.infrastructure.sink;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Local NDJSON overflow for one sink. Leads that do not fit the sink's buffer are appended here
+ * and handed back for replay once the sink has drained its buffer. Replay works on a renamed copy
+ * ({@code <sink>.replay.ndjson}), so new overflow can keep appending while an old batch replays,
+ * and a copy left behind by a crash is replayed first on the next start.
+ *
+ * <p>{@code pending} counts the records in the spill file plus those of the replay copy the reader
+ * has not got through yet. The reader reports progress with {@link #replayed(long)}, so an
+ * interrupted replay resumes after the last handled record instead of delivering it again.
+ */
+final class SpillFile {
+
+    private final Path file;
+    private final Path replayFile;
+    private FileChannel channel;
+    private long pending;
+    private long replayProgress;
+    private long oldestMillis;
+
+    SpillFile(Path directory, String sink) throws IOException {
+        Files.createDirectories(directory);
+        this.file = directory.resolve(sink + ".ndjson");
+        this.replayFile = directory.resolve(sink + ".replay.ndjson");
+        this.pending = countLines(file) + countLines(replayFile);
+        if (pending > 0) {
+            oldestMillis = System.currentTimeMillis();
+        }
+    }
+
+    synchronized void append(byte[] record) throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(record.length + 1).put(record).put((byte) '\n').flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (pending++ == 0) {
+            oldestMillis = System.currentTimeMillis();
+        }
+    }
+
+    synchronized long pending() {
+        return pending;
+    }
+
+    /**
+     * When the oldest spilled lead still waiting was spilled, or 0 with nothing spilled.
+     */
+    synchronized long oldestMillis() {
+        return pending > 0 ? oldestMillis : 0;
+    }
+
+    /**
+     * Moves everything spilled so far aside for replay and returns the file to read, or
+     * {@code null} with nothing to replay. An earlier replay copy that was not finished is
+     * returned again; the caller skips the first {@link #replayProgress()} records of it and
+     * calls {@link #finishReplay()} once it has got through the rest.
+     */
+    synchronized Path takeForReplay() throws IOException {
+        if (Files.exists(replayFile)) {
+            return replayFile;
+        }
+        if (pending == 0) {
+            return null;
+        }
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+            channel = null;
+        }
+        Files.move(file, replayFile, StandardCopyOption.ATOMIC_MOVE);
+        replayProgress = 0;
+        return replayFile;
+    }
+
+    /**
+     * How many records of the current replay copy have already been handled.
+     */
+    synchronized long replayProgress() {
+        return replayProgress;
+    }
+
+    /**
+     * Records that the next {@code records} of the replay copy were handled: written, spilled
+     * again or dropped as unreadable.
+     */
+    synchronized void replayed(long records) {
+        replayProgress += records;
+        pending = Math.max(0, pending - records);
+    }
+
+    synchronized void finishReplay() throws IOException {
+        Files.deleteIfExists(replayFile);
+        replayProgress = 0;
+    }
+
+    /**
+     * Opens a spill file for reading, replacing malformed UTF-8 such as a record cut short by a
+     * crash instead of failing the whole read.
+     */
+    static BufferedReader open(Path path) throws IOException {
+        return new BufferedReader(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8));
+    }
+
+    synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private static long countLines(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        long records = 0;
+        try (BufferedReader reader = open(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    records++;
+                }
+            }
+        }
+        return records;
+    }
+}
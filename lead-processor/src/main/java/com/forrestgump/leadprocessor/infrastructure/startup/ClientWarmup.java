@@ -0,0 +1,101 @@
+package com.forrestgump.leadprocessor.infrastructure.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadprocessor.domain.model.LeadSubmission;
+import com.forrestgump.leadprocessor.infrastructure.config.AwsConfig;
+import com.forrestgump.leadprocessor.infrastructure.config.StartupConfig;
+import com.forrestgump.leadprocessor.infrastructure.messaging.QueueUrlResolver;
+import com.forrestgump.leadprocessor.infrastructure.messaging.ShardedQueues;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.kms.KmsAsyncClient;
+import software.amazon.awssdk.services.kms.model.DescribeKeyRequest;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Touches every AWS client, the queue URL cache and the JSON mapper before the application reports
+ * ready, so the first lead does not pay for SDK class loading, endpoint resolution, credential
+ * lookup, TLS handshakes and serializer construction.
+ *
+ * <p>Failures are logged and ignored: a dependency that is down at boot is handled by the usual
+ * retries and breakers once traffic starts.
+ */
+@Component
+public class ClientWarmup implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientWarmup.class);
+    private static final String SAMPLE_SUBMISSION = "{\"event_id\":\"" + UUID.randomUUID()
+            + "\",\"lead_id\":\"warmup\",\"cpf\":\"00000000000\",\"salt\":\"\",\"name\":\"warmup\","
+            + "\"phone\":\"\",\"email\":\"warmup@example.com\",\"created_at\":\"2024-01-01T00:00:00Z\"}";
+
+    private final QueueUrlResolver queueUrlResolver;
+    private final DynamoDbAsyncClient dynamoDbClient;
+    private final KmsAsyncClient kmsClient;
+    private final ObjectMapper objectMapper;
+    private final MetricsPublisher metricsPublisher;
+    private final StartupConfig config;
+    private final AwsConfig awsConfig;
+    private final ShardedQueues shardedQueues;
+
+    public ClientWarmup(QueueUrlResolver queueUrlResolver, DynamoDbAsyncClient dynamoDbClient,
+                        KmsAsyncClient kmsClient, ObjectMapper objectMapper, MetricsPublisher metricsPublisher,
+                        StartupConfig config, AwsConfig awsConfig, ShardedQueues shardedQueues) {
+        this.queueUrlResolver = queueUrlResolver;
+        this.dynamoDbClient = dynamoDbClient;
+        this.kmsClient = kmsClient;
+        this.objectMapper = objectMapper;
+        this.metricsPublisher = metricsPublisher;
+        this.config = config;
+        this.awsConfig = awsConfig;
+        this.shardedQueues = shardedQueues;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!config.warmUp()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Flux.merge(
+                        warm("jackson", Mono.fromCallable(() -> objectMapper.readValue(SAMPLE_SUBMISSION, LeadSubmission.class))),
+                        warm("sqs.queue", Flux.fromIterable(shardedQueues.names())
+                                .flatMap(queueUrlResolver::resolve)
+                                .then()),
+                        warm("sqs.dlq", queueUrlResolver.resolve(awsConfig.sqs().dlqName())),
+                        warm("dynamodb.leads", Mono.fromFuture(() -> dynamoDbClient.describeTable(DescribeTableRequest.builder()
+                                .tableName(awsConfig.dynamodb().tableName())
+                                .build()))),
+                        warm("dynamodb.status", Mono.fromFuture(() -> dynamoDbClient.describeTable(DescribeTableRequest.builder()
+                                .tableName(awsConfig.dynamodb().statusTableName())
+                                .build()))),
+                        warm("kms", Mono.fromFuture(() -> kmsClient.describeKey(DescribeKeyRequest.builder()
+                                .keyId(awsConfig.kms().keyAlias())
+                                .build()))))
+                .then()
+                .block(config.warmUpTimeout().plusSeconds(1));
+        logger.info("Client warm-up finished in {} ms", Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private Mono<Void> warm(String target, Mono<?> call) {
+        long start = System.nanoTime();
+        return call
+                .timeout(config.warmUpTimeout())
+                .doOnSuccess(v -> metricsPublisher.recordWarmUp(target, "success", Duration.ofNanos(System.nanoTime() - start)))
+                .then()
+                .onErrorResume(e -> {
+                    metricsPublisher.recordWarmUp(target, "error", Duration.ofNanos(System.nanoTime() - start));
+                    logger.warn("Warm-up of {} failed, continuing startup: {}", target, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
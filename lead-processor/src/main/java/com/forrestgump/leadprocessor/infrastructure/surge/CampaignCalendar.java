@@ -0,0 +1,68 @@
+package com.forrestgump.leadprocessor.infrastructure.surge;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.forrestgump.leadprocessor.infrastructure.config.SurgeConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Airing schedule read from {@code lead.surge.calendar}. The file is re-read on every lookup, so
+ * media planning can add or move spots without a restart; if it becomes unreadable the last good
+ * schedule is kept.
+ */
+@Component
+public class CampaignCalendar {
+
+    public record Airing(String campaign, Instant airsAt, Duration duration) {
+        public Airing {
+            if (duration == null) {
+                duration = Duration.ofMinutes(1);
+            }
+        }
+    }
+
+    record Calendar(List<Airing> airings) {}
+
+    private static final Logger logger = LoggerFactory.getLogger(CampaignCalendar.class);
+    private final ObjectMapper objectMapper;
+    private final Resource resource;
+    private volatile List<Airing> airings = List.of();
+
+    public CampaignCalendar(ObjectMapper objectMapper, SurgeConfig config) {
+        this.objectMapper = objectMapper;
+        this.resource = new DefaultResourceLoader().getResource(config.calendar());
+    }
+
+    /**
+     * The airing whose surge window, from {@code leadTime} before it airs until {@code cooldown}
+     * after it ends, contains {@code now}. When windows overlap, the one ending last wins.
+     */
+    public Optional<Airing> surgeWindowAt(Instant now, Duration leadTime, Duration cooldown) {
+        return reload().stream()
+                .filter(airing -> !now.isBefore(airing.airsAt().minus(leadTime))
+                        && now.isBefore(airing.airsAt().plus(airing.duration()).plus(cooldown)))
+                .max(Comparator.comparing(airing -> airing.airsAt().plus(airing.duration())));
+    }
+
+    private List<Airing> reload() {
+        try (InputStream in = resource.getInputStream()) {
+            Calendar calendar = objectMapper.readValue(in, Calendar.class);
+            airings = calendar.airings() != null ? List.copyOf(calendar.airings()) : List.of();
+        } catch (IOException e) {
+            logger.warn("Failed to read campaign calendar {}, keeping {} known airings: {}",
+                    resource.getDescription(), airings.size(), e.getMessage());
+        }
+        return airings;
+    }
+}
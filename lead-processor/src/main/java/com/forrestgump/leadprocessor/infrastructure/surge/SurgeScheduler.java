@@ -0,0 +1,124 @@
+package com.forrestgump.leadprocessor.infrastructure.surge;
+
+import com.forrestgump.leadprocessor.infrastructure.config.AwsConfig;
+import com.forrestgump.leadprocessor.infrastructure.config.SurgeConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import com.forrestgump.leadprocessor.infrastructure.tuning.RuntimeTuning;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.kms.KmsAsyncClient;
+import software.amazon.awssdk.services.kms.model.DescribeKeyRequest;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Switches the processor into surge mode {@code lead.surge.lead-time} before each airing in the
+ * {@link CampaignCalendar} and back to baseline {@code lead.surge.cooldown} after it ends.
+ *
+ * <p>Entering surge applies the surge {@link RuntimeTuning} profile and opens connections to KMS
+ * and DynamoDB ahead of the traffic, so the first wave of leads does not queue behind TLS
+ * handshakes. The mode can also be forced through the {@code tuning} actuator endpoint.
+ */
+@Component
+public class SurgeScheduler {
+
+    public enum Mode {BASELINE, SURGE}
+
+    public enum ModeOverride {AUTO, BASELINE, SURGE}
+
+    public record State(Mode mode, ModeOverride override, String campaign, Instant since) {}
+
+    private static final Logger logger = LoggerFactory.getLogger(SurgeScheduler.class);
+    private final CampaignCalendar calendar;
+    private final RuntimeTuning runtimeTuning;
+    private final MetricsPublisher metricsPublisher;
+    private final SurgeConfig config;
+    private final KmsAsyncClient kmsClient;
+    private final DynamoDbAsyncClient dynamoDbClient;
+    private final AwsConfig awsConfig;
+    private volatile State state = new State(Mode.BASELINE, ModeOverride.AUTO, null, Instant.now());
+
+    public SurgeScheduler(CampaignCalendar calendar, RuntimeTuning runtimeTuning, MetricsPublisher metricsPublisher,
+                          SurgeConfig config, KmsAsyncClient kmsClient, DynamoDbAsyncClient dynamoDbClient,
+                          AwsConfig awsConfig) {
+        this.calendar = calendar;
+        this.runtimeTuning = runtimeTuning;
+        this.metricsPublisher = metricsPublisher;
+        this.config = config;
+        this.kmsClient = kmsClient;
+        this.dynamoDbClient = dynamoDbClient;
+        this.awsConfig = awsConfig;
+        metricsPublisher.registerGauge("surge.active", () -> state.mode() == Mode.SURGE ? 1 : 0);
+    }
+
+    public State state() {
+        return state;
+    }
+
+    @Scheduled(fixedDelayString = "${lead.surge.check-interval-ms:30000}")
+    public void check() {
+        if (!config.enabled() && state.override() == ModeOverride.AUTO) {
+            return;
+        }
+        evaluate(state.override());
+    }
+
+    public synchronized State override(ModeOverride override) {
+        return evaluate(override);
+    }
+
+    private synchronized State evaluate(ModeOverride override) {
+        Optional<CampaignCalendar.Airing> airing = override == ModeOverride.AUTO
+                ? calendar.surgeWindowAt(Instant.now(), config.leadTime(), config.cooldown())
+                : Optional.empty();
+        Mode target = switch (override) {
+            case AUTO -> airing.isPresent() ? Mode.SURGE : Mode.BASELINE;
+            case BASELINE -> Mode.BASELINE;
+            case SURGE -> Mode.SURGE;
+        };
+        String campaign = airing.map(CampaignCalendar.Airing::campaign).orElse(null);
+        State current = state;
+        if (target == current.mode()) {
+            state = new State(target, override, campaign != null ? campaign : current.campaign(), current.since());
+            return state;
+        }
+        state = new State(target, override, campaign, Instant.now());
+        metricsPublisher.incrementSurgeTransition(target.name().toLowerCase());
+        if (target == Mode.SURGE) {
+            logger.warn("Entering surge mode, campaign: {}, override: {}", campaign, override);
+            runtimeTuning.apply(config.surge());
+            prewarm();
+        } else {
+            logger.info("Leaving surge mode, override: {}", override);
+            runtimeTuning.apply(config.baseline());
+        }
+        return state;
+    }
+
+    /**
+     * Fires concurrent cheap calls so the async clients' connection pools hold open connections
+     * when the surge starts.
+     */
+    private void prewarm() {
+        int connections = config.prewarmConnections();
+        Flux.range(0, connections)
+                .flatMap(i -> Mono.when(
+                        Mono.fromFuture(() -> kmsClient.describeKey(DescribeKeyRequest.builder()
+                                .keyId(awsConfig.kms().keyAlias())
+                                .build())),
+                        Mono.fromFuture(() -> dynamoDbClient.describeTable(DescribeTableRequest.builder()
+                                .tableName(awsConfig.dynamodb().tableName())
+                                .build())))
+                        .onErrorResume(e -> Mono.empty()), connections)
+                .then()
+                .subscribe(v -> { }, e -> { },
+                        () -> logger.info("Pre-warmed {} KMS and DynamoDB connections for surge", connections));
+    }
+}
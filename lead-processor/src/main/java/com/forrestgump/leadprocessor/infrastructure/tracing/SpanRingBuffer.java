@@ -0,0 +1,67 @@
+package com.forrestgump.leadprocessor.infrastructure.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-size, lock-free buffer of kept spans. Writers never block: when the exporter falls behind,
+ * the oldest spans are overwritten and counted as dropped.
+ */
+final class SpanRingBuffer {
+
+    private record Slot(long sequence, SpanData span) {}
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+
+    SpanRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(requestedCapacity, 2) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    void add(SpanData span) {
+        long sequence = next.getAndIncrement();
+        slots.set((int) (sequence & mask), new Slot(sequence, span));
+    }
+
+    /**
+     * Copies spans from {@code cursor} onwards into {@code sink} and returns the cursor to resume
+     * from. Spans overwritten before they were read are reported through {@code dropped}.
+     */
+    long drain(long cursor, List<SpanData> sink, long[] dropped) {
+        long end = next.get();
+        long capacity = mask + 1L;
+        if (end - cursor > capacity) {
+            dropped[0] += end - capacity - cursor;
+            cursor = end - capacity;
+        }
+        while (cursor < end) {
+            Slot slot = slots.get((int) (cursor & mask));
+            if (slot == null || slot.sequence() < cursor) {
+                break;
+            }
+            if (slot.sequence() > cursor) {
+                dropped[0]++;
+            } else {
+                sink.add(slot.span());
+            }
+            cursor++;
+        }
+        return cursor;
+    }
+
+    List<SpanData> snapshot() {
+        List<SpanData> spans = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            Slot slot = slots.get(i);
+            if (slot != null) {
+                spans.add(slot.span());
+            }
+        }
+        return spans;
+    }
+}
@@ -0,0 +1,157 @@
+package com.forrestgump.leadprocessor.infrastructure.tracing;
+
+import com.forrestgump.leadprocessor.infrastructure.config.TracingConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Minimal tracer carrying the current span in the Reactor {@link reactor.util.context.Context}.
+ *
+ * <p>Sampling is decided twice. At the head, new traces are sampled at {@code lead.tracing.sample-rate}
+ * and an incoming {@code traceparent} decision is honoured. At the tail, when the local root span
+ * ends, unsampled traces are still kept if any span failed or the local root took longer than
+ * {@code lead.tracing.slow-threshold}, so slow and failed leads are always available for a
+ * per-stage breakdown. Kept spans go to a ring buffer that {@link ZipkinSpanExporter} drains.
+ */
+@Component
+public class Tracer {
+
+    private final TracingConfig config;
+    private final MetricsPublisher metricsPublisher;
+    private final SpanRingBuffer ringBuffer;
+    private final long slowThresholdMicros;
+
+    public Tracer(TracingConfig config, MetricsPublisher metricsPublisher) {
+        this.config = config;
+        this.metricsPublisher = metricsPublisher;
+        this.ringBuffer = new SpanRingBuffer(config.ringBufferSize());
+        this.slowThresholdMicros = config.slowThreshold().toNanos() / 1000;
+    }
+
+    /**
+     * Starts the local root span, continuing {@code remoteParent} when present. Returns null when
+     * tracing is disabled; every other method accepts a null span.
+     */
+    public Span startRoot(String name, Span.Kind kind, TraceContext remoteParent) {
+        if (!config.enabled()) {
+            return null;
+        }
+        TraceContext context = remoteParent != null
+                ? remoteParent.child()
+                : TraceContext.newRoot(ThreadLocalRandom.current().nextDouble() < config.sampleRate());
+        LocalTrace localTrace = new LocalTrace(this);
+        Span root = new Span(localTrace, context, remoteParent != null ? remoteParent.spanId() : null, name, kind);
+        localTrace.root(root);
+        return root;
+    }
+
+    /**
+     * Runs {@code mono} with {@code span} as the current span and ends it when the Mono terminates.
+     */
+    public <T> Mono<T> inSpan(Span span, Mono<T> mono) {
+        if (span == null) {
+            return mono;
+        }
+        return mono
+                .doOnError(span::error)
+                .doOnCancel(() -> span.tag("cancelled", "true"))
+                .doFinally(signal -> span.end())
+                .contextWrite(context -> context.put(Span.class, span));
+    }
+
+    public <T> Mono<T> trace(String name, Mono<T> mono) {
+        return trace(name, null, mono);
+    }
+
+    /**
+     * Runs {@code mono} in a child of the current span. Without a current span it runs untraced,
+     * so shared code only produces spans inside a trace some entry point started.
+     */
+    public <T> Mono<T> trace(String name, Span.Kind kind, Mono<T> mono) {
+        if (!config.enabled()) {
+            return mono;
+        }
+        return Mono.deferContextual(context -> current(context)
+                .map(parent -> inSpan(child(parent, name, kind), mono))
+                .orElse(mono));
+    }
+
+    public Optional<Span> current(ContextView context) {
+        return context.getOrEmpty(Span.class);
+    }
+
+    /**
+     * Records a span that already happened, such as the time a message spent in the queue.
+     */
+    public void record(Span localRoot, String name, Span.Kind kind, String parentId,
+                       long startEpochMicros, long durationMicros) {
+        if (localRoot == null || durationMicros <= 0) {
+            return;
+        }
+        TraceContext context = localRoot.context().child();
+        localRoot.localTrace().finished(null, new SpanData(context.traceId(), context.spanId(), parentId, name,
+                kind, startEpochMicros, durationMicros, false, Map.of()));
+    }
+
+    public List<TraceSummary> slowestTraces(int limit) {
+        Map<String, List<SpanData>> byTrace = new LinkedHashMap<>();
+        for (SpanData span : ringBuffer.snapshot()) {
+            byTrace.computeIfAbsent(span.traceId(), id -> new ArrayList<>()).add(span);
+        }
+        return byTrace.entrySet().stream()
+                .map(entry -> summarize(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(TraceSummary::durationMs).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    Span child(Span parent, String name, Span.Kind kind) {
+        return new Span(parent.localTrace(), parent.context().child(), parent.context().spanId(), name, kind);
+    }
+
+    /**
+     * Slowness is judged on the local root's own duration rather than the span envelope, so a
+     * retrospective span such as {@code sqs.queue}, which starts before the root, cannot make a
+     * trace look slow just because the lead waited in the queue.
+     */
+    boolean decide(List<SpanData> spans, SpanData root, boolean sampled) {
+        boolean error = false;
+        for (SpanData span : spans) {
+            error |= span.error();
+        }
+        String decision = sampled ? "head" : error ? "error" : root.duration() >= slowThresholdMicros ? "slow" : "dropped";
+        metricsPublisher.incrementTraceDecision(decision);
+        return !"dropped".equals(decision);
+    }
+
+    void publish(List<SpanData> spans) {
+        for (SpanData span : spans) {
+            ringBuffer.add(span);
+        }
+    }
+
+    long drain(long cursor, List<SpanData> sink, long[] dropped) {
+        return ringBuffer.drain(cursor, sink, dropped);
+    }
+
+    private TraceSummary summarize(String traceId, List<SpanData> spans) {
+        long start = spans.stream().mapToLong(SpanData::timestamp).min().orElse(0);
+        long end = spans.stream().mapToLong(SpanData::end).max().orElse(start);
+        List<TraceSummary.Stage> stages = spans.stream()
+                .sorted(Comparator.comparingLong(SpanData::timestamp))
+                .map(span -> new TraceSummary.Stage(span.name(), (span.timestamp() - start) / 1000.0,
+                        span.duration() / 1000.0, span.error()))
+                .toList();
+        return new TraceSummary(traceId, (end - start) / 1000.0, spans.stream().anyMatch(SpanData::error), stages);
+    }
+}
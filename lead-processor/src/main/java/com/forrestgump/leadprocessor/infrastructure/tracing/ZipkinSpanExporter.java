@@ -0,0 +1,161 @@
+package com.forrestgump.leadprocessor.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.forrestgump.leadprocessor.infrastructure.config.TracingConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains kept spans from the {@link Tracer} ring buffer as Zipkin v2 JSON: as a batch POSTed to a
+ * Zipkin-compatible collector when {@code lead.tracing.zipkin-url} is set, and, when
+ * {@code lead.tracing.file-export} is on, one span per line in
+ * {@code <export-directory>/<service>-spans.ndjson}. The file rolls to {@code .1} at
+ * {@code file-max-bytes} and only {@code file-max-files} rolled files are kept, so disk use is
+ * bounded however long the service runs.
+ */
+@Component
+public class ZipkinSpanExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZipkinSpanExporter.class);
+    private final Tracer tracer;
+    private final ObjectMapper objectMapper;
+    private final MetricsPublisher metricsPublisher;
+    private final TracingConfig config;
+    private final String serviceName;
+    private final Path file;
+    private final WebClient webClient;
+    private FileChannel channel;
+    private long written;
+    private long cursor;
+
+    public ZipkinSpanExporter(Tracer tracer, ObjectMapper objectMapper, MetricsPublisher metricsPublisher,
+                              TracingConfig config, @Value("${spring.application.name}") String serviceName) {
+        this.tracer = tracer;
+        this.objectMapper = objectMapper;
+        this.metricsPublisher = metricsPublisher;
+        this.config = config;
+        this.serviceName = serviceName;
+        this.file = Path.of(config.exportDirectory(), serviceName + "-spans.ndjson");
+        this.webClient = config.zipkinUrl() != null ? WebClient.create(config.zipkinUrl()) : null;
+    }
+
+    @Scheduled(fixedDelayString = "${lead.tracing.export-interval-ms:1000}")
+    public synchronized void export() {
+        if (!config.enabled()) {
+            return;
+        }
+        List<SpanData> spans = new ArrayList<>();
+        long[] dropped = new long[1];
+        cursor = tracer.drain(cursor, spans, dropped);
+        if (dropped[0] > 0) {
+            metricsPublisher.incrementDroppedSpans(dropped[0]);
+            logger.warn("Span ring buffer overrun, dropped {} spans", dropped[0]);
+        }
+        if (spans.isEmpty()) {
+            return;
+        }
+        ArrayNode batch = objectMapper.createArrayNode();
+        spans.forEach(span -> batch.add(toZipkin(span)));
+        if (config.fileExport()) {
+            writeToFile(batch);
+        }
+        if (webClient != null) {
+            webClient.post()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(batch.toString())
+                    .retrieve()
+                    .toBodilessEntity()
+                    .subscribe(response -> { },
+                            e -> logger.warn("Failed to send {} spans to {}: {}", spans.size(), config.zipkinUrl(), e.getMessage()));
+        }
+    }
+
+    private ObjectNode toZipkin(SpanData span) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("traceId", span.traceId());
+        node.put("id", span.id());
+        if (span.parentId() != null) {
+            node.put("parentId", span.parentId());
+        }
+        node.put("name", span.name());
+        if (span.kind() != null) {
+            node.put("kind", span.kind().name());
+        }
+        node.put("timestamp", span.timestamp());
+        node.put("duration", span.duration());
+        node.putObject("localEndpoint").put("serviceName", serviceName);
+        if (!span.tags().isEmpty()) {
+            ObjectNode tags = node.putObject("tags");
+            span.tags().forEach(tags::put);
+        }
+        return node;
+    }
+
+    private void writeToFile(ArrayNode batch) {
+        StringBuilder lines = new StringBuilder();
+        batch.forEach(span -> lines.append(span.toString()).append('\n'));
+        try {
+            if (channel != null && written >= config.fileMaxBytes()) {
+                roll();
+            }
+            if (channel == null) {
+                Files.createDirectories(file.getParent());
+                channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                written = channel.size();
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write spans to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void roll() throws IOException {
+        channel.close();
+        channel = null;
+        Files.deleteIfExists(rolled(config.fileMaxFiles()));
+        for (int i = config.fileMaxFiles() - 1; i >= 1; i--) {
+            Path older = rolled(i);
+            if (Files.exists(older)) {
+                Files.move(older, rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rolled(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        export();
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
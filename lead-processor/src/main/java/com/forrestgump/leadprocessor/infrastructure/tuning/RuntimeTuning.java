@@ -0,0 +1,97 @@
+package com.forrestgump.leadprocessor.infrastructure.tuning;
+
+import com.forrestgump.leadprocessor.infrastructure.config.SurgeConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Consumer knobs that can change while the processor runs: how many receive calls each poll
+ * issues, and how many messages may be in flight at once. Shrinking the in-flight limit never
+ * interrupts messages already being processed; it only holds back new receives until enough of
+ * them finish.
+ */
+@Component
+public class RuntimeTuning {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuntimeTuning.class);
+    private final InFlightPermits inFlight;
+    private volatile int pollers;
+    private volatile int maxInFlight;
+
+    public RuntimeTuning(SurgeConfig config, MetricsPublisher metricsPublisher) {
+        this.pollers = config.baseline().pollers();
+        this.maxInFlight = config.baseline().maxInFlight();
+        this.inFlight = new InFlightPermits(maxInFlight);
+        metricsPublisher.registerGauge("tuning.pollers", () -> pollers);
+        metricsPublisher.registerGauge("tuning.in_flight.max", () -> maxInFlight);
+        metricsPublisher.registerGauge("tuning.in_flight.used", () -> maxInFlight - inFlight.availablePermits());
+    }
+
+    public record State(int pollers, int maxInFlight, int inFlight) {}
+
+    public int pollers() {
+        return pollers;
+    }
+
+    public synchronized void apply(SurgeConfig.Profile profile) {
+        update(profile.pollers(), profile.maxInFlight());
+    }
+
+    public synchronized State update(Integer newPollers, Integer newMaxInFlight) {
+        if (newPollers != null && newPollers > 0) {
+            pollers = newPollers;
+        }
+        if (newMaxInFlight != null && newMaxInFlight > 0 && newMaxInFlight != maxInFlight) {
+            inFlight.resize(newMaxInFlight - maxInFlight);
+            maxInFlight = newMaxInFlight;
+        }
+        logger.info("Runtime tuning updated, pollers: {}, maxInFlight: {}", pollers, maxInFlight);
+        return state();
+    }
+
+    public State state() {
+        int max = maxInFlight;
+        return new State(pollers, max, max - inFlight.availablePermits());
+    }
+
+    /**
+     * Takes up to {@code wanted} in-flight permits without blocking and returns how many were taken.
+     */
+    public int acquireInFlight(int wanted) {
+        while (true) {
+            int available = inFlight.availablePermits();
+            int take = Math.min(wanted, available);
+            if (take <= 0) {
+                return 0;
+            }
+            if (inFlight.tryAcquire(take)) {
+                return take;
+            }
+        }
+    }
+
+    public void releaseInFlight(int permits) {
+        if (permits > 0) {
+            inFlight.release(permits);
+        }
+    }
+
+    private static final class InFlightPermits extends Semaphore {
+
+        InFlightPermits(int permits) {
+            super(permits);
+        }
+
+        void resize(int delta) {
+            if (delta > 0) {
+                release(delta);
+            } else {
+                reducePermits(-delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.forrestgump.leadprocessor.interfaces.actuator;
+
+import com.forrestgump.leadprocessor.infrastructure.scheduling.WeightedFairScheduler;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "campaigns")
+public class CampaignsEndpoint {
+
+    private final WeightedFairScheduler scheduler;
+
+    public CampaignsEndpoint(WeightedFairScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @ReadOperation
+    public List<WeightedFairScheduler.CampaignState> campaigns() {
+        return scheduler.state();
+    }
+
+    @WriteOperation
+    public WeightedFairScheduler.CampaignState update(String campaign, @Nullable Double weight,
+                                                      @Nullable Integer maxInFlight) {
+        return scheduler.update(campaign, weight, maxInFlight);
+    }
+}
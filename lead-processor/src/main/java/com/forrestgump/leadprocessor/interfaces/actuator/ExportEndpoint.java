@@ -0,0 +1,36 @@
+package com.forrestgump.leadprocessor.interfaces.actuator;
+
+import com.forrestgump.leadprocessor.infrastructure.export.ExportProgress;
+import com.forrestgump.leadprocessor.infrastructure.export.LeadTableExporter;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "export")
+public class ExportEndpoint {
+
+    private final LeadTableExporter exporter;
+
+    public ExportEndpoint(LeadTableExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @ReadOperation
+    public ExportProgress progress() {
+        return exporter.progress();
+    }
+
+    @WriteOperation
+    public ExportProgress start(@Nullable Boolean resume) {
+        return exporter.start(resume == null || resume);
+    }
+
+    @DeleteOperation
+    public ExportProgress stop() {
+        return exporter.stop();
+    }
+}
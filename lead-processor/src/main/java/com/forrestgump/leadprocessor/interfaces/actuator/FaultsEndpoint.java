@@ -0,0 +1,42 @@
+package com.forrestgump.leadprocessor.interfaces.actuator;
+
+import com.forrestgump.leadprocessor.infrastructure.faults.FaultInjectionInterceptor;
+import com.forrestgump.leadprocessor.infrastructure.faults.FaultScenario;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "faults")
+@ConditionalOnProperty(prefix = "lead.faults", name = "enabled", havingValue = "true")
+public class FaultsEndpoint {
+
+    private final FaultInjectionInterceptor faultInjector;
+
+    public FaultsEndpoint(FaultInjectionInterceptor faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
+    @ReadOperation
+    public Map<String, Object> scenario() {
+        return faultInjector.activeScenario()
+                .<Map<String, Object>>map(scenario -> Map.of("active", true, "scenario", scenario))
+                .orElseGet(() -> Map.of("active", false));
+    }
+
+    @WriteOperation
+    public FaultScenario activate(String scenario) {
+        return faultInjector.activate(scenario);
+    }
+
+    @DeleteOperation
+    public Map<String, Object> deactivate() {
+        faultInjector.deactivate();
+        return scenario();
+    }
+}
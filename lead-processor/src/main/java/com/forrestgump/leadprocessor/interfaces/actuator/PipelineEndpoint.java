@@ -0,0 +1,32 @@
+package com.forrestgump.leadprocessor.interfaces.actuator;
+
+import com.forrestgump.leadprocessor.infrastructure.pipeline.PipelineStage;
+import com.forrestgump.leadprocessor.infrastructure.pipeline.StagedPipeline;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "pipeline")
+public class PipelineEndpoint {
+
+    private final StagedPipeline pipeline;
+
+    public PipelineEndpoint(StagedPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    @ReadOperation
+    public List<PipelineStage.State> stages() {
+        return pipeline.state();
+    }
+
+    @WriteOperation
+    public PipelineStage.State update(String stage, @Nullable Integer concurrency, @Nullable Integer capacity) {
+        return pipeline.update(stage, concurrency, capacity);
+    }
+}
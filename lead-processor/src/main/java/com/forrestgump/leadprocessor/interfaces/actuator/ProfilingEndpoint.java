@@ -0,0 +1,53 @@
+package com.forrestgump.leadprocessor.interfaces.actuator;
+
+import com.forrestgump.leadprocessor.infrastructure.profiling.RecordingManager;
+import com.forrestgump.leadprocessor.infrastructure.profiling.StageSummarizer;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@Endpoint(id = "profiling")
+public class ProfilingEndpoint {
+
+    private final RecordingManager recordingManager;
+
+    public ProfilingEndpoint(RecordingManager recordingManager) {
+        this.recordingManager = recordingManager;
+    }
+
+    @ReadOperation
+    public RecordingManager.Status status() {
+        return recordingManager.status();
+    }
+
+    /**
+     * Downloads a finished recording for JDK Mission Control or {@code jfr print}.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource recording(@Selector String id) {
+        return new FileSystemResource(recordingManager.file(id));
+    }
+
+    @WriteOperation
+    public RecordingManager.Status start(@Nullable Long durationSeconds, @Nullable String settings) {
+        return recordingManager.start(durationSeconds != null ? Duration.ofSeconds(durationSeconds) : null, settings);
+    }
+
+    /**
+     * Stops the running recording and returns its per-stage latency and allocation summary.
+     */
+    @DeleteOperation
+    public List<StageSummarizer.StageSummary> stop() {
+        return recordingManager.stop();
+    }
+}
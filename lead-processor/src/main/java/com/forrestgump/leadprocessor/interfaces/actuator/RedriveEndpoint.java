@@ -0,0 +1,36 @@
+package com.forrestgump.leadprocessor.interfaces.actuator;
+
+import com.forrestgump.leadprocessor.infrastructure.messaging.DlqRedriveEngine;
+import com.forrestgump.leadprocessor.infrastructure.messaging.RedriveProgress;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "redrive")
+public class RedriveEndpoint {
+
+    private final DlqRedriveEngine redriveEngine;
+
+    public RedriveEndpoint(DlqRedriveEngine redriveEngine) {
+        this.redriveEngine = redriveEngine;
+    }
+
+    @ReadOperation
+    public RedriveProgress progress() {
+        return redriveEngine.progress();
+    }
+
+    @WriteOperation
+    public RedriveProgress start(@Nullable Integer maxRatePerSecond, @Nullable Integer receivers) {
+        return redriveEngine.start(maxRatePerSecond, receivers);
+    }
+
+    @DeleteOperation
+    public RedriveProgress stop() {
+        return redriveEngine.stop();
+    }
+}
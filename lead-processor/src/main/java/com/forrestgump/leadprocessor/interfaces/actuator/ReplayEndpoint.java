@@ -0,0 +1,36 @@
+package com.forrestgump.leadprocessor.interfaces.actuator;
+
+import com.forrestgump.leadprocessor.infrastructure.replay.LeadFileReplayer;
+import com.forrestgump.leadprocessor.infrastructure.replay.ReplayProgress;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "replay")
+public class ReplayEndpoint {
+
+    private final LeadFileReplayer replayer;
+
+    public ReplayEndpoint(LeadFileReplayer replayer) {
+        this.replayer = replayer;
+    }
+
+    @ReadOperation
+    public ReplayProgress progress() {
+        return replayer.progress();
+    }
+
+    @WriteOperation
+    public ReplayProgress start(@Nullable String file, @Nullable Boolean resume) {
+        return replayer.start(file, resume == null || resume);
+    }
+
+    @DeleteOperation
+    public ReplayProgress stop() {
+        return replayer.stop();
+    }
+}
@@ -0,0 +1,42 @@
+package com.forrestgump.leadprocessor.interfaces.actuator;
+
+import com.forrestgump.leadprocessor.infrastructure.surge.SurgeScheduler;
+import com.forrestgump.leadprocessor.infrastructure.tuning.RuntimeTuning;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "tuning")
+public class TuningEndpoint {
+
+    public record TuningState(SurgeScheduler.State surge, RuntimeTuning.State tuning) {}
+
+    private final RuntimeTuning runtimeTuning;
+    private final SurgeScheduler surgeScheduler;
+
+    public TuningEndpoint(RuntimeTuning runtimeTuning, SurgeScheduler surgeScheduler) {
+        this.runtimeTuning = runtimeTuning;
+        this.surgeScheduler = surgeScheduler;
+    }
+
+    @ReadOperation
+    public TuningState state() {
+        return new TuningState(surgeScheduler.state(), runtimeTuning.state());
+    }
+
+    /**
+     * Forces a surge mode ({@code auto}, {@code baseline} or {@code surge}) and/or sets individual
+     * knobs. Knobs set here hold until the next mode transition applies its profile.
+     */
+    @WriteOperation
+    public TuningState update(@Nullable String mode, @Nullable Integer pollers, @Nullable Integer maxInFlight) {
+        if (mode != null) {
+            surgeScheduler.override(SurgeScheduler.ModeOverride.valueOf(mode.toUpperCase()));
+        }
+        runtimeTuning.update(pollers, maxInFlight);
+        return state();
+    }
+}
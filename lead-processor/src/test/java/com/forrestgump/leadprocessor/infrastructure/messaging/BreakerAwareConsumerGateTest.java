@@ -0,0 +1,63 @@
+package com.forrestgump.leadprocessor.infrastructure.messaging;
+
+import com.forrestgump.leadprocessor.infrastructure.config.ConsumerConfig;
+import com.forrestgump.leadprocessor.infrastructure.config.SqsConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Drives the production Dynamo breaker configuration, with a short open-state wait, through an
+ * outage and checks the consumer gate stops and then resumes polling without any call reaching
+ * the breaker while it is open.
+ */
+class BreakerAwareConsumerGateTest {
+
+    private static final int MAX_BATCH_SIZE = 10;
+    private static final int PROBE_BATCH_SIZE = 1;
+
+    private final CircuitBreaker breaker = CircuitBreaker.of("dynamoCircuitBreaker",
+            CircuitBreakerConfig.from(SqsConfig.dynamoCircuitBreakerConfig(new FailureClassifier()))
+                    .waitDurationInOpenState(Duration.ofMillis(200))
+                    .build());
+    private final BreakerAwareConsumerGate gate = new BreakerAwareConsumerGate(breaker,
+            new MetricsPublisher(new SimpleMeterRegistry()),
+            new ConsumerConfig(null, null, MAX_BATCH_SIZE, PROBE_BATCH_SIZE, 0, 0));
+
+    @Test
+    void resumesPollingAfterTheBreakerRecoversOnItsOwn() {
+        assertThat(gate.nextBatchSize()).isEqualTo(MAX_BATCH_SIZE);
+
+        for (int i = 0; i < 10; i++) {
+            breaker.onError(1, TimeUnit.MILLISECONDS, new IllegalStateException("Dynamo unavailable"));
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(gate.isPaused()).isTrue();
+        assertThat(gate.nextBatchSize()).isZero();
+
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> breaker.getState() == CircuitBreaker.State.HALF_OPEN);
+        assertThat(gate.isPaused()).isFalse();
+        assertThat(gate.nextBatchSize()).isEqualTo(PROBE_BATCH_SIZE);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(breaker.tryAcquirePermission()).isTrue();
+            breaker.onSuccess(1, TimeUnit.MILLISECONDS);
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        assertThat(gate.nextBatchSize()).isEqualTo(1);
+        assertThat(gate.nextBatchSize()).isEqualTo(2);
+        assertThat(gate.nextBatchSize()).isEqualTo(4);
+        assertThat(gate.nextBatchSize()).isEqualTo(8);
+        assertThat(gate.nextBatchSize()).isEqualTo(MAX_BATCH_SIZE);
+    }
+}
@@ -0,0 +1,73 @@
+package com.forrestgump.leadprocessor.infrastructure.messaging;
+
+import com.forrestgump.leadprocessor.infrastructure.config.ShardingConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class ShardedQueuesTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void splitsPollsByWeightWhileBacklogIsUnknown() {
+        ShardedQueues queues = queues(Map.of("a", 3.0, "b", 1.0));
+
+        assertThat(polls(queues, 400)).containsEntry("a", 300).containsEntry("b", 100);
+    }
+
+    @Test
+    void onlyProbesAQueueWhosePollCameBackEmpty() {
+        ShardedQueues queues = queues(Map.of("a", 1.0, "b", 1.0));
+
+        queues.received("b", 0);
+
+        Map<String, Integer> polls = polls(queues, 210);
+        assertThat(polls.get("b")).isEqualTo(10);
+        assertThat(registry.get("sqs.shard.poll_share").tag("queue", "b").gauge().value())
+                .isCloseTo(0.05 / 1.05, offset(1e-9));
+    }
+
+    @Test
+    void restoresFullWeightWhenAProbeReceivesMessages() {
+        ShardedQueues queues = queues(Map.of("a", 1.0, "b", 1.0));
+        queues.received("b", 0);
+        polls(queues, 21);
+
+        queues.received("b", 4);
+
+        assertThat(polls(queues, 200)).containsEntry("a", 100).containsEntry("b", 100);
+    }
+
+    @Test
+    void keepsRotatingWhenEveryQueueIsIdle() {
+        ShardedQueues queues = queues(Map.of("a", 4.0, "b", 1.0));
+        queues.received("a", 0);
+        queues.received("b", 0);
+
+        assertThat(polls(queues, 500)).containsEntry("a", 400).containsEntry("b", 100);
+    }
+
+    private ShardedQueues queues(Map<String, Double> weights) {
+        Map<String, ShardingConfig.Queue> configured = new LinkedHashMap<>();
+        weights.forEach((name, weight) -> configured.put(name, new ShardingConfig.Queue(weight)));
+        ShardingConfig config = new ShardingConfig(configured, List.of(), 0, 0);
+        return new ShardedQueues(null, null, config, "leads", new MetricsPublisher(registry));
+    }
+
+    private static Map<String, Integer> polls(ShardedQueues queues, int count) {
+        Map<String, Integer> polls = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            polls.merge(queues.next(), 1, Integer::sum);
+        }
+        return polls;
+    }
+}
@@ -0,0 +1,90 @@
+package com.forrestgump.leadprocessor.infrastructure.messaging;
+
+import com.forrestgump.leadprocessor.infrastructure.messaging.SqsLeadConsumer.EntryOutcome;
+import com.forrestgump.leadprocessor.infrastructure.messaging.SqsLeadConsumer.Settlement;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqsLeadConsumerTest {
+
+    private static final FailureClassifier.Classification THROTTLED =
+            new FailureClassifier.Classification(FailureClassifier.Kind.TRANSIENT, "throttled");
+    private static final FailureClassifier.Classification INVALID =
+            new FailureClassifier.Classification(FailureClassifier.Kind.PERMANENT, "validation");
+
+    @Test
+    void splitsProcessedPermanentAndTransientEntries() {
+        EntryOutcome ok = outcome("a", null);
+        EntryOutcome invalid = outcome("b", INVALID);
+        EntryOutcome throttled = outcome("c", THROTTLED);
+
+        Settlement settlement = Settlement.of(List.of(ok, invalid, throttled, outcome("d", null)), 1, 3);
+
+        assertThat(settlement.backOff()).isFalse();
+        assertThat(settlement.processed()).isEqualTo(2);
+        assertThat(settlement.deadLetters()).containsExactly(invalid);
+        assertThat(settlement.retries()).containsExactly(throttled);
+    }
+
+    @Test
+    void acksAnEnvelopeWhoseEntriesAllSucceeded() {
+        Settlement settlement = Settlement.of(List.of(outcome("a", null), outcome("b", null)), 1, 3);
+
+        assertThat(settlement.backOff()).isFalse();
+        assertThat(settlement.processed()).isEqualTo(2);
+        assertThat(settlement.deadLetters()).isEmpty();
+        assertThat(settlement.retries()).isEmpty();
+    }
+
+    @Test
+    void backsOffAsAWholeWhenEveryEntryFailedTransiently() {
+        EntryOutcome first = outcome("a", THROTTLED);
+        EntryOutcome second = outcome("b", THROTTLED);
+
+        Settlement settlement = Settlement.of(List.of(first, second), 1, 3);
+
+        assertThat(settlement.backOff()).isTrue();
+        assertThat(settlement.retries()).containsExactly(first, second);
+        assertThat(settlement.deadLetters()).isEmpty();
+    }
+
+    @Test
+    void deadLettersTransientEntriesOnceAttemptsAreExhausted() {
+        EntryOutcome ok = outcome("a", null);
+        EntryOutcome invalid = outcome("b", INVALID);
+        EntryOutcome throttled = outcome("c", THROTTLED);
+
+        Settlement beforeLast = Settlement.of(List.of(ok, invalid, throttled), 2, 3);
+        Settlement last = Settlement.of(List.of(ok, invalid, throttled), 3, 3);
+
+        assertThat(beforeLast.retries()).containsExactly(throttled);
+        assertThat(last.retries()).isEmpty();
+        assertThat(last.deadLetters()).containsExactly(invalid, throttled);
+        assertThat(last.processed()).isEqualTo(1);
+    }
+
+    @Test
+    void readsAMissingOrMalformedEnvelopeAttemptAsTheFirst() {
+        assertThat(SqsLeadConsumer.envelopeAttempt(Message.builder().build())).isEqualTo(1);
+        assertThat(SqsLeadConsumer.envelopeAttempt(withAttempt("3"))).isEqualTo(3);
+        assertThat(SqsLeadConsumer.envelopeAttempt(withAttempt("three"))).isEqualTo(1);
+        assertThat(SqsLeadConsumer.envelopeAttempt(withAttempt("-2"))).isEqualTo(1);
+    }
+
+    private static Message withAttempt(String attempt) {
+        return Message.builder()
+                .messageAttributes(Map.of(SqsLeadConsumer.ENVELOPE_ATTEMPT_ATTRIBUTE,
+                        MessageAttributeValue.builder().dataType("Number").stringValue(attempt).build()))
+                .build();
+    }
+
+    private static EntryOutcome outcome(String correlationId, FailureClassifier.Classification failure) {
+        return new EntryOutcome(new LeadEnvelope.Entry(correlationId, null, null), failure);
+    }
+}
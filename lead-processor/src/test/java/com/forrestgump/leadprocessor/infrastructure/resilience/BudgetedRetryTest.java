@@ -0,0 +1,50 @@
+package com.forrestgump.leadprocessor.infrastructure.resilience;
+
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BudgetedRetryTest {
+
+    @Test
+    void retriesDoNotCountAsRequestsTowardsTheirOwnBudget() {
+        // One request against a 0.6 ratio buys one retry. If retries were counted as requests,
+        // the first retry would raise the allowance to 1.2 and buy a second one.
+        RetryBudget budget = new RetryBudget(0.6, 0, Duration.ofSeconds(10));
+        BudgetedRetry retry = new BudgetedRetry("dynamodb", budget, 5, Duration.ofMillis(1),
+                Duration.ofMillis(1), failure -> true, new MetricsPublisher(new SimpleMeterRegistry()));
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.create(retry.execute(() -> {
+                    attempts.incrementAndGet();
+                    return Mono.error(new IllegalStateException("unavailable"));
+                }))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void stopsAtMaxAttemptsWhenTheBudgetAllows() {
+        RetryBudget budget = new RetryBudget(0.1, 100, Duration.ofSeconds(10));
+        BudgetedRetry retry = new BudgetedRetry("kms", budget, 3, Duration.ofMillis(1),
+                Duration.ofMillis(1), failure -> true, new MetricsPublisher(new SimpleMeterRegistry()));
+        AtomicInteger attempts = new AtomicInteger();
+
+        StepVerifier.create(retry.execute(() -> attempts.incrementAndGet() < 3
+                        ? Mono.error(new IllegalStateException("unavailable"))
+                        : Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertThat(attempts).hasValue(3);
+    }
+}
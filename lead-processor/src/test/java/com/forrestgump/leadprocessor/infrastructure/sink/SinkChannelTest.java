@@ -0,0 +1,109 @@
+package com.forrestgump.leadprocessor.infrastructure.sink;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.forrestgump.leadprocessor.infrastructure.config.SinkConfig;
+import com.forrestgump.leadprocessor.infrastructure.metrics.MetricsPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class SinkChannelTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void replaySkipsACorruptRecordAndFinishesTheReplayFile() throws Exception {
+        Path replay = spillDirectory.resolve("crm.replay.ndjson");
+        Files.writeString(replay, objectMapper.writeValueAsString(lead("lead-1")) + "\n"
+                + "{\"event_id\":\"" + "\n"
+                + objectMapper.writeValueAsString(lead("lead-2")) + "\n");
+        RecordingSink sink = new RecordingSink();
+
+        SinkChannel channel = channel(sink, 10);
+        try {
+            await().atMost(Duration.ofSeconds(5)).until(() -> !Files.exists(replay));
+            Thread.sleep(200);
+
+            assertThat(sink.written).extracting(PersistedLead::leadId).containsExactly("lead-1", "lead-2");
+            assertThat(registry.get("sink.dropped.count").tag("reason", "corrupt").counter().count()).isEqualTo(1);
+            assertThat(registry.get("sink.spilled").gauge().value()).isZero();
+        } finally {
+            channel.close(Duration.ofSeconds(1));
+        }
+    }
+
+    @Test
+    void overflowIsSpilledAndReplayedOnceTheSinkCatchesUp() throws Exception {
+        RecordingSink sink = new RecordingSink();
+        sink.blocked = new CountDownLatch(1);
+
+        SinkChannel channel = channel(sink, 1);
+        try {
+            // The writer holds one lead and the buffer one more; the rest overflow to the spill
+            // thread, which is given time to take each one so the one-slot hand-off never fills.
+            for (int i = 0; i < 5; i++) {
+                channel.offer(lead("lead-" + i)).block(Duration.ofSeconds(1));
+                await().atMost(Duration.ofSeconds(5))
+                        .until(() -> registry.get("sink.buffered").gauge().value() <= 1);
+            }
+            assertThat(registry.get("sink.spilled").gauge().value()).isPositive();
+            sink.blocked.countDown();
+
+            await().atMost(Duration.ofSeconds(10)).until(() -> sink.written.size() == 5);
+            assertThat(sink.written).extracting(PersistedLead::leadId)
+                    .containsExactlyInAnyOrder("lead-0", "lead-1", "lead-2", "lead-3", "lead-4");
+            assertThat(registry.find("sink.dropped.count").counter()).isNull();
+        } finally {
+            channel.close(Duration.ofSeconds(1));
+        }
+    }
+
+    private SinkChannel channel(LeadSink sink, int capacity) throws Exception {
+        SinkConfig.Channel settings = new SinkConfig.Channel(true, capacity, 10, Duration.ofMillis(20),
+                SinkConfig.Overflow.SPILL, Duration.ofMillis(100));
+        return new SinkChannel(sink, settings, spillDirectory, objectMapper, new MetricsPublisher(registry));
+    }
+
+    private static PersistedLead lead(String leadId) {
+        return new PersistedLead(UUID.randomUUID(), leadId, "campaign", "encrypted", "Name", "11987654321",
+                "+5511987654321", "SP", "Sudeste", "name@example.com", Instant.now(), Instant.now());
+    }
+
+    private static final class RecordingSink implements LeadSink {
+
+        final List<PersistedLead> written = new CopyOnWriteArrayList<>();
+        volatile CountDownLatch blocked;
+
+        @Override
+        public String name() {
+            return "crm";
+        }
+
+        @Override
+        public void write(List<PersistedLead> batch) throws Exception {
+            CountDownLatch latch = blocked;
+            if (latch != null) {
+                latch.await(5, TimeUnit.SECONDS);
+            }
+            written.addAll(batch);
+        }
+    }
+}
@@ -21,10 +21,34 @@ try {
     awslocal sqs set-queue-attributes --queue-url http://localhost:4566/000000000000/lead-queue --attributes '{\"RedrivePolicy\":\"{\\\"deadLetterTargetArn\\\":\\\"arn:aws:sqs:us-east-1:000000000000:lead-queue-dlq\\\",\\\"maxReceiveCount\\\":\\\"3\\\"}\"}'
     if ($LASTEXITCODE -ne 0) { throw "Failed to set redrive policy for lead-queue" }
 
+    foreach ($shard in 1..3) {
+        Write-Host "Creating SQS queue: lead-queue-$shard"
+        awslocal sqs create-queue --queue-name "lead-queue-$shard" --attributes '{\"RedrivePolicy\":\"{\\\"deadLetterTargetArn\\\":\\\"arn:aws:sqs:us-east-1:000000000000:lead-queue-dlq\\\",\\\"maxReceiveCount\\\":\\\"3\\\"}\"}'
+        if ($LASTEXITCODE -ne 0) { throw "Failed to create lead-queue-$shard" }
+    }
+
+    Write-Host "Creating SQS queue: lead-queue-shadow"
+    awslocal sqs create-queue --queue-name lead-queue-shadow --attributes MessageRetentionPeriod=86400
+    if ($LASTEXITCODE -ne 0) { throw "Failed to create lead-queue-shadow" }
+
     Write-Host "Creating DynamoDB table: Leads"
     awslocal dynamodb create-table --table-name Leads --attribute-definitions AttributeName=leadId,AttributeType=S --key-schema AttributeName=leadId,KeyType=HASH --billing-mode PAY_PER_REQUEST
     if ($LASTEXITCODE -ne 0) { throw "Failed to create Leads table" }
 
+    Write-Host "Creating DynamoDB table: LeadStatus"
+    awslocal dynamodb create-table --table-name LeadStatus --attribute-definitions AttributeName=eventId,AttributeType=S --key-schema AttributeName=eventId,KeyType=HASH --billing-mode PAY_PER_REQUEST
+    if ($LASTEXITCODE -ne 0) { throw "Failed to create LeadStatus table" }
+
+    awslocal dynamodb update-time-to-live --table-name LeadStatus --time-to-live-specification Enabled=true,AttributeName=expiresAt
+    if ($LASTEXITCODE -ne 0) { throw "Failed to enable TTL on LeadStatus table" }
+
+    Write-Host "Creating DynamoDB table: LeadQuotas"
+    awslocal dynamodb create-table --table-name LeadQuotas --attribute-definitions AttributeName=quotaKey,AttributeType=S --key-schema AttributeName=quotaKey,KeyType=HASH --billing-mode PAY_PER_REQUEST
+    if ($LASTEXITCODE -ne 0) { throw "Failed to create LeadQuotas table" }
+
+    awslocal dynamodb update-time-to-live --table-name LeadQuotas --time-to-live-specification Enabled=true,AttributeName=expiresAt
+    if ($LASTEXITCODE -ne 0) { throw "Failed to enable TTL on LeadQuotas table" }
+
     Write-Host "Creating KMS key"
     awslocal kms create-key --description "Local KMS key for lead-capture"
     if ($LASTEXITCODE -ne 0) { throw "Failed to create KMS key" }
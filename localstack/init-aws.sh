@@ -18,9 +18,25 @@ awslocal sqs create-queue --queue-name lead-queue-dlq || log_error "Failed to cr
 echo "Setting redrive policy for lead-queue"
 awslocal sqs set-queue-attributes --queue-url http://localhost:4566/000000000000/lead-queue --attributes '{"RedrivePolicy":"{\"deadLetterTargetArn\":\"arn:aws:sqs:us-east-1:000000000000:lead-queue-dlq\",\"maxReceiveCount\":\"3\"}"}' || log_error "Failed to set redrive policy for lead-queue"
 
+for shard in 1 2 3; do
+    echo "Creating SQS queue: lead-queue-$shard"
+    awslocal sqs create-queue --queue-name "lead-queue-$shard" --attributes '{"RedrivePolicy":"{\"deadLetterTargetArn\":\"arn:aws:sqs:us-east-1:000000000000:lead-queue-dlq\",\"maxReceiveCount\":\"3\"}"}' || log_error "Failed to create lead-queue-$shard"
+done
+
+echo "Creating SQS queue: lead-queue-shadow"
+awslocal sqs create-queue --queue-name lead-queue-shadow --attributes MessageRetentionPeriod=86400 || log_error "Failed to create lead-queue-shadow"
+
 echo "Creating DynamoDB table: Leads"
 awslocal dynamodb create-table --table-name Leads --attribute-definitions AttributeName=leadId,AttributeType=S --key-schema AttributeName=leadId,KeyType=HASH --billing-mode PAY_PER_REQUEST || log_error "Failed to create Leads table"
 
+echo "Creating DynamoDB table: LeadStatus"
+awslocal dynamodb create-table --table-name LeadStatus --attribute-definitions AttributeName=eventId,AttributeType=S --key-schema AttributeName=eventId,KeyType=HASH --billing-mode PAY_PER_REQUEST || log_error "Failed to create LeadStatus table"
+awslocal dynamodb update-time-to-live --table-name LeadStatus --time-to-live-specification Enabled=true,AttributeName=expiresAt || log_error "Failed to enable TTL on LeadStatus table"
+
+echo "Creating DynamoDB table: LeadQuotas"
+awslocal dynamodb create-table --table-name LeadQuotas --attribute-definitions AttributeName=quotaKey,AttributeType=S --key-schema AttributeName=quotaKey,KeyType=HASH --billing-mode PAY_PER_REQUEST || log_error "Failed to create LeadQuotas table"
+awslocal dynamodb update-time-to-live --table-name LeadQuotas --time-to-live-specification Enabled=true,AttributeName=expiresAt || log_error "Failed to enable TTL on LeadQuotas table"
+
 echo "Creating KMS key"
 awslocal kms create-key --description "Local KMS key for lead-capture" || log_error "Failed to create KMS key"
 
@@ -9,12 +9,42 @@ awslocal sqs set-queue-attributes \
   --queue-url http://localhost:4566/000000000000/lead-queue \
   --attributes '{"RedrivePolicy":"{\"deadLetterTargetArn\":\"arn:aws:sqs:us-east-1:000000000000:lead-queue-dlq\",\"maxReceiveCount\":\"3\"}"}'
 
+for shard in 1 2 3; do
+  awslocal sqs create-queue \
+    --queue-name "lead-queue-$shard" \
+    --attributes '{"RedrivePolicy":"{\"deadLetterTargetArn\":\"arn:aws:sqs:us-east-1:000000000000:lead-queue-dlq\",\"maxReceiveCount\":\"3\"}"}'
+done
+
+awslocal sqs create-queue \
+  --queue-name lead-queue-shadow \
+  --attributes MessageRetentionPeriod=86400
+
 awslocal dynamodb create-table \
   --table-name Leads \
   --attribute-definitions AttributeName=leadId,AttributeType=S \
   --key-schema AttributeName=leadId,KeyType=HASH \
   --billing-mode PAY_PER_REQUEST
 
+awslocal dynamodb create-table \
+  --table-name LeadStatus \
+  --attribute-definitions AttributeName=eventId,AttributeType=S \
+  --key-schema AttributeName=eventId,KeyType=HASH \
+  --billing-mode PAY_PER_REQUEST
+
+awslocal dynamodb update-time-to-live \
+  --table-name LeadStatus \
+  --time-to-live-specification Enabled=true,AttributeName=expiresAt
+
+awslocal dynamodb create-table \
+  --table-name LeadQuotas \
+  --attribute-definitions AttributeName=quotaKey,AttributeType=S \
+  --key-schema AttributeName=quotaKey,KeyType=HASH \
+  --billing-mode PAY_PER_REQUEST
+
+awslocal dynamodb update-time-to-live \
+  --table-name LeadQuotas \
+  --time-to-live-specification Enabled=true,AttributeName=expiresAt
+
 key_id=$(awslocal kms create-key --description 'Local KMS key for lead-capture' \
     --query 'KeyMetadata.KeyId' --output text)
 
@@ -0,0 +1,91 @@
+#!/bin/bash
+# Measures how quickly freshly started lead-api and lead-processor instances become useful:
+#   - time to first HTTP 200 from POST /api/leads
+#   - time to first lead persisted (GET /api/leads/{eventId}/status returns PERSISTED)
+# Both are measured from the moment the two JVMs are launched.
+#
+# usage: scripts/startup-benchmark.sh [baseline|fast-start] [runs]
+#
+# Requires LocalStack with the resources from localstack/init-aws.sh (docker compose up localstack).
+# "baseline" runs the plain boot jars; "fast-start" builds them with -PfastStart, trains an AppCDS
+# archive exactly like the Dockerfiles do, and runs with Spring AOT and the archive.
+
+set -euo pipefail
+
+MODE=${1:-baseline}
+RUNS=${2:-5}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+WORK="$ROOT/build/startup-benchmark/$MODE"
+API_URL=http://localhost:8081/api/leads
+
+AWS_PROPS=(
+    -Daws.region=us-east-1
+    -Daws.endpoint-url=http://localhost:4566
+    -Daws.access-key-id=test
+    -Daws.secret-access-key=test
+    -Daws.sqs.queue-name=lead-queue
+    -Daws.sqs.dlq-name=lead-queue-dlq
+    -Daws.dynamodb.table-name=Leads
+    -Daws.dynamodb.status-table-name=LeadStatus
+    -Daws.kms.key-alias=alias/lead-capture-key
+)
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+prepare() {
+    local module=$1
+    local build_flags=()
+    [ "$MODE" = "fast-start" ] && build_flags=(-PfastStart)
+    (cd "$ROOT/$module" && ./gradlew -q bootJar "${build_flags[@]}")
+    rm -rf "${WORK:?}/$module"
+    mkdir -p "$WORK/$module"
+    if [ "$MODE" = "fast-start" ]; then
+        java -Djarmode=tools -jar "$ROOT/$module/build/libs/$module.jar" extract --destination "$WORK/$module"
+        (cd "$WORK/$module" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.aot.enabled=true \
+            -Dspring.context.exit=onRefresh -Dlead.startup.warm-up=false "${AWS_PROPS[@]}" -jar "$module.jar" > /dev/null)
+    else
+        cp "$ROOT/$module/build/libs/$module.jar" "$WORK/$module/"
+    fi
+}
+
+launch() {
+    local module=$1
+    local jvm_flags=()
+    [ "$MODE" = "fast-start" ] && jvm_flags=(-XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true)
+    (cd "$WORK/$module" && exec java "${jvm_flags[@]}" "${AWS_PROPS[@]}" -jar "$module.jar" > "$WORK/$module.log" 2>&1) &
+    echo $!
+}
+
+echo "Preparing $MODE jars"
+prepare lead-api
+prepare lead-processor
+
+echo "run,first_http_200_ms,first_lead_persisted_ms"
+for run in $(seq 1 "$RUNS"); do
+    start=$(now_ms)
+    processor_pid=$(launch lead-processor)
+    api_pid=$(launch lead-api)
+
+    event_id=""
+    until [ -n "$event_id" ]; do
+        response=$(curl -s -o - -w '\n%{http_code}' -X POST "$API_URL" -H 'Content-Type: application/json' \
+            -d '{"name":"Benchmark","cpf":"52998224725","phone":"11999999999","email":"benchmark@example.com"}' || true)
+        if [ "$(echo "$response" | tail -n1)" = "200" ]; then
+            event_id=$(echo "$response" | head -n1 | sed -E 's/.*"eventId":"([^"]+)".*/\1/')
+        else
+            sleep 0.05
+        fi
+    done
+    first_200=$(( $(now_ms) - start ))
+
+    until curl -s "$API_URL/$event_id/status" | grep -q PERSISTED; do
+        sleep 0.05
+    done
+    first_persisted=$(( $(now_ms) - start ))
+
+    echo "$run,$first_200,$first_persisted"
+    kill "$api_pid" "$processor_pid"
+    wait "$api_pid" "$processor_pid" 2> /dev/null || true
+done